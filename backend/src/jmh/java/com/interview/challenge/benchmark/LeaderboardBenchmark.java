@@ -0,0 +1,134 @@
+package com.interview.challenge.benchmark;
+
+import com.interview.challenge.cluster.ClusterTopology;
+import com.interview.challenge.dto.LeaderboardPlayerStatsDto;
+import com.interview.challenge.dto.LeaderboardPositionDto;
+import com.interview.challenge.dto.LeaderboardRankDto;
+import com.interview.challenge.leaderboard.LeaderboardService;
+import com.interview.challenge.leaderboard.LeaderboardSnapshotStore;
+import com.interview.challenge.player.Player;
+import com.interview.challenge.player.PlayerRankingView;
+import com.interview.challenge.player.PlayerRepository;
+import com.interview.challenge.shared.WilsonScore;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.nio.file.Path;
+import java.time.Clock;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * The leaderboard pipeline at 1k/100k/1M players: the original per-request map-score-sort over every
+ * {@link Player}, against the incrementally maintained {@link LeaderboardService} index.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@State(Scope.Benchmark)
+public class LeaderboardBenchmark {
+
+    @Param({"1000", "100000", "1000000"})
+    private int players;
+
+    private List<Player> allPlayers;
+    private LeaderboardService leaderboardService;
+    private SplittableRandom random;
+
+    @Setup
+    public void setUp() {
+        random = new SplittableRandom(42);
+        allPlayers = new ArrayList<>(players);
+        for (long id = 1; id <= players; id++) {
+            Player player = new Player("player-" + id, "🙂");
+            player.setId(id);
+            int rounds = random.nextInt(500);
+            player.getStats().setTotalRounds(rounds);
+            player.getStats().setPlayerWins(rounds == 0 ? 0 : random.nextInt(rounds + 1));
+            allPlayers.add(player);
+        }
+
+        PlayerRepository repository = mock(PlayerRepository.class);
+        when(repository.streamRankingViews()).thenAnswer(invocation -> allPlayers.stream().map(LeaderboardBenchmark::view));
+        leaderboardService = new LeaderboardService(repository, event -> {}, new SimpleMeterRegistry(),
+                new LeaderboardSnapshotStore(repository, false, Path.of("unused")), Clock.systemUTC(),
+                ClusterTopology.singleNode());
+        leaderboardService.rebuild();
+    }
+
+    /**
+     * The original {@code getDashboardStats()}: score and sort every player on every request.
+     */
+    @Benchmark
+    public List<LeaderboardPlayerStatsDto> findAllScoreAndSort() {
+        return allPlayers.stream()
+                .map(player -> {
+                    int wins = player.getStats().getPlayerWins();
+                    int gamesPlayed = player.getStats().getTotalRounds();
+                    return new LeaderboardPlayerStatsDto(player.getId(), player.getName(), player.getIcon(),
+                            WilsonScore.winPercentage(wins, gamesPlayed), gamesPlayed, WilsonScore.lowerBound(wins, gamesPlayed));
+                })
+                .sorted(Comparator.comparing(LeaderboardPlayerStatsDto::getScore).reversed()
+                        .thenComparing(LeaderboardPlayerStatsDto::getName))
+                .collect(Collectors.toList());
+    }
+
+    @Benchmark
+    public List<LeaderboardPlayerStatsDto> indexTop100() {
+        return leaderboardService.getTop(100);
+    }
+
+    @Benchmark
+    public List<LeaderboardPlayerStatsDto> indexFullLeaderboard() {
+        return leaderboardService.getLeaderboard();
+    }
+
+    // exact: walks the players ranked above, O(rank)
+    @Benchmark
+    public Optional<LeaderboardPositionDto> indexExactRank() {
+        return leaderboardService.getPosition(1L + random.nextInt(players), 0);
+    }
+
+    // estimated from the score histogram, O(log buckets)
+    @Benchmark
+    public Optional<LeaderboardRankDto> indexApproximateRank() {
+        return leaderboardService.getApproximateRank(null, 1L + random.nextInt(players));
+    }
+
+    @Benchmark
+    public void indexUpdateOnePlayer() {
+        long id = 1 + random.nextInt(players);
+        int rounds = 1 + random.nextInt(500);
+        leaderboardService.updateStats(id, 0, random.nextInt(rounds + 1), rounds);
+    }
+
+    private static PlayerRankingView view(Player player) {
+        return new PlayerRankingView() {
+            public Long getId() { return player.getId(); }
+            public String getName() { return player.getName(); }
+            public String getIcon() { return player.getIcon(); }
+            public int getPlayerWins() { return player.getStats().getPlayerWins(); }
+            public int getTotalRounds() { return player.getStats().getTotalRounds(); }
+        };
+    }
+}
@@ -0,0 +1,115 @@
+package com.interview.challenge.benchmark;
+
+import com.interview.challenge.cluster.ClusterTopology;
+import com.interview.challenge.leaderboard.LeaderboardService;
+import com.interview.challenge.leaderboard.LeaderboardSnapshotStore;
+import com.interview.challenge.player.PlayerRankingView;
+import com.interview.challenge.player.PlayerRepository;
+import com.interview.challenge.player.PlayerTableStamp;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Time until a starting node has its leaderboard index: reading and scoring every player row
+ * against restoring the memory-mapped snapshot written by the previous shutdown.
+ * Rows come from memory here, so {@code rebuildFromRows} leaves out the database read and is a lower bound.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@State(Scope.Benchmark)
+public class LeaderboardStartupBenchmark {
+
+    @Param({"100000", "1000000"})
+    private int players;
+
+    private List<PlayerRankingView> views;
+    private PlayerRepository repository;
+    private Path dir;
+    private LeaderboardSnapshotStore snapshotStore;
+
+    @Setup
+    public void setUp() throws IOException {
+        SplittableRandom random = new SplittableRandom(42);
+        views = new ArrayList<>(players);
+        for (long id = 1; id <= players; id++) {
+            int rounds = random.nextInt(500);
+            views.add(view(id, "player-" + id, rounds == 0 ? 0 : random.nextInt(rounds + 1), rounds));
+        }
+        PlayerTableStamp stamp = new PlayerTableStamp() {
+            public long getPlayers() { return players; }
+            public long getMaxId() { return players; }
+            public long getVersions() { return 0; }
+        };
+        repository = mock(PlayerRepository.class);
+        when(repository.streamRankingViews()).thenAnswer(invocation -> views.stream());
+        when(repository.getTableStamp()).thenReturn(stamp);
+
+        dir = Files.createTempDirectory("leaderboard-snapshot");
+        snapshotStore = new LeaderboardSnapshotStore(repository, true, dir.resolve("leaderboard.snapshot"));
+        // no snapshot yet: built from the rows, then saved as on shutdown
+        LeaderboardService previous = service(snapshotStore);
+        previous.rebuild();
+        previous.saveSnapshot();
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(dir.resolve("leaderboard.snapshot"));
+        Files.deleteIfExists(dir);
+    }
+
+    @Benchmark
+    public LeaderboardService rebuildFromRows() {
+        LeaderboardService service = service(new LeaderboardSnapshotStore(repository, false, dir));
+        service.rebuild();
+        return service;
+    }
+
+    @Benchmark
+    public LeaderboardService restoreFromSnapshot() {
+        LeaderboardService service = service(snapshotStore);
+        service.rebuild();
+        return service;
+    }
+
+    private LeaderboardService service(LeaderboardSnapshotStore store) {
+        return new LeaderboardService(repository, event -> {}, new SimpleMeterRegistry(), store, Clock.systemUTC(),
+                ClusterTopology.singleNode());
+    }
+
+    private static PlayerRankingView view(Long id, String name, int wins, int rounds) {
+        return new PlayerRankingView() {
+            public Long getId() { return id; }
+            public String getName() { return name; }
+            public String getIcon() { return "🙂"; }
+            public int getPlayerWins() { return wins; }
+            public int getTotalRounds() { return rounds; }
+        };
+    }
+}
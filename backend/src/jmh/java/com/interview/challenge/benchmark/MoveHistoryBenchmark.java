@@ -0,0 +1,93 @@
+package com.interview.challenge.benchmark;
+
+import com.interview.challenge.shared.GameChoice;
+import com.interview.challenge.shared.MoveHistory;
+import com.interview.challenge.shared.MoveHistoryConverter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Move history column round trips at various lengths: the packed {@link MoveHistoryConverter}
+ * against the comma-joined strings the original {@code GameChoiceConverter} stored.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class MoveHistoryBenchmark {
+
+    private static final String DELIMITER = ",";
+
+    @Param({"10", "1000", "100000"})
+    private int moves;
+
+    private final MoveHistoryConverter converter = new MoveHistoryConverter();
+    private MoveHistory history;
+    private byte[] packedColumn;
+    private List<String> legacyList;
+    private String legacyColumn;
+
+    @Setup
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(42);
+        legacyList = new ArrayList<>(moves);
+        for (int i = 0; i < moves; i++) {
+            legacyList.add(GameChoice.values()[random.nextInt(3)].getValue());
+        }
+        history = MoveHistory.of(legacyList);
+        packedColumn = converter.convertToDatabaseColumn(history);
+        legacyColumn = String.join(DELIMITER, legacyList);
+    }
+
+    @Benchmark
+    public byte[] packedWrite() {
+        return converter.convertToDatabaseColumn(history);
+    }
+
+    @Benchmark
+    public MoveHistory packedLoad() {
+        return converter.convertToEntityAttribute(packedColumn);
+    }
+
+    /**
+     * Load then read every move, the worst case for lazy decoding.
+     */
+    @Benchmark
+    public void packedLoadAndIterate(Blackhole blackhole) {
+        for (String move : converter.convertToEntityAttribute(packedColumn)) {
+            blackhole.consume(move);
+        }
+    }
+
+    @Benchmark
+    public MoveHistory packedAppend() {
+        return history.append(GameChoice.ROCK);
+    }
+
+    @Benchmark
+    public String legacyWrite() {
+        return String.join(DELIMITER, legacyList);
+    }
+
+    @Benchmark
+    public List<String> legacyLoad() {
+        return new ArrayList<>(List.of(legacyColumn.split(DELIMITER)));
+    }
+}
@@ -0,0 +1,92 @@
+package com.interview.challenge.benchmark;
+
+import com.interview.challenge.RpsGameApplication;
+import com.interview.challenge.dto.PlayerStatsUpdateDto;
+import com.interview.challenge.dto.RoundResultDto;
+import com.interview.challenge.player.Player;
+import com.interview.challenge.player.PlayerService;
+import com.interview.challenge.shared.GameChoice;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Stat updates against the real persistence stack (Spring Data JPA on in-memory H2),
+ * for a player with {@code historyLength} rounds already stored.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PlayerServiceBenchmark {
+
+    @Param({"0", "1000", "100000"})
+    private int historyLength;
+
+    private ConfigurableApplicationContext context;
+    private PlayerService playerService;
+    private Long playerId;
+    private PlayerStatsUpdateDto fullStats;
+
+    @Setup(Level.Trial)
+    public void startApplication() {
+        context = new SpringApplicationBuilder(RpsGameApplication.class)
+                .web(WebApplicationType.NONE)
+                .run("--spring.datasource.url=jdbc:h2:mem:rps_bench;DB_CLOSE_DELAY=-1",
+                        "--spring.jpa.show-sql=false", "--logging.level.root=WARN");
+        playerService = context.getBean(PlayerService.class);
+
+        List<GameChoice> history = new ArrayList<>(historyLength);
+        for (int i = 0; i < historyLength; i++) {
+            history.add(GameChoice.values()[i % 3]);
+        }
+        fullStats = new PlayerStatsUpdateDto();
+        fullStats.setPlayerHistory(history);
+        fullStats.setComputerHistory(history);
+        fullStats.setTotalRounds(historyLength);
+
+        Player player = playerService.createPlayer(new Player("bench-" + historyLength, "⏱️"));
+        playerId = player.getId();
+        playerService.updatePlayerStats(playerId, fullStats);
+    }
+
+    @TearDown(Level.Trial)
+    public void stopApplication() {
+        context.close();
+    }
+
+    /**
+     * The original round path: the client PUTs the whole stats object, history included.
+     */
+    @Benchmark
+    public Player updatePlayerStats() {
+        return playerService.updatePlayerStats(playerId, fullStats);
+    }
+
+    /**
+     * The server-side round path: one delta per round.
+     */
+    @Benchmark
+    public RoundResultDto playRound() {
+        return playerService.playRound(playerId, GameChoice.ROCK, "random");
+    }
+}
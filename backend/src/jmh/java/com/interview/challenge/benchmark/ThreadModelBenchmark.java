@@ -0,0 +1,112 @@
+package com.interview.challenge.benchmark;
+
+import com.interview.challenge.RpsGameApplication;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Platform-thread vs virtual-thread request handling ({@code spring.threads.virtual.enabled}) under
+ * more concurrent clients than Tomcat has platform threads (200 by default).
+ * <p>
+ * Run both modes on a Java 21+ JDK; Throughput gives requests/s, SampleTime the latency percentiles (p0.99):
+ * {@code mvn -Pbenchmarks test-compile exec:exec -Djmh.args="ThreadModelBenchmark -rf json -rff target/jmh-threads.json"}.
+ * On Java 17 only {@code -p virtualThreads=false} can run.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 10)
+@Fork(1)
+@Threads(400)
+@State(Scope.Benchmark)
+public class ThreadModelBenchmark {
+
+    private static final int PLAYERS = 1000;
+
+    @Param({"false", "true"})
+    private boolean virtualThreads;
+
+    private ConfigurableApplicationContext context;
+    private HttpClient client;
+    private String baseUrl;
+
+    @Setup(Level.Trial)
+    public void startApplication() throws Exception {
+        if (virtualThreads && Runtime.version().feature() < 21) {
+            throw new IllegalStateException("Virtual threads need a Java 21+ runtime, running " + Runtime.version());
+        }
+        context = new SpringApplicationBuilder(RpsGameApplication.class)
+                .run("--server.port=0",
+                        "--spring.threads.virtual.enabled=" + virtualThreads,
+                        "--spring.datasource.url=jdbc:h2:mem:rps_threads;DB_CLOSE_DELAY=-1",
+                        "--spring.jpa.show-sql=false", "--logging.level.root=WARN",
+                        "--rps.ratelimit.enabled=false"); // all requests come from one client
+        int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+        baseUrl = "http://localhost:" + port + "/api/players";
+        client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+
+        for (int i = 1; i <= PLAYERS; i++) {
+            send(HttpRequest.newBuilder(URI.create(baseUrl))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString("{\"name\":\"load-" + i + "\",\"icon\":\"🤖\"}"))
+                    .build());
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void stopApplication() {
+        context.close();
+    }
+
+    @Benchmark
+    public int playRound() throws Exception {
+        return send(HttpRequest.newBuilder(URI.create(baseUrl + "/" + randomPlayerId() + "/rounds"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString("{\"playerChoice\":\"rock\"}"))
+                .build());
+    }
+
+    @Benchmark
+    public int getPlayer() throws Exception {
+        return send(HttpRequest.newBuilder(URI.create(baseUrl + "/" + randomPlayerId())).GET().build());
+    }
+
+    @Benchmark
+    public int leaderboardPage() throws Exception {
+        return send(HttpRequest.newBuilder(URI.create(baseUrl + "/leaderboard-stats?limit=100")).GET().build());
+    }
+
+    private int send(HttpRequest request) throws Exception {
+        HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+        if (response.statusCode() >= 300) {
+            throw new IllegalStateException(request.method() + " " + request.uri() + " returned " + response.statusCode());
+        }
+        return response.statusCode();
+    }
+
+    private static long randomPlayerId() {
+        return 1 + ThreadLocalRandom.current().nextInt(PLAYERS);
+    }
+}
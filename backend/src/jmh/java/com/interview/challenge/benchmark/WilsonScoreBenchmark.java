@@ -0,0 +1,48 @@
+package com.interview.challenge.benchmark;
+
+import com.interview.challenge.shared.WilsonScore;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of one Wilson score lower bound, as computed for every leaderboard entry.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class WilsonScoreBenchmark {
+
+    @Param({"10", "1000", "100000"})
+    private int totalGames;
+
+    private int wins;
+
+    @Setup
+    public void setUp() {
+        wins = totalGames * 3 / 5;
+    }
+
+    @Benchmark
+    public double lowerBound() {
+        return WilsonScore.lowerBound(wins, totalGames);
+    }
+
+    @Benchmark
+    public double winPercentage() {
+        return WilsonScore.winPercentage(wins, totalGames);
+    }
+}
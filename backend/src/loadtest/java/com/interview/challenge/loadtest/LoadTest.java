@@ -0,0 +1,275 @@
+package com.interview.challenge.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.interview.challenge.RpsGameApplication;
+import org.HdrHistogram.Histogram;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Open-loop HTTP load test of the player API.
+ * <p>
+ * Requests are sent at a fixed rate on a precomputed schedule, each one asynchronously, so a slow response never
+ * delays the next send (a closed-loop client would back off exactly when the backend stalls and hide the stall).
+ * Latency is measured from each request's scheduled time, see {@link OperationStats}.
+ * <p>
+ * Traffic is a weighted synthetic mix ({@link SyntheticTraffic}) or a recording ({@link ReplayTraffic}). Without
+ * {@code --url} the backend is started in this JVM on a random port with an in-memory database; point it at a
+ * separately started backend for numbers not shared with the load generator's CPU.
+ * <pre>
+ * mvn -Ploadtest test-compile exec:exec -Dloadtest.args="--rate=500 --duration=60s --max-p99=250ms"
+ * </pre>
+ * Prints a summary per operation, writes it as JSON to {@code --report}, and exits with status 1 if a gate
+ * ({@code --max-p99}, {@code --max-error-rate}) is exceeded.
+ */
+public final class LoadTest {
+
+    private static final Duration DRAIN_TIMEOUT = Duration.ofSeconds(30);
+
+    private final LoadTestOptions options;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(5)).build();
+    private final Map<String, OperationStats> stats = new ConcurrentHashMap<>();
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private String baseUrl;
+    private long maxScheduleLagNanos;
+
+    private LoadTest(LoadTestOptions options) {
+        this.options = options;
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadTestOptions options = LoadTestOptions.parse(args);
+        ConfigurableApplicationContext context = null;
+        if (options.url == null) {
+            context = new SpringApplicationBuilder(RpsGameApplication.class)
+                    .run("--server.port=0",
+                            "--spring.datasource.url=jdbc:h2:mem:rps_load;DB_CLOSE_DELAY=-1",
+                            "--spring.jpa.show-sql=false", "--logging.level.root=WARN",
+                            "--rps.ratelimit.enabled=false"); // all requests come from one client
+            options.url = "http://localhost:" + ((WebServerApplicationContext) context).getWebServer().getPort();
+        }
+        boolean passed;
+        try {
+            passed = new LoadTest(options).run();
+        } finally {
+            if (context != null) {
+                context.close();
+            }
+        }
+        System.exit(passed ? 0 : 1);
+    }
+
+    private boolean run() throws Exception {
+        baseUrl = options.url;
+        String namePrefix = "load-" + Long.toString(System.currentTimeMillis(), 36);
+        List<Long> playerIds = createPlayers(namePrefix);
+        Traffic traffic = options.replay != null
+                ? new ReplayTraffic(options.replay, playerIds, objectMapper)
+                : new SyntheticTraffic(options.mix, playerIds, namePrefix);
+
+        System.out.printf("Sending %.0f requests/s to %s for %s after a %s warmup%n",
+                options.rate, baseUrl, options.duration, options.warmup);
+        send(traffic);
+        return report();
+    }
+
+    // Closed-loop, 50 at a time: setup, not measured
+    private List<Long> createPlayers(String namePrefix) {
+        List<Long> ids = new ArrayList<>(options.players);
+        for (int from = 0; from < options.players; from += 50) {
+            List<CompletableFuture<HttpResponse<String>>> batch = new ArrayList<>();
+            for (int i = from; i < Math.min(from + 50, options.players); i++) {
+                Operation create = new Operation("create", "POST", "/api/players",
+                        "{\"name\":\"" + namePrefix + "-" + i + "\",\"icon\":\"🤖\"}");
+                batch.add(client.sendAsync(request(create), HttpResponse.BodyHandlers.ofString()));
+            }
+            for (CompletableFuture<HttpResponse<String>> response : batch) {
+                HttpResponse<String> created = response.join();
+                if (created.statusCode() != 201) {
+                    throw new IllegalStateException("Creating a player returned " + created.statusCode() + ": " + created.body());
+                }
+                try {
+                    ids.add(objectMapper.readTree(created.body()).get("id").asLong());
+                } catch (Exception e) {
+                    throw new IllegalStateException("Unexpected player: " + created.body(), e);
+                }
+            }
+        }
+        return ids;
+    }
+
+    private void send(Traffic traffic) throws InterruptedException {
+        SplittableRandom random = new SplittableRandom(42);
+        double intervalNanos = TimeUnit.SECONDS.toNanos(1) / options.rate;
+        long start = System.nanoTime();
+        long measureFrom = start + options.warmup.toNanos();
+        long end = measureFrom + options.duration.toNanos();
+        for (long i = 0; ; i++) {
+            long due = start + (long) (i * intervalNanos);
+            if (due >= end) {
+                break;
+            }
+            long now;
+            while ((now = System.nanoTime()) < due) {
+                LockSupport.parkNanos(due - now);
+            }
+            boolean measured = due >= measureFrom;
+            if (measured) {
+                maxScheduleLagNanos = Math.max(maxScheduleLagNanos, now - due);
+            }
+            Operation operation = traffic.next(random);
+            OperationStats operationStats = measured ? stats.computeIfAbsent(operation.name, name -> new OperationStats()) : null;
+            if (inFlight.get() >= options.maxInFlight) {
+                if (measured) {
+                    operationStats.failure("in-flight limit");
+                }
+                continue;
+            }
+            inFlight.incrementAndGet();
+            long sent = System.nanoTime();
+            client.sendAsync(request(operation), HttpResponse.BodyHandlers.discarding())
+                    .whenComplete((response, error) -> {
+                        long done = System.nanoTime();
+                        inFlight.decrementAndGet();
+                        if (!measured) {
+                            return;
+                        }
+                        if (error != null) {
+                            Throwable cause = error.getCause() != null ? error.getCause() : error;
+                            operationStats.failure(cause.getClass().getSimpleName());
+                        } else if (response.statusCode() >= 400) {
+                            operationStats.failure("HTTP " + response.statusCode());
+                        } else {
+                            operationStats.success(due, sent, done);
+                        }
+                    });
+        }
+        long drainUntil = System.nanoTime() + DRAIN_TIMEOUT.toNanos();
+        while (inFlight.get() > 0 && System.nanoTime() < drainUntil) {
+            Thread.sleep(10);
+        }
+        if (inFlight.get() > 0) {
+            System.out.printf("%d requests still outstanding after %s, not counted%n", inFlight.get(), DRAIN_TIMEOUT);
+        }
+    }
+
+    private HttpRequest request(Operation operation) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(baseUrl + operation.path))
+                .timeout(Duration.ofSeconds(30));
+        if (operation.body == null) {
+            return builder.method(operation.method, HttpRequest.BodyPublishers.noBody()).build();
+        }
+        return builder.header("Content-Type", "application/json")
+                .method(operation.method, HttpRequest.BodyPublishers.ofString(operation.body))
+                .build();
+    }
+
+    private boolean report() throws Exception {
+        double seconds = options.duration.toNanos() / 1e9;
+        Histogram allResponseTimes = new Histogram(3);
+        long successes = 0;
+        long errors = 0;
+        Map<String, Object> operations = new LinkedHashMap<>();
+
+        // percentiles of response time; "svc p99" is the service time, the same requests timed from when they were sent
+        System.out.printf("%n%-40s %9s %7s %9s %9s %9s %9s %9s %9s%n", "operation", "req/s", "errors",
+                "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms", "svc p99");
+        for (Map.Entry<String, OperationStats> entry : new TreeMap<>(stats).entrySet()) {
+            OperationStats operation = entry.getValue();
+            Histogram response = operation.getResponseTime();
+            allResponseTimes.add(response);
+            successes += operation.getSuccesses();
+            errors += operation.getErrors();
+            printRow(entry.getKey(), operation.getSuccesses() / seconds, operation.getErrors(), response,
+                    operation.getServiceTime());
+            Map<String, Object> summary = summary(operation.getSuccesses() / seconds, response);
+            summary.put("errors", operation.getErrors());
+            Map<String, Long> causes = new LinkedHashMap<>();
+            operation.getErrorsByCause().forEach((cause, count) -> causes.put(cause, count.sum()));
+            summary.put("errorsByCause", causes);
+            summary.put("serviceTimeP99Ms", millis(operation.getServiceTime().getValueAtPercentile(99)));
+            operations.put(entry.getKey(), summary);
+        }
+        printRow("total", successes / seconds, errors, allResponseTimes, null);
+        double errorRate = successes + errors == 0 ? 0 : (double) errors / (successes + errors);
+        System.out.printf("%nTarget %.0f req/s, achieved %.1f req/s, error rate %.2f%%, max schedule lag %.1f ms%n",
+                options.rate, successes / seconds, errorRate * 100, maxScheduleLagNanos / 1e6);
+        stats.forEach((name, operation) -> operation.getErrorsByCause().forEach((cause, count) ->
+                System.out.printf("  %s: %d x %s%n", name, count.sum(), cause)));
+
+        boolean passed = true;
+        double p99 = millis(allResponseTimes.getValueAtPercentile(99));
+        if (options.maxP99 != null && p99 > options.maxP99.toNanos() / 1e6) {
+            System.out.printf("FAILED: p99 %.1f ms is above --max-p99=%s%n", p99, options.maxP99);
+            passed = false;
+        }
+        if (errorRate > options.maxErrorRate) {
+            System.out.printf("FAILED: error rate %.2f%% is above --max-error-rate=%s%n", errorRate * 100, options.maxErrorRate);
+            passed = false;
+        }
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("targetRate", options.rate);
+        result.put("durationSeconds", seconds);
+        result.put("replay", options.replay != null ? options.replay.toString() : null);
+        result.put("mix", options.replay != null ? null : options.mix);
+        Map<String, Object> total = summary(successes / seconds, allResponseTimes);
+        total.put("errors", errors);
+        total.put("errorRate", errorRate);
+        total.put("maxScheduleLagMs", maxScheduleLagNanos / 1e6);
+        result.put("total", total);
+        result.put("operations", operations);
+        result.put("passed", passed);
+        if (options.report.toAbsolutePath().getParent() != null) {
+            Files.createDirectories(options.report.toAbsolutePath().getParent());
+        }
+        objectMapper.writerWithDefaultPrettyPrinter().writeValue(options.report.toFile(), result);
+        System.out.println("Report written to " + options.report);
+        return passed;
+    }
+
+    private static void printRow(String name, double throughput, long errors, Histogram response, Histogram service) {
+        System.out.printf("%-40s %9.1f %7d %9.2f %9.2f %9.2f %9.2f %9.2f %9s%n", name, throughput, errors,
+                millis(response.getValueAtPercentile(50)), millis(response.getValueAtPercentile(90)),
+                millis(response.getValueAtPercentile(99)), millis(response.getValueAtPercentile(99.9)),
+                millis(response.getMaxValue()),
+                service == null ? "" : String.format("%.2f", millis(service.getValueAtPercentile(99))));
+    }
+
+    private static Map<String, Object> summary(double throughput, Histogram response) {
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("throughput", throughput);
+        summary.put("requests", response.getTotalCount());
+        summary.put("p50Ms", millis(response.getValueAtPercentile(50)));
+        summary.put("p90Ms", millis(response.getValueAtPercentile(90)));
+        summary.put("p99Ms", millis(response.getValueAtPercentile(99)));
+        summary.put("p999Ms", millis(response.getValueAtPercentile(99.9)));
+        summary.put("maxMs", millis(response.getMaxValue()));
+        return summary;
+    }
+
+    private static double millis(long micros) {
+        return micros / 1000.0;
+    }
+}
@@ -0,0 +1,75 @@
+package com.interview.challenge.loadtest;
+
+import org.springframework.boot.convert.DurationStyle;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Command line of {@link LoadTest}, as {@code --name=value} pairs. Durations take Spring's format ({@code 30s}, {@code 250ms}).
+ */
+final class LoadTestOptions {
+
+    // Requests per second, sent on schedule whether or not earlier ones have completed
+    double rate = 200;
+    Duration duration = Duration.ofSeconds(30);
+    Duration warmup = Duration.ofSeconds(5);
+    // Players created before the run, the ones the traffic plays with
+    int players = 1000;
+    // Operation weights for synthetic traffic
+    Map<String, Integer> mix = parseMix("create:1,stats:4,round:4,player:2,leaderboard:9");
+    // Recorded traffic to replay instead of the synthetic mix
+    Path replay;
+    // A running backend, e.g. http://localhost:8080; without it one is started in this JVM
+    String url;
+    // Requests allowed to be outstanding at once; beyond that a request is counted as an error, not sent
+    int maxInFlight = 10_000;
+    // Regression gates: the run fails if p99 (from the intended send time) or the error rate is above them
+    Duration maxP99;
+    double maxErrorRate = 0.01;
+    Path report = Path.of("target/loadtest-result.json");
+
+    static LoadTestOptions parse(String[] args) {
+        LoadTestOptions options = new LoadTestOptions();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Expected --name=value, got " + arg);
+            }
+            String name = arg.substring(2, arg.indexOf('='));
+            String value = arg.substring(arg.indexOf('=') + 1);
+            switch (name) {
+                case "rate" -> options.rate = Double.parseDouble(value);
+                case "duration" -> options.duration = DurationStyle.detectAndParse(value);
+                case "warmup" -> options.warmup = DurationStyle.detectAndParse(value);
+                case "players" -> options.players = Integer.parseInt(value);
+                case "mix" -> options.mix = parseMix(value);
+                case "replay" -> options.replay = Path.of(value);
+                case "url" -> options.url = value.endsWith("/") ? value.substring(0, value.length() - 1) : value;
+                case "max-in-flight" -> options.maxInFlight = Integer.parseInt(value);
+                case "max-p99" -> options.maxP99 = DurationStyle.detectAndParse(value);
+                case "max-error-rate" -> options.maxErrorRate = Double.parseDouble(value);
+                case "report" -> options.report = Path.of(value);
+                default -> throw new IllegalArgumentException("Unknown option --" + name);
+            }
+        }
+        if (options.rate <= 0 || options.players <= 0) {
+            throw new IllegalArgumentException("--rate and --players must be positive");
+        }
+        return options;
+    }
+
+    // "create:1,stats:4" in the order given
+    private static Map<String, Integer> parseMix(String value) {
+        Map<String, Integer> mix = new LinkedHashMap<>();
+        for (String part : value.split(",")) {
+            String[] weight = part.trim().split(":");
+            if (weight.length != 2) {
+                throw new IllegalArgumentException("Expected operation:weight in --mix, got " + part);
+            }
+            mix.put(weight[0], Integer.parseInt(weight[1]));
+        }
+        return mix;
+    }
+}
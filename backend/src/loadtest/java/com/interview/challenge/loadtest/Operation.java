@@ -0,0 +1,19 @@
+package com.interview.challenge.loadtest;
+
+/**
+ * One request to send, named for the report (e.g. {@code stats}, or the path template of a replayed request).
+ */
+final class Operation {
+
+    final String name;
+    final String method;
+    final String path;
+    final String body; // JSON, or null
+
+    Operation(String name, String method, String path, String body) {
+        this.name = name;
+        this.method = method;
+        this.path = path;
+        this.body = body;
+    }
+}
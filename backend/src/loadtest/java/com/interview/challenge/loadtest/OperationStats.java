@@ -0,0 +1,56 @@
+package com.interview.challenge.loadtest;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Outcomes of one operation during the measured part of a run, recorded from the HTTP client's threads.
+ * <p>
+ * Two latencies per request, in microseconds:
+ * <ul>
+ *     <li>response time, from when the request was <em>due</em> on the open-loop schedule. A stall in the backend
+ *     delays every request due during it, not just the one in flight, so this is the latency a client at that
+ *     rate would see, corrected for coordinated omission;</li>
+ *     <li>service time, from when it was actually sent, what a closed-loop client would measure.</li>
+ * </ul>
+ */
+final class OperationStats {
+
+    private final Histogram responseTime = new ConcurrentHistogram(3);
+    private final Histogram serviceTime = new ConcurrentHistogram(3);
+    private final Map<String, LongAdder> errors = new ConcurrentHashMap<>();
+
+    void success(long dueNanos, long sentNanos, long doneNanos) {
+        responseTime.recordValue(TimeUnit.NANOSECONDS.toMicros(doneNanos - dueNanos));
+        serviceTime.recordValue(TimeUnit.NANOSECONDS.toMicros(doneNanos - sentNanos));
+    }
+
+    void failure(String cause) {
+        errors.computeIfAbsent(cause, key -> new LongAdder()).increment();
+    }
+
+    Histogram getResponseTime() {
+        return responseTime;
+    }
+
+    Histogram getServiceTime() {
+        return serviceTime;
+    }
+
+    long getSuccesses() {
+        return responseTime.getTotalCount();
+    }
+
+    long getErrors() {
+        return errors.values().stream().mapToLong(LongAdder::sum).sum();
+    }
+
+    Map<String, LongAdder> getErrorsByCause() {
+        return errors;
+    }
+}
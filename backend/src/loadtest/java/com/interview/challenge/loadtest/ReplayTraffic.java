@@ -0,0 +1,71 @@
+package com.interview.challenge.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Recorded traffic, sent in file order and from the top again once exhausted.
+ * One request per line:
+ * <pre>
+ * {"method": "PUT", "path": "/api/players/{playerId}/stats", "body": {"totalRounds": 1, "playerHistory": ["rock"], "computerHistory": ["paper"]}}
+ * {"method": "GET", "path": "/api/players/leaderboard-stats?limit=100", "name": "leaderboard"}
+ * </pre>
+ * {@code {playerId}} in the path or body is replaced by one of the players created for the run, so a recording
+ * taken against another database still hits existing players. {@code name} groups requests in the report and
+ * defaults to the method and path as written.
+ */
+final class ReplayTraffic implements Traffic {
+
+    private static final String PLAYER_ID = "{playerId}";
+
+    private final List<Operation> recorded = new ArrayList<>();
+    private final List<Long> playerIds;
+    private int next;
+
+    ReplayTraffic(Path file, List<Long> playerIds, ObjectMapper objectMapper) {
+        this.playerIds = playerIds;
+        try {
+            int lineNumber = 0;
+            for (String line : Files.readAllLines(file)) {
+                lineNumber++;
+                if (line.isBlank()) {
+                    continue;
+                }
+                JsonNode request = objectMapper.readTree(line);
+                if (!request.hasNonNull("method") || !request.hasNonNull("path")) {
+                    throw new IllegalArgumentException(file + ":" + lineNumber + " needs a method and a path");
+                }
+                String method = request.get("method").asText().toUpperCase();
+                String path = request.get("path").asText();
+                String body = request.hasNonNull("body") ? objectMapper.writeValueAsString(request.get("body")) : null;
+                String name = request.hasNonNull("name") ? request.get("name").asText() : method + " " + path;
+                recorded.add(new Operation(name, method, path, body));
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read " + file, e);
+        }
+        if (recorded.isEmpty()) {
+            throw new IllegalArgumentException(file + " has no requests");
+        }
+    }
+
+    @Override
+    public Operation next(SplittableRandom random) {
+        Operation operation = recorded.get(next);
+        next = (next + 1) % recorded.size();
+        if (!operation.path.contains(PLAYER_ID) && (operation.body == null || !operation.body.contains(PLAYER_ID))) {
+            return operation;
+        }
+        String playerId = String.valueOf(playerIds.get(random.nextInt(playerIds.size())));
+        return new Operation(operation.name, operation.method, operation.path.replace(PLAYER_ID, playerId),
+                operation.body == null ? null : operation.body.replace(PLAYER_ID, playerId));
+    }
+}
@@ -0,0 +1,87 @@
+package com.interview.challenge.loadtest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.StringJoiner;
+
+/**
+ * Weighted mix of the calls the frontend makes, against the players created before the run:
+ * <ul>
+ *     <li>{@code create} — {@code POST /api/players} with a new name</li>
+ *     <li>{@code stats} — {@code PUT /api/players/{id}/stats} with a whole history of up to 100 moves</li>
+ *     <li>{@code round} — {@code POST /api/players/{id}/rounds}</li>
+ *     <li>{@code player} — {@code GET /api/players/{id}}</li>
+ *     <li>{@code leaderboard} — {@code GET /api/players/leaderboard-stats?limit=100}</li>
+ * </ul>
+ */
+final class SyntheticTraffic implements Traffic {
+
+    private static final String[] MOVES = {"rock", "paper", "scissors"};
+
+    private final String[] operations;
+    private final int[] cumulativeWeights;
+    private final List<Long> playerIds;
+    private final String namePrefix;
+    private int created;
+
+    SyntheticTraffic(Map<String, Integer> mix, List<Long> playerIds, String namePrefix) {
+        List<String> names = new ArrayList<>();
+        List<Integer> weights = new ArrayList<>();
+        int total = 0;
+        for (Map.Entry<String, Integer> entry : mix.entrySet()) {
+            if (!List.of("create", "stats", "round", "player", "leaderboard").contains(entry.getKey())) {
+                throw new IllegalArgumentException("Unknown operation in --mix: " + entry.getKey());
+            }
+            if (entry.getValue() > 0) {
+                total += entry.getValue();
+                names.add(entry.getKey());
+                weights.add(total);
+            }
+        }
+        if (total == 0) {
+            throw new IllegalArgumentException("--mix has no operation with a positive weight");
+        }
+        this.operations = names.toArray(String[]::new);
+        this.cumulativeWeights = weights.stream().mapToInt(Integer::intValue).toArray();
+        this.playerIds = playerIds;
+        this.namePrefix = namePrefix;
+    }
+
+    @Override
+    public Operation next(SplittableRandom random) {
+        int pick = random.nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+        int i = 0;
+        while (pick >= cumulativeWeights[i]) {
+            i++;
+        }
+        String operation = operations[i];
+        long playerId = playerIds.get(random.nextInt(playerIds.size()));
+        return switch (operation) {
+            case "create" -> new Operation(operation, "POST", "/api/players",
+                    "{\"name\":\"" + namePrefix + "-new-" + (++created) + "\",\"icon\":\"🤖\"}");
+            case "stats" -> new Operation(operation, "PUT", "/api/players/" + playerId + "/stats", statsBody(random));
+            case "round" -> new Operation(operation, "POST", "/api/players/" + playerId + "/rounds",
+                    "{\"playerChoice\":\"" + MOVES[random.nextInt(3)] + "\"}");
+            case "player" -> new Operation(operation, "GET", "/api/players/" + playerId, null);
+            default -> new Operation(operation, "GET", "/api/players/leaderboard-stats?limit=100", null);
+        };
+    }
+
+    // What the frontend uploads after a game: counters plus the full move history
+    private static String statsBody(SplittableRandom random) {
+        int rounds = 1 + random.nextInt(100);
+        int wins = random.nextInt(rounds + 1);
+        int losses = random.nextInt(rounds - wins + 1);
+        StringJoiner playerMoves = new StringJoiner(",", "[", "]");
+        StringJoiner computerMoves = new StringJoiner(",", "[", "]");
+        for (int i = 0; i < rounds; i++) {
+            playerMoves.add("\"" + MOVES[random.nextInt(3)] + "\"");
+            computerMoves.add("\"" + MOVES[random.nextInt(3)] + "\"");
+        }
+        return "{\"playerScore\":" + wins + ",\"computerScore\":" + losses
+                + ",\"playerWins\":" + wins + ",\"computerWins\":" + losses + ",\"totalRounds\":" + rounds
+                + ",\"playerHistory\":" + playerMoves + ",\"computerHistory\":" + computerMoves + "}";
+    }
+}
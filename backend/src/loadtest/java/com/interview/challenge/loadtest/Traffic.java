@@ -0,0 +1,12 @@
+package com.interview.challenge.loadtest;
+
+import java.util.SplittableRandom;
+
+/**
+ * Source of the requests a {@link LoadTest} sends, asked for one operation per scheduled send.
+ * Only called from the scheduling thread.
+ */
+interface Traffic {
+
+    Operation next(SplittableRandom random);
+}
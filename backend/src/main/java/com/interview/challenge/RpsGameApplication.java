@@ -1,13 +1,27 @@
 package com.interview.challenge;
 
+import com.interview.challenge.player.PlayerTransferRunner;
 import org.springframework.boot.SpringApplication;
+import org.springframework.boot.WebApplicationType;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 
+import java.util.Arrays;
+import java.util.stream.Stream;
+
 @SpringBootApplication
 public class RpsGameApplication {
 
 	public static void main(String[] args) {
-		SpringApplication.run(RpsGameApplication.class, args);
+		SpringApplication application = new SpringApplication(RpsGameApplication.class);
+		if (PlayerTransferRunner.isRequested(args)) {
+			// one transfer, then exit: no web server, background jobs or leaderboard
+			application.setWebApplicationType(WebApplicationType.NONE);
+			String[] transferArgs = Stream.concat(Arrays.stream(args),
+					Stream.of("--rps.scheduling.enabled=false", "--rps.leaderboard.rebuild-on-startup=false"))
+					.toArray(String[]::new);
+			System.exit(SpringApplication.exit(application.run(transferArgs)));
+		}
+		application.run(args);
 	}
 
 }
@@ -0,0 +1,40 @@
+package com.interview.challenge.analytics;
+
+import com.interview.challenge.dto.MoveAnalyticsDto;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/analytics")
+@CrossOrigin(origins = "http://localhost:4200")
+@Tag(name = "Analytics", description = "Statistics across all players")
+public class AnalyticsController {
+
+    private final MoveAnalytics moveAnalytics;
+
+    @Autowired
+    public AnalyticsController(MoveAnalytics moveAnalytics) {
+        this.moveAnalytics = moveAnalytics;
+    }
+
+    @Operation(summary = "Get global move statistics",
+            description = "How often each move is played by players and by the computer, how it fares, the full " +
+                    "player-move by computer-move matrix, and which move players play after each move. " +
+                    "Served from counters kept up to date with every round.")
+    @ApiResponse(responseCode = "200", description = "Successfully retrieved the statistics",
+            content = @Content(mediaType = "application/json",
+                    schema = @Schema(implementation = MoveAnalyticsDto.class)))
+    @GetMapping("/moves")
+    public ResponseEntity<MoveAnalyticsDto> getMoveAnalytics() {
+        return ResponseEntity.ok(moveAnalytics.getAnalytics());
+    }
+}
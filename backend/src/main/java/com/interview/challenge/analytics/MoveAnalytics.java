@@ -0,0 +1,210 @@
+package com.interview.challenge.analytics;
+
+import com.interview.challenge.dto.ChoiceAnalyticsDto;
+import com.interview.challenge.dto.MoveAnalyticsDto;
+import com.interview.challenge.shared.GameChoice;
+import com.interview.challenge.shared.RoundOutcome;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Global move statistics over every round played, kept as two 3x3 matrices of counters:
+ * rounds by the player's and the computer's move, and each player's move by the one they played before it.
+ * Choice counts and win rates by move are sums over the first; nothing scans player rows or histories.
+ * <p>
+ * Rounds are counted once their write commits, by {@code PlayerRoundWriter} and {@code PlayerStatsBatchWriter},
+ * so buffered rounds count when they are flushed. The counters are {@link LongAdder}s: every round increments
+ * two cells, and concurrent rounds increment separate stripes instead of contending on one value.
+ * <p>
+ * Totals are stored in the {@code move_counter} table: read on startup, then what was added since is written
+ * every {@code rps.analytics.flush-interval} and on shutdown. The database adds increments, so with several nodes
+ * it holds the global totals while each node serves the totals as of its startup plus its own rounds since.
+ * Stats uploaded wholesale (PUT stats) are not rounds played and are not counted.
+ */
+@Component
+public class MoveAnalytics {
+
+    private static final Logger log = LoggerFactory.getLogger(MoveAnalytics.class);
+
+    private static final GameChoice[] CHOICES = GameChoice.values();
+
+    private final MoveCounterRepository moveCounterRepository;
+
+    // [player choice][computer choice]
+    private final LongAdder[][] rounds = adders();
+    // [previous player choice][next player choice]
+    private final LongAdder[][] transitions = adders();
+    // what the database already holds, guarded by flushLock
+    private final long[][] storedRounds = new long[3][3];
+    private final long[][] storedTransitions = new long[3][3];
+    private final ReentrantLock flushLock = new ReentrantLock();
+
+    @Autowired
+    public MoveAnalytics(MoveCounterRepository moveCounterRepository) {
+        this.moveCounterRepository = moveCounterRepository;
+    }
+
+    /**
+     * Counts one round.
+     *
+     * @param previousPlayerChoice The player's move in their previous round, or null if this is their first.
+     */
+    public void record(GameChoice previousPlayerChoice, GameChoice playerChoice, GameChoice computerChoice) {
+        rounds[playerChoice.ordinal()][computerChoice.ordinal()].increment();
+        if (previousPlayerChoice != null) {
+            transitions[previousPlayerChoice.ordinal()][playerChoice.ordinal()].increment();
+        }
+    }
+
+    /**
+     * Counts consecutive rounds of one player.
+     *
+     * @param previousPlayerChoice The player's move before the first of these rounds, or null if there was none.
+     * @param computerMoves The computer's moves, paired with the player's by position.
+     */
+    public void record(GameChoice previousPlayerChoice, List<GameChoice> playerMoves, List<GameChoice> computerMoves) {
+        GameChoice previous = previousPlayerChoice;
+        for (int i = 0; i < playerMoves.size(); i++) {
+            record(previous, playerMoves.get(i), computerMoves.get(i));
+            previous = playerMoves.get(i);
+        }
+    }
+
+    /**
+     * Reads the current totals: 18 sums, however many rounds were played.
+     */
+    public MoveAnalyticsDto getAnalytics() {
+        long[][] outcome = sums(rounds);
+        long total = 0;
+        long[] wins = new long[3];
+        long[] losses = new long[3];
+        long[] draws = new long[3];
+        long[] computerPlayed = new long[3];
+        for (GameChoice player : CHOICES) {
+            for (GameChoice computer : CHOICES) {
+                long count = outcome[player.ordinal()][computer.ordinal()];
+                total += count;
+                computerPlayed[computer.ordinal()] += count;
+                switch (RoundOutcome.of(player, computer)) {
+                    case WIN -> wins[player.ordinal()] += count;
+                    case LOSS -> losses[player.ordinal()] += count;
+                    case DRAW -> draws[player.ordinal()] += count;
+                }
+            }
+        }
+        List<ChoiceAnalyticsDto> choices = new ArrayList<>(3);
+        for (GameChoice choice : CHOICES) {
+            int i = choice.ordinal();
+            long played = wins[i] + losses[i] + draws[i];
+            choices.add(new ChoiceAnalyticsDto(choice.getValue(), played, computerPlayed[i], wins[i], losses[i], draws[i],
+                    percentage(wins[i], played)));
+        }
+        return new MoveAnalyticsDto(total, percentage(sum(wins), total), percentage(sum(losses), total),
+                percentage(sum(draws), total), choices, toMap(outcome), toMap(sums(transitions)));
+    }
+
+    /**
+     * Adds the stored totals to the counters, once the schema is migrated.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        flushLock.lock();
+        try {
+            for (MoveCounter counter : moveCounterRepository.findAll()) {
+                String[] cell = counter.getId().split("\\.");
+                int from = GameChoice.fromValue(cell[1]).ordinal();
+                int to = GameChoice.fromValue(cell[2]).ordinal();
+                boolean isRounds = cell[0].equals("rounds");
+                (isRounds ? rounds : transitions)[from][to].add(counter.getTotal());
+                (isRounds ? storedRounds : storedTransitions)[from][to] += counter.getTotal();
+            }
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    /**
+     * Writes what was counted since the previous flush. A cell that fails to be written is retried on the next one.
+     */
+    @Scheduled(fixedDelayString = "${rps.analytics.flush-interval:10s}", initialDelayString = "${rps.analytics.flush-interval:10s}")
+    @PreDestroy
+    public void flush() {
+        flushLock.lock();
+        try {
+            flush("rounds", rounds, storedRounds);
+            flush("transitions", transitions, storedTransitions);
+        } catch (RuntimeException e) {
+            log.warn("Could not save the move analytics, retrying on the next flush", e);
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    private void flush(String matrix, LongAdder[][] counters, long[][] stored) {
+        for (GameChoice from : CHOICES) {
+            for (GameChoice to : CHOICES) {
+                // not sumThenReset(): that loses increments made while it runs
+                long total = counters[from.ordinal()][to.ordinal()].sum();
+                long delta = total - stored[from.ordinal()][to.ordinal()];
+                if (delta != 0) {
+                    moveCounterRepository.increment(matrix + "." + from.getValue() + "." + to.getValue(), delta);
+                    stored[from.ordinal()][to.ordinal()] = total;
+                }
+            }
+        }
+    }
+
+    private static LongAdder[][] adders() {
+        LongAdder[][] adders = new LongAdder[3][3];
+        for (LongAdder[] row : adders) {
+            for (int i = 0; i < row.length; i++) {
+                row[i] = new LongAdder();
+            }
+        }
+        return adders;
+    }
+
+    private static long[][] sums(LongAdder[][] counters) {
+        long[][] sums = new long[3][3];
+        for (int i = 0; i < 3; i++) {
+            for (int j = 0; j < 3; j++) {
+                sums[i][j] = counters[i][j].sum();
+            }
+        }
+        return sums;
+    }
+
+    private static Map<String, Map<String, Long>> toMap(long[][] matrix) {
+        Map<String, Map<String, Long>> rows = new LinkedHashMap<>();
+        for (GameChoice from : CHOICES) {
+            Map<String, Long> row = new LinkedHashMap<>();
+            for (GameChoice to : CHOICES) {
+                row.put(to.getValue(), matrix[from.ordinal()][to.ordinal()]);
+            }
+            rows.put(from.getValue(), row);
+        }
+        return rows;
+    }
+
+    private static long sum(long[] values) {
+        return values[0] + values[1] + values[2];
+    }
+
+    // rounded to two decimals, like the leaderboard's win percentage
+    private static double percentage(long count, long total) {
+        return total > 0 ? Math.round(count * 10000.0 / total) / 100.0 : 0.0;
+    }
+}
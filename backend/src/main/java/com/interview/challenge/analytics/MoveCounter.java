@@ -0,0 +1,35 @@
+package com.interview.challenge.analytics;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+
+/**
+ * One cell of the global move matrices kept by {@link MoveAnalytics}, e.g. {@code rounds.rock.paper}.
+ * The rows are created by the migration and only ever incremented.
+ */
+@Entity
+public class MoveCounter {
+
+    @Id
+    @Column(length = 32)
+    private String id;
+
+    private long total;
+
+    protected MoveCounter() {} // required by JPA
+
+    public MoveCounter(String id, long total) {
+        this.id = id;
+        this.total = total;
+    }
+
+    // getters
+    public String getId() {
+        return id;
+    }
+
+    public long getTotal() {
+        return total;
+    }
+}
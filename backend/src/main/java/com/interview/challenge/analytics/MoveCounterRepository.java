@@ -0,0 +1,18 @@
+package com.interview.challenge.analytics;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+@Repository
+public interface MoveCounterRepository extends JpaRepository<MoveCounter, String> {
+
+    // Adds to the stored total in the database, so every node's increments add up
+    @Modifying
+    @Transactional
+    @Query("update MoveCounter c set c.total = c.total + :delta where c.id = :id")
+    int increment(@Param("id") String id, @Param("delta") long delta);
+}
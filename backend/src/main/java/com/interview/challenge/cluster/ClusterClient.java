@@ -0,0 +1,147 @@
+package com.interview.challenge.cluster;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * HTTP calls between the nodes of the cluster: reading a partition of another node, notifying a node of changes
+ * to its players, and forwarding a client's request to the node owning the player.
+ * Bodies are JSON, written and read with the application's {@link ObjectMapper}.
+ */
+@Component
+public class ClusterClient {
+
+    /**
+     * Marks a request sent by another node, which is answered locally and never forwarded again.
+     */
+    public static final String FORWARDED_HEADER = "X-Rps-Forwarded-By";
+
+    private static final List<String> FORWARDED_REQUEST_HEADERS = List.of(HttpHeaders.CONTENT_TYPE, HttpHeaders.ACCEPT,
+            HttpHeaders.IF_NONE_MATCH, HttpHeaders.IF_MATCH, HttpHeaders.ORIGIN);
+    private static final List<String> FORWARDED_RESPONSE_HEADERS = List.of(HttpHeaders.CONTENT_TYPE, HttpHeaders.ETAG,
+            HttpHeaders.CACHE_CONTROL, HttpHeaders.LOCATION, HttpHeaders.VARY, HttpHeaders.ACCESS_CONTROL_ALLOW_ORIGIN);
+
+    private final ClusterTopology topology;
+    private final ObjectMapper objectMapper;
+    private final Duration timeout;
+    private final HttpClient http;
+
+    @Autowired
+    public ClusterClient(ClusterTopology topology, ObjectMapper objectMapper,
+                         @Value("${rps.cluster.timeout:2s}") Duration timeout) {
+        this.topology = topology;
+        this.objectMapper = objectMapper;
+        this.timeout = timeout;
+        this.http = HttpClient.newBuilder().connectTimeout(timeout).build();
+    }
+
+    /**
+     * Reads JSON from another node.
+     *
+     * @param pathAndQuery The path on that node, with the query string already encoded.
+     * @return The body, or a failed future if the node could not be reached or did not answer 200.
+     */
+    public <T> CompletableFuture<T> get(int node, String pathAndQuery, TypeReference<T> type) {
+        HttpRequest request = request(node, pathAndQuery)
+                .header(HttpHeaders.ACCEPT, MediaType.APPLICATION_JSON_VALUE)
+                .GET()
+                .build();
+        return http.sendAsync(request, HttpResponse.BodyHandlers.ofByteArray())
+                .thenApply(response -> {
+                    if (response.statusCode() != HttpStatus.OK.value()) {
+                        throw new ClusterUnavailableException("Node " + node + " answered " + response.statusCode()
+                                + " to " + pathAndQuery, null);
+                    }
+                    try {
+                        return objectMapper.readValue(response.body(), type);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+    }
+
+    /**
+     * Posts JSON to another node.
+     *
+     * @return A future completed once the node answered with a 2xx status, failed otherwise.
+     */
+    public CompletableFuture<Void> post(int node, String path, Object body) {
+        byte[] json;
+        try {
+            json = objectMapper.writeValueAsBytes(body);
+        } catch (IOException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+        HttpRequest request = request(node, path)
+                .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                .POST(HttpRequest.BodyPublishers.ofByteArray(json))
+                .build();
+        return http.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                .thenAccept(response -> {
+                    if (response.statusCode() / 100 != 2) {
+                        throw new ClusterUnavailableException("Node " + node + " answered " + response.statusCode()
+                                + " to " + path, null);
+                    }
+                });
+    }
+
+    /**
+     * Sends a client's request, unchanged, to another node and copies its answer back: status, body,
+     * and the headers that matter to clients (content type, entity tag, caching, CORS).
+     *
+     * @throws ClusterUnavailableException If the node could not be reached.
+     */
+    public void forward(int node, HttpServletRequest request, HttpServletResponse response) throws IOException {
+        String target = request.getRequestURI() + (request.getQueryString() != null ? "?" + request.getQueryString() : "");
+        HttpRequest.Builder builder = request(node, target);
+        for (String header : FORWARDED_REQUEST_HEADERS) {
+            String value = request.getHeader(header);
+            if (value != null) {
+                builder.header(header, value);
+            }
+        }
+        byte[] body = request.getInputStream().readAllBytes();
+        builder.method(request.getMethod(), body.length > 0
+                ? HttpRequest.BodyPublishers.ofByteArray(body)
+                : HttpRequest.BodyPublishers.noBody());
+
+        HttpResponse<byte[]> answer;
+        try {
+            answer = http.send(builder.build(), HttpResponse.BodyHandlers.ofByteArray());
+        } catch (IOException e) {
+            throw new ClusterUnavailableException("Could not forward " + target + " to node " + node, e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ClusterUnavailableException("Interrupted while forwarding " + target + " to node " + node, e);
+        }
+        response.setStatus(answer.statusCode());
+        for (String header : FORWARDED_RESPONSE_HEADERS) {
+            answer.headers().allValues(header).forEach(value -> response.addHeader(header, value));
+        }
+        response.getOutputStream().write(answer.body());
+    }
+
+    private HttpRequest.Builder request(int node, String pathAndQuery) {
+        return HttpRequest.newBuilder(URI.create(topology.urlOf(node) + pathAndQuery))
+                .timeout(timeout)
+                .header(FORWARDED_HEADER, Integer.toString(topology.nodeIndex()));
+    }
+}
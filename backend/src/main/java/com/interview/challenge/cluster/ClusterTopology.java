@@ -0,0 +1,76 @@
+package com.interview.challenge.cluster;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.net.URI;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * The nodes of the cluster and which one owns each player.
+ * <p>
+ * {@code rps.cluster.nodes} lists the base URL of every node, the same list in the same order on each of them,
+ * and {@code rps.cluster.node-index} says which entry is this node. Player {@code id} is owned by node
+ * {@code id mod nodes}: only the owner ranks the player in its leaderboard index and serves their requests.
+ * Without a list, or with a single entry, this node owns every player and nothing is forwarded.
+ */
+@Component
+public class ClusterTopology {
+
+    private final List<URI> nodes;
+    private final int nodeIndex;
+
+    @Autowired
+    public ClusterTopology(@Value("${rps.cluster.nodes:}") String nodes,
+                           @Value("${rps.cluster.node-index:0}") int nodeIndex) {
+        this.nodes = Arrays.stream(nodes.split(","))
+                .map(String::trim)
+                .filter(url -> !url.isEmpty())
+                .map(url -> URI.create(url.endsWith("/") ? url.substring(0, url.length() - 1) : url))
+                .toList();
+        if (this.nodes.size() > 1 && (nodeIndex < 0 || nodeIndex >= this.nodes.size())) {
+            throw new IllegalStateException("rps.cluster.node-index " + nodeIndex + " is not one of the "
+                    + this.nodes.size() + " rps.cluster.nodes");
+        }
+        this.nodeIndex = this.nodes.size() > 1 ? nodeIndex : 0;
+    }
+
+    /**
+     * A node running alone, owning every player.
+     */
+    public static ClusterTopology singleNode() {
+        return new ClusterTopology("", 0);
+    }
+
+    public boolean isClustered() {
+        return nodes.size() > 1;
+    }
+
+    public int size() {
+        return Math.max(1, nodes.size());
+    }
+
+    public int nodeIndex() {
+        return nodeIndex;
+    }
+
+    /**
+     * @return The index of the node owning the player.
+     */
+    public int ownerOf(Long playerId) {
+        return (int) Math.floorMod(playerId, (long) size());
+    }
+
+    public boolean owns(Long playerId) {
+        return !isClustered() || ownerOf(playerId) == nodeIndex;
+    }
+
+    /**
+     * @return The base URL of a node, without a trailing slash.
+     */
+    public URI urlOf(int node) {
+        return nodes.get(node);
+    }
+}
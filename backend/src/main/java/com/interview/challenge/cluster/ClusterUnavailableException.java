@@ -0,0 +1,16 @@
+package com.interview.challenge.cluster;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Thrown when another node of the cluster is needed to answer a request and could not be reached,
+ * or answered with an error. Rather than serving a leaderboard missing a partition, the request fails with 503.
+ */
+@ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+public class ClusterUnavailableException extends RuntimeException {
+
+    public ClusterUnavailableException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,74 @@
+package com.interview.challenge.cluster;
+
+import com.interview.challenge.dto.LeaderboardPlayerStatsDto;
+import com.interview.challenge.dto.PartitionPositionDto;
+import com.interview.challenge.dto.PartitionRankCountsDto;
+import com.interview.challenge.leaderboard.LeaderboardService;
+import com.interview.challenge.player.PlayerCache;
+import com.interview.challenge.shared.TimeWindow;
+import io.swagger.v3.oas.annotations.Hidden;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+/**
+ * What the nodes of a cluster ask each other: reads of this node's leaderboard partition, merged by
+ * {@code ClusterLeaderboardService} on the asking node, and notifications of changes to players this node owns.
+ * Not part of the public API: outside {@code /api}, left out of the API docs, and meant to be reachable by the
+ * other nodes only.
+ */
+@Hidden
+@RestController
+@RequestMapping("/internal/partition")
+public class PartitionController {
+
+    private final LeaderboardService leaderboardService;
+    private final PlayerCache playerCache;
+
+    @Autowired
+    public PartitionController(LeaderboardService leaderboardService, PlayerCache playerCache) {
+        this.leaderboardService = leaderboardService;
+        this.playerCache = playerCache;
+    }
+
+    @GetMapping("/leaderboard")
+    public ResponseEntity<List<LeaderboardPlayerStatsDto>> getLeaderboardPage(
+            @RequestParam int limit,
+            @RequestParam(required = false) Double afterScore,
+            @RequestParam(required = false) String afterName,
+            @RequestParam(required = false) String window) {
+        return ResponseEntity.ok(leaderboardService.getPage(TimeWindow.fromParameter(window), limit, afterScore, afterName));
+    }
+
+    @GetMapping("/position")
+    public ResponseEntity<PartitionPositionDto> getPosition(
+            @RequestParam Long playerId,
+            @RequestParam double score,
+            @RequestParam String name,
+            @RequestParam int neighbours,
+            @RequestParam(required = false) String window) {
+        return ResponseEntity.ok(leaderboardService.getPartitionPosition(TimeWindow.fromParameter(window),
+                playerId, score, name, neighbours));
+    }
+
+    @GetMapping("/rank-counts")
+    public ResponseEntity<PartitionRankCountsDto> getRankCounts(
+            @RequestParam double score,
+            @RequestParam(required = false) String window) {
+        return ResponseEntity.ok(leaderboardService.getPartitionRankCounts(TimeWindow.fromParameter(window), score));
+    }
+
+    @PostMapping("/refresh")
+    public ResponseEntity<Void> refresh(@RequestBody List<Long> playerIds) {
+        playerIds.forEach(playerCache::evict);
+        leaderboardService.refresh(playerIds);
+        return ResponseEntity.noContent().build();
+    }
+}
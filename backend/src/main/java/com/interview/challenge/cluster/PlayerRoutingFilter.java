@@ -0,0 +1,61 @@
+package com.interview.challenge.cluster;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Sends every request about one player ({@code /api/players/{id}/...}) to the node owning that player,
+ * so their stats, cache entry, opponent model and leaderboard entry are only ever changed on one node.
+ * Requests already forwarded by another node, and everything else (creating players, bulk uploads,
+ * leaderboard pages), are served where they arrive.
+ */
+@Component
+public class PlayerRoutingFilter extends OncePerRequestFilter {
+
+    private static final Logger log = LoggerFactory.getLogger(PlayerRoutingFilter.class);
+
+    private static final Pattern PLAYER_PATH = Pattern.compile("^/api/players/(\\d{1,18})(/.*)?$");
+
+    private final ClusterTopology topology;
+    private final ClusterClient clusterClient;
+
+    @Autowired
+    public PlayerRoutingFilter(ClusterTopology topology, ClusterClient clusterClient) {
+        this.topology = topology;
+        this.clusterClient = clusterClient;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !topology.isClustered() || request.getHeader(ClusterClient.FORWARDED_HEADER) != null;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        Matcher player = PLAYER_PATH.matcher(request.getRequestURI());
+        if (!player.matches() || topology.owns(Long.parseLong(player.group(1)))) {
+            chain.doFilter(request, response);
+            return;
+        }
+        int owner = topology.ownerOf(Long.parseLong(player.group(1)));
+        try {
+            clusterClient.forward(owner, request, response);
+        } catch (ClusterUnavailableException e) {
+            log.warn(e.getMessage(), e.getCause());
+            response.sendError(HttpStatus.SERVICE_UNAVAILABLE.value());
+        }
+    }
+}
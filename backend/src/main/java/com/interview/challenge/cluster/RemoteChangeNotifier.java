@@ -0,0 +1,67 @@
+package com.interview.challenge.cluster;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Tells owners about changes to their players committed on this node. Changes are collected per owner and sent
+ * every {@code rps.cluster.notify-interval} as one list of player IDs, each ID once however often it changed;
+ * the owner reads those players back from the shared database ({@code POST /internal/partition/refresh}).
+ * IDs that could not be delivered are kept for the next round.
+ */
+@Component
+public class RemoteChangeNotifier {
+
+    static final String REFRESH_PATH = "/internal/partition/refresh";
+
+    private static final Logger log = LoggerFactory.getLogger(RemoteChangeNotifier.class);
+
+    private final ClusterTopology topology;
+    private final ClusterClient clusterClient;
+
+    private final Map<Integer, Set<Long>> pending = new ConcurrentHashMap<>();
+
+    @Autowired
+    public RemoteChangeNotifier(ClusterTopology topology, ClusterClient clusterClient) {
+        this.topology = topology;
+        this.clusterClient = clusterClient;
+    }
+
+    @EventListener
+    public void onRemotePlayerChanged(RemotePlayerChangedEvent event) {
+        pending.computeIfAbsent(topology.ownerOf(event.getPlayerId()), owner -> ConcurrentHashMap.newKeySet())
+                .add(event.getPlayerId());
+    }
+
+    @Scheduled(fixedDelayString = "${rps.cluster.notify-interval:100ms}")
+    public void notifyOwners() {
+        pending.forEach((owner, playerIds) -> {
+            List<Long> batch = new ArrayList<>();
+            // removed one by one, IDs added meanwhile are either in this batch or left for the next
+            for (Iterator<Long> ids = playerIds.iterator(); ids.hasNext(); ) {
+                batch.add(ids.next());
+                ids.remove();
+            }
+            if (batch.isEmpty()) {
+                return;
+            }
+            clusterClient.post(owner, REFRESH_PATH, batch).exceptionally(e -> {
+                // no stack trace, this repeats every interval while the node is down
+                log.warn("Could not notify node {} of {} changed players, retrying: {}", owner, batch.size(), e.toString());
+                playerIds.addAll(batch);
+                return null;
+            });
+        });
+    }
+}
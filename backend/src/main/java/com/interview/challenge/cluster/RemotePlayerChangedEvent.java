@@ -0,0 +1,19 @@
+package com.interview.challenge.cluster;
+
+/**
+ * Published once a change to a player owned by another node has committed on this one, e.g. a player just
+ * created here or a bulk upload touching players of every partition. The owner is told to read the player again
+ * by {@link RemoteChangeNotifier}.
+ */
+public class RemotePlayerChangedEvent {
+
+    private final Long playerId;
+
+    public RemotePlayerChangedEvent(Long playerId) {
+        this.playerId = playerId;
+    }
+
+    public Long getPlayerId() {
+        return playerId;
+    }
+}
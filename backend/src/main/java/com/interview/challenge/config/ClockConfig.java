@@ -0,0 +1,16 @@
+package com.interview.challenge.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Clock;
+
+@Configuration
+public class ClockConfig {
+
+    // UTC: the leaderboard windows roll over at midnight UTC
+    @Bean
+    public Clock clock() {
+        return Clock.systemUTC();
+    }
+}
@@ -0,0 +1,17 @@
+package com.interview.challenge.config;
+
+import com.fasterxml.jackson.databind.Module;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class JacksonConfig {
+
+    // registered with Spring's ObjectMapper: getters and setters are called through generated lambdas
+    // instead of reflection, which matters for the DTOs serialized on every request (leaderboard pages, players)
+    @Bean
+    public Module blackbirdModule() {
+        return new BlackbirdModule();
+    }
+}
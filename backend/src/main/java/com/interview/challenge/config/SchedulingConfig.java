@@ -0,0 +1,11 @@
+package com.interview.challenge.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+@Configuration
+@EnableScheduling // background jobs, e.g. flushing buffered rounds
+@ConditionalOnProperty(name = "rps.scheduling.enabled", havingValue = "true", matchIfMissing = true)
+public class SchedulingConfig {
+}
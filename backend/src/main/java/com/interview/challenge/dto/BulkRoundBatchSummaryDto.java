@@ -0,0 +1,93 @@
+package com.interview.challenge.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "What one transaction of a bulk upload wrote")
+public class BulkRoundBatchSummaryDto {
+    // getters and setters
+    @Schema(description = "1-based number of the batch within the upload", example = "1")
+    private int batch;
+
+    @Schema(description = "Rounds applied to player stats", example = "10000")
+    private int rounds;
+
+    @Schema(description = "Distinct players updated", example = "64")
+    private int players;
+
+    @Schema(description = "Rounds won by the player", example = "3350")
+    private int playerWins;
+
+    @Schema(description = "Rounds won by the computer", example = "3310")
+    private int computerWins;
+
+    @Schema(description = "Rounds drawn", example = "3340")
+    private int draws;
+
+    @Schema(description = "Records skipped because the player ID or a move was missing or invalid", example = "0")
+    private int invalidRecords;
+
+    @Schema(description = "Rounds skipped because the player does not exist", example = "0")
+    private int unknownPlayerRounds;
+
+    // constructor
+    public BulkRoundBatchSummaryDto(int batch) {
+        this.batch = batch;
+    }
+
+    // getters and setters
+    public int getBatch() {
+        return batch;
+    }
+    public void setBatch(int batch) {
+        this.batch = batch;
+    }
+
+    public int getRounds() {
+        return rounds;
+    }
+    public void setRounds(int rounds) {
+        this.rounds = rounds;
+    }
+
+    public int getPlayers() {
+        return players;
+    }
+    public void setPlayers(int players) {
+        this.players = players;
+    }
+
+    public int getPlayerWins() {
+        return playerWins;
+    }
+    public void setPlayerWins(int playerWins) {
+        this.playerWins = playerWins;
+    }
+
+    public int getComputerWins() {
+        return computerWins;
+    }
+    public void setComputerWins(int computerWins) {
+        this.computerWins = computerWins;
+    }
+
+    public int getDraws() {
+        return draws;
+    }
+    public void setDraws(int draws) {
+        this.draws = draws;
+    }
+
+    public int getInvalidRecords() {
+        return invalidRecords;
+    }
+    public void setInvalidRecords(int invalidRecords) {
+        this.invalidRecords = invalidRecords;
+    }
+
+    public int getUnknownPlayerRounds() {
+        return unknownPlayerRounds;
+    }
+    public void setUnknownPlayerRounds(int unknownPlayerRounds) {
+        this.unknownPlayerRounds = unknownPlayerRounds;
+    }
+}
@@ -0,0 +1,60 @@
+package com.interview.challenge.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Schema(description = "Result of a bulk round upload, one summary per committed batch")
+public class BulkRoundIngestResultDto {
+    // getters and setters
+    @Schema(description = "Rounds applied to player stats over all batches", example = "1000000")
+    private long rounds;
+
+    @Schema(description = "Records skipped over all batches (invalid or for unknown players)", example = "0")
+    private long skipped;
+
+    @Schema(description = "One summary per batch, each written in its own transaction")
+    private List<BulkRoundBatchSummaryDto> batches = new ArrayList<>();
+
+    @Schema(description = "Why the upload stopped early; records before the malformed line were applied",
+            example = "Malformed record at line 42")
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private String error;
+
+    // getters and setters
+    public long getRounds() {
+        return rounds;
+    }
+    public void setRounds(long rounds) {
+        this.rounds = rounds;
+    }
+
+    public long getSkipped() {
+        return skipped;
+    }
+    public void setSkipped(long skipped) {
+        this.skipped = skipped;
+    }
+
+    public List<BulkRoundBatchSummaryDto> getBatches() {
+        return batches;
+    }
+    public void setBatches(List<BulkRoundBatchSummaryDto> batches) {
+        this.batches = batches;
+    }
+
+    public String getError() {
+        return error;
+    }
+    public void setError(String error) {
+        this.error = error;
+    }
+
+    public void addBatch(BulkRoundBatchSummaryDto batch) {
+        batches.add(batch);
+        rounds += batch.getRounds();
+        skipped += batch.getInvalidRecords() + batch.getUnknownPlayerRounds();
+    }
+}
@@ -0,0 +1,42 @@
+package com.interview.challenge.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "One round of a bulk upload, sent as one line of an NDJSON body")
+public class BulkRoundRecordDto {
+    // getters and setters
+    @Schema(description = "Unique identifier of the player", example = "1")
+    private Long playerId;
+
+    // kept as text so a record with an unknown move is skipped instead of failing the whole upload
+    @Schema(description = "The player's choice", example = "rock", allowableValues = {"rock", "paper", "scissors"})
+    private String playerChoice;
+
+    @Schema(description = "The computer's choice", example = "scissors", allowableValues = {"rock", "paper", "scissors"})
+    private String computerChoice;
+
+    // default constructor (required by Jackson)
+    public BulkRoundRecordDto() {}
+
+    // getters and setters
+    public Long getPlayerId() {
+        return playerId;
+    }
+    public void setPlayerId(Long playerId) {
+        this.playerId = playerId;
+    }
+
+    public String getPlayerChoice() {
+        return playerChoice;
+    }
+    public void setPlayerChoice(String playerChoice) {
+        this.playerChoice = playerChoice;
+    }
+
+    public String getComputerChoice() {
+        return computerChoice;
+    }
+    public void setComputerChoice(String computerChoice) {
+        this.computerChoice = computerChoice;
+    }
+}
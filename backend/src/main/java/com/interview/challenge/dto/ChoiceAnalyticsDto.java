@@ -0,0 +1,90 @@
+package com.interview.challenge.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "How one move fares across all players")
+public class ChoiceAnalyticsDto {
+    // getters and setters
+    @Schema(description = "The move", example = "rock")
+    private String choice;
+
+    @Schema(description = "Rounds in which players chose this move", example = "1200")
+    private long playedByPlayers;
+
+    @Schema(description = "Rounds in which the computer chose this move", example = "1150")
+    private long playedByComputer;
+
+    @Schema(description = "Rounds won by players choosing this move", example = "410")
+    private long wins;
+
+    @Schema(description = "Rounds lost by players choosing this move", example = "395")
+    private long losses;
+
+    @Schema(description = "Rounds drawn by players choosing this move", example = "395")
+    private long draws;
+
+    @Schema(description = "Percentage of the rounds with this move that players won", example = "34.17")
+    private double winPercentage;
+
+    // constructor
+    public ChoiceAnalyticsDto(String choice, long playedByPlayers, long playedByComputer, long wins, long losses,
+                              long draws, double winPercentage) {
+        this.choice = choice;
+        this.playedByPlayers = playedByPlayers;
+        this.playedByComputer = playedByComputer;
+        this.wins = wins;
+        this.losses = losses;
+        this.draws = draws;
+        this.winPercentage = winPercentage;
+    }
+
+    // getters and setters
+    public String getChoice() {
+        return choice;
+    }
+    public void setChoice(String choice) {
+        this.choice = choice;
+    }
+
+    public long getPlayedByPlayers() {
+        return playedByPlayers;
+    }
+    public void setPlayedByPlayers(long playedByPlayers) {
+        this.playedByPlayers = playedByPlayers;
+    }
+
+    public long getPlayedByComputer() {
+        return playedByComputer;
+    }
+    public void setPlayedByComputer(long playedByComputer) {
+        this.playedByComputer = playedByComputer;
+    }
+
+    public long getWins() {
+        return wins;
+    }
+    public void setWins(long wins) {
+        this.wins = wins;
+    }
+
+    public long getLosses() {
+        return losses;
+    }
+    public void setLosses(long losses) {
+        this.losses = losses;
+    }
+
+    public long getDraws() {
+        return draws;
+    }
+    public void setDraws(long draws) {
+        this.draws = draws;
+    }
+
+    public double getWinPercentage() {
+        return winPercentage;
+    }
+    public void setWinPercentage(double winPercentage) {
+        this.winPercentage = winPercentage;
+    }
+}
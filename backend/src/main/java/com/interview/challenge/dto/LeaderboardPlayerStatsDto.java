@@ -1,8 +1,7 @@
 package com.interview.challenge.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import io.swagger.v3.oas.annotations.media.Schema;
-import lombok.Getter;
-import lombok.Setter;
 
 @Schema(description = "Data Transfer Object for Leaderboard Player Stats displayed on the Leaderboard.")
 public class LeaderboardPlayerStatsDto {
@@ -25,6 +24,10 @@ public class LeaderboardPlayerStatsDto {
     @Schema(description = "Calculated score based on Wilson Score Interval, used for ranking", example = "0.2117")
     private double score;
 
+    @Schema(description = "1-based position on the leaderboard, only set where the server knows it", example = "3")
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Integer rank;
+
     // constructor
     public LeaderboardPlayerStatsDto(Long id, String name, String icon, double winPercentage, int gamesPlayed, double score) {
         this.id = id;
@@ -77,4 +80,11 @@ public class LeaderboardPlayerStatsDto {
     public void setScore(double score) {
         this.score = score;
     }
+
+    public Integer getRank() {
+        return rank;
+    }
+    public void setRank(Integer rank) {
+        this.rank = rank;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,58 @@
+package com.interview.challenge.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+@Schema(description = "A player's rank on the Leaderboard together with the players ranked around them.")
+public class LeaderboardPositionDto {
+    // getters and setters
+    @Schema(description = "Unique identifier of the player", example = "1")
+    private Long playerId;
+
+    @Schema(description = "1-based rank of the player on the Leaderboard", example = "12")
+    private int rank;
+
+    @Schema(description = "Total number of ranked players", example = "250")
+    private int totalPlayers;
+
+    @Schema(description = "The player and their neighbours, best first, each with its rank")
+    private List<LeaderboardPlayerStatsDto> entries;
+
+    // constructor
+    public LeaderboardPositionDto(Long playerId, int rank, int totalPlayers, List<LeaderboardPlayerStatsDto> entries) {
+        this.playerId = playerId;
+        this.rank = rank;
+        this.totalPlayers = totalPlayers;
+        this.entries = entries;
+    }
+
+    // getters and setters
+    public Long getPlayerId() {
+        return playerId;
+    }
+    public void setPlayerId(Long playerId) {
+        this.playerId = playerId;
+    }
+
+    public int getRank() {
+        return rank;
+    }
+    public void setRank(int rank) {
+        this.rank = rank;
+    }
+
+    public int getTotalPlayers() {
+        return totalPlayers;
+    }
+    public void setTotalPlayers(int totalPlayers) {
+        this.totalPlayers = totalPlayers;
+    }
+
+    public List<LeaderboardPlayerStatsDto> getEntries() {
+        return entries;
+    }
+    public void setEntries(List<LeaderboardPlayerStatsDto> entries) {
+        this.entries = entries;
+    }
+}
@@ -0,0 +1,78 @@
+package com.interview.challenge.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "A player's approximate rank on the Leaderboard, read from the score distribution")
+public class LeaderboardRankDto {
+    // getters and setters
+    @Schema(description = "Unique identifier of the player", example = "1")
+    private Long playerId;
+
+    @Schema(description = "The player's Wilson score", example = "0.4312")
+    private double score;
+
+    @Schema(description = "Estimated 1-based rank of the player", example = "1234")
+    private long rank;
+
+    @Schema(description = "Most the exact rank can differ from the estimate, either way", example = "3")
+    private long rankError;
+
+    @Schema(description = "Total number of ranked players", example = "250000")
+    private long totalPlayers;
+
+    @Schema(description = "Share of the players ranked at or above the player, in percent: 'top 0.49%'", example = "0.49")
+    private double topPercentage;
+
+    // constructor
+    public LeaderboardRankDto(Long playerId, double score, long rank, long rankError, long totalPlayers, double topPercentage) {
+        this.playerId = playerId;
+        this.score = score;
+        this.rank = rank;
+        this.rankError = rankError;
+        this.totalPlayers = totalPlayers;
+        this.topPercentage = topPercentage;
+    }
+
+    // getters and setters
+    public Long getPlayerId() {
+        return playerId;
+    }
+    public void setPlayerId(Long playerId) {
+        this.playerId = playerId;
+    }
+
+    public double getScore() {
+        return score;
+    }
+    public void setScore(double score) {
+        this.score = score;
+    }
+
+    public long getRank() {
+        return rank;
+    }
+    public void setRank(long rank) {
+        this.rank = rank;
+    }
+
+    public long getRankError() {
+        return rankError;
+    }
+    public void setRankError(long rankError) {
+        this.rankError = rankError;
+    }
+
+    public long getTotalPlayers() {
+        return totalPlayers;
+    }
+    public void setTotalPlayers(long totalPlayers) {
+        this.totalPlayers = totalPlayers;
+    }
+
+    public double getTopPercentage() {
+        return topPercentage;
+    }
+    public void setTopPercentage(double topPercentage) {
+        this.topPercentage = topPercentage;
+    }
+}
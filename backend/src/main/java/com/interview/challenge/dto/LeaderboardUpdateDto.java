@@ -0,0 +1,48 @@
+package com.interview.challenge.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+@Schema(description = "Leaderboard changes pushed to subscribers since their previous update. " +
+        "Players not listed kept their score; their rank may still shift as listed players move past them.")
+public class LeaderboardUpdateDto {
+    // getters and setters
+    @Schema(description = "Players whose score changed or who joined, with their score and name to place them by")
+    private List<LeaderboardPlayerStatsDto> changed;
+
+    @Schema(description = "IDs of players removed from the leaderboard")
+    private List<Long> removed;
+
+    @Schema(description = "Total number of ranked players", example = "250")
+    private int totalPlayers;
+
+    // constructor
+    public LeaderboardUpdateDto(List<LeaderboardPlayerStatsDto> changed, List<Long> removed, int totalPlayers) {
+        this.changed = changed;
+        this.removed = removed;
+        this.totalPlayers = totalPlayers;
+    }
+
+    // getters and setters
+    public List<LeaderboardPlayerStatsDto> getChanged() {
+        return changed;
+    }
+    public void setChanged(List<LeaderboardPlayerStatsDto> changed) {
+        this.changed = changed;
+    }
+
+    public List<Long> getRemoved() {
+        return removed;
+    }
+    public void setRemoved(List<Long> removed) {
+        this.removed = removed;
+    }
+
+    public int getTotalPlayers() {
+        return totalPlayers;
+    }
+    public void setTotalPlayers(int totalPlayers) {
+        this.totalPlayers = totalPlayers;
+    }
+}
@@ -0,0 +1,94 @@
+package com.interview.challenge.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+import java.util.Map;
+
+@Schema(description = "Move distributions and outcomes across all players and rounds")
+public class MoveAnalyticsDto {
+    // getters and setters
+    @Schema(description = "Rounds counted", example = "3600")
+    private long rounds;
+
+    @Schema(description = "Percentage of the rounds won by players", example = "33.4")
+    private double playerWinPercentage;
+
+    @Schema(description = "Percentage of the rounds won by the computer", example = "33.1")
+    private double computerWinPercentage;
+
+    @Schema(description = "Percentage of the rounds drawn", example = "33.5")
+    private double drawPercentage;
+
+    @Schema(description = "Per move: how often it is chosen and how it fares for players")
+    private List<ChoiceAnalyticsDto> choices;
+
+    @Schema(description = "Rounds by the player's move, then the computer's", example = "{\"rock\": {\"rock\": 400, \"paper\": 395, \"scissors\": 405}}")
+    private Map<String, Map<String, Long>> outcomes;
+
+    @Schema(description = "How often players follow a move (first key) with another (second key)", example = "{\"rock\": {\"rock\": 520, \"paper\": 350, \"scissors\": 330}}")
+    private Map<String, Map<String, Long>> transitions;
+
+    // constructor
+    public MoveAnalyticsDto(long rounds, double playerWinPercentage, double computerWinPercentage, double drawPercentage,
+                            List<ChoiceAnalyticsDto> choices, Map<String, Map<String, Long>> outcomes,
+                            Map<String, Map<String, Long>> transitions) {
+        this.rounds = rounds;
+        this.playerWinPercentage = playerWinPercentage;
+        this.computerWinPercentage = computerWinPercentage;
+        this.drawPercentage = drawPercentage;
+        this.choices = choices;
+        this.outcomes = outcomes;
+        this.transitions = transitions;
+    }
+
+    // getters and setters
+    public long getRounds() {
+        return rounds;
+    }
+    public void setRounds(long rounds) {
+        this.rounds = rounds;
+    }
+
+    public double getPlayerWinPercentage() {
+        return playerWinPercentage;
+    }
+    public void setPlayerWinPercentage(double playerWinPercentage) {
+        this.playerWinPercentage = playerWinPercentage;
+    }
+
+    public double getComputerWinPercentage() {
+        return computerWinPercentage;
+    }
+    public void setComputerWinPercentage(double computerWinPercentage) {
+        this.computerWinPercentage = computerWinPercentage;
+    }
+
+    public double getDrawPercentage() {
+        return drawPercentage;
+    }
+    public void setDrawPercentage(double drawPercentage) {
+        this.drawPercentage = drawPercentage;
+    }
+
+    public List<ChoiceAnalyticsDto> getChoices() {
+        return choices;
+    }
+    public void setChoices(List<ChoiceAnalyticsDto> choices) {
+        this.choices = choices;
+    }
+
+    public Map<String, Map<String, Long>> getOutcomes() {
+        return outcomes;
+    }
+    public void setOutcomes(Map<String, Map<String, Long>> outcomes) {
+        this.outcomes = outcomes;
+    }
+
+    public Map<String, Map<String, Long>> getTransitions() {
+        return transitions;
+    }
+    public void setTransitions(Map<String, Map<String, Long>> transitions) {
+        this.transitions = transitions;
+    }
+}
@@ -0,0 +1,59 @@
+package com.interview.challenge.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+@Schema(description = "Where a leaderboard key falls in one node's partition, merged by the node asked for a position")
+public class PartitionPositionDto {
+    // getters and setters
+    @Schema(description = "Players of the partition ranked above the key", example = "41")
+    private int above;
+
+    @Schema(description = "Players in the partition", example = "250")
+    private int totalPlayers;
+
+    @Schema(description = "Players of the partition directly above the key, best first")
+    private List<LeaderboardPlayerStatsDto> before;
+
+    @Schema(description = "Players of the partition directly below the key, best first")
+    private List<LeaderboardPlayerStatsDto> after;
+
+    // constructor
+    public PartitionPositionDto(int above, int totalPlayers, List<LeaderboardPlayerStatsDto> before,
+                                List<LeaderboardPlayerStatsDto> after) {
+        this.above = above;
+        this.totalPlayers = totalPlayers;
+        this.before = before;
+        this.after = after;
+    }
+
+    // getters and setters
+    public int getAbove() {
+        return above;
+    }
+    public void setAbove(int above) {
+        this.above = above;
+    }
+
+    public int getTotalPlayers() {
+        return totalPlayers;
+    }
+    public void setTotalPlayers(int totalPlayers) {
+        this.totalPlayers = totalPlayers;
+    }
+
+    public List<LeaderboardPlayerStatsDto> getBefore() {
+        return before;
+    }
+    public void setBefore(List<LeaderboardPlayerStatsDto> before) {
+        this.before = before;
+    }
+
+    public List<LeaderboardPlayerStatsDto> getAfter() {
+        return after;
+    }
+    public void setAfter(List<LeaderboardPlayerStatsDto> after) {
+        this.after = after;
+    }
+}
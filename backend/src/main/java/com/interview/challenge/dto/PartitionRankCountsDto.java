@@ -0,0 +1,45 @@
+package com.interview.challenge.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "One node's score histogram read at a score, summed across nodes for an approximate rank")
+public class PartitionRankCountsDto {
+    // getters and setters
+    @Schema(description = "Players of the partition in higher score buckets", example = "1200")
+    private long above;
+
+    @Schema(description = "Players of the partition in the score's bucket", example = "3")
+    private long sameBucket;
+
+    @Schema(description = "Players in the partition", example = "80000")
+    private long totalPlayers;
+
+    // constructor
+    public PartitionRankCountsDto(long above, long sameBucket, long totalPlayers) {
+        this.above = above;
+        this.sameBucket = sameBucket;
+        this.totalPlayers = totalPlayers;
+    }
+
+    // getters and setters
+    public long getAbove() {
+        return above;
+    }
+    public void setAbove(long above) {
+        this.above = above;
+    }
+
+    public long getSameBucket() {
+        return sameBucket;
+    }
+    public void setSameBucket(long sameBucket) {
+        this.sameBucket = sameBucket;
+    }
+
+    public long getTotalPlayers() {
+        return totalPlayers;
+    }
+    public void setTotalPlayers(long totalPlayers) {
+        this.totalPlayers = totalPlayers;
+    }
+}
@@ -0,0 +1,81 @@
+package com.interview.challenge.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.interview.challenge.player.stats.PlayerHistory;
+import com.interview.challenge.player.stats.PlayerStats;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "A player with their fixed-size stats, and their move history when asked for")
+public class PlayerDto {
+    // getters and setters
+    @Schema(description = "Unique ID of the player", example = "1")
+    private Long id;
+
+    @Schema(description = "The player's chosen name", example = "Eva")
+    private String name;
+
+    @Schema(description = "An emoji or icon representing the player", example = "🧑🏻‍✈️")
+    private String icon;
+
+    @Schema(description = "Version of the player's stats, changes with every update", example = "3")
+    private Long version;
+
+    @Schema(description = "Detailed statistics for the player's game performance")
+    private PlayerStats stats;
+
+    @Schema(description = "The player's recent move history, only with include=history")
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private PlayerHistory history;
+
+    // constructor
+    public PlayerDto(Long id, String name, String icon, Long version, PlayerStats stats) {
+        this.id = id;
+        this.name = name;
+        this.icon = icon;
+        this.version = version;
+        this.stats = stats;
+    }
+
+    // getters and setters
+    public Long getId() {
+        return id;
+    }
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getName() {
+        return name;
+    }
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public String getIcon() {
+        return icon;
+    }
+    public void setIcon(String icon) {
+        this.icon = icon;
+    }
+
+    public Long getVersion() {
+        return version;
+    }
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
+    public PlayerStats getStats() {
+        return stats;
+    }
+    public void setStats(PlayerStats stats) {
+        this.stats = stats;
+    }
+
+    public PlayerHistory getHistory() {
+        return history;
+    }
+    public void setHistory(PlayerHistory history) {
+        this.history = history;
+    }
+}
@@ -0,0 +1,61 @@
+package com.interview.challenge.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "Result of a player import")
+public class PlayerImportResultDto {
+    // getters and setters
+    @Schema(description = "Players created", example = "1000000")
+    private long imported;
+
+    @Schema(description = "Records skipped because a player with that name already exists", example = "0")
+    private long nameTaken;
+
+    @Schema(description = "Records skipped because the name was missing", example = "0")
+    private long invalidRecords;
+
+    @Schema(description = "Transactions committed, one per batch of records", example = "100")
+    private int batches;
+
+    @Schema(description = "Why the import stopped early; records before the malformed line were imported",
+            example = "Malformed record at line 42")
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private String error;
+
+    // getters and setters
+    public long getImported() {
+        return imported;
+    }
+    public void setImported(long imported) {
+        this.imported = imported;
+    }
+
+    public long getNameTaken() {
+        return nameTaken;
+    }
+    public void setNameTaken(long nameTaken) {
+        this.nameTaken = nameTaken;
+    }
+
+    public long getInvalidRecords() {
+        return invalidRecords;
+    }
+    public void setInvalidRecords(long invalidRecords) {
+        this.invalidRecords = invalidRecords;
+    }
+
+    public int getBatches() {
+        return batches;
+    }
+    public void setBatches(int batches) {
+        this.batches = batches;
+    }
+
+    public String getError() {
+        return error;
+    }
+    public void setError(String error) {
+        this.error = error;
+    }
+}
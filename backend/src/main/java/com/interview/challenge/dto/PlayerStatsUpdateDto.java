@@ -0,0 +1,96 @@
+package com.interview.challenge.dto;
+
+import com.interview.challenge.shared.GameChoice;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Schema(description = "A player's whole stats, replacing the stored counters and move history")
+public class PlayerStatsUpdateDto {
+    // getters and setters
+    @Schema(description = "The player's current score (points for wins)", example = "1")
+    private int playerScore;
+
+    @Schema(description = "The computer's current score (points from player's losses)", example = "1")
+    private int computerScore;
+
+    @Schema(description = "Number of rounds the player has won", example = "1")
+    private int playerWins;
+
+    @Schema(description = "Number of rounds the computer has won against this player", example = "1")
+    private int computerWins;
+
+    @Schema(description = "Total number of rounds played by this player", example = "2")
+    private int totalRounds;
+
+    @Schema(description = "History of player's choices (e.g., 'rock', 'paper')", example = "[\"scissors\", \"scissors\"]")
+    private List<GameChoice> playerHistory = new ArrayList<>();
+
+    @Schema(description = "History of computer's choices against this player", example = "[\"paper\", \"rock\"]")
+    private List<GameChoice> computerHistory = new ArrayList<>();
+
+    @Schema(description = "The player's version these stats were based on; the update is rejected if it changed since. " +
+            "Omit to overwrite unconditionally", example = "3")
+    private Long version;
+
+    // default constructor (required by Jackson)
+    public PlayerStatsUpdateDto() {}
+
+    // getters and setters
+    public int getPlayerScore() {
+        return playerScore;
+    }
+    public void setPlayerScore(int playerScore) {
+        this.playerScore = playerScore;
+    }
+
+    public int getComputerScore() {
+        return computerScore;
+    }
+    public void setComputerScore(int computerScore) {
+        this.computerScore = computerScore;
+    }
+
+    public int getPlayerWins() {
+        return playerWins;
+    }
+    public void setPlayerWins(int playerWins) {
+        this.playerWins = playerWins;
+    }
+
+    public int getComputerWins() {
+        return computerWins;
+    }
+    public void setComputerWins(int computerWins) {
+        this.computerWins = computerWins;
+    }
+
+    public int getTotalRounds() {
+        return totalRounds;
+    }
+    public void setTotalRounds(int totalRounds) {
+        this.totalRounds = totalRounds;
+    }
+
+    public List<GameChoice> getPlayerHistory() {
+        return playerHistory;
+    }
+    public void setPlayerHistory(List<GameChoice> playerHistory) {
+        this.playerHistory = playerHistory;
+    }
+
+    public List<GameChoice> getComputerHistory() {
+        return computerHistory;
+    }
+    public void setComputerHistory(List<GameChoice> computerHistory) {
+        this.computerHistory = computerHistory;
+    }
+
+    public Long getVersion() {
+        return version;
+    }
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+}
@@ -0,0 +1,61 @@
+package com.interview.challenge.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Schema(description = "A player's whole move history as stored: the recent moves and the archived segments")
+public class PlayerTransferHistoryDto {
+    // getters and setters
+    @Schema(description = "The player's recent moves, packed 2 bits per move, base64-encoded")
+    private byte[] playerMoves;
+
+    @Schema(description = "The computer's recent moves, packed like the player's, base64-encoded")
+    private byte[] computerMoves;
+
+    @Schema(description = "Moves played before the recent ones, archived in the segments or dropped", example = "0")
+    private int archivedMoves;
+
+    @Schema(description = "Archived segments, oldest first")
+    private List<PlayerTransferSegmentDto> segments = new ArrayList<>();
+
+    // default constructor (required by Jackson)
+    public PlayerTransferHistoryDto() {}
+
+    // constructor
+    public PlayerTransferHistoryDto(byte[] playerMoves, byte[] computerMoves, int archivedMoves) {
+        this.playerMoves = playerMoves;
+        this.computerMoves = computerMoves;
+        this.archivedMoves = archivedMoves;
+    }
+
+    // getters and setters
+    public byte[] getPlayerMoves() {
+        return playerMoves;
+    }
+    public void setPlayerMoves(byte[] playerMoves) {
+        this.playerMoves = playerMoves;
+    }
+
+    public byte[] getComputerMoves() {
+        return computerMoves;
+    }
+    public void setComputerMoves(byte[] computerMoves) {
+        this.computerMoves = computerMoves;
+    }
+
+    public int getArchivedMoves() {
+        return archivedMoves;
+    }
+    public void setArchivedMoves(int archivedMoves) {
+        this.archivedMoves = archivedMoves;
+    }
+
+    public List<PlayerTransferSegmentDto> getSegments() {
+        return segments;
+    }
+    public void setSegments(List<PlayerTransferSegmentDto> segments) {
+        this.segments = segments;
+    }
+}
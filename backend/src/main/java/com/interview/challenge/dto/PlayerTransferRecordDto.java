@@ -0,0 +1,107 @@
+package com.interview.challenge.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.interview.challenge.player.stats.PlayerStats;
+import com.interview.challenge.player.stats.WindowCounters;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "One player of an export or import with their stats and move history, sent as one line of a gzip-compressed NDJSON body")
+public class PlayerTransferRecordDto {
+    // getters and setters
+    @Schema(description = "ID of the player where it was exported; an import assigns new IDs", example = "1")
+    private Long id;
+
+    @Schema(description = "The player's name, unique", example = "Eva")
+    private String name;
+
+    @Schema(description = "An emoji or icon representing the player", example = "🧑🏻‍✈️")
+    private String icon;
+
+    @Schema(description = "The player's counters and aggregates")
+    private PlayerStats stats;
+
+    @Schema(description = "Wins and rounds in the day bucket they were counted in")
+    private WindowCounters day;
+
+    @Schema(description = "Wins and rounds in the week bucket they were counted in")
+    private WindowCounters week;
+
+    @Schema(description = "Wins and rounds in the season bucket they were counted in")
+    private WindowCounters season;
+
+    @Schema(description = "The player's move history; absent if they have not played")
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private PlayerTransferHistoryDto history;
+
+    // default constructor (required by Jackson)
+    public PlayerTransferRecordDto() {}
+
+    // constructor
+    public PlayerTransferRecordDto(Long id, String name, String icon, PlayerStats stats,
+                                   WindowCounters day, WindowCounters week, WindowCounters season) {
+        this.id = id;
+        this.name = name;
+        this.icon = icon;
+        this.stats = stats;
+        this.day = day;
+        this.week = week;
+        this.season = season;
+    }
+
+    // getters and setters
+    public Long getId() {
+        return id;
+    }
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getName() {
+        return name;
+    }
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public String getIcon() {
+        return icon;
+    }
+    public void setIcon(String icon) {
+        this.icon = icon;
+    }
+
+    public PlayerStats getStats() {
+        return stats;
+    }
+    public void setStats(PlayerStats stats) {
+        this.stats = stats;
+    }
+
+    public WindowCounters getDay() {
+        return day;
+    }
+    public void setDay(WindowCounters day) {
+        this.day = day;
+    }
+
+    public WindowCounters getWeek() {
+        return week;
+    }
+    public void setWeek(WindowCounters week) {
+        this.week = week;
+    }
+
+    public WindowCounters getSeason() {
+        return season;
+    }
+    public void setSeason(WindowCounters season) {
+        this.season = season;
+    }
+
+    public PlayerTransferHistoryDto getHistory() {
+        return history;
+    }
+    public void setHistory(PlayerTransferHistoryDto history) {
+        this.history = history;
+    }
+}
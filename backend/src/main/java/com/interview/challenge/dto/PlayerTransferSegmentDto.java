@@ -0,0 +1,59 @@
+package com.interview.challenge.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "One archived segment of a player's move history, as stored (deflated packed moves)")
+public class PlayerTransferSegmentDto {
+    // getters and setters
+    @Schema(description = "Position of the segment's first move in the player's whole history", example = "0")
+    private int firstMove;
+
+    @Schema(description = "Number of rounds in the segment", example = "100000")
+    private int moves;
+
+    @Schema(description = "The player's moves, packed 2 bits per move then deflated, base64-encoded")
+    private byte[] playerMoves;
+
+    @Schema(description = "The computer's moves, packed and deflated like the player's, base64-encoded")
+    private byte[] computerMoves;
+
+    // default constructor (required by Jackson)
+    public PlayerTransferSegmentDto() {}
+
+    // constructor
+    public PlayerTransferSegmentDto(int firstMove, int moves, byte[] playerMoves, byte[] computerMoves) {
+        this.firstMove = firstMove;
+        this.moves = moves;
+        this.playerMoves = playerMoves;
+        this.computerMoves = computerMoves;
+    }
+
+    // getters and setters
+    public int getFirstMove() {
+        return firstMove;
+    }
+    public void setFirstMove(int firstMove) {
+        this.firstMove = firstMove;
+    }
+
+    public int getMoves() {
+        return moves;
+    }
+    public void setMoves(int moves) {
+        this.moves = moves;
+    }
+
+    public byte[] getPlayerMoves() {
+        return playerMoves;
+    }
+    public void setPlayerMoves(byte[] playerMoves) {
+        this.playerMoves = playerMoves;
+    }
+
+    public byte[] getComputerMoves() {
+        return computerMoves;
+    }
+    public void setComputerMoves(byte[] computerMoves) {
+        this.computerMoves = computerMoves;
+    }
+}
@@ -0,0 +1,37 @@
+package com.interview.challenge.dto;
+
+import com.interview.challenge.shared.GameChoice;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "A player's move for a single round against the computer")
+public class RoundRequestDto {
+    // getters and setters
+    @Schema(description = "The player's choice", example = "rock", allowableValues = {"rock", "paper", "scissors"})
+    private GameChoice playerChoice;
+
+    @Schema(description = "Strategy the computer plays with; the server default when omitted",
+            example = "mixture", allowableValues = {"random", "frequency", "markov-1", "markov-2", "markov-3", "mixture"})
+    private String strategy;
+
+    // default constructor (required by Jackson)
+    public RoundRequestDto() {}
+
+    public RoundRequestDto(GameChoice playerChoice) {
+        this.playerChoice = playerChoice;
+    }
+
+    // getters and setters
+    public GameChoice getPlayerChoice() {
+        return playerChoice;
+    }
+    public void setPlayerChoice(GameChoice playerChoice) {
+        this.playerChoice = playerChoice;
+    }
+
+    public String getStrategy() {
+        return strategy;
+    }
+    public void setStrategy(String strategy) {
+        this.strategy = strategy;
+    }
+}
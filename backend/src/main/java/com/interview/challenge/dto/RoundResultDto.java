@@ -0,0 +1,124 @@
+package com.interview.challenge.dto;
+
+import com.interview.challenge.shared.GameChoice;
+import com.interview.challenge.shared.RoundOutcome;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "Outcome of a round resolved by the server, with the player's updated counters")
+public class RoundResultDto {
+    // getters and setters
+    @Schema(description = "Unique identifier of the player", example = "1")
+    private Long playerId;
+
+    @Schema(description = "The player's choice", example = "rock")
+    private GameChoice playerChoice;
+
+    @Schema(description = "The computer's choice", example = "scissors")
+    private GameChoice computerChoice;
+
+    @Schema(description = "Result from the player's point of view", example = "win", allowableValues = {"win", "loss", "draw"})
+    private RoundOutcome outcome;
+
+    @Schema(description = "Strategy the computer played with", example = "markov-2")
+    private String strategy;
+
+    @Schema(description = "The player's score after this round", example = "5")
+    private int playerScore;
+
+    @Schema(description = "The computer's score after this round", example = "3")
+    private int computerScore;
+
+    @Schema(description = "Number of rounds the player has won", example = "5")
+    private int playerWins;
+
+    @Schema(description = "Number of rounds the computer has won against this player", example = "3")
+    private int computerWins;
+
+    @Schema(description = "Total number of rounds played by this player", example = "10")
+    private int totalRounds;
+
+    // constructor
+    public RoundResultDto(Long playerId, GameChoice playerChoice, GameChoice computerChoice, RoundOutcome outcome,
+                          int playerScore, int computerScore, int playerWins, int computerWins, int totalRounds) {
+        this.playerId = playerId;
+        this.playerChoice = playerChoice;
+        this.computerChoice = computerChoice;
+        this.outcome = outcome;
+        this.playerScore = playerScore;
+        this.computerScore = computerScore;
+        this.playerWins = playerWins;
+        this.computerWins = computerWins;
+        this.totalRounds = totalRounds;
+    }
+
+    // getters and setters
+    public Long getPlayerId() {
+        return playerId;
+    }
+    public void setPlayerId(Long playerId) {
+        this.playerId = playerId;
+    }
+
+    public GameChoice getPlayerChoice() {
+        return playerChoice;
+    }
+    public void setPlayerChoice(GameChoice playerChoice) {
+        this.playerChoice = playerChoice;
+    }
+
+    public GameChoice getComputerChoice() {
+        return computerChoice;
+    }
+    public void setComputerChoice(GameChoice computerChoice) {
+        this.computerChoice = computerChoice;
+    }
+
+    public String getStrategy() {
+        return strategy;
+    }
+    public void setStrategy(String strategy) {
+        this.strategy = strategy;
+    }
+
+    public RoundOutcome getOutcome() {
+        return outcome;
+    }
+    public void setOutcome(RoundOutcome outcome) {
+        this.outcome = outcome;
+    }
+
+    public int getPlayerScore() {
+        return playerScore;
+    }
+    public void setPlayerScore(int playerScore) {
+        this.playerScore = playerScore;
+    }
+
+    public int getComputerScore() {
+        return computerScore;
+    }
+    public void setComputerScore(int computerScore) {
+        this.computerScore = computerScore;
+    }
+
+    public int getPlayerWins() {
+        return playerWins;
+    }
+    public void setPlayerWins(int playerWins) {
+        this.playerWins = playerWins;
+    }
+
+    public int getComputerWins() {
+        return computerWins;
+    }
+    public void setComputerWins(int computerWins) {
+        this.computerWins = computerWins;
+    }
+
+    public int getTotalRounds() {
+        return totalRounds;
+    }
+    public void setTotalRounds(int totalRounds) {
+        this.totalRounds = totalRounds;
+    }
+}
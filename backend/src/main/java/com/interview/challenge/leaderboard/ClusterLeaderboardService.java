@@ -0,0 +1,229 @@
+package com.interview.challenge.leaderboard;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.interview.challenge.cluster.ClusterClient;
+import com.interview.challenge.cluster.ClusterTopology;
+import com.interview.challenge.cluster.ClusterUnavailableException;
+import com.interview.challenge.dto.LeaderboardPlayerStatsDto;
+import com.interview.challenge.dto.LeaderboardPositionDto;
+import com.interview.challenge.dto.LeaderboardRankDto;
+import com.interview.challenge.dto.PartitionPositionDto;
+import com.interview.challenge.dto.PartitionRankCountsDto;
+import com.interview.challenge.shared.TimeWindow;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.PriorityQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Supplier;
+
+/**
+ * Leaderboard reads over every node of the cluster. Each node ranks only the players it owns
+ * ({@link ClusterTopology}); a page is read from every partition with the same cursor and the sorted partial pages
+ * are merged, k-way, on Wilson score then name. The best {@code limit} players of the cluster are all among the
+ * best {@code limit} of their own partition, so the merged page is exact, and so are cursors into it.
+ * Positions and approximate ranks add up what each partition holds above the player.
+ * <p>
+ * On a single node every call goes straight to {@link LeaderboardService}. Partitions are read in parallel; when one
+ * cannot be read the request fails with {@link ClusterUnavailableException} rather than leave players out.
+ */
+@Service
+public class ClusterLeaderboardService {
+
+    // Same order as LeaderboardEntry.RANKING, on what the nodes send each other
+    static final Comparator<LeaderboardPlayerStatsDto> RANKING = Comparator
+            .comparingDouble(LeaderboardPlayerStatsDto::getScore).reversed()
+            .thenComparing(LeaderboardPlayerStatsDto::getName, Comparator.nullsLast(Comparator.naturalOrder()))
+            .thenComparing(LeaderboardPlayerStatsDto::getId);
+
+    private static final TypeReference<List<LeaderboardPlayerStatsDto>> PAGE = new TypeReference<>() {};
+    private static final TypeReference<PartitionPositionDto> POSITION = new TypeReference<>() {};
+    private static final TypeReference<PartitionRankCountsDto> RANK_COUNTS = new TypeReference<>() {};
+
+    private final LeaderboardService leaderboardService;
+    private final ClusterTopology topology;
+    private final ClusterClient clusterClient;
+
+    @Autowired
+    public ClusterLeaderboardService(LeaderboardService leaderboardService, ClusterTopology topology,
+                                     ClusterClient clusterClient) {
+        this.leaderboardService = leaderboardService;
+        this.topology = topology;
+        this.clusterClient = clusterClient;
+    }
+
+    /**
+     * Same as {@link LeaderboardService#getPage(TimeWindow, int, Double, String)}, over every partition.
+     */
+    public List<LeaderboardPlayerStatsDto> getPage(TimeWindow window, int limit, Double afterScore, String afterName) {
+        if (!topology.isClustered()) {
+            return leaderboardService.getPage(window, limit, afterScore, afterName);
+        }
+        String query = "/internal/partition/leaderboard?limit=" + limit
+                + (afterScore != null ? "&afterScore=" + afterScore + "&afterName=" + encode(afterName) : "")
+                + windowParameter(window);
+        List<List<LeaderboardPlayerStatsDto>> pages = readPartitions(query, PAGE,
+                () -> leaderboardService.getPage(window, limit, afterScore, afterName));
+        return merge(pages, limit);
+    }
+
+    /**
+     * Same as {@link LeaderboardService#getPosition(TimeWindow, Long, int)}, over every partition.
+     * Called on the node owning the player, where requests about them are routed.
+     */
+    public Optional<LeaderboardPositionDto> getPosition(TimeWindow window, Long playerId, int neighbours) {
+        if (!topology.isClustered()) {
+            return leaderboardService.getPosition(window, playerId, neighbours);
+        }
+        LeaderboardEntry entry = leaderboardService.getEntry(window, playerId);
+        if (entry == null) {
+            return Optional.empty();
+        }
+        String query = "/internal/partition/position?playerId=" + playerId + "&score=" + entry.getScore()
+                + "&name=" + encode(entry.getName()) + "&neighbours=" + neighbours + windowParameter(window);
+        List<PartitionPositionDto> partitions = readPartitions(query, POSITION,
+                () -> leaderboardService.getPartitionPosition(window, playerId, entry.getScore(), entry.getName(), neighbours));
+
+        int rank = 1;
+        int total = 0;
+        List<List<LeaderboardPlayerStatsDto>> before = new ArrayList<>(partitions.size());
+        List<List<LeaderboardPlayerStatsDto>> after = new ArrayList<>(partitions.size());
+        for (PartitionPositionDto partition : partitions) {
+            rank += partition.getAbove();
+            total += partition.getTotalPlayers();
+            before.add(partition.getBefore());
+            after.add(partition.getAfter());
+        }
+        // the closest players above are the last ones of the merged lists above
+        List<LeaderboardPlayerStatsDto> above = merge(before, Integer.MAX_VALUE);
+        List<LeaderboardPlayerStatsDto> entries = new ArrayList<>(above.subList(Math.max(0, above.size() - neighbours), above.size()));
+        for (int i = 0; i < entries.size(); i++) {
+            entries.get(i).setRank(rank - entries.size() + i);
+        }
+        entries.add(entry.toDto(rank));
+        List<LeaderboardPlayerStatsDto> below = merge(after, neighbours);
+        for (int i = 0; i < below.size(); i++) {
+            below.get(i).setRank(rank + 1 + i);
+        }
+        entries.addAll(below);
+        return Optional.of(new LeaderboardPositionDto(playerId, rank, total, entries));
+    }
+
+    /**
+     * Same as {@link LeaderboardService#getApproximateRank(TimeWindow, Long)}, from the score histograms of every
+     * partition: they share their buckets, so the sums are the histogram of the whole cluster.
+     * Called on the node owning the player.
+     */
+    public Optional<LeaderboardRankDto> getApproximateRank(TimeWindow window, Long playerId) {
+        if (!topology.isClustered()) {
+            return leaderboardService.getApproximateRank(window, playerId);
+        }
+        LeaderboardEntry entry = leaderboardService.getEntry(window, playerId);
+        if (entry == null) {
+            return Optional.empty();
+        }
+        String query = "/internal/partition/rank-counts?score=" + entry.getScore() + windowParameter(window);
+        long above = 0;
+        long sameBucket = 0;
+        long total = 0;
+        for (PartitionRankCountsDto counts : readPartitions(query, RANK_COUNTS,
+                () -> leaderboardService.getPartitionRankCounts(window, entry.getScore()))) {
+            above += counts.getAbove();
+            sameBucket += counts.getSameBucket();
+            total += counts.getTotalPlayers();
+        }
+        return Optional.of(RankingIndex.estimateRank(playerId, entry.getScore(), above, sameBucket, total));
+    }
+
+    /**
+     * Same as {@link LeaderboardService#getETag(TimeWindow)} on a single node. A cluster has no entity tag:
+     * telling that no partition changed would take a call to each node, about what reading the page costs.
+     *
+     * @return The entity tag, or null when there is none.
+     */
+    public String getETag(TimeWindow window) {
+        return topology.isClustered() ? null : leaderboardService.getETag(window);
+    }
+
+    /**
+     * Merges partial pages, each sorted by {@link #RANKING}, into the first {@code limit} players of their union:
+     * a heap holds the next player of each page, so this costs O(limit log pages).
+     */
+    static List<LeaderboardPlayerStatsDto> merge(List<List<LeaderboardPlayerStatsDto>> pages, int limit) {
+        PriorityQueue<PageCursor> heads = new PriorityQueue<>(Math.max(1, pages.size()),
+                Comparator.comparing(PageCursor::head, RANKING));
+        int size = 0;
+        for (List<LeaderboardPlayerStatsDto> page : pages) {
+            if (!page.isEmpty()) {
+                heads.add(new PageCursor(page));
+                size += page.size();
+            }
+        }
+        List<LeaderboardPlayerStatsDto> merged = new ArrayList<>(Math.min(limit, size));
+        while (merged.size() < limit && !heads.isEmpty()) {
+            PageCursor cursor = heads.poll();
+            merged.add(cursor.head());
+            if (cursor.advance()) {
+                heads.add(cursor);
+            }
+        }
+        return merged;
+    }
+
+    /**
+     * Reads the same thing from every node: this node's partition through {@code local}, while the others answer.
+     *
+     * @return One result per node, in node order.
+     */
+    private <T> List<T> readPartitions(String pathAndQuery, TypeReference<T> type, Supplier<T> local) {
+        List<CompletableFuture<T>> remote = new ArrayList<>(topology.size());
+        for (int node = 0; node < topology.size(); node++) {
+            remote.add(node == topology.nodeIndex() ? null : clusterClient.get(node, pathAndQuery, type));
+        }
+        List<T> results = new ArrayList<>(topology.size());
+        for (int node = 0; node < topology.size(); node++) {
+            if (remote.get(node) == null) {
+                results.add(local.get());
+                continue;
+            }
+            try {
+                results.add(remote.get(node).join());
+            } catch (CompletionException e) {
+                throw new ClusterUnavailableException("Could not read the leaderboard partition of node " + node, e.getCause());
+            }
+        }
+        return results;
+    }
+
+    private static String windowParameter(TimeWindow window) {
+        return window != null ? "&window=" + window.getValue() : "";
+    }
+
+    private static String encode(String value) {
+        return URLEncoder.encode(value != null ? value : "", StandardCharsets.UTF_8);
+    }
+
+    private static final class PageCursor {
+        private final List<LeaderboardPlayerStatsDto> page;
+        private int next;
+
+        private PageCursor(List<LeaderboardPlayerStatsDto> page) {
+            this.page = page;
+        }
+
+        private LeaderboardPlayerStatsDto head() {
+            return page.get(next);
+        }
+
+        private boolean advance() {
+            return ++next < page.size();
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package com.interview.challenge.leaderboard;
+
+/**
+ * Published by {@link LeaderboardService} when a player's Wilson score, name or icon changed,
+ * or the player joined or left the leaderboard. Only the ID travels: listeners read the current
+ * entry when they need it, so a burst of changes to one player costs one lookup.
+ */
+public class LeaderboardChangedEvent {
+
+    private final Long playerId;
+
+    public LeaderboardChangedEvent(Long playerId) {
+        this.playerId = playerId;
+    }
+
+    public Long getPlayerId() {
+        return playerId;
+    }
+}
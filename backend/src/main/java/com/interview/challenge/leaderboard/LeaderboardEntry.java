@@ -0,0 +1,134 @@
+package com.interview.challenge.leaderboard;
+
+import com.interview.challenge.dto.LeaderboardPlayerStatsDto;
+import com.interview.challenge.shared.WilsonScore;
+
+import java.util.Comparator;
+import java.util.Objects;
+
+/**
+ * Immutable snapshot of a player's ranking data, as held by the {@link LeaderboardService} index.
+ * The Wilson score is computed once when the entry is created, never on read.
+ */
+public final class LeaderboardEntry {
+
+    // Sort by Wilson Score in descending order, then by name for ties (id keeps entries distinct)
+    public static final Comparator<LeaderboardEntry> RANKING = Comparator
+            .comparingDouble(LeaderboardEntry::getScore).reversed()
+            .thenComparing(LeaderboardEntry::getName, Comparator.nullsLast(Comparator.naturalOrder()))
+            .thenComparing(LeaderboardEntry::getId);
+
+    private final Long id;
+    private final String name;
+    private final String icon;
+    private final int wins;
+    private final int gamesPlayed;
+    private final double score;
+    // player row version when the stats were last replaced (created, reset, uploaded); not kept in snapshots
+    private final long version;
+
+    public LeaderboardEntry(Long id, String name, String icon, int wins, int gamesPlayed) {
+        this(id, name, icon, wins, gamesPlayed, 0);
+    }
+
+    public LeaderboardEntry(Long id, String name, String icon, int wins, int gamesPlayed, long version) {
+        this(id, name, icon, wins, gamesPlayed, WilsonScore.lowerBound(wins, gamesPlayed), version);
+    }
+
+    private LeaderboardEntry(Long id, String name, String icon, int wins, int gamesPlayed, double score, long version) {
+        this.id = id;
+        this.name = name;
+        this.icon = icon;
+        this.wins = wins;
+        this.gamesPlayed = gamesPlayed;
+        this.score = score;
+        this.version = version;
+    }
+
+    /**
+     * An entry read back from a {@link LeaderboardSnapshotStore snapshot}, with the score it was saved with.
+     */
+    static LeaderboardEntry restore(Long id, String name, String icon, int wins, int gamesPlayed, double score) {
+        return new LeaderboardEntry(id, name, icon, wins, gamesPlayed, score, 0);
+    }
+
+    /**
+     * Search key sorting after every real entry with the given score and name,
+     * used to resume iteration from a cursor.
+     */
+    static LeaderboardEntry cursor(double score, String name) {
+        return new LeaderboardEntry(Long.MAX_VALUE, name, null, 0, 0, score, 0);
+    }
+
+    /**
+     * Search key sorting exactly where the entry of player {@code id} with this score and name sorts,
+     * used to locate a player of another partition in this one.
+     */
+    static LeaderboardEntry key(Long id, double score, String name) {
+        return new LeaderboardEntry(id, name, null, 0, 0, score, 0);
+    }
+
+    /**
+     * @return this entry replacing the stats as of player row {@code version}.
+     */
+    LeaderboardEntry withVersion(long version) {
+        return new LeaderboardEntry(id, name, icon, wins, gamesPlayed, score, version);
+    }
+
+    /**
+     * @return true if counters read from player row {@code basedOn} are older than the stats of this entry:
+     * they were read before the stats were replaced.
+     */
+    boolean isNewerThan(long basedOn) {
+        return basedOn < version;
+    }
+
+    /**
+     * @return true if replacing {@code other} with this entry changes nothing a leaderboard shows
+     * except the win counts behind an unchanged score.
+     */
+    boolean looksLike(LeaderboardEntry other) {
+        return other != null && score == other.score
+                && Objects.equals(name, other.name) && Objects.equals(icon, other.icon);
+    }
+
+    public LeaderboardPlayerStatsDto toDto() {
+        return new LeaderboardPlayerStatsDto(id, name, icon,
+                WilsonScore.winPercentage(wins, gamesPlayed), gamesPlayed, score);
+    }
+
+    public LeaderboardPlayerStatsDto toDto(int rank) {
+        LeaderboardPlayerStatsDto dto = toDto();
+        dto.setRank(rank);
+        return dto;
+    }
+
+    // getters
+    public Long getId() {
+        return id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getIcon() {
+        return icon;
+    }
+
+    public int getWins() {
+        return wins;
+    }
+
+    public int getGamesPlayed() {
+        return gamesPlayed;
+    }
+
+    public double getScore() {
+        return score;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+}
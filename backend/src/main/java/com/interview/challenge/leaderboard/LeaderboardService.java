@@ -0,0 +1,557 @@
+package com.interview.challenge.leaderboard;
+
+import com.interview.challenge.cluster.ClusterTopology;
+import com.interview.challenge.cluster.RemotePlayerChangedEvent;
+import com.interview.challenge.dto.LeaderboardPlayerStatsDto;
+import com.interview.challenge.dto.LeaderboardPositionDto;
+import com.interview.challenge.dto.LeaderboardRankDto;
+import com.interview.challenge.dto.PartitionPositionDto;
+import com.interview.challenge.dto.PartitionRankCountsDto;
+import com.interview.challenge.player.Player;
+import com.interview.challenge.player.PlayerRankingView;
+import com.interview.challenge.player.PlayerRepository;
+import com.interview.challenge.player.PlayerWindowsView;
+import com.interview.challenge.player.stats.PlayerStats;
+import com.interview.challenge.player.stats.WindowCounters;
+import com.interview.challenge.shared.TimeWindow;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Stream;
+
+import static com.interview.challenge.shared.TransactionHooks.afterCommit;
+
+/**
+ * In-memory leaderboard index, kept sorted by Wilson score (ties by name).
+ * <p>
+ * The index is built once on startup and then updated incrementally by {@code PlayerService}
+ * whenever a player is created or their stats change, so reading a top-k page is O(k)
+ * and never loads {@link Player} entities.
+ * <p>
+ * Every change that moves a player (new score, name or icon, joining or leaving) is published as a
+ * {@link LeaderboardChangedEvent}; the startup rebuild publishes nothing.
+ * <p>
+ * With {@code rps.leaderboard.snapshot.enabled} the index is saved on shutdown and restored from that snapshot
+ * on startup, unless players changed in between (see {@link LeaderboardSnapshotStore}).
+ * <p>
+ * Next to the all-time index there is one per {@link TimeWindow}, ranking only the rounds of the current day,
+ * week or season (UTC) as counted on the player row. When a period ends its index is replaced by an empty one,
+ * so rolling over never walks the players. Change events are only published for the all-time index.
+ * <p>
+ * In a cluster ({@link ClusterTopology}) the indexes only hold the players this node owns. A change to another
+ * node's player is published as a {@link RemotePlayerChangedEvent} instead, for the owner to {@link #refresh} it;
+ * {@link ClusterLeaderboardService} merges the partitions of all nodes. Snapshots are not used in a cluster.
+ */
+@Service
+public class LeaderboardService {
+
+    private static final Logger log = LoggerFactory.getLogger(LeaderboardService.class);
+
+    private final PlayerRepository playerRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final MeterRegistry meterRegistry;
+    private final LeaderboardSnapshotStore snapshotStore;
+    private final Clock clock;
+    private final ClusterTopology topology;
+    // Tells this run's entity tags from those of a previous one, whose change counts started over
+    private final String instance = Long.toString(System.currentTimeMillis(), 36);
+
+    private final RankingIndex allTime = new RankingIndex();
+    // The current period of each window; swapped for an empty one when the next period starts
+    private final Map<TimeWindow, AtomicReference<WindowRanking>> windows = new EnumMap<>(TimeWindow.class);
+    // false until the first rebuild, e.g. when a command-line player transfer exits before startup completes
+    private volatile boolean built;
+
+    @Autowired
+    public LeaderboardService(PlayerRepository playerRepository, ApplicationEventPublisher eventPublisher,
+                              MeterRegistry meterRegistry, LeaderboardSnapshotStore snapshotStore, Clock clock,
+                              ClusterTopology topology) {
+        this.playerRepository = playerRepository;
+        this.eventPublisher = eventPublisher;
+        this.meterRegistry = meterRegistry;
+        this.snapshotStore = snapshotStore;
+        this.clock = clock;
+        this.topology = topology;
+        for (TimeWindow window : TimeWindow.values()) {
+            windows.put(window, new AtomicReference<>(new WindowRanking(Integer.MIN_VALUE)));
+        }
+        Gauge.builder("leaderboard.players", allTime, RankingIndex::size)
+                .description("Players in the leaderboard index")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Loads every player once when the application starts, through the ranking projection
+     * so no entity or move history is materialized.
+     * The time spent is recorded as {@code leaderboard.rebuild.duration}, split by phase:
+     * {@code load} (reading rows), {@code score} (Wilson scores) and {@code sort} (inserting into the index),
+     * or {@code snapshot} when the index could be restored from a snapshot instead;
+     * then {@code windows} for the current day, week and season, which are always read from the database.
+     * Skipped with {@code rps.leaderboard.rebuild-on-startup=false}, as for a command-line player transfer.
+     */
+    @EventListener(value = ApplicationReadyEvent.class,
+            condition = "@environment.getProperty('rps.leaderboard.rebuild-on-startup', 'true') == 'true'")
+    @Transactional(readOnly = true)
+    public void rebuild() {
+        if (!isSnapshotUsed() || !restoreSnapshot()) {
+            rebuildFromRows();
+        }
+        rebuildWindows();
+        built = true;
+    }
+
+    private void rebuildFromRows() {
+        long start = System.nanoTime();
+        long[] scoreNanos = new long[1];
+        long[] sortNanos = new long[1];
+        allTime.clear();
+        try (Stream<PlayerRankingView> views = playerRepository.streamRankingViews()) {
+            views.forEach(view -> {
+                if (!topology.owns(view.getId())) {
+                    return;
+                }
+                long scoring = System.nanoTime();
+                LeaderboardEntry entry = new LeaderboardEntry(view.getId(), view.getName(), view.getIcon(),
+                        view.getPlayerWins(), view.getTotalRounds());
+                long sorting = System.nanoTime();
+                allTime.put(entry);
+                scoreNanos[0] += sorting - scoring;
+                sortNanos[0] += System.nanoTime() - sorting;
+            });
+        }
+        long loadNanos = System.nanoTime() - start - scoreNanos[0] - sortNanos[0];
+        recordRebuildPhase("load", loadNanos);
+        recordRebuildPhase("score", scoreNanos[0]);
+        recordRebuildPhase("sort", sortNanos[0]);
+    }
+
+    // Names and icons come from the all-time index, so this runs after it
+    private void rebuildWindows() {
+        long start = System.nanoTime();
+        LocalDate today = LocalDate.now(clock);
+        Map<TimeWindow, RankingIndex> current = new EnumMap<>(TimeWindow.class);
+        for (TimeWindow window : TimeWindow.values()) {
+            WindowRanking ranking = new WindowRanking(window.bucketOf(today));
+            windows.get(window).set(ranking);
+            current.put(window, ranking.index);
+        }
+        try (Stream<PlayerWindowsView> views = playerRepository.streamWindowViews(
+                TimeWindow.WEEK.bucketOf(today), TimeWindow.SEASON.bucketOf(today))) {
+            views.forEach(view -> {
+                LeaderboardEntry named = allTime.get(view.getId());
+                if (named == null) {
+                    return;
+                }
+                putWindowEntry(current.get(TimeWindow.DAY), named, TimeWindow.DAY.bucketOf(today),
+                        view.getDayBucket(), view.getDayWins(), view.getDayRounds());
+                putWindowEntry(current.get(TimeWindow.WEEK), named, TimeWindow.WEEK.bucketOf(today),
+                        view.getWeekBucket(), view.getWeekWins(), view.getWeekRounds());
+                putWindowEntry(current.get(TimeWindow.SEASON), named, TimeWindow.SEASON.bucketOf(today),
+                        view.getSeasonBucket(), view.getSeasonWins(), view.getSeasonRounds());
+            });
+        }
+        recordRebuildPhase("windows", System.nanoTime() - start);
+    }
+
+    private static void putWindowEntry(RankingIndex index, LeaderboardEntry named, int currentBucket,
+                                       int bucket, int wins, int rounds) {
+        if (bucket == currentBucket && rounds > 0) {
+            index.put(new LeaderboardEntry(named.getId(), named.getName(), named.getIcon(), wins, rounds));
+        }
+    }
+
+    /**
+     * Saves the index for the next startup. Runs after the write-behind buffer's final flush,
+     * which depends on this service, so the snapshot includes those rounds.
+     * Only the all-time index is saved; the windows are small and read back from their own columns.
+     */
+    @PreDestroy
+    public void saveSnapshot() {
+        if (!isSnapshotUsed() || !built) {
+            return;
+        }
+        try {
+            int entries = snapshotStore.write(allTime.entries());
+            log.info("Saved {} leaderboard entries to the snapshot", entries);
+        } catch (Exception e) {
+            log.warn("Could not save the leaderboard snapshot, the next startup rebuilds from the database", e);
+        }
+    }
+
+    // The snapshot holds whatever partition the node owned when saving it, which the topology may have changed
+    private boolean isSnapshotUsed() {
+        return snapshotStore.isEnabled() && !topology.isClustered();
+    }
+
+    private boolean restoreSnapshot() {
+        long start = System.nanoTime();
+        allTime.clear();
+        if (!snapshotStore.read(allTime::put)) {
+            return false;
+        }
+        recordRebuildPhase("snapshot", System.nanoTime() - start);
+        log.info("Restored {} leaderboard entries from the snapshot", allTime.size());
+        return true;
+    }
+
+    /**
+     * Inserts or re-ranks a player after their name, icon or stats changed, on every leaderboard:
+     * their windowed counters decide whether they are on the current day, week and season ones.
+     * When called inside a transaction the index is only touched once the transaction commits,
+     * so a rolled back update never shows up on the leaderboard.
+     * The player's row version at the commit is kept with the entries: counters of rounds read from an older
+     * row are ignored from then on (see {@link #updateStats}), and so is an older replacement.
+     *
+     * @param player The player whose ranking data changed.
+     */
+    public void update(Player player) {
+        if (!topology.owns(player.getId())) {
+            publishRemoteChange(player.getId());
+            return;
+        }
+        LeaderboardEntry entry = toEntry(player);
+        PlayerStats stats = player.getStats() != null ? player.getStats() : new PlayerStats();
+        LocalDate today = LocalDate.now(clock);
+        Map<TimeWindow, LeaderboardEntry> windowEntries = new EnumMap<>(TimeWindow.class);
+        for (TimeWindow window : TimeWindow.values()) {
+            windowEntries.put(window, toWindowEntry(entry, stats, window.bucketOf(today), window));
+        }
+        afterCommit(() -> {
+            // read once committed: the version is incremented when the change is flushed
+            long version = player.getVersion() != null ? player.getVersion() : 0;
+            LeaderboardEntry[] change = allTime.compute(entry.getId(),
+                    existing -> existing != null && existing.isNewerThan(version) ? existing : entry.withVersion(version));
+            if (change[1] != change[0] && !change[1].looksLike(change[0])) {
+                publishChange(entry.getId());
+            }
+            windowEntries.forEach((window, windowEntry) -> {
+                RankingIndex index = current(window, window.bucketOf(today));
+                if (index == null) {
+                    return; // the period ended before the commit
+                }
+                index.compute(entry.getId(), existing -> {
+                    if (existing != null && existing.isNewerThan(version)) {
+                        return existing;
+                    }
+                    return windowEntry != null ? windowEntry.withVersion(version) : null;
+                });
+            });
+        });
+    }
+
+    /**
+     * Re-ranks a player whose counters changed without loading the entity, keeping the name and icon
+     * already in the index. When called inside a transaction the index is only touched once it commits.
+     * <p>
+     * Counters read from a player row older than the last replacement of the player's stats (a reset or an
+     * upload, see {@link #update}) are ignored: they were counted before the replacement but ranked after it.
+     * Among rounds of the same stats the one with more games wins, as rounds may commit in one order and
+     * be ranked in the other.
+     *
+     * @param playerId The ID of the player whose stats changed.
+     * @param basedOn The version of the player row the counters were computed from.
+     * @param wins The player's total wins.
+     * @param gamesPlayed The player's total rounds.
+     */
+    public void updateStats(Long playerId, long basedOn, int wins, int gamesPlayed) {
+        if (!topology.owns(playerId)) {
+            publishRemoteChange(playerId);
+            return;
+        }
+        afterCommit(() -> {
+            LeaderboardEntry[] change = allTime.compute(playerId, existing -> {
+                if (existing == null || existing.isNewerThan(basedOn) || gamesPlayed < existing.getGamesPlayed()) {
+                    return existing;
+                }
+                return new LeaderboardEntry(playerId, existing.getName(), existing.getIcon(), wins, gamesPlayed,
+                        existing.getVersion());
+            });
+            if (change[0] != null && !change[0].looksLike(change[1])) {
+                publishChange(playerId);
+            }
+        });
+    }
+
+    /**
+     * Re-ranks a player on the day, week and season leaderboards after rounds were written to their stats,
+     * keeping the name and icon already in the all-time index. Stale counters are ignored as by {@link #updateStats}.
+     *
+     * @param playerId The ID of the player whose stats changed.
+     * @param basedOn The version of the player row the rounds were added to.
+     * @param stats The stats as written, with the windowed counters.
+     */
+    public void updateWindows(Long playerId, long basedOn, PlayerStats stats) {
+        if (!topology.owns(playerId)) {
+            publishRemoteChange(playerId);
+            return;
+        }
+        LocalDate today = LocalDate.now(clock);
+        // read now, the entity may change again before the commit
+        Map<TimeWindow, int[]> counters = new EnumMap<>(TimeWindow.class);
+        for (TimeWindow window : TimeWindow.values()) {
+            int bucket = window.bucketOf(today);
+            WindowCounters windowCounters = stats.getWindow(window);
+            counters.put(window, new int[] {bucket, windowCounters.winsIn(bucket), windowCounters.roundsIn(bucket)});
+        }
+        afterCommit(() -> counters.forEach((window, counter) -> {
+            RankingIndex index = current(window, counter[0]);
+            if (index == null || counter[2] == 0) {
+                return;
+            }
+            index.compute(playerId, existing -> {
+                // read under the window's lock: a replacement updates the all-time index before the windows
+                LeaderboardEntry named = allTime.get(playerId);
+                if (named == null || named.isNewerThan(basedOn)
+                        || (existing != null && (existing.isNewerThan(basedOn) || counter[2] < existing.getGamesPlayed()))) {
+                    return existing;
+                }
+                return new LeaderboardEntry(playerId, named.getName(), named.getIcon(), counter[1], counter[2],
+                        named.getVersion());
+            });
+        }));
+    }
+
+    /**
+     * Removes a player from every leaderboard.
+     *
+     * @param playerId The ID of the player to remove.
+     */
+    public void remove(Long playerId) {
+        if (!topology.owns(playerId)) {
+            publishRemoteChange(playerId);
+            return;
+        }
+        afterCommit(() -> {
+            for (AtomicReference<WindowRanking> window : windows.values()) {
+                window.get().index.remove(playerId);
+            }
+            if (allTime.remove(playerId) != null) {
+                publishChange(playerId);
+            }
+        });
+    }
+
+    /**
+     * Reads players this node owns back from the database after another node changed them,
+     * and re-ranks them, or removes those that no longer exist.
+     *
+     * @param playerIds The IDs of the changed players.
+     */
+    public void refresh(List<Long> playerIds) {
+        for (Long playerId : playerIds) {
+            if (topology.owns(playerId)) {
+                playerRepository.findById(playerId).ifPresentOrElse(this::update, () -> remove(playerId));
+            }
+        }
+    }
+
+    /**
+     * Returns the whole leaderboard, best player first.
+     */
+    public List<LeaderboardPlayerStatsDto> getLeaderboard() {
+        return getTop(Integer.MAX_VALUE);
+    }
+
+    /**
+     * Returns the best {@code limit} players, best player first.
+     *
+     * @param limit The maximum number of players to return.
+     */
+    public List<LeaderboardPlayerStatsDto> getTop(int limit) {
+        return allTime.top(limit);
+    }
+
+    /**
+     * Returns the next page of the leaderboard after a cursor.
+     * The cursor is the score and name of the last player seen on the previous page;
+     * without a cursor the page starts at the top.
+     *
+     * @param limit The maximum number of players to return.
+     * @param afterScore Score of the last player seen, or null for the first page.
+     * @param afterName Name of the last player seen, or null for the first page.
+     * @return Up to {@code limit} players ranked strictly after the cursor.
+     */
+    public List<LeaderboardPlayerStatsDto> getPage(int limit, Double afterScore, String afterName) {
+        return getPage(null, limit, afterScore, afterName);
+    }
+
+    /**
+     * Same as {@link #getPage(int, Double, String)}, ranking only the rounds played in the current
+     * period of a window.
+     *
+     * @param window The day, week or season leaderboard, or null for all-time.
+     */
+    public List<LeaderboardPlayerStatsDto> getPage(TimeWindow window, int limit, Double afterScore, String afterName) {
+        return index(window).page(limit, afterScore, afterName);
+    }
+
+    /**
+     * Finds a player's rank and the players directly above and below them.
+     * The rank is exact; computing it walks the players ranked above, so it costs O(rank).
+     *
+     * @param playerId The ID of the player to locate.
+     * @param neighbours How many players to include on each side.
+     * @return The player's position, or empty if the player is not ranked.
+     */
+    public Optional<LeaderboardPositionDto> getPosition(Long playerId, int neighbours) {
+        return getPosition(null, playerId, neighbours);
+    }
+
+    /**
+     * Same as {@link #getPosition(Long, int)} on the leaderboard of a window's current period.
+     *
+     * @param window The day, week or season leaderboard, or null for all-time.
+     * @return The player's position, or empty if the player has not played during the period.
+     */
+    public Optional<LeaderboardPositionDto> getPosition(TimeWindow window, Long playerId, int neighbours) {
+        return index(window).position(playerId, neighbours);
+    }
+
+    /**
+     * Estimates a player's rank and top percentage from the score distribution, in O(log buckets) rather than the
+     * O(rank) of {@link #getPosition}. Only the order among players with nearly the same score
+     * (within 1/{@value ScoreHistogram#BUCKETS}) is unknown: the estimate is the middle of the ranks they span.
+     *
+     * @param window The day, week or season leaderboard, or null for all-time.
+     * @param playerId The ID of the player to rank.
+     * @return The estimate with its error bound, or empty if the player is not ranked.
+     */
+    public Optional<LeaderboardRankDto> getApproximateRank(TimeWindow window, Long playerId) {
+        return index(window).approximateRank(playerId);
+    }
+
+    /**
+     * Locates a player of any partition in this node's partition of a leaderboard, for
+     * {@link ClusterLeaderboardService#getPosition}: the players ranked above them here, and their neighbours here.
+     *
+     * @param window The day, week or season leaderboard, or null for all-time.
+     * @param playerId The player's ID, score and name, which together give their place in the ranking.
+     * @param neighbours How many players to include on each side.
+     */
+    public PartitionPositionDto getPartitionPosition(TimeWindow window, Long playerId, double score, String name,
+                                                     int neighbours) {
+        return index(window).around(LeaderboardEntry.key(playerId, score, name), neighbours);
+    }
+
+    /**
+     * Reads this node's score histogram at a score, for {@link ClusterLeaderboardService#getApproximateRank}.
+     *
+     * @param window The day, week or season leaderboard, or null for all-time.
+     */
+    public PartitionRankCountsDto getPartitionRankCounts(TimeWindow window, double score) {
+        return index(window).rankCounts(score);
+    }
+
+    /**
+     * @return The player's current entry on a leaderboard of this node, or null if they are not ranked here.
+     */
+    LeaderboardEntry getEntry(TimeWindow window, Long playerId) {
+        return index(window).get(playerId);
+    }
+
+    public int size() {
+        return allTime.size();
+    }
+
+    /**
+     * An entity tag for the current content of a leaderboard, so an unchanged page can be answered with
+     * 304 Not Modified without being read or serialized. It changes with any change to the leaderboard, or when its
+     * period ends. Taken before reading the page it is sent with, so at worst it is older than the page.
+     *
+     * @param window The day, week or season leaderboard, or null for all-time.
+     */
+    public String getETag(TimeWindow window) {
+        if (window == null) {
+            return instance + "-all-" + allTime.changes();
+        }
+        int bucket = window.bucketOf(LocalDate.now(clock));
+        RankingIndex index = current(window, bucket);
+        return instance + "-" + window.getValue() + bucket + "-" + (index != null ? index.changes() : "none");
+    }
+
+    private RankingIndex index(TimeWindow window) {
+        if (window == null) {
+            return allTime;
+        }
+        RankingIndex index = current(window, window.bucketOf(LocalDate.now(clock)));
+        return index != null ? index : new RankingIndex(); // the clock went back across a rollover
+    }
+
+    /**
+     * The ranking of period {@code bucket} of a window, started empty if that period just began.
+     * Rolling over is one compare-and-set: nobody played in a period before its first round.
+     *
+     * @return The ranking, or null if a later period has already started.
+     */
+    private RankingIndex current(TimeWindow window, int bucket) {
+        AtomicReference<WindowRanking> reference = windows.get(window);
+        WindowRanking ranking = reference.get();
+        while (ranking.bucket < bucket) {
+            WindowRanking next = new WindowRanking(bucket);
+            if (reference.compareAndSet(ranking, next)) {
+                return next.index;
+            }
+            ranking = reference.get();
+        }
+        return ranking.bucket == bucket ? ranking.index : null;
+    }
+
+    private void recordRebuildPhase(String phase, long nanos) {
+        Timer.builder("leaderboard.rebuild.duration")
+                .description("Time taken to rebuild the leaderboard index, by phase")
+                .tag("phase", phase)
+                .register(meterRegistry)
+                .record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    // published outside compute(), listeners must not run while a map bin is locked
+    private void publishChange(Long playerId) {
+        eventPublisher.publishEvent(new LeaderboardChangedEvent(playerId));
+    }
+
+    private void publishRemoteChange(Long playerId) {
+        afterCommit(() -> eventPublisher.publishEvent(new RemotePlayerChangedEvent(playerId)));
+    }
+
+    private static LeaderboardEntry toWindowEntry(LeaderboardEntry entry, PlayerStats stats, int bucket, TimeWindow window) {
+        WindowCounters counters = stats.getWindow(window);
+        if (counters.roundsIn(bucket) == 0) {
+            return null;
+        }
+        return new LeaderboardEntry(entry.getId(), entry.getName(), entry.getIcon(),
+                counters.winsIn(bucket), counters.roundsIn(bucket));
+    }
+
+    private static final class WindowRanking {
+        private final int bucket;
+        private final RankingIndex index = new RankingIndex();
+
+        private WindowRanking(int bucket) {
+            this.bucket = bucket;
+        }
+    }
+
+    private static LeaderboardEntry toEntry(Player player) {
+        PlayerStats stats = player.getStats() != null ? player.getStats() : new PlayerStats();
+        return new LeaderboardEntry(player.getId(), player.getName(), player.getIcon(),
+                stats.getPlayerWins(), stats.getTotalRounds());
+    }
+}
@@ -0,0 +1,160 @@
+package com.interview.challenge.leaderboard;
+
+import com.interview.challenge.player.PlayerRepository;
+import com.interview.challenge.player.PlayerTableStamp;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.BufferUnderflowException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.function.Consumer;
+
+/**
+ * Saves the leaderboard index to a file and reads it back, so a restarted node ranks players without
+ * reading (and scoring) every row of the player table.
+ * <p>
+ * The file holds the entries in ranking order, with their Wilson scores, behind a header carrying the
+ * {@link PlayerTableStamp} of the table they were taken from. On startup the file is memory-mapped and only
+ * used if the table still has the same stamp; any change to a player since, made by this node after the
+ * snapshot or by another one, makes the caller fall back to a full rebuild.
+ */
+@Component
+public class LeaderboardSnapshotStore {
+
+    private static final Logger log = LoggerFactory.getLogger(LeaderboardSnapshotStore.class);
+
+    private static final int MAGIC = 0x52505331; // "RPS1"
+    private static final int FORMAT = 1;
+
+    private final PlayerRepository playerRepository;
+    private final boolean enabled;
+    private final Path path;
+
+    @Autowired
+    public LeaderboardSnapshotStore(PlayerRepository playerRepository,
+                                    @Value("${rps.leaderboard.snapshot.enabled:false}") boolean enabled,
+                                    @Value("${rps.leaderboard.snapshot.path:./data/leaderboard.snapshot}") Path path) {
+        this.playerRepository = playerRepository;
+        this.enabled = enabled;
+        this.path = path;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Writes the entries with the player table's current stamp, replacing the previous snapshot atomically.
+     * Meant for shutdown, once no more writes come in: the stamp is taken first, so a write committed while
+     * the entries are saved makes the snapshot stale rather than wrong.
+     *
+     * @param entries The index, in ranking order.
+     * @return The number of entries written.
+     */
+    public int write(Iterable<LeaderboardEntry> entries) throws IOException {
+        PlayerTableStamp stamp = playerRepository.getTableStamp();
+        Path parent = path.toAbsolutePath().getParent();
+        Files.createDirectories(parent);
+        Path temp = Files.createTempFile(parent, path.getFileName().toString(), ".tmp");
+        int count = 0;
+        try {
+            try (OutputStream file = Files.newOutputStream(temp);
+                 DataOutputStream out = new DataOutputStream(new BufferedOutputStream(file, 1 << 16))) {
+                out.writeInt(MAGIC);
+                out.writeInt(FORMAT);
+                out.writeLong(stamp.getPlayers());
+                out.writeLong(stamp.getMaxId());
+                out.writeLong(stamp.getVersions());
+                for (LeaderboardEntry entry : entries) {
+                    out.writeLong(entry.getId());
+                    out.writeInt(entry.getWins());
+                    out.writeInt(entry.getGamesPlayed());
+                    out.writeDouble(entry.getScore());
+                    writeString(out, entry.getName());
+                    writeString(out, entry.getIcon());
+                    count++;
+                }
+            }
+            Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+        return count;
+    }
+
+    /**
+     * Reads the snapshot back if there is one and the player table has not changed since it was written.
+     *
+     * @param sink Receives the entries, in ranking order.
+     * @return false if nothing was read: no snapshot, a stale one, or an unreadable one (then some entries may have
+     * been passed to {@code sink} already and the caller has to discard them).
+     */
+    public boolean read(Consumer<LeaderboardEntry> sink) {
+        if (!Files.isReadable(path)) {
+            return false;
+        }
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (buffer.remaining() < 32 || buffer.getInt() != MAGIC || buffer.getInt() != FORMAT) {
+                log.warn("Ignoring leaderboard snapshot {}: unknown format", path);
+                return false;
+            }
+            PlayerTableStamp stamp = playerRepository.getTableStamp();
+            if (buffer.getLong() != stamp.getPlayers() || buffer.getLong() != stamp.getMaxId()
+                    || buffer.getLong() != stamp.getVersions()) {
+                log.info("Ignoring leaderboard snapshot {}: players changed since it was written", path);
+                return false;
+            }
+            while (buffer.hasRemaining()) {
+                long id = buffer.getLong();
+                int wins = buffer.getInt();
+                int gamesPlayed = buffer.getInt();
+                double score = buffer.getDouble();
+                String name = readString(buffer);
+                String icon = readString(buffer);
+                sink.accept(LeaderboardEntry.restore(id, name, icon, wins, gamesPlayed, score));
+            }
+            return true;
+        } catch (IOException | BufferUnderflowException e) {
+            log.warn("Ignoring unreadable leaderboard snapshot {}", path, e);
+            return false;
+        }
+    }
+
+    // null as length -1
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(MappedByteBuffer buffer) {
+        int length = buffer.getInt();
+        if (length < 0) {
+            return null;
+        }
+        if (length > buffer.remaining()) {
+            throw new BufferUnderflowException(); // truncated file
+        }
+        byte[] bytes = new byte[length];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
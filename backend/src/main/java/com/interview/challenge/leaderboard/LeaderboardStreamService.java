@@ -0,0 +1,301 @@
+package com.interview.challenge.leaderboard;
+
+import com.interview.challenge.dto.LeaderboardPlayerStatsDto;
+import com.interview.challenge.dto.LeaderboardUpdateDto;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Pushes leaderboard changes to subscribers over server-sent events.
+ * <p>
+ * Changes reported by {@link LeaderboardService} are collected and, every {@code rps.leaderboard.stream.interval},
+ * turned into one {@link LeaderboardUpdateDto} (changed players with their score, removed players), computed once
+ * however many subscribers are listening. Ranks are not sent: a client places changed players on its loaded page
+ * by score and name, and computing exact ranks here would walk the index once per changed player.
+ * <p>
+ * Each subscriber then gets its own queue: updates it has not received yet are coalesced per player, and at most
+ * one send per subscriber is in flight. Sends run on a pool of their own ({@code send-threads}, at most
+ * {@code send-queue} subscribers waiting), never on the shared task executor. A send blocked on a slow socket for
+ * longer than {@code send-timeout} drops its subscriber, which the browser reconnects; the blocked thread is
+ * released by the container's write timeout ({@code server.tomcat.connection-timeout}). A subscriber falling more
+ * than {@code max-pending} players behind, or a tick with more than {@code max-changes} changes, gets a
+ * {@code resync} event instead, telling it to reload the leaderboard.
+ */
+@Service
+public class LeaderboardStreamService {
+
+    static final String UPDATE_EVENT = "update";
+    static final String RESYNC_EVENT = "resync";
+
+    private static final Logger log = LoggerFactory.getLogger(LeaderboardStreamService.class);
+
+    private final LeaderboardService leaderboardService;
+    private final ThreadPoolExecutor sendExecutor;
+    private final long timeoutMillis;
+    private final long sendTimeoutNanos;
+    private final int maxChanges;
+    private final int maxPending;
+
+    private final Set<Long> changedPlayers = ConcurrentHashMap.newKeySet();
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+
+    // Micrometer meters
+    private final Counter updatesComputedCounter;
+    private final Counter resyncsCounter;
+    private final Counter droppedCounter;
+
+    @Autowired
+    public LeaderboardStreamService(LeaderboardService leaderboardService,
+                                    MeterRegistry meterRegistry,
+                                    @Value("${rps.leaderboard.stream.timeout:30m}") Duration timeout,
+                                    @Value("${rps.leaderboard.stream.send-timeout:10s}") Duration sendTimeout,
+                                    @Value("${rps.leaderboard.stream.send-threads:8}") int sendThreads,
+                                    @Value("${rps.leaderboard.stream.send-queue:1000}") int sendQueue,
+                                    @Value("${rps.leaderboard.stream.max-changes:500}") int maxChanges,
+                                    @Value("${rps.leaderboard.stream.max-pending:1000}") int maxPending) {
+        this.leaderboardService = leaderboardService;
+        this.timeoutMillis = timeout.toMillis();
+        this.sendTimeoutNanos = sendTimeout.toNanos();
+        this.maxChanges = maxChanges;
+        this.maxPending = maxPending;
+
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.sendExecutor = new ThreadPoolExecutor(sendThreads, sendThreads, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(sendQueue), runnable -> {
+                    Thread thread = new Thread(runnable, "leaderboard-stream-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        this.sendExecutor.allowCoreThreadTimeOut(true);
+
+        Gauge.builder("leaderboard.stream.subscribers", subscribers, Set::size)
+                .description("Open leaderboard event streams")
+                .register(meterRegistry);
+        this.updatesComputedCounter = meterRegistry.counter("leaderboard.stream.updates.total");
+        this.resyncsCounter = meterRegistry.counter("leaderboard.stream.resyncs.total");
+        this.droppedCounter = meterRegistry.counter("leaderboard.stream.dropped.total");
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        sendExecutor.shutdownNow();
+    }
+
+    /**
+     * Opens a stream for one client. The client should load the leaderboard first, then apply updates;
+     * on {@code resync} it loads the leaderboard again. Browsers' EventSource reconnects by itself when
+     * the stream times out.
+     */
+    public SseEmitter subscribe() {
+        SseEmitter emitter = new SseEmitter(timeoutMillis);
+        Subscriber subscriber = new Subscriber(emitter);
+        subscribers.add(subscriber);
+        emitter.onCompletion(() -> subscribers.remove(subscriber));
+        emitter.onTimeout(() -> subscribers.remove(subscriber));
+        emitter.onError(e -> subscribers.remove(subscriber));
+        return emitter;
+    }
+
+    @EventListener
+    public void onLeaderboardChanged(LeaderboardChangedEvent event) {
+        changedPlayers.add(event.getPlayerId());
+    }
+
+    /**
+     * Turns the changes since the previous tick into one update and queues it for every subscriber.
+     */
+    @Scheduled(fixedDelayString = "${rps.leaderboard.stream.interval:500ms}")
+    public void publish() {
+        dropStalledSubscribers();
+        if (changedPlayers.isEmpty()) {
+            return;
+        }
+        Set<Long> changed = new HashSet<>(changedPlayers);
+        changedPlayers.removeAll(changed);
+        if (subscribers.isEmpty()) {
+            return;
+        }
+        if (changed.size() > maxChanges) {
+            subscribers.forEach(Subscriber::resync);
+            return;
+        }
+
+        // one O(log n) lookup per change, computed here once, never per subscriber
+        Map<Long, LeaderboardPlayerStatsDto> update = new LinkedHashMap<>();
+        for (Long playerId : changed) {
+            LeaderboardEntry entry = leaderboardService.getEntry(null, playerId);
+            update.put(playerId, entry != null ? entry.toDto() : null); // null: no longer ranked
+        }
+        updatesComputedCounter.increment();
+        subscribers.forEach(subscriber -> subscriber.offer(update));
+    }
+
+    /**
+     * Drops subscribers whose current send has been blocked for longer than {@code send-timeout}, so no more
+     * updates are queued behind it.
+     */
+    private void dropStalledSubscribers() {
+        long now = System.nanoTime();
+        for (Subscriber subscriber : subscribers) {
+            long started = subscriber.sendStartedNanos;
+            if (started != 0 && now - started > sendTimeoutNanos) {
+                subscriber.drop(new IOException("Send blocked for more than " + sendTimeoutNanos / 1_000_000 + " ms"));
+            }
+        }
+    }
+
+    public int getSubscriberCount() {
+        return subscribers.size();
+    }
+
+    /**
+     * One open stream and the updates it has not been sent yet.
+     */
+    private final class Subscriber {
+        private final SseEmitter emitter;
+        private final ReentrantLock lock = new ReentrantLock();
+        private final AtomicBoolean sending = new AtomicBoolean();
+        // latest state per player, null meaning removed; guarded by lock
+        private Map<Long, LeaderboardPlayerStatsDto> pending = new LinkedHashMap<>();
+        private boolean resyncPending;
+        // System.nanoTime() when the send in flight started, 0 when idle
+        private volatile long sendStartedNanos;
+
+        private Subscriber(SseEmitter emitter) {
+            this.emitter = emitter;
+        }
+
+        private void offer(Map<Long, LeaderboardPlayerStatsDto> update) {
+            lock.lock();
+            try {
+                if (!resyncPending) {
+                    pending.putAll(update);
+                    if (pending.size() > maxPending) {
+                        pending = new LinkedHashMap<>();
+                        resyncPending = true;
+                    }
+                }
+            } finally {
+                lock.unlock();
+            }
+            drain();
+        }
+
+        private void resync() {
+            lock.lock();
+            try {
+                pending = new LinkedHashMap<>();
+                resyncPending = true;
+            } finally {
+                lock.unlock();
+            }
+            drain();
+        }
+
+        private void drain() {
+            if (sending.compareAndSet(false, true)) {
+                try {
+                    sendExecutor.execute(this::sendPending);
+                } catch (RejectedExecutionException e) {
+                    sending.set(false);
+                    drop(new IOException("Too many leaderboard subscribers waiting for a send"));
+                }
+            }
+        }
+
+        private void drop(Throwable cause) {
+            if (subscribers.remove(this)) {
+                log.debug("Dropping leaderboard subscriber: {}", cause.getMessage());
+                droppedCounter.increment();
+                emitter.completeWithError(cause);
+            }
+        }
+
+        private void sendPending() {
+            try {
+                while (true) {
+                    boolean resync;
+                    Map<Long, LeaderboardPlayerStatsDto> batch;
+                    lock.lock();
+                    try {
+                        resync = resyncPending;
+                        batch = pending;
+                        resyncPending = false;
+                        pending = new LinkedHashMap<>();
+                    } finally {
+                        lock.unlock();
+                    }
+                    if (!resync && batch.isEmpty()) {
+                        return;
+                    }
+                    sendStartedNanos = System.nanoTime();
+                    if (resync) {
+                        resyncsCounter.increment();
+                        emitter.send(SseEmitter.event().name(RESYNC_EVENT).data(leaderboardService.size()));
+                    } else {
+                        emitter.send(SseEmitter.event().name(UPDATE_EVENT).data(toDto(batch)));
+                    }
+                    sendStartedNanos = 0;
+                }
+            } catch (IOException | IllegalStateException e) {
+                // client gone or emitter already completed
+                drop(e);
+            } finally {
+                sendStartedNanos = 0;
+                sending.set(false);
+                if (hasPending() && subscribers.contains(this)) {
+                    drain(); // offered while the last send was finishing
+                }
+            }
+        }
+
+        private boolean hasPending() {
+            lock.lock();
+            try {
+                return resyncPending || !pending.isEmpty();
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private LeaderboardUpdateDto toDto(Map<Long, LeaderboardPlayerStatsDto> batch) {
+            List<LeaderboardPlayerStatsDto> changed = new ArrayList<>(batch.size());
+            List<Long> removed = new ArrayList<>();
+            batch.forEach((playerId, entry) -> {
+                if (entry != null) {
+                    changed.add(entry);
+                } else {
+                    removed.add(playerId);
+                }
+            });
+            return new LeaderboardUpdateDto(changed, removed, leaderboardService.size());
+        }
+    }
+}
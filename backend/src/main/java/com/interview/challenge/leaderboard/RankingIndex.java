@@ -0,0 +1,206 @@
+package com.interview.challenge.leaderboard;
+
+import com.interview.challenge.dto.LeaderboardPlayerStatsDto;
+import com.interview.challenge.dto.LeaderboardPositionDto;
+import com.interview.challenge.dto.LeaderboardRankDto;
+import com.interview.challenge.dto.PartitionPositionDto;
+import com.interview.challenge.dto.PartitionRankCountsDto;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.UnaryOperator;
+
+/**
+ * Players sorted by {@link LeaderboardEntry#RANKING}, with their current entry by id.
+ * One per leaderboard: all-time, and the current period of each {@link com.interview.challenge.shared.TimeWindow}.
+ * Safe for concurrent readers and writers; writers of the same player are serialized.
+ */
+final class RankingIndex {
+
+    // Sorted view used for reads; weakly consistent iteration, safe for concurrent readers
+    private final ConcurrentSkipListSet<LeaderboardEntry> ranking = new ConcurrentSkipListSet<>(LeaderboardEntry.RANKING);
+    // Current entry per player id, so an update can find and remove the stale entry in O(log n)
+    private final Map<Long, LeaderboardEntry> entriesById = new ConcurrentHashMap<>();
+    // Bumped by every change, so readers can tell whether what they served before is still current
+    private final AtomicLong changes = new AtomicLong();
+    // Score distribution, for ranks in O(log buckets) instead of O(rank)
+    private final ScoreHistogram histogram = new ScoreHistogram();
+
+    LeaderboardEntry get(Long playerId) {
+        return entriesById.get(playerId);
+    }
+
+    /**
+     * @return The entry replaced, or null if the player was not ranked yet.
+     */
+    LeaderboardEntry put(LeaderboardEntry entry) {
+        return compute(entry.getId(), existing -> entry)[0];
+    }
+
+    /**
+     * @return The entry removed, or null if the player was not ranked.
+     */
+    LeaderboardEntry remove(Long playerId) {
+        return compute(playerId, existing -> null)[0];
+    }
+
+    /**
+     * Replaces a player's entry (or absence of one) with {@code update(existing)}: returning the existing entry
+     * keeps it, returning null removes the player.
+     *
+     * @return The pair {existing, replacement}, either may be null.
+     */
+    LeaderboardEntry[] compute(Long playerId, UnaryOperator<LeaderboardEntry> update) {
+        LeaderboardEntry[] change = new LeaderboardEntry[2];
+        // compute() serializes writers of the same player, so remove+add can't interleave
+        entriesById.compute(playerId, (id, existing) -> {
+            LeaderboardEntry entry = update.apply(existing);
+            if (entry != existing) {
+                if (existing != null) {
+                    ranking.remove(existing);
+                    histogram.remove(existing.getScore());
+                }
+                if (entry != null) {
+                    ranking.add(entry);
+                    histogram.add(entry.getScore());
+                }
+                changes.incrementAndGet();
+            }
+            change[0] = existing;
+            change[1] = entry;
+            return entry;
+        });
+        return change;
+    }
+
+    void clear() {
+        ranking.clear();
+        entriesById.clear();
+        histogram.clear();
+        changes.incrementAndGet();
+    }
+
+    /**
+     * @return How many changes the index has had; while it stays the same, so do its pages and positions.
+     */
+    long changes() {
+        return changes.get();
+    }
+
+    int size() {
+        return entriesById.size();
+    }
+
+    // in ranking order
+    Iterable<LeaderboardEntry> entries() {
+        return ranking;
+    }
+
+    List<LeaderboardPlayerStatsDto> top(int limit) {
+        return collect(ranking.iterator(), limit);
+    }
+
+    /**
+     * The next page after a cursor: the score and name of the last player seen, or no score for the first page.
+     */
+    List<LeaderboardPlayerStatsDto> page(int limit, Double afterScore, String afterName) {
+        if (afterScore == null) {
+            return top(limit);
+        }
+        NavigableSet<LeaderboardEntry> rest = ranking.tailSet(LeaderboardEntry.cursor(afterScore, afterName), false);
+        return collect(rest.iterator(), limit);
+    }
+
+    /**
+     * A player's rank, exact, found by walking the players ranked above: O(rank).
+     */
+    Optional<LeaderboardPositionDto> position(Long playerId, int neighbours) {
+        LeaderboardEntry entry = entriesById.get(playerId);
+        if (entry == null) {
+            return Optional.empty();
+        }
+        NavigableSet<LeaderboardEntry> above = ranking.headSet(entry, false);
+        int rank = above.size() + 1;
+
+        List<LeaderboardPlayerStatsDto> entries = new ArrayList<>(2 * neighbours + 1);
+        Iterator<LeaderboardEntry> up = above.descendingIterator();
+        for (int i = 1; i <= neighbours && up.hasNext(); i++) {
+            entries.add(up.next().toDto(rank - i));
+        }
+        Collections.reverse(entries);
+        entries.add(entry.toDto(rank));
+        Iterator<LeaderboardEntry> down = ranking.tailSet(entry, false).iterator();
+        for (int i = 1; i <= neighbours && down.hasNext(); i++) {
+            entries.add(down.next().toDto(rank + i));
+        }
+        return Optional.of(new LeaderboardPositionDto(playerId, rank, entriesById.size(), entries));
+    }
+
+    /**
+     * A player's rank estimated from the score histogram, in O(log buckets) whatever the rank:
+     * the middle of the ranks their bucket spans, with half that span as the error.
+     */
+    Optional<LeaderboardRankDto> approximateRank(Long playerId) {
+        LeaderboardEntry entry = entriesById.get(playerId);
+        if (entry == null) {
+            return Optional.empty();
+        }
+        return Optional.of(estimateRank(playerId, entry.getScore(), histogram.countAbove(entry.getScore()),
+                histogram.countIn(entry.getScore()), histogram.total()));
+    }
+
+    /**
+     * Where a key (see {@link LeaderboardEntry#key}) falls in this index: how many players rank above it, and the
+     * {@code neighbours} players on each side, the key's own player excluded. O(rank), like {@link #position}.
+     */
+    PartitionPositionDto around(LeaderboardEntry key, int neighbours) {
+        NavigableSet<LeaderboardEntry> above = ranking.headSet(key, false);
+        List<LeaderboardPlayerStatsDto> before = new ArrayList<>(neighbours);
+        Iterator<LeaderboardEntry> up = above.descendingIterator();
+        for (int i = 0; i < neighbours && up.hasNext(); i++) {
+            before.add(up.next().toDto());
+        }
+        Collections.reverse(before);
+        List<LeaderboardPlayerStatsDto> after = collect(ranking.tailSet(key, false).iterator(), neighbours);
+        return new PartitionPositionDto(above.size(), entriesById.size(), before, after);
+    }
+
+    /**
+     * The histogram counts at a score that {@link #approximateRank} reads, for summing across partitions.
+     */
+    PartitionRankCountsDto rankCounts(double score) {
+        return new PartitionRankCountsDto(histogram.countAbove(score), histogram.countIn(score), histogram.total());
+    }
+
+    /**
+     * The middle of the ranks the score's bucket spans, with half that span as the error.
+     *
+     * @param above Players in higher buckets.
+     * @param sameBucket Players in the score's bucket, the one being ranked included.
+     * @param total All ranked players.
+     */
+    static LeaderboardRankDto estimateRank(Long playerId, double score, long above, long sameBucket, long total) {
+        // counts may trail a concurrent move by a player, never below the one being ranked
+        long inBucket = Math.max(1, sameBucket);
+        long rank = above + (inBucket + 1) / 2;
+        long error = inBucket / 2;
+        double topPercentage = Math.round(rank * 10000.0 / Math.max(total, rank)) / 100.0;
+        return new LeaderboardRankDto(playerId, score, rank, error, Math.max(total, rank), topPercentage);
+    }
+
+    private List<LeaderboardPlayerStatsDto> collect(Iterator<LeaderboardEntry> iterator, int limit) {
+        List<LeaderboardPlayerStatsDto> page = new ArrayList<>(Math.min(limit, entriesById.size()));
+        while (page.size() < limit && iterator.hasNext()) {
+            page.add(iterator.next().toDto());
+        }
+        return page;
+    }
+}
@@ -0,0 +1,72 @@
+package com.interview.challenge.leaderboard;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * How many players have a Wilson score in each of {@value #BUCKETS} equal slices of [0, 1], kept as a
+ * Fenwick tree so that both moving a player and counting the players above a score cost O(log buckets),
+ * at most 15 atomic additions or reads, whatever the number of players. Memory is fixed at 128 KB.
+ * <p>
+ * A rank read from it is exact up to the players sharing the player's bucket, i.e. whose score is within
+ * 1/{@value #BUCKETS} of theirs. Concurrent updates may be half-applied while a count is read, which only
+ * adds the players moving at that moment to the error.
+ */
+final class ScoreHistogram {
+
+    static final int BUCKETS = 1 << 14;
+
+    // Fenwick tree, 1-based: tree[i] holds the count of buckets (i - lowbit(i), i]
+    private final AtomicLongArray tree = new AtomicLongArray(BUCKETS + 1);
+
+    void add(double score) {
+        update(bucketOf(score), 1);
+    }
+
+    void remove(double score) {
+        update(bucketOf(score), -1);
+    }
+
+    void clear() {
+        for (int i = 0; i < tree.length(); i++) {
+            tree.set(i, 0);
+        }
+    }
+
+    /**
+     * @return The number of players with a higher score than {@code score}'s bucket.
+     */
+    long countAbove(double score) {
+        return total() - countUpTo(bucketOf(score));
+    }
+
+    /**
+     * @return The number of players in {@code score}'s bucket, the one holding the player with that score included.
+     */
+    long countIn(double score) {
+        int bucket = bucketOf(score);
+        return countUpTo(bucket) - (bucket > 0 ? countUpTo(bucket - 1) : 0);
+    }
+
+    long total() {
+        return countUpTo(BUCKETS - 1);
+    }
+
+    static int bucketOf(double score) {
+        return Math.max(0, Math.min(BUCKETS - 1, (int) (score * BUCKETS)));
+    }
+
+    private void update(int bucket, long delta) {
+        for (int i = bucket + 1; i <= BUCKETS; i += i & -i) {
+            tree.addAndGet(i, delta);
+        }
+    }
+
+    // players in buckets 0..bucket
+    private long countUpTo(int bucket) {
+        long count = 0;
+        for (int i = bucket + 1; i > 0; i -= i & -i) {
+            count += tree.get(i);
+        }
+        return count;
+    }
+}
@@ -0,0 +1,34 @@
+package com.interview.challenge.metrics;
+
+import com.interview.challenge.player.stats.PlayerHistory;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.PostLoad;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * JPA entity listener recording the number of moves in every {@link PlayerHistory} loaded
+ * ({@code player.history.length}), the only part of a player that grows without bound.
+ * Players themselves are fixed-size; the history entity is only loaded to record rounds or by the history endpoint.
+ */
+@Component
+public class PlayerLoadMetrics {
+
+    private final DistributionSummary historyLength;
+
+    @Autowired
+    public PlayerLoadMetrics(MeterRegistry meterRegistry) {
+        this.historyLength = DistributionSummary.builder("player.history.length")
+                .description("Moves in each player history loaded")
+                .baseUnit("moves")
+                .publishPercentileHistogram()
+                .maximumExpectedValue(4_000_000.0)
+                .register(meterRegistry);
+    }
+
+    @PostLoad
+    public void historyLoaded(PlayerHistory history) {
+        historyLength.record(history.getPlayerHistory().size());
+    }
+}
@@ -0,0 +1,94 @@
+package com.interview.challenge.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+
+/**
+ * Records, per API endpoint, how many SQL statements a request ran ({@code http.server.queries}) and how many bytes
+ * it allocated on its thread ({@code http.server.allocation}), tagged like {@code http.server.requests}
+ * with {@code method} and {@code uri}. Streaming responses that continue asynchronously are not recorded.
+ */
+@Component
+public class RequestMetricsFilter extends OncePerRequestFilter {
+
+    private static final com.sun.management.ThreadMXBean THREADS = threadMXBean();
+
+    private final MeterRegistry meterRegistry;
+    private final QueryCounter queryCounter;
+
+    @Autowired
+    public RequestMetricsFilter(MeterRegistry meterRegistry, QueryCounter queryCounter) {
+        this.meterRegistry = meterRegistry;
+        this.queryCounter = queryCounter;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !request.getRequestURI().startsWith("/api/");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        long allocatedBefore = allocatedBytes();
+        queryCounter.start();
+        int queries;
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            queries = queryCounter.stop();
+        }
+        if (request.isAsyncStarted()) {
+            return;
+        }
+        long allocatedAfter = allocatedBytes();
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String uri = pattern != null ? pattern.toString() : "UNKNOWN";
+
+        DistributionSummary.builder("http.server.queries")
+                .description("SQL statements run by one request")
+                .tag("method", request.getMethod())
+                .tag("uri", uri)
+                .publishPercentileHistogram()
+                .maximumExpectedValue(1_000.0)
+                .register(meterRegistry)
+                .record(queries);
+        // -1 when unsupported, e.g. for virtual threads on some JDKs
+        if (allocatedBefore >= 0 && allocatedAfter >= 0) {
+            DistributionSummary.builder("http.server.allocation")
+                    .description("Bytes allocated by the thread handling one request")
+                    .baseUnit("bytes")
+                    .tag("method", request.getMethod())
+                    .tag("uri", uri)
+                    .publishPercentileHistogram()
+                    .minimumExpectedValue(1_024.0)
+                    .maximumExpectedValue(1_073_741_824.0)
+                    .register(meterRegistry)
+                    .record(allocatedAfter - allocatedBefore);
+        }
+    }
+
+    private static long allocatedBytes() {
+        return THREADS != null ? THREADS.getCurrentThreadAllocatedBytes() : -1;
+    }
+
+    private static com.sun.management.ThreadMXBean threadMXBean() {
+        if (ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean threads
+                && threads.isThreadAllocatedMemorySupported()) {
+            threads.setThreadAllocatedMemoryEnabled(true);
+            return threads;
+        }
+        return null;
+    }
+}
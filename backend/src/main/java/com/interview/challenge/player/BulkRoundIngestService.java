@@ -0,0 +1,155 @@
+package com.interview.challenge.player;
+
+import com.fasterxml.jackson.core.JsonLocation;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.interview.challenge.dto.BulkRoundBatchSummaryDto;
+import com.interview.challenge.dto.BulkRoundIngestResultDto;
+import com.interview.challenge.dto.BulkRoundRecordDto;
+import com.interview.challenge.player.stats.RoundDelta;
+import com.interview.challenge.player.strategy.StrategyEngine;
+import com.interview.challenge.shared.GameChoice;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Ingests rounds played elsewhere (bot tournaments, replays) from an NDJSON stream,
+ * one {@link BulkRoundRecordDto} per line.
+ * <p>
+ * Records are parsed one at a time, never buffering the body, and coalesced per player into
+ * {@link RoundDelta}s; every {@code rps.rounds.bulk.batch-size} records the deltas are written
+ * in one transaction by {@link PlayerStatsBatchWriter}. A failed upload keeps the batches already
+ * committed, so the per-batch summaries tell the client where to resume.
+ * <p>
+ * Rounds are written straight to the database: in write-behind mode, counters returned for
+ * a player the buffer already holds leave these rounds out until the buffer drops that player.
+ */
+@Service
+public class BulkRoundIngestService {
+
+    private static final Logger log = LoggerFactory.getLogger(BulkRoundIngestService.class);
+
+    private final PlayerStatsBatchWriter batchWriter;
+    private final StrategyEngine strategyEngine;
+    private final ObjectReader recordReader;
+    private final int batchSize;
+
+    // Micrometer Counters
+    private final Counter ingestedRoundsCounter;
+    private final Counter skippedRecordsCounter;
+
+    @Autowired
+    public BulkRoundIngestService(PlayerStatsBatchWriter batchWriter,
+                                  StrategyEngine strategyEngine,
+                                  ObjectMapper objectMapper,
+                                  MeterRegistry meterRegistry,
+                                  @Value("${rps.rounds.bulk.batch-size:10000}") int batchSize) {
+        this.batchWriter = batchWriter;
+        this.strategyEngine = strategyEngine;
+        this.recordReader = objectMapper.readerFor(BulkRoundRecordDto.class);
+        this.batchSize = batchSize;
+        this.ingestedRoundsCounter = meterRegistry.counter("player.rounds.bulk.ingested.total");
+        this.skippedRecordsCounter = meterRegistry.counter("player.rounds.bulk.skipped.total");
+    }
+
+    /**
+     * Reads rounds until the end of the stream and applies them batch by batch.
+     * Records with a missing or unknown player ID or move are skipped and counted;
+     * a line that is not valid JSON stops the upload after applying everything before it.
+     *
+     * @param ndjson The request body, one JSON record per line.
+     * @return One summary per committed batch, plus an error if the upload stopped early.
+     * @throws IOException if the stream itself fails (e.g. the client disconnects).
+     */
+    public BulkRoundIngestResultDto ingest(InputStream ndjson) throws IOException {
+        BulkRoundIngestResultDto result = new BulkRoundIngestResultDto();
+        Batch batch = new Batch(1);
+        try (MappingIterator<BulkRoundRecordDto> records = recordReader.readValues(ndjson)) {
+            while (records.hasNextValue()) {
+                batch.add(records.nextValue());
+                if (batch.records >= batchSize) {
+                    result.addBatch(write(batch));
+                    batch = new Batch(batch.summary.getBatch() + 1);
+                }
+            }
+        } catch (JsonProcessingException e) {
+            JsonLocation location = e.getLocation();
+            result.setError("Malformed record" + (location != null ? " at line " + location.getLineNr() : "")
+                    + ": " + e.getOriginalMessage());
+        }
+        if (batch.records > 0) {
+            result.addBatch(write(batch));
+        }
+        return result;
+    }
+
+    private BulkRoundBatchSummaryDto write(Batch batch) {
+        BulkRoundBatchSummaryDto summary = batch.summary;
+        if (!batch.deltas.isEmpty()) {
+            Set<Long> missing = batchWriter.apply(batch.deltas);
+            for (Long playerId : missing) {
+                RoundDelta dropped = batch.deltas.remove(playerId);
+                summary.setUnknownPlayerRounds(summary.getUnknownPlayerRounds() + dropped.getRounds());
+            }
+            // the players' models no longer match their stored history, relearn it on their next live round
+            batch.deltas.keySet().forEach(strategyEngine::forget);
+        }
+        int rounds = batch.deltas.values().stream().mapToInt(RoundDelta::getRounds).sum();
+        summary.setRounds(rounds);
+        summary.setPlayers(batch.deltas.size());
+        summary.setPlayerWins(batch.deltas.values().stream().mapToInt(RoundDelta::getPlayerWins).sum());
+        summary.setComputerWins(batch.deltas.values().stream().mapToInt(RoundDelta::getComputerWins).sum());
+        summary.setDraws(rounds - summary.getPlayerWins() - summary.getComputerWins());
+
+        ingestedRoundsCounter.increment(rounds);
+        skippedRecordsCounter.increment(summary.getInvalidRecords() + summary.getUnknownPlayerRounds());
+        log.debug("Bulk batch {}: {} rounds for {} players", summary.getBatch(), rounds, summary.getPlayers());
+        return summary;
+    }
+
+    /**
+     * Rounds read since the last write, coalesced per player in arrival order.
+     */
+    private static final class Batch {
+        private final BulkRoundBatchSummaryDto summary;
+        private final Map<Long, RoundDelta> deltas = new LinkedHashMap<>();
+        private int records;
+
+        private Batch(int number) {
+            this.summary = new BulkRoundBatchSummaryDto(number);
+        }
+
+        private void add(BulkRoundRecordDto record) {
+            records++;
+            GameChoice playerChoice = parse(record.getPlayerChoice());
+            GameChoice computerChoice = parse(record.getComputerChoice());
+            if (record.getPlayerId() == null || playerChoice == null || computerChoice == null) {
+                summary.setInvalidRecords(summary.getInvalidRecords() + 1);
+                return;
+            }
+            deltas.computeIfAbsent(record.getPlayerId(), id -> new RoundDelta())
+                    .record(playerChoice, computerChoice);
+        }
+
+        private static GameChoice parse(String value) {
+            try {
+                return value == null ? null : GameChoice.fromValue(value);
+            } catch (IllegalArgumentException e) {
+                return null;
+            }
+        }
+    }
+}
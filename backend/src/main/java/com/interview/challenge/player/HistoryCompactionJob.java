@@ -0,0 +1,116 @@
+package com.interview.challenge.player;
+
+import com.interview.challenge.cluster.ClusterTopology;
+import com.interview.challenge.player.stats.PlayerHistoryRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Background job enforcing the move history retention policy ({@code rps.history.compaction.enabled}).
+ * <p>
+ * Every {@code interval} it walks the histories holding more than {@code hot-moves + min-segment-moves} moves,
+ * in id order, and hands them to {@link PlayerHistoryCompactor} {@code chunk-size} players at a time, one
+ * transaction per chunk: rounds of the players in a chunk wait for that chunk only, never for the whole run.
+ * The slack of {@code min-segment-moves} keeps a player from being compacted again after every round.
+ * In a cluster each node compacts the players it owns ({@link ClusterTopology}).
+ */
+@Component
+public class HistoryCompactionJob {
+
+    private static final Logger log = LoggerFactory.getLogger(HistoryCompactionJob.class);
+
+    private final PlayerHistoryRepository playerHistoryRepository;
+    private final PlayerHistoryCompactor compactor;
+    private final ClusterTopology topology;
+    private final boolean enabled;
+    private final int threshold;
+    private final int chunkSize;
+    private final ReentrantLock runLock = new ReentrantLock();
+
+    // Micrometer meters
+    private final Timer chunkTimer;
+    private final Counter compactedPlayersCounter;
+    private final Counter compactedMovesCounter;
+    private final Counter reclaimedBytesCounter;
+    private final Counter archivedBytesCounter;
+
+    @Autowired
+    public HistoryCompactionJob(PlayerHistoryRepository playerHistoryRepository,
+                                PlayerHistoryCompactor compactor,
+                                ClusterTopology topology,
+                                MeterRegistry meterRegistry,
+                                @Value("${rps.history.compaction.enabled:true}") boolean enabled,
+                                @Value("${rps.history.retention.hot-moves:1000}") int hotMoves,
+                                @Value("${rps.history.retention.min-segment-moves:1000}") int minSegmentMoves,
+                                @Value("${rps.history.compaction.chunk-size:100}") int chunkSize) {
+        this.playerHistoryRepository = playerHistoryRepository;
+        this.compactor = compactor;
+        this.topology = topology;
+        this.enabled = enabled;
+        this.threshold = hotMoves + minSegmentMoves;
+        this.chunkSize = chunkSize;
+
+        this.chunkTimer = Timer.builder("player.history.compaction.duration")
+                .description("Time taken to compact one chunk of players")
+                .register(meterRegistry);
+        this.compactedPlayersCounter = meterRegistry.counter("player.history.compaction.players.total");
+        this.compactedMovesCounter = meterRegistry.counter("player.history.compaction.moves.total");
+        this.reclaimedBytesCounter = Counter.builder("player.history.compaction.reclaimed")
+                .description("Bytes removed from the history rows")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        this.archivedBytesCounter = Counter.builder("player.history.compaction.archived")
+                .description("Compressed bytes written to archive segments")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Compacts every history over the threshold. Runs that overlap (e.g. a manual run during a scheduled one) are skipped.
+     *
+     * @return The number of players compacted.
+     */
+    @Scheduled(fixedDelayString = "${rps.history.compaction.interval:5m}", initialDelayString = "${rps.history.compaction.interval:5m}")
+    public int compact() {
+        if (!enabled || !runLock.tryLock()) {
+            return 0;
+        }
+        try {
+            int players = 0;
+            long reclaimed = 0;
+            Long after = 0L;
+            List<Long> chunk;
+            while (!(chunk = playerHistoryRepository.findIdsLongerThan(threshold, after, PageRequest.of(0, chunkSize))).isEmpty()) {
+                after = chunk.get(chunk.size() - 1);
+                List<Long> ids = chunk.stream().filter(topology::owns).toList();
+                if (ids.isEmpty()) {
+                    continue;
+                }
+                PlayerHistoryCompactor.Result result = chunkTimer.record(() -> compactor.compact(ids));
+                compactedPlayersCounter.increment(result.getPlayers());
+                compactedMovesCounter.increment(result.getMoves());
+                reclaimedBytesCounter.increment(result.getReclaimedBytes());
+                archivedBytesCounter.increment(result.getArchivedBytes());
+                players += result.getPlayers();
+                reclaimed += result.getReclaimedBytes();
+            }
+            if (players > 0) {
+                log.info("Compacted the move history of {} players, {} bytes reclaimed", players, reclaimed);
+            }
+            return players;
+        } finally {
+            runLock.unlock();
+        }
+    }
+}
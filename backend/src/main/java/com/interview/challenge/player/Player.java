@@ -6,9 +6,14 @@ import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.Embedded;
+import jakarta.persistence.Table;
+import jakarta.persistence.Version;
+import jakarta.persistence.UniqueConstraint;
+import com.fasterxml.jackson.annotation.JsonProperty;
 import io.swagger.v3.oas.annotations.media.Schema;
 
 @Entity // marking as a JPA entity for database mapping
+@Table(uniqueConstraints = @UniqueConstraint(name = "uk_player_name", columnNames = "name")) // also indexes findByName
 @Schema(description = "Represents a player in the RPS game")
 public class Player {
     @Id
@@ -22,7 +27,13 @@ public class Player {
     @Schema(description = "An emoji or icon representing the player", example = "🧑🏻‍✈️")
     private String icon;
 
-    @Embedded // embedding the PlayerStats object directly into the Player table
+    @Version // optimistic concurrency: a write based on an outdated read fails instead of overwriting
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    @Schema(description = "Version of the player's stats, changes with every update", example = "3",
+            accessMode = Schema.AccessMode.READ_ONLY)
+    private Long version;
+
+    @Embedded // embedding the PlayerStats object directly into the Player table, the move history is kept apart
     @Schema(description = "Detailed statistics for the player's game performance")
     private PlayerStats stats = new PlayerStats();
 
@@ -56,6 +67,13 @@ public class Player {
         this.icon = icon;
     }
 
+    public Long getVersion() {
+        return version;
+    }
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
     public PlayerStats getStats() {
         return stats;
     }
@@ -0,0 +1,123 @@
+package com.interview.challenge.player;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+import static com.interview.challenge.shared.TransactionHooks.afterCommit;
+
+/**
+ * Read-through cache of players by ID, plus an index from player name to ID, in front of {@link PlayerRepository}.
+ * <p>
+ * Both caches are bounded ({@code rps.players.cache.max-size}) and entries expire {@code rps.players.cache.ttl}
+ * after being loaded, which also bounds how stale a player changed outside this application can get.
+ * Every change made through {@link PlayerService} evicts the player once its transaction commits.
+ * Hit, miss and eviction counts are exported as the {@code cache.*} meters tagged {@code cache=players}
+ * and {@code cache=player-names}.
+ * <p>
+ * Cached players are detached entities shared between requests: treat them as read-only.
+ * <p>
+ * Players are loaded outside the cache's internal locks (see {@link #findById}): a JDBC call inside
+ * {@code ConcurrentHashMap.compute} would hold a monitor while blocking, pinning the carrier thread
+ * when requests run on virtual threads.
+ */
+@Component
+public class PlayerCache {
+
+    private final PlayerRepository playerRepository;
+    private final AsyncCache<Long, Player> playersById;
+    private final Cache<String, Long> idsByName;
+
+    @Autowired
+    public PlayerCache(PlayerRepository playerRepository,
+                       MeterRegistry meterRegistry,
+                       @Value("${rps.players.cache.max-size:10000}") long maxSize,
+                       @Value("${rps.players.cache.ttl:10m}") Duration ttl) {
+        this.playerRepository = playerRepository;
+        this.playersById = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .buildAsync();
+        this.idsByName = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, playersById, "players");
+        CaffeineCacheMetrics.monitor(meterRegistry, idsByName, "player-names");
+    }
+
+    /**
+     * @return The player with the given ID, loaded from the database on a miss.
+     */
+    public Optional<Player> findById(Long id) {
+        // the cache only installs the empty future; whoever installed it loads the player after get() returns,
+        // concurrent readers of the same ID wait on the future instead of querying too
+        CompletableFuture<Player> load = new CompletableFuture<>();
+        CompletableFuture<Player> cached = playersById.get(id, (key, executor) -> load);
+        if (cached == load) {
+            try {
+                // a missing player completes with null, which removes the entry
+                load.complete(playerRepository.findById(id).orElse(null));
+            } catch (RuntimeException e) {
+                load.completeExceptionally(e);
+                throw e;
+            }
+        }
+        return Optional.ofNullable(cached.join());
+    }
+
+    /**
+     * Looks the name up in the name index first, then the player in the ID cache.
+     * Unknown names always go to the database, so a player created on another node is found right away.
+     *
+     * @return The player with the given name.
+     */
+    public Optional<Player> findByName(String name) {
+        Long id = idsByName.getIfPresent(name);
+        if (id != null) {
+            Optional<Player> player = findById(id).filter(found -> Objects.equals(found.getName(), name));
+            if (player.isPresent()) {
+                return player;
+            }
+            idsByName.invalidate(name);
+        }
+        Optional<Player> player = playerRepository.findByName(name);
+        player.ifPresent(this::cache);
+        return player;
+    }
+
+    /**
+     * Caches a player that was just created, once the creating transaction commits.
+     */
+    public void added(Player player) {
+        afterCommit(() -> cache(player));
+    }
+
+    /**
+     * Evicts a player whose stats changed, once the changing transaction commits.
+     * Evicting (rather than updating) on commit means a read racing the transaction can't leave
+     * the old version behind. The name index is kept, names don't change.
+     */
+    public void evict(Long id) {
+        afterCommit(() -> playersById.synchronous().invalidate(id));
+    }
+
+    private void cache(Player player) {
+        playersById.put(player.getId(), CompletableFuture.completedFuture(player));
+        if (player.getName() != null) {
+            idsByName.put(player.getName(), player.getId());
+        }
+    }
+}
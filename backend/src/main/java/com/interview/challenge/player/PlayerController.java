@@ -1,17 +1,40 @@
 package com.interview.challenge.player;
 
+import com.interview.challenge.dto.BulkRoundIngestResultDto;
 import com.interview.challenge.dto.LeaderboardPlayerStatsDto;
+import com.interview.challenge.dto.LeaderboardPositionDto;
+import com.interview.challenge.dto.LeaderboardRankDto;
+import com.interview.challenge.dto.LeaderboardUpdateDto;
+import com.interview.challenge.dto.PlayerDto;
+import com.interview.challenge.dto.PlayerImportResultDto;
 import com.interview.challenge.dto.PlayerSimplifiedDto;
-import com.interview.challenge.player.stats.PlayerStats;
+import com.interview.challenge.dto.PlayerStatsUpdateDto;
+import com.interview.challenge.dto.PlayerTransferRecordDto;
+import com.interview.challenge.dto.RoundRequestDto;
+import com.interview.challenge.dto.RoundResultDto;
+import com.interview.challenge.leaderboard.ClusterLeaderboardService;
+import com.interview.challenge.leaderboard.LeaderboardStreamService;
+import com.interview.challenge.player.strategy.StrategyEngine;
+import com.interview.challenge.player.stats.PlayerHistory;
+import com.interview.challenge.shared.TimeWindow;
 import io.swagger.v3.oas.annotations.Parameter;
+import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
-import java.util.Comparator;
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Optional;
+import java.util.Set;
 
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -25,11 +48,28 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 @Tag(name = "Player Management", description = "Endpoints for creating and retrieving players")
 public class PlayerController {
 
+    private static final int DEFAULT_LEADERBOARD_PAGE_SIZE = 100;
+    private static final int MAX_LEADERBOARD_PAGE_SIZE = 500;
+    private static final int MAX_LEADERBOARD_NEIGHBOURS = 25;
+    private static final Set<String> INCLUDABLE_FIELDS = Set.of("", "history");
+
     private final PlayerService playerService;
+    private final ClusterLeaderboardService leaderboardService;
+    private final LeaderboardStreamService leaderboardStreamService;
+    private final StrategyEngine strategyEngine;
+    private final BulkRoundIngestService bulkRoundIngestService;
+    private final PlayerTransferService playerTransferService;
 
     @Autowired
-    public PlayerController(PlayerService playerService) {
+    public PlayerController(PlayerService playerService, ClusterLeaderboardService leaderboardService,
+                            LeaderboardStreamService leaderboardStreamService, StrategyEngine strategyEngine,
+                            BulkRoundIngestService bulkRoundIngestService, PlayerTransferService playerTransferService) {
         this.playerService = playerService;
+        this.leaderboardService = leaderboardService;
+        this.leaderboardStreamService = leaderboardStreamService;
+        this.strategyEngine = strategyEngine;
+        this.bulkRoundIngestService = bulkRoundIngestService;
+        this.playerTransferService = playerTransferService;
     }
 
     @Operation(summary = "Get all registered players",
@@ -48,28 +88,61 @@ public class PlayerController {
             description = "Registers a new player in the game with a unique name and an optional icon.")
     @ApiResponse(responseCode = "201", description = "Player created successfully",
             content = @Content(mediaType = "application/json",
-                    schema = @Schema(implementation = Player.class)))
+                    schema = @Schema(implementation = PlayerDto.class)))
     @ApiResponse(responseCode = "400", description = "Invalid player data provided",
             content = @Content(mediaType = "text/plain")) // Example for plain text error
+    @ApiResponse(responseCode = "409", description = "A player with this name already exists")
     @PostMapping
-    public ResponseEntity<Player> createPlayer(@RequestBody Player player) {
+    public ResponseEntity<PlayerDto> createPlayer(@RequestBody Player player) {
         if (player.getName() == null || player.getName().trim().isEmpty()) {
             return ResponseEntity.badRequest().body(null);
         }
-        if (playerService.getPlayerByName(player.getName()).isPresent()) {
+        try {
+            Player createdPlayer = playerService.createPlayer(player);
+            return ResponseEntity.status(HttpStatus.CREATED).body(toDto(createdPlayer));
+        } catch (PlayerNameTakenException e) {
             return ResponseEntity.status(HttpStatus.CONFLICT).body(null);
         }
-
-        Player createdPlayer = playerService.createPlayer(player);
-        return ResponseEntity.status(HttpStatus.CREATED).body(createdPlayer);
     }
 
-    @Operation(summary = "Get player by ID", description = "Retrieves a single player's details by their ID.")
-    @ApiResponse(responseCode = "200", description = "Player found")
+    @Operation(summary = "Get player by ID",
+            description = "Retrieves a single player's details by their ID: the fixed-size stats, and with include=history " +
+                    "also the recent move history, which is otherwise only served by the history endpoint.")
+    @ApiResponse(responseCode = "200", description = "Player found",
+            content = @Content(mediaType = "application/json",
+                    schema = @Schema(implementation = PlayerDto.class)))
+    @ApiResponse(responseCode = "400", description = "Unknown field in include")
     @ApiResponse(responseCode = "404", description = "Player not found")
     @GetMapping("/{id}")
-    public ResponseEntity<Player> getPlayerById(@Parameter(description = "ID of the player to retrieve", required = true) @PathVariable Long id) {
-        return playerService.findById(id)
+    public ResponseEntity<PlayerDto> getPlayerById(
+            @Parameter(description = "ID of the player to retrieve", required = true) @PathVariable Long id,
+            @Parameter(description = "Optional fields to add to the response: history")
+            @RequestParam(defaultValue = "") List<String> include) {
+        if (!INCLUDABLE_FIELDS.containsAll(include)) {
+            return ResponseEntity.badRequest().build();
+        }
+        Optional<PlayerDto> player = playerService.findById(id).map(PlayerController::toDto);
+        if (player.isPresent() && include.contains("history")) {
+            playerService.getPlayerHistory(id, false).ifPresent(player.get()::setHistory);
+        }
+        return player.map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    @Operation(summary = "Get player's move history",
+            description = "Retrieves the moves the player and the computer made, oldest first. " +
+                    "Moves older than the retention window are left out (counted in archivedMoves) unless archived=true. " +
+                    "The player itself only carries fixed-size aggregates and the last few moves.")
+    @ApiResponse(responseCode = "200", description = "History found",
+            content = @Content(mediaType = "application/json",
+                    schema = @Schema(implementation = PlayerHistory.class)))
+    @ApiResponse(responseCode = "404", description = "Player not found")
+    @GetMapping("/{id}/history")
+    public ResponseEntity<PlayerHistory> getPlayerHistory(
+            @Parameter(description = "ID of the player", required = true) @PathVariable Long id,
+            @Parameter(description = "Also return the archived older moves")
+            @RequestParam(defaultValue = "false") boolean archived) {
+        return playerService.getPlayerHistory(id, archived)
                 .map(ResponseEntity::ok)
                 .orElse(ResponseEntity.notFound().build());
     }
@@ -77,20 +150,24 @@ public class PlayerController {
     @Operation(summary = "Update player's stats", description = "Update a player's stats from a game round.")
     @ApiResponse(responseCode = "201", description = "Update stats successfully",
             content = @Content(mediaType = "application/json",
-                    schema = @Schema(implementation = PlayerStats.class)))
+                    schema = @Schema(implementation = PlayerDto.class)))
     @ApiResponse(responseCode = "400", description = "Invalid player stats data provided",
             content = @Content(mediaType = "text/plain"))
+    @ApiResponse(responseCode = "409", description = "The player changed since the version sent, or during the update")
     @PutMapping("/{id}/stats")
-    public ResponseEntity<Player> updatePlayerStats(
+    public ResponseEntity<PlayerDto> updatePlayerStats(
             @PathVariable Long id,
-            @RequestBody PlayerStats updatedStats) {
+            @RequestBody PlayerStatsUpdateDto updatedStats) {
         try {
             Player updatedPlayer = playerService.updatePlayerStats(id, updatedStats);
-            return ResponseEntity.ok(updatedPlayer);
+            return ResponseEntity.ok(toDto(updatedPlayer));
         } catch (IllegalArgumentException e) {
             // Log the error for debugging
             System.err.println("Error updating player stats for ID: " + id + " - " + e.getMessage());
             return ResponseEntity.notFound().build();
+        } catch (OptimisticLockingFailureException e) {
+            // the player changed since the version sent, or while updating: the client reloads and decides
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
         } catch (Exception e) {
             // Catch any other unexpected errors
             System.err.println("An unexpected error occurred while updating player stats for ID: " + id + " - " + e.getMessage());
@@ -98,66 +175,208 @@ public class PlayerController {
         }
     }
 
+    @Operation(summary = "Play a round",
+            description = "Plays one round against the computer. The server picks the computer's move with the " +
+                    "requested strategy, resolves the round and records it as a delta on the player's stats.")
+    @ApiResponse(responseCode = "200", description = "Round played and recorded",
+            content = @Content(mediaType = "application/json",
+                    schema = @Schema(implementation = RoundResultDto.class)))
+    @ApiResponse(responseCode = "400", description = "Missing or invalid player choice, or unknown strategy")
+    @ApiResponse(responseCode = "404", description = "Player not found")
+    @ApiResponse(responseCode = "409", description = "Too many concurrent writes to the player (only with hot player buffering off)")
+    @PostMapping("/{id}/rounds")
+    public ResponseEntity<RoundResultDto> playRound(
+            @Parameter(description = "ID of the player playing the round", required = true) @PathVariable Long id,
+            @RequestBody RoundRequestDto round) {
+        if (round == null || round.getPlayerChoice() == null || !strategyEngine.supports(round.getStrategy())) {
+            return ResponseEntity.badRequest().build();
+        }
+        try {
+            return ResponseEntity.ok(playerService.playRound(id, round.getPlayerChoice(), round.getStrategy()));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.notFound().build();
+        } catch (OptimisticLockingFailureException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        }
+    }
+
+    @Operation(summary = "Upload rounds in bulk",
+            description = "Applies rounds played elsewhere (e.g. bot tournaments) from an NDJSON body, one " +
+                    "{\"playerId\", \"playerChoice\", \"computerChoice\"} record per line. The body is read as a stream " +
+                    "and written in batches, one transaction each; records that are invalid or for unknown players are skipped.")
+    @ApiResponse(responseCode = "200", description = "All records read, summary per batch",
+            content = @Content(mediaType = "application/json",
+                    schema = @Schema(implementation = BulkRoundIngestResultDto.class)))
+    @ApiResponse(responseCode = "400", description = "Malformed line; the batches before it were applied and are listed",
+            content = @Content(mediaType = "application/json",
+                    schema = @Schema(implementation = BulkRoundIngestResultDto.class)))
+    @PostMapping(value = "/rounds/bulk", consumes = {"application/x-ndjson", "application/jsonl", MediaType.APPLICATION_JSON_VALUE})
+    public ResponseEntity<BulkRoundIngestResultDto> ingestRounds(InputStream body) throws IOException {
+        BulkRoundIngestResultDto result = bulkRoundIngestService.ingest(body);
+        return result.getError() == null ? ResponseEntity.ok(result) : ResponseEntity.badRequest().body(result);
+    }
+
+    @Operation(summary = "Export all players",
+            description = "Streams every player with their stats and whole move history as gzip-compressed NDJSON, one record " +
+                    "per line in ID order, for a backup or to seed another game with the import endpoint.")
+    @ApiResponse(responseCode = "200", description = "All players",
+            content = @Content(mediaType = "application/gzip",
+                    schema = @Schema(implementation = PlayerTransferRecordDto.class)))
+    @GetMapping("/export")
+    public void exportPlayers(HttpServletResponse response) throws IOException {
+        response.setContentType("application/gzip");
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"players.ndjson.gz\"");
+        playerTransferService.exportPlayers(response.getOutputStream());
+    }
+
+    @Operation(summary = "Import players",
+            description = "Creates players with their stats from an export: NDJSON, gzip-compressed or not, one record per line. " +
+                    "The body is read as a stream and written in batches, one transaction each. Players get new IDs; " +
+                    "records whose name is already taken or missing are skipped.")
+    @ApiResponse(responseCode = "200", description = "All records read",
+            content = @Content(mediaType = "application/json",
+                    schema = @Schema(implementation = PlayerImportResultDto.class)))
+    @ApiResponse(responseCode = "400", description = "Malformed line; the batches before it were imported",
+            content = @Content(mediaType = "application/json",
+                    schema = @Schema(implementation = PlayerImportResultDto.class)))
+    @PostMapping(value = "/import", consumes = {"application/gzip", "application/x-ndjson", "application/jsonl",
+            MediaType.APPLICATION_JSON_VALUE})
+    public ResponseEntity<PlayerImportResultDto> importPlayers(InputStream body) throws IOException {
+        PlayerImportResultDto result = playerTransferService.importPlayers(body);
+        return result.getError() == null ? ResponseEntity.ok(result) : ResponseEntity.badRequest().body(result);
+    }
+
     @Operation(summary = "Reset player's score",
             description = "Resets the wins and games played for a specific player to zero. " +
                     "Acting as a 'new' player for ranking purposes.")
     @ApiResponse(responseCode = "200", description = "Player score reset successfully")
     @ApiResponse(responseCode = "404", description = "Player not found")
+    @ApiResponse(responseCode = "409", description = "The player was updated concurrently, try again")
     @PutMapping("/{id}/reset-stats") // Use PUT bc it's an update
-    public ResponseEntity<Player> resetPlayerStats(@Parameter(description = "ID of the player to reset score for", required = true) @PathVariable Long id) {
+    public ResponseEntity<PlayerDto> resetPlayerStats(@Parameter(description = "ID of the player to reset score for", required = true) @PathVariable Long id) {
         try {
             Player resetPlayer = playerService.resetPlayerStats(id);
-            return ResponseEntity.ok(resetPlayer);
+            return ResponseEntity.ok(toDto(resetPlayer));
         } catch (IllegalArgumentException e) {
             return ResponseEntity.notFound().build();
+        } catch (OptimisticLockingFailureException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
         }
     }
 
     @Operation(summary = "Get Leaderboard",
-            description = "Retrieves the Leaderboard by Wilson Score.")
+            description = "Retrieves a page of the Leaderboard by Wilson Score, " + DEFAULT_LEADERBOARD_PAGE_SIZE + " players unless a limit is given. " +
+                    "To get the next page, pass the score and name of the last player received as afterScore/afterName. " +
+                    "With a window, only the rounds played in the current day, week or season (UTC) are ranked. " +
+                    "Responses carry an ETag: sent back as If-None-Match, it is answered with 304 while the leaderboard is unchanged " +
+                    "(single node only, see README \"Running several nodes\").")
     @ApiResponse(responseCode = "200", description = "Successfully retrieved leaderboard",
             content = @Content(mediaType = "application/json",
                     schema = @Schema(implementation = LeaderboardPlayerStatsDto.class)))
+    @ApiResponse(responseCode = "304", description = "The leaderboard has not changed since the ETag sent")
+    @ApiResponse(responseCode = "400", description = "Incomplete cursor (afterScore and afterName must be sent together) or unknown window")
     @GetMapping("/leaderboard-stats")
-    public List<LeaderboardPlayerStatsDto> getDashboardStats() {
-        List<Player> players = playerService.findAll();
-        List<LeaderboardPlayerStatsDto> stats = players.stream()
-                .map(player -> {
-                    int wins = player.getStats().getPlayerWins();
-                    int gamesPlayed = player.getStats().getTotalRounds();
-
-                    double winPercentage = (gamesPlayed > 0) ? ((double) wins / gamesPlayed) * 100.0 : 0.0;
-                    // Round win percentage for display
-                    winPercentage = Math.round(winPercentage * 100.0) / 100.0;
-
-                    // Calculate Wilson Score Interval (lower bound) for ranking
-                    // z-score for 95% confidence is approximately 1.96
-                    double z = 1.96;
-                    double wilsonScore = calculateWilsonScore(wins, gamesPlayed, z);
-
-                    return new LeaderboardPlayerStatsDto(player.getId(), player.getName(), player.getIcon(),
-                            winPercentage, gamesPlayed, wilsonScore);
-                })
-                // Sort by Wilson Score in descending order, then by name for ties
-                .sorted(Comparator.comparing(LeaderboardPlayerStatsDto::getScore).reversed()
-                        .thenComparing(LeaderboardPlayerStatsDto::getName))
-                .collect(Collectors.toList());
-
-        return stats;
-    }
-
-    private double calculateWilsonScore(int wins, int totalGames, double z) {
-        if (totalGames == 0) {
-            return 0.0; // If no games, score is 0.0
+    public ResponseEntity<List<LeaderboardPlayerStatsDto>> getDashboardStats(
+            @Parameter(description = "Maximum number of players to return (1-" + MAX_LEADERBOARD_PAGE_SIZE + ")")
+            @RequestParam(defaultValue = "" + DEFAULT_LEADERBOARD_PAGE_SIZE) int limit,
+            @Parameter(description = "Score of the last player of the previous page")
+            @RequestParam(required = false) Double afterScore,
+            @Parameter(description = "Name of the last player of the previous page")
+            @RequestParam(required = false) String afterName,
+            @Parameter(description = "Period to rank: day, week, season or all (default)")
+            @RequestParam(required = false) String window,
+            WebRequest request) {
+        if ((afterScore == null) != (afterName == null)) {
+            return ResponseEntity.badRequest().build();
+        }
+        TimeWindow timeWindow;
+        try {
+            timeWindow = TimeWindow.fromParameter(window);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
         }
+        String etag = leaderboardService.getETag(timeWindow);
+        if (etag != null && request.checkNotModified(etag)) {
+            return null; // 304, nothing read or serialized
+        }
+        int pageSize = Math.max(1, Math.min(limit, MAX_LEADERBOARD_PAGE_SIZE));
+        // Served from the incrementally maintained index, already sorted by Wilson Score then name
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noCache())
+                .body(leaderboardService.getPage(timeWindow, pageSize, afterScore, afterName));
+    }
 
-        double p_hat = (double) wins / totalGames;
-        double z_sq = z * z;
+    @Operation(summary = "Stream Leaderboard changes",
+            description = "Server-sent events with the Leaderboard changes since the previous event: 'update' lists the " +
+                    "players whose score changed (with their new score, the client places them by score and name) and " +
+                    "the players removed; 'resync' asks the client to reload the Leaderboard because it fell too far behind.")
+    @ApiResponse(responseCode = "200", description = "Event stream opened",
+            content = @Content(mediaType = MediaType.TEXT_EVENT_STREAM_VALUE,
+                    schema = @Schema(implementation = LeaderboardUpdateDto.class)))
+    @GetMapping(value = "/leaderboard-stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamLeaderboard() {
+        return leaderboardStreamService.subscribe();
+    }
 
-        double numerator = p_hat + (z_sq / (2 * totalGames)) -
-                z * Math.sqrt((p_hat * (1 - p_hat) / totalGames) + (z_sq / (4 * totalGames * totalGames)));
-        double denominator = 1 + (z_sq / totalGames);
+    @Operation(summary = "Get player's leaderboard position",
+            description = "Retrieves a player's rank together with the players ranked directly above and below them. " +
+                    "Answered with 304 while the leaderboard is unchanged since the ETag sent as If-None-Match.")
+    @ApiResponse(responseCode = "200", description = "Player's position found",
+            content = @Content(mediaType = "application/json",
+                    schema = @Schema(implementation = LeaderboardPositionDto.class)))
+    @ApiResponse(responseCode = "304", description = "The leaderboard has not changed since the ETag sent")
+    @ApiResponse(responseCode = "400", description = "Unknown window")
+    @ApiResponse(responseCode = "404", description = "Player not found, or no rounds played in the window")
+    @GetMapping("/{id}/leaderboard-position")
+    public ResponseEntity<LeaderboardPositionDto> getLeaderboardPosition(
+            @Parameter(description = "ID of the player to locate", required = true) @PathVariable Long id,
+            @Parameter(description = "Number of players to include above and below (0-" + MAX_LEADERBOARD_NEIGHBOURS + ")")
+            @RequestParam(defaultValue = "2") int neighbours,
+            @Parameter(description = "Period to rank: day, week, season or all (default)")
+            @RequestParam(required = false) String window,
+            WebRequest request) {
+        TimeWindow timeWindow;
+        try {
+            timeWindow = TimeWindow.fromParameter(window);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+        String etag = leaderboardService.getETag(timeWindow);
+        if (etag != null && request.checkNotModified(etag)) {
+            return null;
+        }
+        int around = Math.max(0, Math.min(neighbours, MAX_LEADERBOARD_NEIGHBOURS));
+        return leaderboardService.getPosition(timeWindow, id, around)
+                .map(position -> ResponseEntity.ok().cacheControl(CacheControl.noCache()).body(position))
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    @Operation(summary = "Get player's approximate rank",
+            description = "Estimates a player's rank and top percentage ('top 3%') from the distribution of scores, " +
+                    "in constant time whatever the number of players. The exact rank is within rankError of the " +
+                    "estimate; use leaderboard-position for the exact rank and the players around it.")
+    @ApiResponse(responseCode = "200", description = "Player's rank estimated",
+            content = @Content(mediaType = "application/json",
+                    schema = @Schema(implementation = LeaderboardRankDto.class)))
+    @ApiResponse(responseCode = "400", description = "Unknown window")
+    @ApiResponse(responseCode = "404", description = "Player not found, or no rounds played in the window")
+    @GetMapping("/{id}/rank")
+    public ResponseEntity<LeaderboardRankDto> getRank(
+            @Parameter(description = "ID of the player to rank", required = true) @PathVariable Long id,
+            @Parameter(description = "Period to rank: day, week, season or all (default)")
+            @RequestParam(required = false) String window) {
+        TimeWindow timeWindow;
+        try {
+            timeWindow = TimeWindow.fromParameter(window);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+        return leaderboardService.getApproximateRank(timeWindow, id)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
 
-        return numerator / denominator;
+    private static PlayerDto toDto(Player player) {
+        return new PlayerDto(player.getId(), player.getName(), player.getIcon(), player.getVersion(), player.getStats());
     }
 }
\ No newline at end of file
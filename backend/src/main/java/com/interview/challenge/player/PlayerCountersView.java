@@ -0,0 +1,20 @@
+package com.interview.challenge.player;
+
+/**
+ * Closed projection over the counters of a player's {@link com.interview.challenge.player.stats.PlayerStats},
+ * without the move history.
+ */
+public interface PlayerCountersView {
+
+    int getPlayerScore();
+
+    int getComputerScore();
+
+    int getPlayerWins();
+
+    int getComputerWins();
+
+    int getTotalRounds();
+
+    long getVersion();
+}
@@ -0,0 +1,104 @@
+package com.interview.challenge.player;
+
+import com.interview.challenge.player.stats.PlayerHistory;
+import com.interview.challenge.player.stats.PlayerHistoryRepository;
+import com.interview.challenge.player.stats.PlayerHistorySegment;
+import com.interview.challenge.player.stats.PlayerHistorySegmentRepository;
+import com.interview.challenge.shared.MoveHistory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Applies the move history retention policy to a chunk of players in one short transaction:
+ * everything but the last {@code rps.history.retention.hot-moves} moves is moved out of the history row,
+ * into a compressed {@link PlayerHistorySegment} or, with {@code rps.history.retention.archive=false},
+ * nowhere (the player's stats still count those rounds).
+ */
+@Service
+public class PlayerHistoryCompactor {
+
+    private final PlayerHistoryRepository playerHistoryRepository;
+    private final PlayerHistorySegmentRepository segmentRepository;
+    private final int hotMoves;
+    private final boolean archive;
+
+    @Autowired
+    public PlayerHistoryCompactor(PlayerHistoryRepository playerHistoryRepository,
+                                  PlayerHistorySegmentRepository segmentRepository,
+                                  @Value("${rps.history.retention.hot-moves:1000}") int hotMoves,
+                                  @Value("${rps.history.retention.archive:true}") boolean archive) {
+        this.playerHistoryRepository = playerHistoryRepository;
+        this.segmentRepository = segmentRepository;
+        this.hotMoves = hotMoves;
+        this.archive = archive;
+    }
+
+    /**
+     * Compacts the histories of the given players that are longer than the hot window.
+     * The history rows are locked in id order, so a round played meanwhile waits for the chunk, then conflicts
+     * on the row's version and is applied again to the compacted history.
+     *
+     * @param playerIds The players to compact, typically one chunk of the compaction job.
+     * @return What was moved out of the history rows.
+     */
+    @Transactional
+    public Result compact(Collection<Long> playerIds) {
+        Result result = new Result();
+        List<PlayerHistorySegment> segments = new ArrayList<>();
+        for (PlayerHistory history : playerHistoryRepository.findAllByIdForUpdate(playerIds)) {
+            int moves = history.getPlayerHistory().size() - hotMoves;
+            if (moves <= 0) {
+                continue; // a reset or an upload since the chunk was picked
+            }
+            int before = history.getPlayerHistory().packedSize() + history.getComputerHistory().packedSize();
+            if (archive) {
+                MoveHistory playerMoves = history.getPlayerHistory().first(moves);
+                MoveHistory computerMoves = history.getComputerHistory().first(moves);
+                PlayerHistorySegment segment = new PlayerHistorySegment(
+                        history.getPlayerId(), history.getArchivedMoves(), playerMoves, computerMoves);
+                segments.add(segment);
+                result.archivedBytes += segment.getCompressedSize();
+            }
+            history.dropOldest(moves);
+            result.players++;
+            result.moves += moves;
+            result.reclaimedBytes += before - history.getPlayerHistory().packedSize() - history.getComputerHistory().packedSize();
+        }
+        segmentRepository.saveAll(segments);
+        return result;
+    }
+
+    /**
+     * Totals of one compacted chunk.
+     */
+    public static final class Result {
+        private int players;
+        private long moves;
+        private long reclaimedBytes;
+        private long archivedBytes;
+
+        public int getPlayers() {
+            return players;
+        }
+
+        public long getMoves() {
+            return moves;
+        }
+
+        // bytes no longer stored in the history rows
+        public long getReclaimedBytes() {
+            return reclaimedBytes;
+        }
+
+        // bytes written to archive segments instead
+        public long getArchivedBytes() {
+            return archivedBytes;
+        }
+    }
+}
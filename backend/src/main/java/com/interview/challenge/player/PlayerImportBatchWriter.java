@@ -0,0 +1,179 @@
+package com.interview.challenge.player;
+
+import com.interview.challenge.dto.PlayerTransferHistoryDto;
+import com.interview.challenge.dto.PlayerTransferRecordDto;
+import com.interview.challenge.dto.PlayerTransferSegmentDto;
+import com.interview.challenge.leaderboard.LeaderboardService;
+import com.interview.challenge.player.stats.ChoiceCounts;
+import com.interview.challenge.player.stats.PlayerStats;
+import com.interview.challenge.player.stats.WindowCounters;
+import com.interview.challenge.shared.MoveHistory;
+import com.interview.challenge.shared.MoveHistoryConverter;
+import com.interview.challenge.shared.TimeWindow;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Creates the players of one import batch in one transaction, with their move histories: one JDBC batch insert
+ * each for the players, their history rows and their archive segments. No entity is materialized, and the
+ * histories are written as exported, without decoding or recompressing them.
+ */
+@Service
+public class PlayerImportBatchWriter {
+
+    // player columns an export reads and an import writes, in this order; the id and version are not carried over
+    static final String COLUMNS = "name, icon, player_score, computer_score, player_wins, computer_wins, draws, "
+            + "total_rounds, player_rock, player_paper, player_scissors, computer_rock, computer_paper, "
+            + "computer_scissors, current_streak, best_streak, recent_player_moves, recent_computer_moves, "
+            + "day_bucket, day_wins, day_rounds, week_bucket, week_wins, week_rounds, "
+            + "season_bucket, season_wins, season_rounds";
+
+    private static final String INSERT = "insert into player (version, " + COLUMNS + ") values (0"
+            + ", ?".repeat(COLUMNS.split(",").length) + ")";
+
+    private static final String INSERT_HISTORY = "insert into player_history "
+            + "(player_id, version, hot_moves, archived_moves, player_history, computer_history) values (?, 0, ?, ?, ?, ?)";
+
+    private static final String INSERT_SEGMENT = "insert into player_history_segment "
+            + "(player_id, first_move, moves, player_moves, computer_moves) values (?, ?, ?, ?, ?)";
+
+    private static final MoveHistoryConverter MOVES = new MoveHistoryConverter();
+
+    private final PlayerRepository playerRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final LeaderboardService leaderboardService;
+
+    @Autowired
+    public PlayerImportBatchWriter(PlayerRepository playerRepository, JdbcTemplate jdbcTemplate,
+                                   LeaderboardService leaderboardService) {
+        this.playerRepository = playerRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.leaderboardService = leaderboardService;
+    }
+
+    /**
+     * Inserts the players whose name is still free and, once the transaction commits, ranks them.
+     *
+     * @param records Players with a name; their IDs are ignored.
+     * @return How many players were created; the others had a name already taken, by an existing player
+     *         or earlier in the batch.
+     */
+    @Transactional
+    public int insert(List<PlayerTransferRecordDto> records) {
+        Set<String> taken = new HashSet<>(playerRepository.findNamesIn(records.stream()
+                .map(PlayerTransferRecordDto::getName).toList()));
+        Set<String> names = new HashSet<>();
+        List<Player> players = new ArrayList<>(records.size());
+        List<PlayerTransferHistoryDto> histories = new ArrayList<>(records.size());
+        for (PlayerTransferRecordDto record : records) {
+            if (taken.contains(record.getName()) || !names.add(record.getName())) {
+                continue;
+            }
+            Player player = new Player(record.getName(), record.getIcon());
+            player.setStats(statsOf(record));
+            players.add(player);
+            histories.add(record.getHistory());
+        }
+        if (players.isEmpty()) {
+            return 0;
+        }
+
+        KeyHolder keys = new GeneratedKeyHolder();
+        jdbcTemplate.batchUpdate(connection -> connection.prepareStatement(INSERT, new String[] {"id"}),
+                new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement statement, int i) throws SQLException {
+                        bind(statement, players.get(i));
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return players.size();
+                    }
+                }, keys);
+        List<Map<String, Object>> ids = keys.getKeyList();
+        List<Object[]> historyRows = new ArrayList<>();
+        List<Object[]> segmentRows = new ArrayList<>();
+        for (int i = 0; i < players.size(); i++) {
+            Player player = players.get(i);
+            player.setId(((Number) ids.get(i).values().iterator().next()).longValue());
+            PlayerTransferHistoryDto history = histories.get(i);
+            if (history != null) {
+                historyRows.add(new Object[] {player.getId(), MoveHistory.fromBytes(history.getPlayerMoves()).size(),
+                        history.getArchivedMoves(), history.getPlayerMoves(), history.getComputerMoves()});
+                for (PlayerTransferSegmentDto segment : history.getSegments()) {
+                    segmentRows.add(new Object[] {player.getId(), segment.getFirstMove(), segment.getMoves(),
+                            segment.getPlayerMoves(), segment.getComputerMoves()});
+                }
+            }
+            leaderboardService.update(player);
+        }
+        if (!historyRows.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_HISTORY, historyRows);
+        }
+        if (!segmentRows.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_SEGMENT, segmentRows);
+        }
+        return players.size();
+    }
+
+    private static PlayerStats statsOf(PlayerTransferRecordDto record) {
+        PlayerStats stats = record.getStats() != null ? record.getStats() : new PlayerStats();
+        copyWindow(record.getDay(), stats.getWindow(TimeWindow.DAY));
+        copyWindow(record.getWeek(), stats.getWindow(TimeWindow.WEEK));
+        copyWindow(record.getSeason(), stats.getWindow(TimeWindow.SEASON));
+        return stats;
+    }
+
+    private static void copyWindow(WindowCounters from, WindowCounters to) {
+        if (from != null) {
+            to.setBucket(from.getBucket());
+            to.setWins(from.getWins());
+            to.setRounds(from.getRounds());
+        }
+    }
+
+    private static void bind(PreparedStatement statement, Player player) throws SQLException {
+        PlayerStats stats = player.getStats();
+        ChoiceCounts playerChoices = stats.getPlayerChoices() != null ? stats.getPlayerChoices() : new ChoiceCounts();
+        ChoiceCounts computerChoices = stats.getComputerChoices() != null ? stats.getComputerChoices() : new ChoiceCounts();
+        int column = 1;
+        statement.setString(column++, player.getName());
+        statement.setString(column++, player.getIcon());
+        statement.setInt(column++, stats.getPlayerScore());
+        statement.setInt(column++, stats.getComputerScore());
+        statement.setInt(column++, stats.getPlayerWins());
+        statement.setInt(column++, stats.getComputerWins());
+        statement.setInt(column++, stats.getDraws());
+        statement.setInt(column++, stats.getTotalRounds());
+        statement.setInt(column++, playerChoices.getRock());
+        statement.setInt(column++, playerChoices.getPaper());
+        statement.setInt(column++, playerChoices.getScissors());
+        statement.setInt(column++, computerChoices.getRock());
+        statement.setInt(column++, computerChoices.getPaper());
+        statement.setInt(column++, computerChoices.getScissors());
+        statement.setInt(column++, stats.getCurrentStreak());
+        statement.setInt(column++, stats.getBestStreak());
+        statement.setBytes(column++, MOVES.convertToDatabaseColumn(stats.getRecentPlayerMoves()));
+        statement.setBytes(column++, MOVES.convertToDatabaseColumn(stats.getRecentComputerMoves()));
+        for (TimeWindow window : TimeWindow.values()) {
+            WindowCounters counters = stats.getWindow(window);
+            statement.setInt(column++, counters.getBucket());
+            statement.setInt(column++, counters.getWins());
+            statement.setInt(column++, counters.getRounds());
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package com.interview.challenge.player;
+
+/**
+ * Thrown when a player is created with a name that another player already has.
+ */
+public class PlayerNameTakenException extends RuntimeException {
+
+    public PlayerNameTakenException(String name, Throwable cause) {
+        super("Player name already taken: " + name, cause);
+    }
+}
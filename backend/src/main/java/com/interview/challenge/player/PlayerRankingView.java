@@ -0,0 +1,18 @@
+package com.interview.challenge.player;
+
+/**
+ * Closed projection over {@link Player} with only the columns the leaderboard needs,
+ * so ranking queries never hydrate entities or decode move history.
+ */
+public interface PlayerRankingView {
+
+    Long getId();
+
+    String getName();
+
+    String getIcon();
+
+    int getPlayerWins();
+
+    int getTotalRounds();
+}
@@ -1,13 +1,57 @@
 package com.interview.challenge.player;
 
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.HibernateHints.HINT_READ_ONLY;
 
 @Repository // as a Spring Data JPA repository
 public interface PlayerRepository extends JpaRepository<Player, Long> {
     // Spring Data JPA automatically provides methods like save(), findById(), findAll(), delete()
 
     Optional<Player> findByName(String name);
-}
\ No newline at end of file
+
+    // Only the ranking columns, streamed so the whole table is never held in memory at once (must run in a transaction)
+    @Query("select p.id as id, p.name as name, p.icon as icon, " +
+            "p.stats.playerWins as playerWins, p.stats.totalRounds as totalRounds from Player p")
+    @QueryHints({@QueryHint(name = HINT_FETCH_SIZE, value = "1000"), @QueryHint(name = HINT_READ_ONLY, value = "true")})
+    Stream<PlayerRankingView> streamRankingViews();
+
+    // Only players who played this week or season; a round today also stamps the week (must run in a transaction)
+    @Query("select p.id as id, " +
+            "p.stats.day.bucket as dayBucket, p.stats.day.wins as dayWins, p.stats.day.rounds as dayRounds, " +
+            "p.stats.week.bucket as weekBucket, p.stats.week.wins as weekWins, p.stats.week.rounds as weekRounds, " +
+            "p.stats.season.bucket as seasonBucket, p.stats.season.wins as seasonWins, p.stats.season.rounds as seasonRounds " +
+            "from Player p where p.stats.week.bucket = :week or p.stats.season.bucket = :season")
+    @QueryHints({@QueryHint(name = HINT_FETCH_SIZE, value = "1000"), @QueryHint(name = HINT_READ_ONLY, value = "true")})
+    Stream<PlayerWindowsView> streamWindowViews(@Param("week") int week, @Param("season") int season);
+
+    // Locked in id order so concurrent batches always acquire row locks in the same order
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select p from Player p where p.id in :ids order by p.id")
+    List<Player> findAllByIdForUpdate(@Param("ids") Collection<Long> ids);
+
+    @Query("select p.stats.playerScore as playerScore, p.stats.computerScore as computerScore, " +
+            "p.stats.playerWins as playerWins, p.stats.computerWins as computerWins, " +
+            "p.stats.totalRounds as totalRounds, p.version as version from Player p where p.id = :id")
+    Optional<PlayerCountersView> findCountersById(@Param("id") Long id);
+
+    @Query("select p.name from Player p where p.name in :names")
+    List<String> findNamesIn(@Param("names") Collection<String> names);
+
+    // One aggregate over the table, no rows loaded
+    @Query("select count(p) as players, coalesce(max(p.id), 0) as maxId, coalesce(sum(p.version), 0) as versions from Player p")
+    PlayerTableStamp getTableStamp();
+}
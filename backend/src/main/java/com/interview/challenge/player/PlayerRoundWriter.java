@@ -0,0 +1,80 @@
+package com.interview.challenge.player;
+
+import com.interview.challenge.analytics.MoveAnalytics;
+import com.interview.challenge.dto.RoundResultDto;
+import com.interview.challenge.leaderboard.LeaderboardService;
+import com.interview.challenge.player.stats.PlayerHistory;
+import com.interview.challenge.player.stats.PlayerHistoryRepository;
+import com.interview.challenge.player.stats.PlayerStats;
+import com.interview.challenge.shared.GameChoice;
+import com.interview.challenge.shared.RoundOutcome;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Clock;
+import java.time.LocalDate;
+
+import static com.interview.challenge.shared.TransactionHooks.afterCommit;
+
+/**
+ * Writes one round to a player's stats and move history in its own transaction, without locking either row.
+ * Both rows are versioned: a round racing another write to the same player fails with an
+ * {@link org.springframework.dao.OptimisticLockingFailureException} (or, when both create the history row,
+ * a {@link org.springframework.dao.DataIntegrityViolationException}) instead of overwriting it,
+ * and {@link PlayerService#playRound} applies the round again on the fresh state.
+ */
+@Service
+public class PlayerRoundWriter {
+
+    private final PlayerRepository playerRepository;
+    private final PlayerHistoryRepository playerHistoryRepository;
+    private final PlayerCache playerCache;
+    private final LeaderboardService leaderboardService;
+    private final MoveAnalytics moveAnalytics;
+    private final Clock clock;
+
+    @Autowired
+    public PlayerRoundWriter(PlayerRepository playerRepository, PlayerHistoryRepository playerHistoryRepository,
+                             PlayerCache playerCache, LeaderboardService leaderboardService,
+                             MoveAnalytics moveAnalytics, Clock clock) {
+        this.playerRepository = playerRepository;
+        this.playerHistoryRepository = playerHistoryRepository;
+        this.playerCache = playerCache;
+        this.leaderboardService = leaderboardService;
+        this.moveAnalytics = moveAnalytics;
+        this.clock = clock;
+    }
+
+    /**
+     * Applies one round as a delta: counters and aggregates incremented, one move appended.
+     * The player is re-ranked on every leaderboard, and the round counted in the {@link MoveAnalytics},
+     * once the round commits; a reset or upload committed in between wins, as the round was read before it.
+     *
+     * @return The round outcome together with the player's updated counters.
+     * @throws IllegalArgumentException if the player does not exist.
+     */
+    @Transactional
+    public RoundResultDto write(Long playerId, GameChoice playerChoice, GameChoice computerChoice) {
+        Player player = playerRepository.findById(playerId)
+                .orElseThrow(() -> new IllegalArgumentException("Player not found with id: " + playerId));
+        PlayerHistory history = playerHistoryRepository.findById(playerId).orElseGet(() -> new PlayerHistory(playerId));
+
+        PlayerStats stats = player.getStats();
+        long basedOn = player.getVersion();
+        GameChoice previousChoice = stats.lastPlayerChoice();
+        RoundOutcome outcome = stats.recordRound(playerChoice, computerChoice, LocalDate.now(clock));
+        history.append(playerChoice, computerChoice);
+        playerRepository.save(player);
+        // flushed here so a conflict surfaces as a translated exception, not at commit
+        playerHistoryRepository.saveAndFlush(history);
+        playerCache.evict(playerId);
+        leaderboardService.updateStats(playerId, basedOn, stats.getPlayerWins(), stats.getTotalRounds());
+        leaderboardService.updateWindows(playerId, basedOn, stats);
+        afterCommit(() -> moveAnalytics.record(previousChoice, playerChoice, computerChoice));
+
+        return new RoundResultDto(playerId, playerChoice, computerChoice, outcome,
+                stats.getPlayerScore(), stats.getComputerScore(),
+                stats.getPlayerWins(), stats.getComputerWins(), stats.getTotalRounds());
+    }
+}
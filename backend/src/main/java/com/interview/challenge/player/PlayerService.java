@@ -1,14 +1,32 @@
 package com.interview.challenge.player;
 
 import com.interview.challenge.dto.PlayerSimplifiedDto;
+import com.interview.challenge.dto.PlayerStatsUpdateDto;
+import com.interview.challenge.dto.RoundResultDto;
+import com.interview.challenge.leaderboard.LeaderboardService;
+import com.interview.challenge.player.stats.PlayerHistory;
+import com.interview.challenge.player.stats.PlayerHistoryRepository;
+import com.interview.challenge.player.stats.PlayerHistorySegmentRepository;
 import com.interview.challenge.player.stats.PlayerStats;
+import com.interview.challenge.player.strategy.ComputerStrategy;
+import com.interview.challenge.player.strategy.StrategyEngine;
+import com.interview.challenge.shared.GameChoice;
+import com.interview.challenge.shared.MoveHistory;
 import io.micrometer.core.annotation.Timed;
 import io.micrometer.core.instrument.Counter;
 import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.time.Clock;
+import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
 import java.util.stream.Collectors;
@@ -17,18 +35,47 @@ import java.util.stream.Collectors;
 public class PlayerService {
 
     private final PlayerRepository playerRepository;
+    private final PlayerHistoryRepository playerHistoryRepository;
+    private final PlayerHistorySegmentRepository playerHistorySegmentRepository;
+    private final PlayerCache playerCache;
+    private final LeaderboardService leaderboardService;
+    private final RoundWriteBehindBuffer roundWriteBehindBuffer;
+    private final StrategyEngine strategyEngine;
+    private final PlayerRoundWriter roundWriter;
+    private final TransactionTemplate transactionTemplate;
+    private final Clock clock;
+    private final int maxRoundAttempts;
 
     // Micrometer Counters
     private final Counter playersCreatedCounter;
     private final Counter playerStatsUpdatedCounter;
     private final Counter playerStatsResetCounter;
+    private final Counter roundConflictsCounter;
+    private final Counter hotRoundsCounter;
 
     @Autowired // Injects ...
-    public PlayerService(PlayerRepository playerRepository, MeterRegistry meterRegistry) {
+    public PlayerService(PlayerRepository playerRepository, PlayerHistoryRepository playerHistoryRepository,
+                         PlayerHistorySegmentRepository playerHistorySegmentRepository, PlayerCache playerCache, LeaderboardService leaderboardService,
+                         RoundWriteBehindBuffer roundWriteBehindBuffer, StrategyEngine strategyEngine,
+                         PlayerRoundWriter roundWriter, PlatformTransactionManager transactionManager,
+                         MeterRegistry meterRegistry, Clock clock,
+                         @Value("${rps.rounds.max-attempts:3}") int maxRoundAttempts) {
         this.playerRepository = playerRepository;
+        this.playerHistoryRepository = playerHistoryRepository;
+        this.playerHistorySegmentRepository = playerHistorySegmentRepository;
+        this.playerCache = playerCache;
+        this.leaderboardService = leaderboardService;
+        this.roundWriteBehindBuffer = roundWriteBehindBuffer;
+        this.strategyEngine = strategyEngine;
+        this.roundWriter = roundWriter;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.clock = clock;
+        this.maxRoundAttempts = maxRoundAttempts;
         this.playersCreatedCounter = meterRegistry.counter("player.created.total", "source", "api");
         this.playerStatsUpdatedCounter = meterRegistry.counter("player.stats.updated.total", "source", "api");
         this.playerStatsResetCounter = meterRegistry.counter("player.stats.reset.total", "source", "api");
+        this.roundConflictsCounter = meterRegistry.counter("player.rounds.conflicts.total");
+        this.hotRoundsCounter = meterRegistry.counter("player.rounds.hot.total");
     }
 
     public List<PlayerSimplifiedDto> getAllPlayers() {
@@ -41,61 +88,210 @@ public class PlayerService {
     }
 
     public Optional<Player> getPlayerById(Long id) {
-        return playerRepository.findById(id);
+        return playerCache.findById(id);
     }
 
     public List<Player> findAll() {
         return playerRepository.findAll();
     }
 
+    /**
+     * Creates a player with a single insert; the unique constraint on the name rejects duplicates,
+     * including two concurrent registrations of the same name.
+     *
+     * @param player The player to create.
+     * @return The created Player entity.
+     * @throws PlayerNameTakenException if another player already has this name.
+     */
     public Player createPlayer(Player player) {
-        // add validation here, to see if name already exists
-        Player createdPlayer = playerRepository.save(player);
+        Player createdPlayer;
+        try {
+            createdPlayer = playerRepository.saveAndFlush(player);
+        } catch (DataIntegrityViolationException e) {
+            throw new PlayerNameTakenException(player.getName(), e);
+        }
+        playerCache.added(createdPlayer);
+        leaderboardService.update(createdPlayer);
         playersCreatedCounter.increment();
         return createdPlayer;
     }
 
     public Optional<Player> getPlayerByName(String name) {
-        return playerRepository.findByName(name);
+        return playerCache.findByName(name);
     }
 
     public Optional<Player> findById(Long id) {
-        return playerRepository.findById(id);
+        return playerCache.findById(id);
+    }
+
+    /**
+     * Loads a player's move history; every other read only needs the aggregates in {@link PlayerStats}.
+     *
+     * @param playerId The ID of the player.
+     * @param includeArchived Whether to also decompress the moves the retention policy archived.
+     * @return The player's history (empty if they have not played yet), or empty if the player does not exist.
+     */
+    @Transactional(readOnly = true)
+    public Optional<PlayerHistory> getPlayerHistory(Long playerId, boolean includeArchived) {
+        if (!playerRepository.existsById(playerId)) {
+            return Optional.empty();
+        }
+        PlayerHistory history = playerHistoryRepository.findById(playerId).orElseGet(() -> new PlayerHistory(playerId));
+        if (includeArchived && history.getArchivedMoves() > 0) {
+            history = history.withArchived(playerHistorySegmentRepository.findByPlayerIdOrderByFirstMove(playerId));
+        }
+        return Optional.of(history);
     }
 
     /**
      * Updates the detailed game statistics for a specific player.
+     * The counters are taken as sent, the history replaces the stored one and the aggregates are recomputed from it.
+     * Rounds added since the stored stats count towards today on the windowed leaderboards.
+     * Buffered rounds of the player are dropped before the transaction opens (see {@link #resetPlayerStats}).
      *
      * @param playerId The ID of the player whose stats are to be updated.
-     * @param updatedStats The PlayerStats object containing the new statistical data.
+     * @param update The new counters and full move history, and optionally the version they were based on.
      * @return The updated Player entity.
+     * @throws OptimisticLockingFailureException if the player changed since that version, or during the update.
      */
-    @Transactional // Ensures the entire operation is atomic
     @Timed(value = "player.stats.update.duration", description = "Time taken to update player statistics")
-    public Player updatePlayerStats(Long playerId, PlayerStats updatedStats) {
-        return playerRepository.findById(playerId).map(player -> {
-            player.setStats(updatedStats);
+    public Player updatePlayerStats(Long playerId, PlayerStatsUpdateDto update) {
+        if (update.getVersion() != null) {
+            // checked before anything is discarded too, so a stale upload keeps the buffered rounds
+            playerRepository.findCountersById(playerId)
+                    .ifPresent(stored -> checkVersion(playerId, update, stored.getVersion()));
+        }
+        roundWriteBehindBuffer.discard(playerId); // replaced wholesale, buffered rounds would be counted twice
+        // Ensures the entire operation is atomic
+        return transactionTemplate.execute(status -> playerRepository.findById(playerId).map(player -> {
+            checkVersion(playerId, update, player.getVersion());
+            strategyEngine.forget(playerId);
+            MoveHistory playerMoves = toHistory(update.getPlayerHistory());
+            MoveHistory computerMoves = toHistory(update.getComputerHistory());
+
+            PlayerStats stats = new PlayerStats();
+            stats.setPlayerScore(update.getPlayerScore());
+            stats.setComputerScore(update.getComputerScore());
+            stats.setPlayerWins(update.getPlayerWins());
+            stats.setComputerWins(update.getComputerWins());
+            stats.setTotalRounds(update.getTotalRounds());
+            stats.recomputeAggregates(playerMoves, computerMoves);
+            countNewRoundsInWindows(stats, player.getStats());
+            player.setStats(stats);
+
+            PlayerHistory history = playerHistoryRepository.findById(playerId).orElseGet(() -> new PlayerHistory(playerId));
+            history.replace(playerMoves, computerMoves);
+            playerHistoryRepository.save(history);
+            playerHistorySegmentRepository.deleteByPlayerId(playerId);
             Player savedPlayer = playerRepository.save(player);
+            playerCache.evict(playerId);
+            leaderboardService.update(savedPlayer);
             playerStatsUpdatedCounter.increment();
             return savedPlayer;
-        }).orElseThrow(() -> new IllegalArgumentException("Player not found with id: " + playerId));
+        }).orElseThrow(() -> new IllegalArgumentException("Player not found with id: " + playerId)));
+    }
+
+    private static void checkVersion(Long playerId, PlayerStatsUpdateDto update, Long stored) {
+        if (update.getVersion() != null && !update.getVersion().equals(stored)) {
+            // based on stats another device has changed since
+            throw new ObjectOptimisticLockingFailureException(Player.class, playerId);
+        }
+    }
+
+    // the counters sent may go down too (a client resetting locally), which takes nothing out of a window
+    private void countNewRoundsInWindows(PlayerStats stats, PlayerStats previous) {
+        if (previous == null) {
+            return;
+        }
+        stats.copyWindowsFrom(previous);
+        int rounds = Math.max(0, stats.getTotalRounds() - previous.getTotalRounds());
+        int wins = Math.min(rounds, Math.max(0, stats.getPlayerWins() - previous.getPlayerWins()));
+        if (rounds > 0) {
+            stats.countInWindows(LocalDate.now(clock), wins, rounds);
+        }
+    }
+
+    private static MoveHistory toHistory(List<GameChoice> moves) {
+        return moves == null ? MoveHistory.empty() : MoveHistory.empty().appendAll(moves);
+    }
+
+    /**
+     * Plays one round for a player: the computer picks its move with the requested strategy,
+     * the round is resolved and applied to the stored stats as a delta (counters incremented,
+     * one move appended), instead of rewriting the whole stats object.
+     * <p>
+     * No row is locked: the round is written by {@link PlayerRoundWriter} against versioned rows and, when a
+     * concurrent write to the same player got there first, applied again on the fresh state, up to
+     * {@code rps.rounds.max-attempts} times. A player still contended after that is hot: their rounds go to the
+     * in-memory {@link RoundWriteBehindBuffer} until it has been idle for a flush. In write-behind mode every
+     * round is buffered. Either way the counters returned include the rounds still waiting to be written.
+     *
+     * @param playerId The ID of the player playing the round.
+     * @param playerChoice The player's move.
+     * @param strategyName The computer's strategy, or null for the default one.
+     * @return The round outcome together with the player's updated counters.
+     * @throws IllegalArgumentException if the player or the strategy does not exist.
+     * @throws OptimisticLockingFailureException if every attempt conflicted and hot players are not buffered.
+     */
+    @Timed(value = "player.round.duration", description = "Time taken to play a round and record it")
+    public RoundResultDto playRound(Long playerId, GameChoice playerChoice, String strategyName) {
+        ComputerStrategy strategy = strategyEngine.getStrategy(strategyName);
+        if (playerCache.findById(playerId).isEmpty()) {
+            throw new IllegalArgumentException("Player not found with id: " + playerId);
+        }
+        // chosen once, every retry records the same round
+        GameChoice computerChoice = strategyEngine.choose(playerId, strategy,
+                () -> playerHistoryRepository.findPlayerMovesById(playerId).orElse(MoveHistory.empty()));
+        RoundResultDto result = roundWriteBehindBuffer.holds(playerId)
+                ? roundWriteBehindBuffer.record(playerId, playerChoice, computerChoice)
+                : writeRound(playerId, playerChoice, computerChoice);
+        strategyEngine.learn(playerId, playerChoice); // only once the round is recorded
+        result.setStrategy(strategy.getName());
+        playerStatsUpdatedCounter.increment();
+        return result;
+    }
+
+    private RoundResultDto writeRound(Long playerId, GameChoice playerChoice, GameChoice computerChoice) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return roundWriter.write(playerId, playerChoice, computerChoice);
+            } catch (OptimisticLockingFailureException | DataIntegrityViolationException e) {
+                roundConflictsCounter.increment();
+                if (attempt < maxRoundAttempts) {
+                    continue;
+                }
+                if (!roundWriteBehindBuffer.acceptsHotPlayers()) {
+                    throw e instanceof OptimisticLockingFailureException conflict ? conflict
+                            : new ObjectOptimisticLockingFailureException(Player.class, playerId, e);
+                }
+                hotRoundsCounter.increment();
+                return roundWriteBehindBuffer.record(playerId, playerChoice, computerChoice);
+            }
+        }
     }
 
     /**
      * Resets all game statistics for a specific player to their initial values.
+     * Buffered rounds of the player are dropped before the transaction opens: dropping them waits for a running
+     * flush, which needs a pooled connection of its own.
      *
      * @param playerId The ID of the player whose stats are to be reset.
      * @return The player entity with reset statistics.
      */
-    @Transactional
     @Timed(value = "player.stats.reset.duration", description = "Time taken to reset player statistics")
     public Player resetPlayerStats(Long playerId) {
-        return playerRepository.findById(playerId).map(player -> {
+        roundWriteBehindBuffer.discard(playerId);
+        return transactionTemplate.execute(status -> playerRepository.findById(playerId).map(player -> {
+            strategyEngine.forget(playerId);
             // Create a new, fresh PlayerStats object with default values
             player.setStats(new PlayerStats());
+            playerHistoryRepository.deleteById(playerId);
+            playerHistorySegmentRepository.deleteByPlayerId(playerId);
             Player savedPlayer = playerRepository.save(player);
+            playerCache.evict(playerId);
+            leaderboardService.update(savedPlayer);
             playerStatsResetCounter.increment();
             return savedPlayer;
-        }).orElseThrow(() -> new IllegalArgumentException("Player not found with id: " + playerId));
+        }).orElseThrow(() -> new IllegalArgumentException("Player not found with id: " + playerId)));
     }
 }
\ No newline at end of file
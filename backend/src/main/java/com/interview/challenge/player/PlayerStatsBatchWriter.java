@@ -0,0 +1,90 @@
+package com.interview.challenge.player;
+
+import com.interview.challenge.analytics.MoveAnalytics;
+import com.interview.challenge.leaderboard.LeaderboardService;
+import com.interview.challenge.player.stats.PlayerHistory;
+import com.interview.challenge.player.stats.PlayerHistoryRepository;
+import com.interview.challenge.player.stats.PlayerStats;
+import com.interview.challenge.player.stats.RoundDelta;
+import com.interview.challenge.shared.GameChoice;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static com.interview.challenge.shared.TransactionHooks.afterCommit;
+
+/**
+ * Applies coalesced round deltas for many players in one transaction.
+ * The players, then their move histories, are loaded with one query each and written back as JDBC batch
+ * updates (see {@code hibernate.jdbc.batch_size} / {@code hibernate.order_updates}).
+ */
+@Service
+public class PlayerStatsBatchWriter {
+
+    private final PlayerRepository playerRepository;
+    private final PlayerHistoryRepository playerHistoryRepository;
+    private final PlayerCache playerCache;
+    private final LeaderboardService leaderboardService;
+    private final MoveAnalytics moveAnalytics;
+    private final Clock clock;
+
+    @Autowired
+    public PlayerStatsBatchWriter(PlayerRepository playerRepository, PlayerHistoryRepository playerHistoryRepository,
+                                  PlayerCache playerCache, LeaderboardService leaderboardService,
+                                  MoveAnalytics moveAnalytics, Clock clock) {
+        this.playerRepository = playerRepository;
+        this.playerHistoryRepository = playerHistoryRepository;
+        this.playerCache = playerCache;
+        this.leaderboardService = leaderboardService;
+        this.moveAnalytics = moveAnalytics;
+        this.clock = clock;
+    }
+
+    /**
+     * Applies each delta to its player's stats; once the transaction commits, re-ranks the players and counts
+     * the rounds in the {@link MoveAnalytics}.
+     *
+     * @param deltas Round deltas keyed by player ID.
+     * @return The IDs that did not match any player; their deltas were not applied.
+     */
+    @Transactional
+    public Set<Long> apply(Map<Long, RoundDelta> deltas) {
+        List<Player> players = playerRepository.findAllByIdForUpdate(deltas.keySet());
+        Set<Long> missing = new HashSet<>(deltas.keySet());
+        // locked too: rounds written meanwhile don't lock, they conflict on the version and retry after this batch
+        Map<Long, PlayerHistory> histories = playerHistoryRepository.findAllByIdForUpdate(deltas.keySet()).stream()
+                .collect(Collectors.toMap(PlayerHistory::getPlayerId, Function.identity()));
+        List<PlayerHistory> changedHistories = new ArrayList<>(players.size());
+        // buffered rounds count towards the day they are written, not the one they were played
+        LocalDate today = LocalDate.now(clock);
+        for (Player player : players) {
+            RoundDelta delta = deltas.get(player.getId());
+            PlayerStats stats = player.getStats();
+            long basedOn = player.getVersion();
+            GameChoice previousChoice = stats.lastPlayerChoice();
+            stats.apply(delta, today);
+            PlayerHistory history = histories.getOrDefault(player.getId(), new PlayerHistory(player.getId()));
+            history.append(delta);
+            changedHistories.add(history);
+            missing.remove(player.getId());
+            playerCache.evict(player.getId());
+            // no-op for write-behind flushes, whose rounds were ranked when played
+            leaderboardService.updateStats(player.getId(), basedOn, stats.getPlayerWins(), stats.getTotalRounds());
+            leaderboardService.updateWindows(player.getId(), basedOn, stats);
+            afterCommit(() -> moveAnalytics.record(previousChoice, delta.getPlayerMoves(), delta.getComputerMoves()));
+        }
+        playerRepository.saveAll(players);
+        playerHistoryRepository.saveAll(changedHistories);
+        return missing;
+    }
+}
@@ -0,0 +1,15 @@
+package com.interview.challenge.player;
+
+/**
+ * Summary of the player table that changes with every insert, update and delete of a player:
+ * inserts raise the max id, updates bump a row's {@link Player#getVersion() version}, deletes lower the count.
+ * Used to tell whether state derived from the table, like a leaderboard snapshot, is still current.
+ */
+public interface PlayerTableStamp {
+
+    long getPlayers();
+
+    long getMaxId();
+
+    long getVersions();
+}
@@ -0,0 +1,87 @@
+package com.interview.challenge.player;
+
+import com.interview.challenge.dto.PlayerImportResultDto;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.ExitCodeGenerator;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+/**
+ * Exports or imports players from the command line instead of serving requests: given
+ * {@code --rps.players.transfer.export-to=<file>} or {@code --rps.players.transfer.import-from=<file>}, runs the
+ * {@link PlayerTransferService} against the configured database. {@code RpsGameApplication} then starts a context
+ * without the web server (see {@link #isRequested}) and exits with {@link #getExitCode}: 1 if an import stopped
+ * on a malformed record.
+ */
+@Component
+public class PlayerTransferRunner implements ApplicationRunner, ExitCodeGenerator {
+
+    private static final Logger log = LoggerFactory.getLogger(PlayerTransferRunner.class);
+
+    private static final String EXPORT_TO = "rps.players.transfer.export-to";
+    private static final String IMPORT_FROM = "rps.players.transfer.import-from";
+
+    private final PlayerTransferService playerTransferService;
+    private final String exportTo;
+    private final String importFrom;
+    private volatile int exitCode;
+
+    @Autowired
+    public PlayerTransferRunner(PlayerTransferService playerTransferService,
+                                @Value("${" + EXPORT_TO + ":}") String exportTo,
+                                @Value("${" + IMPORT_FROM + ":}") String importFrom) {
+        this.playerTransferService = playerTransferService;
+        this.exportTo = exportTo;
+        this.importFrom = importFrom;
+    }
+
+    /**
+     * Whether the command line asks for a transfer, before any context is started.
+     */
+    public static boolean isRequested(String[] args) {
+        return Arrays.stream(args).anyMatch(arg -> isSet(arg, EXPORT_TO) || isSet(arg, IMPORT_FROM));
+    }
+
+    private static boolean isSet(String arg, String property) {
+        String prefix = "--" + property + "=";
+        return arg.startsWith(prefix) && !arg.substring(prefix.length()).isBlank();
+    }
+
+    @Override
+    public int getExitCode() {
+        return exitCode;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) throws IOException {
+        if (exportTo.isBlank() && importFrom.isBlank()) {
+            return;
+        }
+        if (!importFrom.isBlank()) {
+            try (InputStream in = Files.newInputStream(Path.of(importFrom))) {
+                PlayerImportResultDto result = playerTransferService.importPlayers(in);
+                if (result.getError() != null) {
+                    log.error("Import from {} stopped: {}", importFrom, result.getError());
+                    exitCode = 1;
+                }
+            }
+        }
+        if (!exportTo.isBlank()) {
+            try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(Path.of(exportTo)), 1 << 16)) {
+                playerTransferService.exportPlayers(out);
+            }
+        }
+    }
+}
@@ -0,0 +1,254 @@
+package com.interview.challenge.player;
+
+import com.fasterxml.jackson.core.JsonLocation;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.interview.challenge.dto.PlayerImportResultDto;
+import com.interview.challenge.dto.PlayerTransferHistoryDto;
+import com.interview.challenge.dto.PlayerTransferRecordDto;
+import com.interview.challenge.dto.PlayerTransferSegmentDto;
+import com.interview.challenge.player.stats.ChoiceCounts;
+import com.interview.challenge.player.stats.PlayerStats;
+import com.interview.challenge.player.stats.WindowCounters;
+import com.interview.challenge.shared.MoveHistory;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Moves players with their {@link PlayerStats} and whole move history in and out of the database in bulk, for
+ * backups and for seeding a game, as gzip-compressed NDJSON: one {@link PlayerTransferRecordDto} per line.
+ * Histories travel as stored, packed moves and deflated archive segments, so they are neither decoded nor
+ * recompressed on the way.
+ * <p>
+ * Both directions stream, holding one batch at a time whatever the number of players. An export reads the players
+ * with their history rows in pages of {@code rps.players.transfer.batch-size}, each query starting after the last
+ * ID of the previous page, then the page's archive segments in one more query, and writes the page.
+ * An import parses one record at a time and writes every batch with {@link PlayerImportBatchWriter}, one
+ * transaction each; like a bulk round upload, a failed import keeps the batches already committed.
+ */
+@Service
+public class PlayerTransferService {
+
+    private static final Logger log = LoggerFactory.getLogger(PlayerTransferService.class);
+
+    private static final String PAGE = "select p.id, " + PlayerImportBatchWriter.COLUMNS
+            + ", h.archived_moves, h.player_history, h.computer_history"
+            + " from player p left join player_history h on h.player_id = p.id"
+            + " where p.id > ? order by p.id fetch first ? rows only";
+
+    private static final String SEGMENTS = "select player_id, first_move, moves, player_moves, computer_moves"
+            + " from player_history_segment where player_id > ? and player_id <= ? order by player_id, first_move";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final PlayerImportBatchWriter batchWriter;
+    private final ObjectReader recordReader;
+    private final ObjectWriter recordWriter;
+    private final int batchSize;
+
+    // Micrometer Counters
+    private final Counter exportedCounter;
+    private final Counter importedCounter;
+
+    @Autowired
+    public PlayerTransferService(JdbcTemplate jdbcTemplate, PlayerImportBatchWriter batchWriter,
+                                 ObjectMapper objectMapper, MeterRegistry meterRegistry,
+                                 @Value("${rps.players.transfer.batch-size:10000}") int batchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.batchWriter = batchWriter;
+        this.recordReader = objectMapper.readerFor(PlayerTransferRecordDto.class);
+        this.recordWriter = objectMapper.writerFor(PlayerTransferRecordDto.class).withRootValueSeparator("\n");
+        this.batchSize = batchSize;
+        this.exportedCounter = meterRegistry.counter("player.exported.total");
+        this.importedCounter = meterRegistry.counter("player.imported.total");
+    }
+
+    /**
+     * Writes every player, in ID order, then closes the stream.
+     *
+     * @return How many players were written.
+     * @throws IOException if the stream fails (e.g. the client disconnects).
+     */
+    public long exportPlayers(OutputStream out) throws IOException {
+        GZIPOutputStream gzip = new GZIPOutputStream(out, 1 << 16);
+        long exported = 0;
+        try (SequenceWriter records = recordWriter.writeValues(gzip)) {
+            long lastId = 0;
+            while (true) {
+                List<PlayerTransferRecordDto> page = jdbcTemplate.query(PAGE, PlayerTransferService::toRecord,
+                        lastId, batchSize);
+                if (!page.isEmpty()) {
+                    addSegments(page, lastId);
+                }
+                records.writeAll(page);
+                exported += page.size();
+                exportedCounter.increment(page.size());
+                if (page.size() < batchSize) {
+                    break;
+                }
+                lastId = page.get(page.size() - 1).getId();
+            }
+            records.flush();
+            if (exported > 0) {
+                gzip.write('\n'); // the separator only goes between records
+            }
+            gzip.finish();
+        }
+        log.info("Exported {} players", exported);
+        return exported;
+    }
+
+    /**
+     * Reads players until the end of the stream and creates them batch by batch, with new IDs.
+     * Records without a name or whose name is taken are skipped and counted; a line that is not valid JSON stops
+     * the import after creating everything before it. A batch in which a name got taken by a player created
+     * meanwhile is not created, and stops the import as well.
+     *
+     * @param in The records, gzip-compressed or not.
+     * @return What was imported, plus an error if the import stopped early.
+     * @throws IOException if the stream itself fails (e.g. the client disconnects, or the gzip data is corrupt).
+     */
+    public PlayerImportResultDto importPlayers(InputStream in) throws IOException {
+        PlayerImportResultDto result = new PlayerImportResultDto();
+        List<PlayerTransferRecordDto> batch = new ArrayList<>(batchSize);
+        try (MappingIterator<PlayerTransferRecordDto> records = recordReader.readValues(decompressed(in))) {
+            while (records.hasNextValue()) {
+                PlayerTransferRecordDto record = records.nextValue();
+                if (record.getName() == null || record.getName().isBlank()) {
+                    result.setInvalidRecords(result.getInvalidRecords() + 1);
+                    continue;
+                }
+                batch.add(record);
+                if (batch.size() >= batchSize) {
+                    boolean written = write(batch, result);
+                    batch.clear();
+                    if (!written) {
+                        break;
+                    }
+                }
+            }
+        } catch (JsonProcessingException e) {
+            JsonLocation location = e.getLocation();
+            result.setError("Malformed record" + (location != null ? " at line " + location.getLineNr() : "")
+                    + ": " + e.getOriginalMessage());
+        }
+        if (!batch.isEmpty()) {
+            write(batch, result);
+        }
+        log.info("Imported {} players, skipped {} with a name taken and {} invalid", result.getImported(),
+                result.getNameTaken(), result.getInvalidRecords());
+        return result;
+    }
+
+    /**
+     * @return false if the batch was rolled back: a name checked as free was taken before the insert.
+     */
+    private boolean write(List<PlayerTransferRecordDto> batch, PlayerImportResultDto result) {
+        int created;
+        try {
+            created = batchWriter.insert(batch);
+        } catch (DataIntegrityViolationException e) {
+            log.warn("Import batch {} rolled back, a name was taken meanwhile: {}", result.getBatches() + 1,
+                    e.getMostSpecificCause().getMessage());
+            String error = "Batch " + (result.getBatches() + 1) + " not created: a name in it was taken while importing";
+            result.setError(result.getError() != null ? result.getError() + "; " + error : error);
+            return false;
+        }
+        result.setImported(result.getImported() + created);
+        result.setNameTaken(result.getNameTaken() + batch.size() - created);
+        result.setBatches(result.getBatches() + 1);
+        importedCounter.increment(created);
+        return true;
+    }
+
+    // Detects the gzip magic number, so uncompressed NDJSON is accepted as well
+    private static InputStream decompressed(InputStream in) throws IOException {
+        InputStream buffered = new BufferedInputStream(in, 1 << 16);
+        buffered.mark(2);
+        int first = buffered.read();
+        int second = buffered.read();
+        buffered.reset();
+        return first == 0x1f && second == 0x8b ? new GZIPInputStream(buffered, 1 << 16) : buffered;
+    }
+
+    // One query for the archived segments of the whole page, instead of one per player
+    private void addSegments(List<PlayerTransferRecordDto> page, long afterId) {
+        Map<Long, PlayerTransferHistoryDto> histories = new HashMap<>();
+        for (PlayerTransferRecordDto record : page) {
+            if (record.getHistory() != null) {
+                histories.put(record.getId(), record.getHistory());
+            }
+        }
+        jdbcTemplate.query(SEGMENTS, (RowCallbackHandler) row -> {
+            PlayerTransferHistoryDto history = histories.get(row.getLong("player_id"));
+            if (history != null) { // segments are only written for players with a history row
+                history.getSegments().add(new PlayerTransferSegmentDto(row.getInt("first_move"), row.getInt("moves"),
+                        row.getBytes("player_moves"), row.getBytes("computer_moves")));
+            }
+        }, afterId, page.get(page.size() - 1).getId());
+    }
+
+    private static PlayerTransferRecordDto toRecord(ResultSet row, int rowNum) throws SQLException {
+        PlayerStats stats = new PlayerStats();
+        stats.setPlayerScore(row.getInt("player_score"));
+        stats.setComputerScore(row.getInt("computer_score"));
+        stats.setPlayerWins(row.getInt("player_wins"));
+        stats.setComputerWins(row.getInt("computer_wins"));
+        stats.setDraws(row.getInt("draws"));
+        stats.setTotalRounds(row.getInt("total_rounds"));
+        stats.setPlayerChoices(choiceCounts(row, "player"));
+        stats.setComputerChoices(choiceCounts(row, "computer"));
+        stats.setCurrentStreak(row.getInt("current_streak"));
+        stats.setBestStreak(row.getInt("best_streak"));
+        stats.setRecentPlayerMoves(MoveHistory.fromBytes(row.getBytes("recent_player_moves")));
+        stats.setRecentComputerMoves(MoveHistory.fromBytes(row.getBytes("recent_computer_moves")));
+        PlayerTransferRecordDto record = new PlayerTransferRecordDto(row.getLong("id"), row.getString("name"),
+                row.getString("icon"), stats,
+                windowCounters(row, "day"), windowCounters(row, "week"), windowCounters(row, "season"));
+        if (row.getObject("archived_moves") != null) { // no history row before the player's first round
+            record.setHistory(new PlayerTransferHistoryDto(row.getBytes("player_history"),
+                    row.getBytes("computer_history"), row.getInt("archived_moves")));
+        }
+        return record;
+    }
+
+    private static ChoiceCounts choiceCounts(ResultSet row, String prefix) throws SQLException {
+        ChoiceCounts counts = new ChoiceCounts();
+        counts.setRock(row.getInt(prefix + "_rock"));
+        counts.setPaper(row.getInt(prefix + "_paper"));
+        counts.setScissors(row.getInt(prefix + "_scissors"));
+        return counts;
+    }
+
+    private static WindowCounters windowCounters(ResultSet row, String prefix) throws SQLException {
+        WindowCounters counters = new WindowCounters();
+        counters.setBucket(row.getInt(prefix + "_bucket"));
+        counters.setWins(row.getInt(prefix + "_wins"));
+        counters.setRounds(row.getInt(prefix + "_rounds"));
+        return counters;
+    }
+}
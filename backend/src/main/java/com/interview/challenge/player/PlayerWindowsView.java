@@ -0,0 +1,28 @@
+package com.interview.challenge.player;
+
+/**
+ * Closed projection over {@link Player} with only the windowed counters, used to rebuild the
+ * daily, weekly and seasonal leaderboards on startup.
+ */
+public interface PlayerWindowsView {
+
+    Long getId();
+
+    int getDayBucket();
+
+    int getDayWins();
+
+    int getDayRounds();
+
+    int getWeekBucket();
+
+    int getWeekWins();
+
+    int getWeekRounds();
+
+    int getSeasonBucket();
+
+    int getSeasonWins();
+
+    int getSeasonRounds();
+}
@@ -0,0 +1,350 @@
+package com.interview.challenge.player;
+
+import com.interview.challenge.dto.RoundResultDto;
+import com.interview.challenge.leaderboard.LeaderboardService;
+import com.interview.challenge.player.stats.RoundDelta;
+import com.interview.challenge.shared.GameChoice;
+import com.interview.challenge.shared.RoundOutcome;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * In-memory accumulator for rounds, written to the database in batches.
+ * <p>
+ * Holds every player in write-behind mode ({@code rps.rounds.write-behind.enabled=true}), otherwise only hot
+ * players: those whose rounds kept conflicting with concurrent writes on the database path
+ * ({@code rps.rounds.hot-players.enabled}, see {@link PlayerService#playRound}).
+ * <p>
+ * Recording a round takes no lock: the player's counters are an immutable snapshot swapped with a
+ * compare-and-set, and the moves go to a lock-free queue, so concurrent rounds of the same player neither
+ * wait for each other nor for a database row lock. Rounds are coalesced per player into one {@link RoundDelta}
+ * and flushed by {@link PlayerStatsBatchWriter} every {@code flush-interval}, as soon as {@code max-pending}
+ * rounds are waiting, and once more on shutdown. Stats in the database therefore lag by up to one flush;
+ * rounds still pending when the JVM is killed are lost. A player is released back to the database path
+ * once a flush finds nothing new since the previous one.
+ */
+@Component
+public class RoundWriteBehindBuffer {
+
+    private static final Logger log = LoggerFactory.getLogger(RoundWriteBehindBuffer.class);
+
+    private final PlayerRepository playerRepository;
+    private final PlayerStatsBatchWriter batchWriter;
+    private final LeaderboardService leaderboardService;
+    private final TaskScheduler taskScheduler;
+    private final boolean enabled;
+    private final boolean hotPlayers;
+    private final int maxPending;
+    private final int batchSize;
+
+    private final Map<Long, BufferedPlayer> buffered = new ConcurrentHashMap<>();
+    private final AtomicInteger pendingRounds = new AtomicInteger();
+    private final AtomicBoolean flushRequested = new AtomicBoolean();
+    private final ReentrantLock flushLock = new ReentrantLock();
+
+    // Micrometer meters
+    private final Timer flushTimer;
+    private final Counter flushedRoundsCounter;
+    private final Counter failedFlushCounter;
+
+    @Autowired
+    public RoundWriteBehindBuffer(PlayerRepository playerRepository,
+                                  PlayerStatsBatchWriter batchWriter,
+                                  LeaderboardService leaderboardService,
+                                  @Lazy TaskScheduler taskScheduler, // none while scheduling is off
+                                  MeterRegistry meterRegistry,
+                                  @Value("${rps.rounds.write-behind.enabled:false}") boolean enabled,
+                                  @Value("${rps.rounds.hot-players.enabled:true}") boolean hotPlayers,
+                                  @Value("${rps.rounds.write-behind.max-pending:1000}") int maxPending,
+                                  @Value("${rps.rounds.write-behind.batch-size:100}") int batchSize) {
+        this.playerRepository = playerRepository;
+        this.batchWriter = batchWriter;
+        this.leaderboardService = leaderboardService;
+        this.taskScheduler = taskScheduler;
+        this.enabled = enabled;
+        this.hotPlayers = hotPlayers;
+        this.maxPending = maxPending;
+        this.batchSize = batchSize;
+
+        Gauge.builder("player.rounds.writebehind.pending", pendingRounds, AtomicInteger::get)
+                .description("Rounds buffered and not yet written to the database")
+                .register(meterRegistry);
+        Gauge.builder("player.rounds.writebehind.players", buffered, Map::size)
+                .description("Players whose counters are currently held by the buffer")
+                .register(meterRegistry);
+        this.flushTimer = Timer.builder("player.rounds.writebehind.flush.duration")
+                .description("Time taken to write one batch of buffered rounds")
+                .register(meterRegistry);
+        this.flushedRoundsCounter = meterRegistry.counter("player.rounds.writebehind.flushed.total");
+        this.failedFlushCounter = meterRegistry.counter("player.rounds.writebehind.flush.failed.total");
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * @return true if contended players may be moved to the buffer.
+     */
+    public boolean acceptsHotPlayers() {
+        return hotPlayers;
+    }
+
+    /**
+     * @return true if the player's rounds must go through the buffer: in write-behind mode, or while
+     * the buffer holds rounds or counters of this player that the database does not have yet.
+     */
+    public boolean holds(Long playerId) {
+        return enabled || buffered.containsKey(playerId);
+    }
+
+    /**
+     * Buffers one round for a player and re-ranks them on the all-time leaderboard. The stored counters are read
+     * once, when the player has nothing buffered; after that the player's counters are kept here until a flush
+     * finds them idle.
+     *
+     * @return The round outcome together with the player's counters including every buffered round.
+     * @throws IllegalArgumentException if the player does not exist.
+     */
+    public RoundResultDto record(Long playerId, GameChoice playerChoice, GameChoice computerChoice) {
+        RoundOutcome outcome = RoundOutcome.of(playerChoice, computerChoice);
+        while (true) {
+            BufferedPlayer player = buffered.get(playerId);
+            if (player == null) {
+                BufferedPlayer seeded = playerRepository.findCountersById(playerId)
+                        .map(BufferedPlayer::new)
+                        .orElseThrow(() -> new IllegalArgumentException("Player not found with id: " + playerId));
+                BufferedPlayer raced = buffered.putIfAbsent(playerId, seeded);
+                player = raced != null ? raced : seeded;
+            }
+            Counters counters = player.count(outcome);
+            if (counters == null) {
+                // released by a flush or discarded meanwhile, start over from the stored counters
+                buffered.remove(playerId, player);
+                continue;
+            }
+            player.unflushed.add(new Round(playerChoice, computerChoice));
+            if (pendingRounds.incrementAndGet() >= maxPending && flushRequested.compareAndSet(false, true)) {
+                taskScheduler.schedule(this::flush, Instant.now());
+            }
+            // ignored if the player was reset after the counters were read
+            leaderboardService.updateStats(playerId, player.version, counters.playerWins, counters.totalRounds);
+            return new RoundResultDto(playerId, playerChoice, computerChoice, outcome,
+                    counters.playerScore, counters.computerScore, counters.playerWins, counters.computerWins, counters.totalRounds);
+        }
+    }
+
+    /**
+     * Drops the buffered rounds of a player whose stats are being replaced or reset.
+     * Waits for a running flush, so rounds taken by it can't land after the replacement. Call it before the
+     * replacing transaction opens: the flush needs a pooled connection of its own.
+     */
+    public void discard(Long playerId) {
+        if (buffered.isEmpty()) {
+            return;
+        }
+        flushLock.lock();
+        try {
+            BufferedPlayer dropped = buffered.remove(playerId);
+            if (dropped != null) {
+                pendingRounds.addAndGet(-dropped.close());
+            }
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    /**
+     * Writes every buffered round to the database, {@code batch-size} players per transaction.
+     * A batch that fails is put back in front of any rounds buffered since, and retried on the next flush.
+     * Players with nothing buffered since the previous flush are forgotten: that flush has committed,
+     * so the database is up to date for them again.
+     */
+    @Scheduled(fixedDelayString = "${rps.rounds.write-behind.flush-interval:200ms}")
+    public void flush() {
+        flushRequested.set(false);
+        if (buffered.isEmpty()) {
+            return;
+        }
+        flushLock.lock();
+        try {
+            final Map<Long, RoundDelta> batch = new HashMap<>();
+            final Map<Long, BufferedPlayer> players = new HashMap<>();
+            for (Map.Entry<Long, BufferedPlayer> entry : buffered.entrySet()) {
+                BufferedPlayer player = entry.getValue();
+                RoundDelta delta = player.take();
+                if (delta.getRounds() == 0) {
+                    if (player.closeIfIdle()) {
+                        buffered.remove(entry.getKey(), player);
+                    }
+                    continue;
+                }
+                batch.put(entry.getKey(), delta);
+                players.put(entry.getKey(), player);
+                if (batch.size() >= batchSize) {
+                    write(batch, players);
+                    batch.clear();
+                    players.clear();
+                }
+            }
+            if (!batch.isEmpty()) {
+                write(batch, players);
+            }
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        if (!buffered.isEmpty()) {
+            log.info("Flushing {} buffered rounds before shutdown", pendingRounds.get());
+            flush();
+        }
+    }
+
+    private void write(Map<Long, RoundDelta> batch, Map<Long, BufferedPlayer> players) {
+        int rounds = batch.values().stream().mapToInt(RoundDelta::getRounds).sum();
+        try {
+            Set<Long> missing = flushTimer.recordCallable(() -> batchWriter.apply(batch));
+            if (missing != null && !missing.isEmpty()) {
+                log.warn("Dropped buffered rounds of deleted players {}", missing);
+            }
+            pendingRounds.addAndGet(-rounds);
+            flushedRoundsCounter.increment(rounds);
+        } catch (Exception e) {
+            failedFlushCounter.increment();
+            log.error("Failed to write {} buffered rounds, will retry on next flush", rounds, e);
+            // older rounds go first on the next flush, so the move history keeps its order
+            players.forEach((playerId, player) -> player.failed = batch.get(playerId));
+        }
+    }
+
+    /**
+     * A player's counters including buffered rounds. Immutable, replaced with a compare-and-set per round.
+     */
+    private static final class Counters {
+        private final int playerScore;
+        private final int computerScore;
+        private final int playerWins;
+        private final int computerWins;
+        private final int totalRounds;
+        // rounds counted since the player was buffered, compared with the rounds taken by flushes
+        private final int rounds;
+        private final boolean closed;
+
+        private Counters(int playerScore, int computerScore, int playerWins, int computerWins, int totalRounds,
+                         int rounds, boolean closed) {
+            this.playerScore = playerScore;
+            this.computerScore = computerScore;
+            this.playerWins = playerWins;
+            this.computerWins = computerWins;
+            this.totalRounds = totalRounds;
+            this.rounds = rounds;
+            this.closed = closed;
+        }
+
+        private Counters after(RoundOutcome outcome) {
+            boolean win = outcome == RoundOutcome.WIN;
+            boolean loss = outcome == RoundOutcome.LOSS;
+            return new Counters(playerScore + (win ? 1 : 0), computerScore + (loss ? 1 : 0),
+                    playerWins + (win ? 1 : 0), computerWins + (loss ? 1 : 0), totalRounds + 1, rounds + 1, false);
+        }
+
+        private Counters closed() {
+            return new Counters(playerScore, computerScore, playerWins, computerWins, totalRounds, rounds, true);
+        }
+    }
+
+    private static final class Round {
+        private final GameChoice playerChoice;
+        private final GameChoice computerChoice;
+
+        private Round(GameChoice playerChoice, GameChoice computerChoice) {
+            this.playerChoice = playerChoice;
+            this.computerChoice = computerChoice;
+        }
+    }
+
+    /**
+     * One buffered player: counters for the responses, plus the rounds not yet taken by a flush.
+     */
+    private static final class BufferedPlayer {
+        private final AtomicReference<Counters> counters;
+        private final long version; // of the row the counters were read from
+        private final Queue<Round> unflushed = new ConcurrentLinkedQueue<>();
+        // only touched by the flush, under flushLock
+        private int taken;
+        private RoundDelta failed;
+
+        private BufferedPlayer(PlayerCountersView stored) {
+            this.counters = new AtomicReference<>(new Counters(stored.getPlayerScore(), stored.getComputerScore(),
+                    stored.getPlayerWins(), stored.getComputerWins(), stored.getTotalRounds(), 0, false));
+            this.version = stored.getVersion();
+        }
+
+        /**
+         * @return the counters including this round, or null if the player was closed and the round not counted.
+         */
+        private Counters count(RoundOutcome outcome) {
+            Counters counted = counters.updateAndGet(current -> current.closed ? current : current.after(outcome));
+            return counted.closed ? null : counted;
+        }
+
+        /**
+         * @return the failed rounds of the previous flush, if any, followed by every round queued since.
+         */
+        private RoundDelta take() {
+            RoundDelta delta = failed != null ? failed : new RoundDelta();
+            failed = null;
+            Round round;
+            while ((round = unflushed.poll()) != null) {
+                delta.record(round.playerChoice, round.computerChoice);
+                taken++;
+            }
+            return delta;
+        }
+
+        /**
+         * Closes the player if every round counted was taken by a flush, which has then written it.
+         * A round counted before the compare-and-set keeps the player open, one counted after sees it closed.
+         */
+        private boolean closeIfIdle() {
+            Counters current = counters.get();
+            return failed == null && current.rounds == taken && counters.compareAndSet(current, current.closed());
+        }
+
+        /**
+         * Closes the player unconditionally.
+         *
+         * @return the number of rounds counted but not written.
+         */
+        private int close() {
+            Counters last = counters.getAndUpdate(Counters::closed);
+            return last.rounds - taken + (failed != null ? failed.getRounds() : 0);
+        }
+    }
+}
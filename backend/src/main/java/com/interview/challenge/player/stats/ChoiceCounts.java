@@ -0,0 +1,54 @@
+package com.interview.challenge.player.stats;
+
+import com.interview.challenge.shared.GameChoice;
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.persistence.Embeddable;
+
+/**
+ * How many times each move was played, kept next to the counters so "most used" never needs the history.
+ */
+@Embeddable
+@Schema(description = "Number of times each move was played")
+public class ChoiceCounts {
+
+    @Schema(example = "3")
+    private int rock = 0;
+
+    @Schema(example = "1")
+    private int paper = 0;
+
+    @Schema(example = "0")
+    private int scissors = 0;
+
+    public ChoiceCounts() {}
+
+    public void increment(GameChoice choice) {
+        switch (choice) {
+            case ROCK -> rock++;
+            case PAPER -> paper++;
+            case SCISSORS -> scissors++;
+        }
+    }
+
+    // getters and setters
+    public int getRock() {
+        return rock;
+    }
+    public void setRock(int rock) {
+        this.rock = rock;
+    }
+
+    public int getPaper() {
+        return paper;
+    }
+    public void setPaper(int paper) {
+        this.paper = paper;
+    }
+
+    public int getScissors() {
+        return scissors;
+    }
+    public void setScissors(int scissors) {
+        this.scissors = scissors;
+    }
+}
@@ -0,0 +1,164 @@
+package com.interview.challenge.player.stats;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.interview.challenge.metrics.PlayerLoadMetrics;
+import com.interview.challenge.shared.GameChoice;
+import com.interview.challenge.shared.MoveHistory;
+import com.interview.challenge.shared.MoveHistoryConverter;
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.persistence.Column;
+import jakarta.persistence.Convert;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EntityListeners;
+import jakarta.persistence.Id;
+import jakarta.persistence.PostLoad;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.Transient;
+import jakarta.persistence.Version;
+import org.springframework.data.domain.Persistable;
+
+import java.util.List;
+
+/**
+ * A player's move history, stored in its own row keyed by the player's ID.
+ * <p>
+ * Only the round path, the strategy engine and the history endpoint load it; everything else reads the
+ * fixed-size aggregates in {@link PlayerStats}. It is deliberately not mapped as an association of
+ * {@code Player}: players are cached and served detached, where a lazy association could not be loaded.
+ * The row is created on the player's first round.
+ * <p>
+ * The row only holds the recent moves: the compaction job moves older ones out to
+ * {@link PlayerHistorySegment}s (or drops them) and counts them in {@code archivedMoves}.
+ */
+@Entity
+@EntityListeners(PlayerLoadMetrics.class) // length of every history loaded
+@Schema(description = "A player's move history, oldest first")
+public class PlayerHistory implements Persistable<Long> {
+    // 1 MB of packed moves, i.e. 4 million rounds per player
+    private static final int MAX_HISTORY_BYTES = 1_000_000;
+
+    @Id
+    @Schema(description = "ID of the player", example = "1")
+    private Long playerId;
+
+    @Schema(description = "History of player's choices (e.g., 'rock', 'paper')", example = "[\"scissors\", \"scissors\"]")
+    @Convert(converter = MoveHistoryConverter.class) // packed 2 bits per move, decoded lazily
+    @Column(length = MAX_HISTORY_BYTES)
+    private MoveHistory playerHistory = MoveHistory.empty();
+
+    @Schema(description = "History of computer's choices against this player", example = "[\"paper\", \"rock\"]")
+    @Convert(converter = MoveHistoryConverter.class)
+    @Column(length = MAX_HISTORY_BYTES)
+    private MoveHistory computerHistory = MoveHistory.empty();
+
+    @Schema(description = "Moves played before the ones listed, archived or dropped by the retention policy", example = "0")
+    private int archivedMoves = 0;
+
+    // length of the histories above, as a column so the compaction job can find the long ones
+    private int hotMoves = 0;
+
+    @Version // appends are read-modify-write too, see PlayerRoundWriter
+    private Long version;
+
+    // lets save() insert a new row right away instead of merging, which would select it first
+    @Transient
+    private boolean isNew = true;
+
+    // default constructor (required by JPA)
+    protected PlayerHistory() {}
+
+    public PlayerHistory(Long playerId) {
+        this.playerId = playerId;
+    }
+
+    /**
+     * Appends one round's moves.
+     */
+    public void append(GameChoice playerChoice, GameChoice computerChoice) {
+        playerHistory = playerHistory.append(playerChoice);
+        computerHistory = computerHistory.append(computerChoice);
+        hotMoves = playerHistory.size();
+    }
+
+    /**
+     * Appends the moves of several rounds, copying each history once.
+     */
+    public void append(RoundDelta delta) {
+        playerHistory = playerHistory.appendAll(delta.getPlayerMoves());
+        computerHistory = computerHistory.appendAll(delta.getComputerMoves());
+        hotMoves = playerHistory.size();
+    }
+
+    /**
+     * Replaces both histories, e.g. when a client uploads a player's whole stats.
+     */
+    public void replace(MoveHistory playerHistory, MoveHistory computerHistory) {
+        this.playerHistory = playerHistory;
+        this.computerHistory = computerHistory;
+        this.archivedMoves = 0;
+        this.hotMoves = playerHistory.size();
+    }
+
+    /**
+     * Removes the oldest {@code moves} moves from the row; the caller archives them first if they are to be kept.
+     */
+    public void dropOldest(int moves) {
+        playerHistory = playerHistory.last(playerHistory.size() - moves);
+        computerHistory = computerHistory.last(computerHistory.size() - moves);
+        archivedMoves += moves;
+        hotMoves = playerHistory.size();
+    }
+
+    /**
+     * @return a detached copy with the archived segments' moves put back in front, for reading only.
+     * Moves dropped without archiving stay counted in {@code archivedMoves}.
+     */
+    public PlayerHistory withArchived(List<PlayerHistorySegment> segments) {
+        PlayerHistory full = new PlayerHistory(playerId);
+        full.archivedMoves = archivedMoves;
+        for (PlayerHistorySegment segment : segments) {
+            full.playerHistory = full.playerHistory.concat(segment.getPlayerMoves());
+            full.computerHistory = full.computerHistory.concat(segment.getComputerMoves());
+            full.archivedMoves -= segment.getMoves();
+        }
+        full.playerHistory = full.playerHistory.concat(playerHistory);
+        full.computerHistory = full.computerHistory.concat(computerHistory);
+        full.hotMoves = full.playerHistory.size();
+        return full;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markNotNew() {
+        this.isNew = false;
+    }
+
+    // getters
+    public Long getPlayerId() {
+        return playerId;
+    }
+
+    public MoveHistory getPlayerHistory() {
+        return playerHistory;
+    }
+
+    public MoveHistory getComputerHistory() {
+        return computerHistory;
+    }
+
+    public int getArchivedMoves() {
+        return archivedMoves;
+    }
+
+    @Override
+    @JsonIgnore
+    public Long getId() {
+        return playerId;
+    }
+
+    @Override
+    @JsonIgnore
+    public boolean isNew() {
+        return isNew;
+    }
+}
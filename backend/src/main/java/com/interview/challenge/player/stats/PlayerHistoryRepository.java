@@ -0,0 +1,36 @@
+package com.interview.challenge.player.stats;
+
+import com.interview.challenge.shared.MoveHistory;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface PlayerHistoryRepository extends JpaRepository<PlayerHistory, Long> {
+
+    // Only the player's moves, all the strategy engine needs to seed a model
+    default Optional<MoveHistory> findPlayerMovesById(Long playerId) {
+        return findPlayerMoves(playerId).stream().findFirst();
+    }
+
+    // A list of (at most one) histories: MoveHistory is itself a List, which a single-result query would try to convert
+    @Query("select h.playerHistory from PlayerHistory h where h.playerId = :playerId")
+    List<MoveHistory> findPlayerMoves(@Param("playerId") Long playerId);
+
+    // Locked in id order, like the players of a batch; rounds touching these rows retry once the lock is released
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select h from PlayerHistory h where h.playerId in :ids order by h.playerId")
+    List<PlayerHistory> findAllByIdForUpdate(@Param("ids") Collection<Long> ids);
+
+    // Histories longer than the threshold, in id order from a cursor so the compaction job can go through them in chunks
+    @Query("select h.playerId from PlayerHistory h where h.hotMoves > :threshold and h.playerId > :afterId order by h.playerId")
+    List<Long> findIdsLongerThan(@Param("threshold") int threshold, @Param("afterId") Long afterId, Pageable page);
+}
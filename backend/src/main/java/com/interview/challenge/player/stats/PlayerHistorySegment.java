@@ -0,0 +1,121 @@
+package com.interview.challenge.player.stats;
+
+import com.interview.challenge.shared.MoveHistory;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+
+import java.io.ByteArrayOutputStream;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Older moves of a player, moved out of {@link PlayerHistory} by the compaction job and stored
+ * deflated (on top of the 2-bit packing), so they cost nothing on the round path.
+ * A player's segments, ordered by {@code firstMove}, followed by the moves still in the history
+ * row give back the whole history.
+ */
+@Entity
+@Table(indexes = @Index(name = "ix_history_segment_player", columnList = "playerId, firstMove"))
+public class PlayerHistorySegment {
+    // a segment holds at most what a history row can, deflate never grows packed moves by more than a few bytes
+    private static final int MAX_SEGMENT_BYTES = 1_000_100;
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    private Long playerId;
+
+    // position of the segment's first move in the player's whole history
+    private int firstMove;
+
+    private int moves;
+
+    @Column(length = MAX_SEGMENT_BYTES)
+    private byte[] playerMoves;
+
+    @Column(length = MAX_SEGMENT_BYTES)
+    private byte[] computerMoves;
+
+    // default constructor (required by JPA)
+    protected PlayerHistorySegment() {}
+
+    public PlayerHistorySegment(Long playerId, int firstMove, MoveHistory playerMoves, MoveHistory computerMoves) {
+        this.playerId = playerId;
+        this.firstMove = firstMove;
+        this.moves = playerMoves.size();
+        this.playerMoves = deflate(playerMoves.toBytes());
+        this.computerMoves = deflate(computerMoves.toBytes());
+    }
+
+    /**
+     * @return the stored size of the segment, both sides, in bytes.
+     */
+    public int getCompressedSize() {
+        return playerMoves.length + computerMoves.length;
+    }
+
+    // getters
+    public Long getPlayerId() {
+        return playerId;
+    }
+
+    public int getFirstMove() {
+        return firstMove;
+    }
+
+    public int getMoves() {
+        return moves;
+    }
+
+    public MoveHistory getPlayerMoves() {
+        return MoveHistory.fromBytes(inflate(playerMoves));
+    }
+
+    public MoveHistory getComputerMoves() {
+        return MoveHistory.fromBytes(inflate(computerMoves));
+    }
+
+    private static byte[] deflate(byte[] data) {
+        Deflater deflater = new Deflater(Deflater.BEST_COMPRESSION);
+        try {
+            deflater.setInput(data);
+            deflater.finish();
+            ByteArrayOutputStream out = new ByteArrayOutputStream(Math.max(64, data.length / 4));
+            byte[] buffer = new byte[8192];
+            while (!deflater.finished()) {
+                out.write(buffer, 0, deflater.deflate(buffer));
+            }
+            return out.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    private static byte[] inflate(byte[] data) {
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(data);
+            ByteArrayOutputStream out = new ByteArrayOutputStream(data.length * 4);
+            byte[] buffer = new byte[8192];
+            while (!inflater.finished()) {
+                int inflated = inflater.inflate(buffer);
+                if (inflated == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    throw new IllegalStateException("Truncated history segment");
+                }
+                out.write(buffer, 0, inflated);
+            }
+            return out.toByteArray();
+        } catch (DataFormatException e) {
+            throw new IllegalStateException("Corrupt history segment", e);
+        } finally {
+            inflater.end();
+        }
+    }
+}
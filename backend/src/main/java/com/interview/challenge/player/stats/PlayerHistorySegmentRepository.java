@@ -0,0 +1,20 @@
+package com.interview.challenge.player.stats;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface PlayerHistorySegmentRepository extends JpaRepository<PlayerHistorySegment, Long> {
+
+    List<PlayerHistorySegment> findByPlayerIdOrderByFirstMove(Long playerId);
+
+    // One statement, without loading the segments first
+    @Modifying
+    @Query("delete from PlayerHistorySegment s where s.playerId = :playerId")
+    void deleteByPlayerId(@Param("playerId") Long playerId);
+}
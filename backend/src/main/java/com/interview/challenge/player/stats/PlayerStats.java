@@ -1,16 +1,31 @@
 package com.interview.challenge.player.stats;
 
+import jakarta.persistence.AttributeOverride;
+import jakarta.persistence.Column;
 import jakarta.persistence.Embeddable;
+import jakarta.persistence.Embedded;
 import jakarta.persistence.Convert;
-import com.interview.challenge.shared.GameChoiceConverter;
+import com.interview.challenge.shared.GameChoice;
+import com.interview.challenge.shared.MoveHistory;
+import com.interview.challenge.shared.MoveHistoryConverter;
+import com.interview.challenge.shared.RoundOutcome;
+import com.interview.challenge.shared.TimeWindow;
 
-import java.util.ArrayList;
+import java.time.LocalDate;
 import java.util.List;
 import io.swagger.v3.oas.annotations.media.Schema;
 
+/**
+ * A player's counters and aggregates, all fixed-size: updated incrementally with every round, so reading
+ * them never needs the move history, which lives in {@link PlayerHistory}.
+ */
 @Embeddable // marking this class as embeddable within another entity
 @Schema(description = "Detailed game statistics for a player")
 public class PlayerStats {
+    // size of the recent window, packed 4 moves per byte
+    public static final int RECENT_MOVES = 10;
+    private static final int RECENT_MOVES_BYTES = (RECENT_MOVES + 3) / 4;
+
     // getters and setters
     @Schema(description = "The player's current score (points for wins)", example = "1")
     private int playerScore = 0;
@@ -24,20 +39,194 @@ public class PlayerStats {
     @Schema(description = "Number of rounds the computer has won against this player", example = "1")
     private int computerWins = 0;
 
-    @Schema(description = "History of player's choices (e.g., 'rock', 'paper')", example = "[\"scissors\", \"scissors\"]")
-    @Convert(converter = GameChoiceConverter.class) // Custom converter for List<GameChoice>
-    private List<String> playerHistory = new ArrayList<>(); // Store as String for simplicity or create enum/converter
+    @Schema(description = "Number of rounds that ended in a draw", example = "0")
+    private int draws = 0;
+
+    @Schema(description = "Number of times the player chose each move")
+    @Embedded
+    @AttributeOverride(name = "rock", column = @Column(name = "player_rock"))
+    @AttributeOverride(name = "paper", column = @Column(name = "player_paper"))
+    @AttributeOverride(name = "scissors", column = @Column(name = "player_scissors"))
+    private ChoiceCounts playerChoices = new ChoiceCounts();
+
+    @Schema(description = "Number of times the computer chose each move against this player")
+    @Embedded
+    @AttributeOverride(name = "rock", column = @Column(name = "computer_rock"))
+    @AttributeOverride(name = "paper", column = @Column(name = "computer_paper"))
+    @AttributeOverride(name = "scissors", column = @Column(name = "computer_scissors"))
+    private ChoiceCounts computerChoices = new ChoiceCounts();
+
+    @Schema(description = "Rounds won in a row, up to the last round", example = "1")
+    private int currentStreak = 0;
+
+    @Schema(description = "Most rounds ever won in a row", example = "1")
+    private int bestStreak = 0;
+
+    @Schema(description = "The player's last " + RECENT_MOVES + " choices, oldest first", example = "[\"scissors\", \"scissors\"]")
+    @Convert(converter = MoveHistoryConverter.class)
+    @Column(length = RECENT_MOVES_BYTES)
+    private MoveHistory recentPlayerMoves = MoveHistory.empty();
 
-    @Schema(description = "History of computer's choices against this player", example = "[\"paper\", \"rock\"]")
-    @Convert(converter = GameChoiceConverter.class)
-    private List<String> computerHistory = new ArrayList<>();
+    @Schema(description = "The computer's last " + RECENT_MOVES + " choices against this player, oldest first", example = "[\"paper\", \"rock\"]")
+    @Convert(converter = MoveHistoryConverter.class)
+    @Column(length = RECENT_MOVES_BYTES)
+    private MoveHistory recentComputerMoves = MoveHistory.empty();
 
     @Schema(description = "Total number of rounds played by this player", example = "2")
     private int totalRounds = 0;
 
+    // Wins and rounds in the current day, week and season, for the windowed leaderboards
+    @Embedded
+    @AttributeOverride(name = "bucket", column = @Column(name = "day_bucket"))
+    @AttributeOverride(name = "wins", column = @Column(name = "day_wins"))
+    @AttributeOverride(name = "rounds", column = @Column(name = "day_rounds"))
+    private WindowCounters day = new WindowCounters();
+
+    @Embedded
+    @AttributeOverride(name = "bucket", column = @Column(name = "week_bucket"))
+    @AttributeOverride(name = "wins", column = @Column(name = "week_wins"))
+    @AttributeOverride(name = "rounds", column = @Column(name = "week_rounds"))
+    private WindowCounters week = new WindowCounters();
+
+    @Embedded
+    @AttributeOverride(name = "bucket", column = @Column(name = "season_bucket"))
+    @AttributeOverride(name = "wins", column = @Column(name = "season_wins"))
+    @AttributeOverride(name = "rounds", column = @Column(name = "season_rounds"))
+    private WindowCounters season = new WindowCounters();
+
     // default constructor (required by JPA)
     public PlayerStats() {}
 
+    /**
+     * Applies one round: increments the counters and updates the aggregates and the recent window.
+     * The moves themselves are appended to the player's {@link PlayerHistory} separately.
+     *
+     * @param playerChoice The player's move.
+     * @param computerChoice The computer's move.
+     * @param day The day the round is played, for the windowed counters.
+     * @return The outcome of the round from the player's point of view.
+     */
+    public RoundOutcome recordRound(GameChoice playerChoice, GameChoice computerChoice, LocalDate day) {
+        RoundOutcome outcome = count(playerChoice, computerChoice);
+        countInWindows(day, outcome == RoundOutcome.WIN ? 1 : 0, 1);
+        recentPlayerMoves = recentPlayerMoves.append(playerChoice).last(RECENT_MOVES);
+        recentComputerMoves = recentComputerMoves.append(computerChoice).last(RECENT_MOVES);
+        return outcome;
+    }
+
+    /**
+     * Applies several rounds at once, as accumulated by a {@link RoundDelta}.
+     *
+     * @param delta The rounds to add to these stats.
+     * @param day The day the rounds are written, for the windowed counters.
+     */
+    public void apply(RoundDelta delta, LocalDate day) {
+        countInWindows(day, delta.getPlayerWins(), delta.getRounds());
+        List<GameChoice> playerMoves = delta.getPlayerMoves();
+        List<GameChoice> computerMoves = delta.getComputerMoves();
+        for (int i = 0; i < playerMoves.size(); i++) {
+            count(playerMoves.get(i), computerMoves.get(i));
+        }
+        recentPlayerMoves = appendRecent(recentPlayerMoves, playerMoves);
+        recentComputerMoves = appendRecent(recentComputerMoves, computerMoves);
+    }
+
+    /**
+     * Recomputes the aggregates from a full history, keeping the counters as they are.
+     * Used when a client replaces the stats wholesale.
+     *
+     * @param playerHistory The player's moves.
+     * @param computerHistory The computer's moves, paired with the player's by position.
+     */
+    public void recomputeAggregates(MoveHistory playerHistory, MoveHistory computerHistory) {
+        draws = 0;
+        playerChoices = new ChoiceCounts();
+        computerChoices = new ChoiceCounts();
+        currentStreak = 0;
+        bestStreak = 0;
+        int rounds = Math.min(playerHistory.size(), computerHistory.size());
+        for (int i = 0; i < rounds; i++) {
+            aggregate(playerHistory.choiceAt(i), computerHistory.choiceAt(i));
+        }
+        recentPlayerMoves = playerHistory.last(RECENT_MOVES);
+        recentComputerMoves = computerHistory.last(RECENT_MOVES);
+    }
+
+    /**
+     * Adds rounds to the current day, week and season; counters still holding an earlier period start over.
+     *
+     * @param day The day the rounds were played.
+     * @param wins How many of them the player won.
+     * @param rounds How many rounds.
+     */
+    public void countInWindows(LocalDate day, int wins, int rounds) {
+        for (TimeWindow window : TimeWindow.values()) {
+            getWindow(window).add(window.bucketOf(day), wins, rounds);
+        }
+    }
+
+    /**
+     * Keeps another stats object's windowed counters, e.g. when the other counters are replaced wholesale.
+     */
+    public void copyWindowsFrom(PlayerStats other) {
+        for (TimeWindow window : TimeWindow.values()) {
+            WindowCounters from = other.getWindow(window);
+            WindowCounters to = getWindow(window);
+            to.setBucket(from.getBucket());
+            to.setWins(from.getWins());
+            to.setRounds(from.getRounds());
+        }
+    }
+
+    /**
+     * @return The player's most recent move, or null if they have not played.
+     */
+    public GameChoice lastPlayerChoice() {
+        return recentPlayerMoves.isEmpty() ? null : recentPlayerMoves.choiceAt(recentPlayerMoves.size() - 1);
+    }
+
+    public WindowCounters getWindow(TimeWindow window) {
+        return switch (window) {
+            case DAY -> day;
+            case WEEK -> week;
+            case SEASON -> season;
+        };
+    }
+
+    private RoundOutcome count(GameChoice playerChoice, GameChoice computerChoice) {
+        RoundOutcome outcome = aggregate(playerChoice, computerChoice);
+        if (outcome == RoundOutcome.WIN) {
+            playerScore++;
+            playerWins++;
+        } else if (outcome == RoundOutcome.LOSS) {
+            computerScore++;
+            computerWins++;
+        }
+        totalRounds++;
+        return outcome;
+    }
+
+    private RoundOutcome aggregate(GameChoice playerChoice, GameChoice computerChoice) {
+        RoundOutcome outcome = RoundOutcome.of(playerChoice, computerChoice);
+        playerChoices.increment(playerChoice);
+        computerChoices.increment(computerChoice);
+        if (outcome == RoundOutcome.WIN) {
+            currentStreak++;
+            bestStreak = Math.max(bestStreak, currentStreak);
+        } else {
+            currentStreak = 0;
+            if (outcome == RoundOutcome.DRAW) {
+                draws++;
+            }
+        }
+        return outcome;
+    }
+
+    private static MoveHistory appendRecent(MoveHistory recent, List<GameChoice> moves) {
+        // only the moves that can end up in the window are copied
+        return recent.appendAll(moves.subList(Math.max(0, moves.size() - RECENT_MOVES), moves.size())).last(RECENT_MOVES);
+    }
+
     // getters and setters
     public int getPlayerScore() {
         return playerScore;
@@ -67,18 +256,53 @@ public class PlayerStats {
         this.computerWins = computerWins;
     }
 
-    public List<String> getPlayerHistory() {
-        return playerHistory;
+    public int getDraws() {
+        return draws;
+    }
+    public void setDraws(int draws) {
+        this.draws = draws;
+    }
+
+    public ChoiceCounts getPlayerChoices() {
+        return playerChoices;
+    }
+    public void setPlayerChoices(ChoiceCounts playerChoices) {
+        this.playerChoices = playerChoices;
+    }
+
+    public ChoiceCounts getComputerChoices() {
+        return computerChoices;
+    }
+    public void setComputerChoices(ChoiceCounts computerChoices) {
+        this.computerChoices = computerChoices;
+    }
+
+    public int getCurrentStreak() {
+        return currentStreak;
+    }
+    public void setCurrentStreak(int currentStreak) {
+        this.currentStreak = currentStreak;
+    }
+
+    public int getBestStreak() {
+        return bestStreak;
+    }
+    public void setBestStreak(int bestStreak) {
+        this.bestStreak = bestStreak;
+    }
+
+    public MoveHistory getRecentPlayerMoves() {
+        return recentPlayerMoves;
     }
-    public void setPlayerHistory(List<String> playerHistory) {
-        this.playerHistory = playerHistory;
+    public void setRecentPlayerMoves(List<String> recentPlayerMoves) {
+        this.recentPlayerMoves = MoveHistory.of(recentPlayerMoves).last(RECENT_MOVES);
     }
 
-    public List<String> getComputerHistory() {
-        return computerHistory;
+    public MoveHistory getRecentComputerMoves() {
+        return recentComputerMoves;
     }
-    public void setComputerHistory(List<String> computerHistory) {
-        this.computerHistory = computerHistory;
+    public void setRecentComputerMoves(List<String> recentComputerMoves) {
+        this.recentComputerMoves = MoveHistory.of(recentComputerMoves).last(RECENT_MOVES);
     }
 
     public int getTotalRounds() {
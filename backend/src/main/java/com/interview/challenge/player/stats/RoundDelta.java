@@ -0,0 +1,77 @@
+package com.interview.challenge.player.stats;
+
+import com.interview.challenge.shared.GameChoice;
+import com.interview.challenge.shared.RoundOutcome;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Rounds played by one player that are not yet in the database, accumulated as counter increments
+ * plus the moves to append. Several rounds of the same player coalesce into one delta,
+ * which is applied with {@link PlayerStats#apply} in a single update.
+ * <p>
+ * Not thread-safe: callers must confine a delta to one thread or guard it (e.g. inside
+ * {@code ConcurrentHashMap.compute}).
+ */
+public class RoundDelta {
+
+    private int rounds = 0;
+    private int playerWins = 0;
+    private int computerWins = 0;
+    private final List<GameChoice> playerMoves = new ArrayList<>();
+    private final List<GameChoice> computerMoves = new ArrayList<>();
+
+    /**
+     * Adds one round to the delta.
+     *
+     * @return The outcome of the round from the player's point of view.
+     */
+    public RoundOutcome record(GameChoice playerChoice, GameChoice computerChoice) {
+        RoundOutcome outcome = RoundOutcome.of(playerChoice, computerChoice);
+        if (outcome == RoundOutcome.WIN) {
+            playerWins++;
+        } else if (outcome == RoundOutcome.LOSS) {
+            computerWins++;
+        }
+        playerMoves.add(playerChoice);
+        computerMoves.add(computerChoice);
+        rounds++;
+        return outcome;
+    }
+
+    /**
+     * Appends the rounds of a later delta to this one.
+     *
+     * @return this delta, for use as a merge function.
+     */
+    public RoundDelta merge(RoundDelta later) {
+        rounds += later.rounds;
+        playerWins += later.playerWins;
+        computerWins += later.computerWins;
+        playerMoves.addAll(later.playerMoves);
+        computerMoves.addAll(later.computerMoves);
+        return this;
+    }
+
+    // getters
+    public int getRounds() {
+        return rounds;
+    }
+
+    public int getPlayerWins() {
+        return playerWins;
+    }
+
+    public int getComputerWins() {
+        return computerWins;
+    }
+
+    public List<GameChoice> getPlayerMoves() {
+        return playerMoves;
+    }
+
+    public List<GameChoice> getComputerMoves() {
+        return computerMoves;
+    }
+}
@@ -0,0 +1,64 @@
+package com.interview.challenge.player.stats;
+
+import com.interview.challenge.shared.TimeWindow;
+import jakarta.persistence.Embeddable;
+
+/**
+ * A player's wins and rounds in the current period of one {@link TimeWindow}, stamped with that period's bucket.
+ * Rolling over costs nothing: the first round of a new period resets the counters, and until then
+ * readers asking for a later bucket get zero.
+ */
+@Embeddable
+public class WindowCounters {
+
+    private int bucket = 0;
+    private int wins = 0;
+    private int rounds = 0;
+
+    public WindowCounters() {}
+
+    /**
+     * Adds rounds played during {@code bucket}, starting over if the counters belong to an earlier one.
+     */
+    public void add(int bucket, int wins, int rounds) {
+        if (bucket > this.bucket) {
+            this.bucket = bucket;
+            this.wins = 0;
+            this.rounds = 0;
+        } else if (bucket < this.bucket) {
+            return; // a late write for a period already over
+        }
+        this.wins += wins;
+        this.rounds += rounds;
+    }
+
+    public int winsIn(int bucket) {
+        return bucket == this.bucket ? wins : 0;
+    }
+
+    public int roundsIn(int bucket) {
+        return bucket == this.bucket ? rounds : 0;
+    }
+
+    // getters and setters
+    public int getBucket() {
+        return bucket;
+    }
+    public void setBucket(int bucket) {
+        this.bucket = bucket;
+    }
+
+    public int getWins() {
+        return wins;
+    }
+    public void setWins(int wins) {
+        this.wins = wins;
+    }
+
+    public int getRounds() {
+        return rounds;
+    }
+    public void setRounds(int rounds) {
+        this.rounds = rounds;
+    }
+}
@@ -0,0 +1,21 @@
+package com.interview.challenge.player.strategy;
+
+import com.interview.challenge.shared.GameChoice;
+
+/**
+ * Picks the computer's move for a round, from what has been learned about the player so far.
+ * Implementations must run in constant time per round and must not modify the model.
+ */
+public interface ComputerStrategy {
+
+    /**
+     * @return the name clients use to select this strategy, e.g. "markov-2".
+     */
+    String getName();
+
+    /**
+     * @param model The player's model, locked by the caller, not yet updated with this round's move.
+     * @return The computer's move.
+     */
+    GameChoice chooseMove(OpponentModel model);
+}
@@ -0,0 +1,19 @@
+package com.interview.challenge.player.strategy;
+
+import com.interview.challenge.shared.GameChoice;
+
+/**
+ * Beats the move the player has played most often.
+ */
+public class FrequencyStrategy extends PredictingStrategy {
+
+    @Override
+    public String getName() {
+        return "frequency";
+    }
+
+    @Override
+    public GameChoice predictPlayerMove(OpponentModel model) {
+        return model.mostFrequent();
+    }
+}
@@ -0,0 +1,30 @@
+package com.interview.challenge.player.strategy;
+
+import com.interview.challenge.shared.GameChoice;
+
+/**
+ * Order-k Markov chain: beats the move the player most often played after their last k moves.
+ * Falls back to the most frequent move while the current sequence has not been seen before.
+ */
+public class MarkovStrategy extends PredictingStrategy {
+
+    private final int order;
+
+    public MarkovStrategy(int order) {
+        if (order < 1 || order > OpponentModel.MAX_ORDER) {
+            throw new IllegalArgumentException("Markov order must be between 1 and " + OpponentModel.MAX_ORDER);
+        }
+        this.order = order;
+    }
+
+    @Override
+    public String getName() {
+        return "markov-" + order;
+    }
+
+    @Override
+    public GameChoice predictPlayerMove(OpponentModel model) {
+        GameChoice prediction = model.mostLikelyAfterRecent(order);
+        return prediction != null ? prediction : model.mostFrequent();
+    }
+}
@@ -0,0 +1,60 @@
+package com.interview.challenge.player.strategy;
+
+import com.interview.challenge.shared.GameChoice;
+import com.interview.challenge.shared.RoundOutcome;
+
+import java.util.List;
+
+/**
+ * Follows whichever expert strategy has recently been best against this player.
+ * <p>
+ * After every round each expert is scored on the move it would have played (+1 win, -1 loss),
+ * with older rounds decayed, so the selector adapts when the player changes style. While no expert
+ * has a positive score the computer plays randomly, so it can't be exploited by a player who
+ * anticipates the predictions.
+ */
+public class MixtureOfExpertsStrategy implements ComputerStrategy {
+
+    private final List<PredictingStrategy> experts;
+    private final double decay;
+
+    public MixtureOfExpertsStrategy(List<PredictingStrategy> experts, double decay) {
+        this.experts = List.copyOf(experts);
+        this.decay = decay;
+    }
+
+    @Override
+    public String getName() {
+        return "mixture";
+    }
+
+    @Override
+    public GameChoice chooseMove(OpponentModel model) {
+        double[] scores = model.expertScores(experts.size());
+        int best = -1;
+        for (int i = 0; i < scores.length; i++) {
+            if (scores[i] > 0 && (best < 0 || scores[i] > scores[best])) {
+                best = i;
+            }
+        }
+        return best < 0 ? PredictingStrategy.randomMove() : experts.get(best).chooseMove(model);
+    }
+
+    /**
+     * Scores every expert on the round just played. Must be called before the model records the move.
+     *
+     * @param model The player's model, locked by the caller.
+     * @param playerChoice The move the player actually played.
+     */
+    public void observe(OpponentModel model, GameChoice playerChoice) {
+        double[] scores = model.expertScores(experts.size());
+        for (int i = 0; i < scores.length; i++) {
+            GameChoice prediction = experts.get(i).predictPlayerMove(model);
+            scores[i] *= decay;
+            if (prediction != null) {
+                RoundOutcome outcome = RoundOutcome.of(prediction.counter(), playerChoice);
+                scores[i] += outcome == RoundOutcome.WIN ? 1 : outcome == RoundOutcome.LOSS ? -1 : 0;
+            }
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package com.interview.challenge.player.strategy;
+
+import com.interview.challenge.shared.GameChoice;
+import com.interview.challenge.shared.MoveHistory;
+
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * What the computer has learned about one player: how often each move was played, and for each
+ * order k up to {@link #MAX_ORDER} how often each move followed each sequence of k moves.
+ * <p>
+ * Updated in O(MAX_ORDER) per round by {@link #record(GameChoice)}, so strategies never rescan
+ * the player's history. Callers hold {@link #lock()} while reading and updating.
+ */
+public class OpponentModel {
+
+    public static final int MAX_ORDER = 3;
+
+    private static final GameChoice[] CHOICES = GameChoice.values();
+    // 3^k, the number of distinct sequences of k moves
+    private static final int[] CONTEXTS = {1, 3, 9, 27};
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final int[] frequency = new int[3];
+    // transitions[k - 1][context * 3 + next], where context encodes the last k moves in base 3
+    private final int[][] transitions = new int[MAX_ORDER][];
+    // last MAX_ORDER moves in base 3, most recent in the lowest digit
+    private int recent = 0;
+    private int observed = 0;
+    // per-expert scores kept by MixtureOfExpertsStrategy
+    private double[] expertScores = new double[0];
+
+    public OpponentModel() {
+        for (int k = 1; k <= MAX_ORDER; k++) {
+            transitions[k - 1] = new int[CONTEXTS[k] * 3];
+        }
+    }
+
+    /**
+     * Builds a model from a stored history, in one pass. Only used the first time a player is seen.
+     */
+    public static OpponentModel seededFrom(MoveHistory history) {
+        OpponentModel model = new OpponentModel();
+        for (int i = 0; i < history.size(); i++) {
+            model.record(history.choiceAt(i));
+        }
+        return model;
+    }
+
+    public ReentrantLock lock() {
+        return lock;
+    }
+
+    /**
+     * Adds the player's latest move to the frequency and transition tables.
+     */
+    public void record(GameChoice move) {
+        int next = move.ordinal();
+        frequency[next]++;
+        for (int k = 1; k <= Math.min(observed, MAX_ORDER); k++) {
+            transitions[k - 1][(recent % CONTEXTS[k]) * 3 + next]++;
+        }
+        recent = (recent * 3 + next) % CONTEXTS[MAX_ORDER];
+        observed++;
+    }
+
+    /**
+     * @return the player's most played move, or null before the first round.
+     */
+    public GameChoice mostFrequent() {
+        return argMax(frequency, 0);
+    }
+
+    /**
+     * @return the move that most often followed the player's last {@code order} moves,
+     * or null if that sequence has not been seen followed by anything yet.
+     */
+    public GameChoice mostLikelyAfterRecent(int order) {
+        if (order < 1 || order > MAX_ORDER) {
+            throw new IllegalArgumentException("Markov order must be between 1 and " + MAX_ORDER);
+        }
+        if (observed < order) {
+            return null;
+        }
+        return argMax(transitions[order - 1], (recent % CONTEXTS[order]) * 3);
+    }
+
+    public int getObserved() {
+        return observed;
+    }
+
+    double[] expertScores(int experts) {
+        if (expertScores.length != experts) {
+            expertScores = new double[experts];
+        }
+        return expertScores;
+    }
+
+    // first maximum wins ties, so predictions are deterministic
+    private static GameChoice argMax(int[] counts, int offset) {
+        int best = -1;
+        int bestCount = 0;
+        for (int i = 0; i < 3; i++) {
+            if (counts[offset + i] > bestCount) {
+                best = i;
+                bestCount = counts[offset + i];
+            }
+        }
+        return best < 0 ? null : CHOICES[best];
+    }
+}
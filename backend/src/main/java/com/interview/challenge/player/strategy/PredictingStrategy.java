@@ -0,0 +1,29 @@
+package com.interview.challenge.player.strategy;
+
+import com.interview.challenge.shared.GameChoice;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Strategy that predicts the player's next move and plays the move that beats it,
+ * falling back to a random move when it has nothing to go on.
+ */
+public abstract class PredictingStrategy implements ComputerStrategy {
+
+    private static final GameChoice[] CHOICES = GameChoice.values();
+
+    /**
+     * @return the player's most likely next move, or null if there is no basis for a prediction.
+     */
+    public abstract GameChoice predictPlayerMove(OpponentModel model);
+
+    @Override
+    public GameChoice chooseMove(OpponentModel model) {
+        GameChoice prediction = predictPlayerMove(model);
+        return prediction != null ? prediction.counter() : randomMove();
+    }
+
+    static GameChoice randomMove() {
+        return CHOICES[ThreadLocalRandom.current().nextInt(CHOICES.length)];
+    }
+}
@@ -0,0 +1,19 @@
+package com.interview.challenge.player.strategy;
+
+import com.interview.challenge.shared.GameChoice;
+
+/**
+ * Uniformly random moves, the unexploitable baseline (and the game's original behaviour).
+ */
+public class RandomStrategy implements ComputerStrategy {
+
+    @Override
+    public String getName() {
+        return "random";
+    }
+
+    @Override
+    public GameChoice chooseMove(OpponentModel model) {
+        return PredictingStrategy.randomMove();
+    }
+}
@@ -0,0 +1,129 @@
+package com.interview.challenge.player.strategy;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.interview.challenge.shared.GameChoice;
+import com.interview.challenge.shared.MoveHistory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Supplier;
+
+/**
+ * Plays the computer's side of a round with one of the available {@link ComputerStrategy strategies}:
+ * random, frequency, markov-1..3 and mixture.
+ * <p>
+ * Each player's {@link OpponentModel} is built from their stored history the first time they play
+ * after startup (or after being evicted) and updated incrementally afterwards, so a round costs
+ * constant time whatever the length of the history.
+ */
+@Service
+public class StrategyEngine {
+
+    private final Map<String, ComputerStrategy> strategies = new LinkedHashMap<>();
+    private final MixtureOfExpertsStrategy mixture;
+    private final ComputerStrategy defaultStrategy;
+    private final Cache<Long, OpponentModel> models;
+
+    public StrategyEngine(@Value("${rps.strategy.default:random}") String defaultStrategy,
+                          @Value("${rps.strategy.mixture-decay:0.9}") double mixtureDecay,
+                          @Value("${rps.strategy.max-models:100000}") long maxModels,
+                          @Value("${rps.strategy.model-idle-timeout:30m}") Duration modelIdleTimeout) {
+        List<PredictingStrategy> experts = List.of(
+                new FrequencyStrategy(), new MarkovStrategy(1), new MarkovStrategy(2), new MarkovStrategy(3));
+        this.mixture = new MixtureOfExpertsStrategy(experts, mixtureDecay);
+
+        register(new RandomStrategy());
+        experts.forEach(this::register);
+        register(mixture);
+
+        this.defaultStrategy = strategies.get(defaultStrategy);
+        if (this.defaultStrategy == null) {
+            throw new IllegalArgumentException("Unknown default strategy '" + defaultStrategy + "', expected one of " + getStrategyNames());
+        }
+        this.models = Caffeine.newBuilder()
+                .maximumSize(maxModels)
+                .expireAfterAccess(modelIdleTimeout)
+                .build();
+    }
+
+    public Set<String> getStrategyNames() {
+        return strategies.keySet();
+    }
+
+    public boolean supports(String strategyName) {
+        return strategyName == null || strategies.containsKey(strategyName);
+    }
+
+    /**
+     * @return the strategy with the given name, or the default strategy if the name is null.
+     * @throws IllegalArgumentException if no strategy has that name.
+     */
+    public ComputerStrategy getStrategy(String strategyName) {
+        if (strategyName == null) {
+            return defaultStrategy;
+        }
+        ComputerStrategy strategy = strategies.get(strategyName);
+        if (strategy == null) {
+            throw new IllegalArgumentException("Unknown strategy '" + strategyName + "', expected one of " + getStrategyNames());
+        }
+        return strategy;
+    }
+
+    /**
+     * Picks the computer's move. The player's move is not known to the model until {@link #learn} is called.
+     *
+     * @param playerId The ID of the player.
+     * @param strategy The strategy to play with.
+     * @param storedHistory The player's stored move history, only read if the player has no model yet.
+     * @return The computer's move.
+     */
+    public GameChoice choose(Long playerId, ComputerStrategy strategy, Supplier<MoveHistory> storedHistory) {
+        OpponentModel model = models.getIfPresent(playerId);
+        if (model == null) {
+            // seeded outside the cache's compute, so loading the history never blocks other players
+            OpponentModel seeded = OpponentModel.seededFrom(storedHistory.get());
+            model = models.get(playerId, id -> seeded);
+        }
+        model.lock().lock();
+        try {
+            return strategy.chooseMove(model);
+        } finally {
+            model.lock().unlock();
+        }
+    }
+
+    /**
+     * Learns from the player's move once their round has been recorded, so a round that failed is never learned.
+     * A player without a model is skipped: their model is seeded from the stored history, this round included.
+     */
+    public void learn(Long playerId, GameChoice playerChoice) {
+        OpponentModel model = models.getIfPresent(playerId);
+        if (model == null) {
+            return;
+        }
+        model.lock().lock();
+        try {
+            mixture.observe(model, playerChoice);
+            model.record(playerChoice);
+        } finally {
+            model.lock().unlock();
+        }
+    }
+
+    /**
+     * Forgets what was learned about a player, e.g. after their stats were reset or replaced.
+     */
+    public void forget(Long playerId) {
+        models.invalidate(playerId);
+    }
+
+    private void register(ComputerStrategy strategy) {
+        strategies.put(strategy.getName(), strategy);
+    }
+}
@@ -0,0 +1,87 @@
+package com.interview.challenge.ratelimit;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tells whether the database is overloaded, from how long requests wait for a pooled connection: the mean of
+ * HikariCP's {@code hikaricp.connections.acquire} timer over the last {@code rps.admission.sample-interval},
+ * or, when no connection was handed out at all while requests are waiting for one, as long as that sample.
+ * Above {@code rps.admission.max-pool-wait}, {@link RateLimitFilter} turns away the requests that need a connection
+ * until a later sample is back under it, while requests served from memory (leaderboards) carry on.
+ * The state is exported as {@code admission.shedding} (1 while shedding) and {@code admission.pool.wait}.
+ */
+@Component
+public class LoadShedder {
+
+    static final String ACQUIRE_TIMER = "hikaricp.connections.acquire";
+    static final String PENDING_GAUGE = "hikaricp.connections.pending";
+
+    private static final Logger log = LoggerFactory.getLogger(LoadShedder.class);
+
+    private final MeterRegistry meterRegistry;
+    private final long maxWaitNanos;
+    private final long sampleNanos;
+
+    // only written by sample(), which the scheduler runs on one thread at a time
+    private long lastCount;
+    private double lastTotalNanos;
+    private volatile double meanWaitNanos;
+    private volatile boolean shedding;
+
+    @Autowired
+    public LoadShedder(MeterRegistry meterRegistry,
+                       @Value("${rps.admission.max-pool-wait:50ms}") Duration maxWait,
+                       @Value("${rps.admission.sample-interval:1s}") Duration sampleInterval) {
+        this.meterRegistry = meterRegistry;
+        this.maxWaitNanos = maxWait.toNanos();
+        this.sampleNanos = sampleInterval.toNanos();
+        Gauge.builder("admission.shedding", () -> shedding ? 1 : 0)
+                .description("1 while requests needing a database connection are turned away")
+                .register(meterRegistry);
+        Gauge.builder("admission.pool.wait", () -> meanWaitNanos / 1e9)
+                .description("Mean wait for a pooled database connection over the last sample")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+    }
+
+    public boolean isShedding() {
+        return shedding;
+    }
+
+    @Scheduled(fixedDelayString = "${rps.admission.sample-interval:1s}")
+    public void sample() {
+        Timer acquire = meterRegistry.find(ACQUIRE_TIMER).timer();
+        if (acquire == null) {
+            return; // no pool, or not created yet
+        }
+        long count = acquire.count();
+        double totalNanos = acquire.totalTime(TimeUnit.NANOSECONDS);
+        if (count > lastCount) {
+            meanWaitNanos = (totalNanos - lastTotalNanos) / (count - lastCount);
+        } else {
+            Gauge pending = meterRegistry.find(PENDING_GAUGE).gauge();
+            meanWaitNanos = pending != null && pending.value() > 0 ? sampleNanos : 0;
+        }
+        lastCount = count;
+        lastTotalNanos = totalNanos;
+
+        boolean overloaded = meanWaitNanos > maxWaitNanos;
+        if (overloaded != shedding) {
+            log.warn(overloaded
+                    ? "Mean wait for a database connection is {} ms, turning away requests that need one"
+                    : "Mean wait for a database connection is back to {} ms, accepting all requests", meanWaitNanos / 1e6);
+        }
+        shedding = overloaded;
+    }
+}
@@ -0,0 +1,156 @@
+package com.interview.challenge.ratelimit;
+
+import com.interview.challenge.cluster.ClusterClient;
+import com.interview.challenge.cluster.ClusterTopology;
+import com.interview.challenge.ratelimit.RateLimiter.Cost;
+import com.interview.challenge.ratelimit.RateLimiter.Scope;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Admission control in front of the API ({@code rps.ratelimit.enabled}). Each request is charged to its client
+ * and, for {@code /api/players/{id}/...}, to that player, against the cheap or the expensive budget of
+ * {@link RateLimiter}; over budget it is answered 429 with a {@code Retry-After} in seconds. While
+ * {@link LoadShedder} reports the database overloaded, requests that need a connection get 429 as well.
+ * <p>
+ * The client is the remote address, or {@code rps.ratelimit.client-header} when the application runs behind a
+ * proxy that sets it (X-Real-IP with the bundled nginx). In a cluster, requests forwarded by another node were
+ * admitted there and pass; the edge proxy must drop that header from client requests, as the bundled nginx does.
+ * Rejections are counted as {@code http.server.rejected}, tagged with the {@code reason} (rate-limit or overload),
+ * the {@code scope} whose budget ran out (client, player or none) and the {@code cost}.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 10) // before forwarding to another node, and before any work on the request
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    // First match wins. Expensive: work or payload grows with the number of players or moves
+    private static final List<Rule> RULES = List.of(
+            new Rule("OPTIONS", "/api/.*", null, false), // CORS preflight, answered without reaching a controller
+            new Rule("GET", "/api/players/leaderboard-stream", null, false), // one long-lived request per client
+            new Rule("GET", "/api/players/leaderboard-stats", Cost.EXPENSIVE, false),
+            new Rule("GET", "/api/players/\\d+/leaderboard-position", Cost.EXPENSIVE, false),
+            new Rule("GET", "/api/players/\\d+/rank", Cost.CHEAP, false),
+            new Rule("GET", "/api/analytics/.*", Cost.CHEAP, false),
+            new Rule("GET", "/api/players", Cost.EXPENSIVE, true),
+            new Rule("GET", "/api/players/export", Cost.EXPENSIVE, true),
+            new Rule("POST", "/api/players/import", Cost.EXPENSIVE, true),
+            new Rule("PUT", "/api/players/\\d+/(stats|reset-stats)", Cost.EXPENSIVE, true),
+            new Rule("POST", "/api/players/rounds/bulk", Cost.EXPENSIVE, true),
+            new Rule(null, "/api/.*", Cost.CHEAP, true));
+
+    private static final Pattern PLAYER_PATH = Pattern.compile("^/api/players/(\\d{1,18})(/.*)?$");
+
+    private final RateLimiter rateLimiter;
+    private final LoadShedder loadShedder;
+    private final MeterRegistry meterRegistry;
+    private final ClusterTopology topology;
+    private final boolean enabled;
+    private final String clientHeader;
+
+    @Autowired
+    public RateLimitFilter(RateLimiter rateLimiter, LoadShedder loadShedder, MeterRegistry meterRegistry,
+                           ClusterTopology topology,
+                           @Value("${rps.ratelimit.enabled:true}") boolean enabled,
+                           @Value("${rps.ratelimit.client-header:}") String clientHeader) {
+        this.rateLimiter = rateLimiter;
+        this.loadShedder = loadShedder;
+        this.meterRegistry = meterRegistry;
+        this.topology = topology;
+        this.enabled = enabled;
+        this.clientHeader = clientHeader;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !enabled || !request.getRequestURI().startsWith("/api/")
+                || (topology.isClustered() && request.getHeader(ClusterClient.FORWARDED_HEADER) != null);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        Rule rule = match(request);
+        if (rule == null || rule.cost == null) {
+            chain.doFilter(request, response);
+            return;
+        }
+        if (rule.usesDatabase && loadShedder.isShedding()) {
+            reject(response, "overload", "none", rule.cost, TimeUnit.SECONDS.toNanos(1));
+            return;
+        }
+        long wait = rateLimiter.tryAcquire(Scope.CLIENT, rule.cost, client(request));
+        if (wait > 0) {
+            reject(response, "rate-limit", "client", rule.cost, wait);
+            return;
+        }
+        Matcher player = PLAYER_PATH.matcher(request.getRequestURI());
+        if (player.matches()) {
+            wait = rateLimiter.tryAcquire(Scope.PLAYER, rule.cost, player.group(1));
+            if (wait > 0) {
+                reject(response, "rate-limit", "player", rule.cost, wait);
+                return;
+            }
+        }
+        chain.doFilter(request, response);
+    }
+
+    private String client(HttpServletRequest request) {
+        String client = clientHeader.isEmpty() ? null : request.getHeader(clientHeader);
+        return client != null && !client.isBlank() ? client.trim() : request.getRemoteAddr();
+    }
+
+    private void reject(HttpServletResponse response, String reason, String scope, Cost cost, long waitNanos) {
+        Counter.builder("http.server.rejected")
+                .description("API requests turned away before being handled")
+                .tag("reason", reason)
+                .tag("scope", scope)
+                .tag("cost", cost.name().toLowerCase())
+                .register(meterRegistry)
+                .increment();
+        long seconds = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + TimeUnit.SECONDS.toNanos(1) - 1));
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(seconds));
+    }
+
+    private static Rule match(HttpServletRequest request) {
+        for (Rule rule : RULES) {
+            if ((rule.method == null || rule.method.equals(request.getMethod()))
+                    && rule.path.matcher(request.getRequestURI()).matches()) {
+                return rule;
+            }
+        }
+        return null;
+    }
+
+    private static final class Rule {
+        private final String method;
+        private final Pattern path;
+        private final Cost cost; // null: not limited
+        private final boolean usesDatabase;
+
+        private Rule(String method, String path, Cost cost, boolean usesDatabase) {
+            this.method = method;
+            this.path = Pattern.compile(path);
+            this.cost = cost;
+            this.usesDatabase = usesDatabase;
+        }
+    }
+}
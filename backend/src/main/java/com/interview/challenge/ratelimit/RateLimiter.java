@@ -0,0 +1,93 @@
+package com.interview.challenge.ratelimit;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Request budgets, one {@link TokenBucket} per key: each client and each player has a budget for cheap requests
+ * and one for expensive requests ({@code rps.ratelimit.<scope>.<cost>.rate} per second, up to {@code burst}
+ * at once). Buckets live in a bounded cache ({@code rps.ratelimit.max-keys}, exported as {@code cache=rate-limits})
+ * and expire once unused long enough to have refilled, when they are no different from a new one.
+ */
+@Component
+public class RateLimiter {
+
+    public enum Scope { CLIENT, PLAYER }
+
+    public enum Cost { CHEAP, EXPENSIVE }
+
+    private final Clock clock;
+    private final Map<Scope, Map<Cost, Budget>> budgets = new EnumMap<>(Scope.class);
+    private final Cache<String, TokenBucket> buckets;
+
+    @Autowired
+    public RateLimiter(Clock clock, MeterRegistry meterRegistry,
+                       @Value("${rps.ratelimit.client.cheap.rate:100}") double clientCheapRate,
+                       @Value("${rps.ratelimit.client.cheap.burst:200}") int clientCheapBurst,
+                       @Value("${rps.ratelimit.client.expensive.rate:10}") double clientExpensiveRate,
+                       @Value("${rps.ratelimit.client.expensive.burst:30}") int clientExpensiveBurst,
+                       @Value("${rps.ratelimit.player.cheap.rate:20}") double playerCheapRate,
+                       @Value("${rps.ratelimit.player.cheap.burst:100}") int playerCheapBurst,
+                       @Value("${rps.ratelimit.player.expensive.rate:2}") double playerExpensiveRate,
+                       @Value("${rps.ratelimit.player.expensive.burst:10}") int playerExpensiveBurst,
+                       @Value("${rps.ratelimit.max-keys:100000}") long maxKeys) {
+        this.clock = clock;
+        budget(Scope.CLIENT, Cost.CHEAP, clientCheapRate, clientCheapBurst);
+        budget(Scope.CLIENT, Cost.EXPENSIVE, clientExpensiveRate, clientExpensiveBurst);
+        budget(Scope.PLAYER, Cost.CHEAP, playerCheapRate, playerCheapBurst);
+        budget(Scope.PLAYER, Cost.EXPENSIVE, playerExpensiveRate, playerExpensiveBurst);
+        long refillNanos = budgets.values().stream()
+                .flatMap(byCost -> byCost.values().stream())
+                .mapToLong(budget -> budget.interval * budget.burst)
+                .max().orElse(0);
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(maxKeys)
+                .expireAfterAccess(Duration.ofNanos(refillNanos).plusSeconds(1))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, buckets, "rate-limits");
+    }
+
+    /**
+     * Takes one request from a budget.
+     *
+     * @param key The client or the player the request is counted against.
+     * @return Zero if the request is within budget, otherwise how long until it would be, in nanoseconds.
+     */
+    public long tryAcquire(Scope scope, Cost cost, String key) {
+        Budget budget = budgets.get(scope).get(cost);
+        TokenBucket bucket = buckets.get(scope.ordinal() + ":" + cost.ordinal() + ":" + key, ignored -> new TokenBucket());
+        Instant now = clock.instant();
+        return bucket.tryTake(now.getEpochSecond() * 1_000_000_000L + now.getNano(), budget.interval, budget.burst);
+    }
+
+    private void budget(Scope scope, Cost cost, double rate, int burst) {
+        if (rate <= 0 || burst < 1) {
+            throw new IllegalStateException("rps.ratelimit." + scope.name().toLowerCase() + "." + cost.name().toLowerCase()
+                    + " needs a positive rate and a burst of at least 1");
+        }
+        budgets.computeIfAbsent(scope, ignored -> new EnumMap<>(Cost.class))
+                .put(cost, new Budget((long) (1_000_000_000L / rate), burst));
+    }
+
+    private static final class Budget {
+        private final long interval;
+        private final int burst;
+
+        private Budget(long interval, int burst) {
+            this.interval = interval;
+            this.burst = burst;
+        }
+    }
+}
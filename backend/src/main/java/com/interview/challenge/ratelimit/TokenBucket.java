@@ -0,0 +1,37 @@
+package com.interview.challenge.ratelimit;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A token bucket kept as one timestamp (the generic cell rate algorithm): the time at which the bucket would be full
+ * again. Taking a token pushes it one interval later; a request is refused while it is more than a burst of
+ * intervals ahead of now. Lock-free: a request is one read and one compare-and-set, retried only when another
+ * request for the same key won the race.
+ */
+final class TokenBucket {
+
+    // when every token taken so far will have been refilled, in nanoseconds
+    private final AtomicLong fullAt = new AtomicLong(Long.MIN_VALUE);
+
+    /**
+     * Takes a token if there is one.
+     *
+     * @param now The current time, in nanoseconds.
+     * @param interval Nanoseconds to refill one token, i.e. 1 / rate.
+     * @param burst How many tokens the bucket holds.
+     * @return 0 if a token was taken, otherwise how many nanoseconds until there is one.
+     */
+    long tryTake(long now, long interval, int burst) {
+        long tolerance = interval * (burst - 1);
+        while (true) {
+            long current = fullAt.get();
+            long start = Math.max(current, now);
+            if (start - now > tolerance) {
+                return start - now - tolerance;
+            }
+            if (fullAt.compareAndSet(current, start + interval)) {
+                return 0;
+            }
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.interview.challenge.shared;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonValue;
+
+import java.util.Locale;
+
+/**
+ * A move in Rock, Paper, Scissors. Serialized as the lowercase name ('rock', 'paper', 'scissors'),
+ * the same values the frontend and the stored move history use.
+ */
+public enum GameChoice {
+    ROCK, PAPER, SCISSORS;
+
+    private static final GameChoice[] VALUES = values();
+
+    private final String value = name().toLowerCase(Locale.ROOT);
+
+    @JsonValue
+    public String getValue() {
+        return value;
+    }
+
+    /**
+     * @return true if this choice wins against {@code other}.
+     */
+    public boolean beats(GameChoice other) {
+        // each choice beats the one declared two places after it: rock > scissors, paper > rock, scissors > paper
+        return other == VALUES[(ordinal() + 2) % 3];
+    }
+
+    /**
+     * @return the choice that wins against this one.
+     */
+    public GameChoice counter() {
+        return VALUES[(ordinal() + 1) % 3];
+    }
+
+    @JsonCreator
+    public static GameChoice fromValue(String value) {
+        if (value == null) {
+            return null;
+        }
+        for (GameChoice choice : VALUES) {
+            if (choice.value.equalsIgnoreCase(value.trim())) {
+                return choice;
+            }
+        }
+        throw new IllegalArgumentException("Unknown game choice: " + value);
+    }
+}
@@ -0,0 +1,204 @@
+package com.interview.challenge.shared;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.RandomAccess;
+
+/**
+ * Move history packed 2 bits per move (4 moves per byte), exposed as a read-only {@code List<String>}
+ * of 'rock'/'paper'/'scissors' so the JSON shape stays the same.
+ * <p>
+ * Moves are decoded lazily on access and map to the shared {@link GameChoice#getValue()} constants,
+ * so loading a player never allocates a String per move. Instances are immutable;
+ * {@link #append(GameChoice)} returns a new history.
+ */
+public final class MoveHistory extends AbstractList<String> implements RandomAccess {
+
+    private static final int MOVES_PER_BYTE = 4;
+    private static final GameChoice[] CHOICES = GameChoice.values();
+    private static final MoveHistory EMPTY = new MoveHistory(new byte[0], 0);
+
+    // code 0 marks an unused slot, so the size can be recovered from the bytes alone
+    private final byte[] packed;
+    private final int size;
+
+    private MoveHistory(byte[] packed, int size) {
+        this.packed = packed;
+        this.size = size;
+    }
+
+    public static MoveHistory empty() {
+        return EMPTY;
+    }
+
+    /**
+     * Packs a list of move names ('rock', 'paper', 'scissors').
+     *
+     * @throws IllegalArgumentException if a move is not a valid game choice.
+     */
+    public static MoveHistory of(List<String> moves) {
+        if (moves == null || moves.isEmpty()) {
+            return EMPTY;
+        }
+        if (moves instanceof MoveHistory history) {
+            return history;
+        }
+        byte[] packed = new byte[bytesFor(moves.size())];
+        int index = 0;
+        for (String move : moves) {
+            GameChoice choice = GameChoice.fromValue(move);
+            if (choice == null) {
+                throw new IllegalArgumentException("Move history can't contain null moves");
+            }
+            set(packed, index++, choice);
+        }
+        return new MoveHistory(packed, moves.size());
+    }
+
+    /**
+     * Wraps bytes produced by {@link #toBytes()} without decoding them.
+     * The array is used as is and must not be modified afterwards.
+     */
+    public static MoveHistory fromBytes(byte[] bytes) {
+        if (bytes == null || bytes.length == 0) {
+            return EMPTY;
+        }
+        int last = bytes[bytes.length - 1] & 0xFF;
+        int usedInLast = 0;
+        while (usedInLast < MOVES_PER_BYTE && ((last >>> (usedInLast * 2)) & 0b11) != 0) {
+            usedInLast++;
+        }
+        return new MoveHistory(bytes, (bytes.length - 1) * MOVES_PER_BYTE + usedInLast);
+    }
+
+    public byte[] toBytes() {
+        return packed.clone();
+    }
+
+    /**
+     * @return the move at {@code index} as an enum, without going through its String form.
+     */
+    public GameChoice choiceAt(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index " + index + " out of bounds for length " + size);
+        }
+        int code = (packed[index / MOVES_PER_BYTE] >>> ((index % MOVES_PER_BYTE) * 2)) & 0b11;
+        return CHOICES[code - 1];
+    }
+
+    /**
+     * @return a new history with {@code choice} added at the end.
+     */
+    public MoveHistory append(GameChoice choice) {
+        byte[] grown = Arrays.copyOf(packed, bytesFor(size + 1));
+        set(grown, size, choice);
+        return new MoveHistory(grown, size + 1);
+    }
+
+    /**
+     * @return a new history with all {@code choices} added at the end, copying the packed bytes once.
+     */
+    public MoveHistory appendAll(List<GameChoice> choices) {
+        if (choices.isEmpty()) {
+            return this;
+        }
+        byte[] grown = Arrays.copyOf(packed, bytesFor(size + choices.size()));
+        int index = size;
+        for (GameChoice choice : choices) {
+            set(grown, index++, choice);
+        }
+        return new MoveHistory(grown, index);
+    }
+
+    /**
+     * @return the last {@code n} moves (all of them if there are fewer), e.g. to keep a bounded recent window.
+     */
+    public MoveHistory last(int n) {
+        if (n >= size) {
+            return this;
+        }
+        if (n <= 0) {
+            return EMPTY;
+        }
+        byte[] kept = new byte[bytesFor(n)];
+        for (int i = 0; i < n; i++) {
+            set(kept, i, choiceAt(size - n + i));
+        }
+        return new MoveHistory(kept, n);
+    }
+
+    /**
+     * @return the first {@code n} moves (all of them if there are fewer).
+     */
+    public MoveHistory first(int n) {
+        if (n >= size) {
+            return this;
+        }
+        if (n <= 0) {
+            return EMPTY;
+        }
+        byte[] kept = Arrays.copyOf(packed, bytesFor(n));
+        int unused = kept.length * MOVES_PER_BYTE - n;
+        if (unused > 0) {
+            // clear the codes of the moves that were cut off in the last byte
+            kept[kept.length - 1] &= (byte) (0xFF >>> (unused * 2));
+        }
+        return new MoveHistory(kept, n);
+    }
+
+    /**
+     * @return a new history with the moves of {@code later} added at the end.
+     */
+    public MoveHistory concat(MoveHistory later) {
+        if (later.isEmpty()) {
+            return this;
+        }
+        if (isEmpty()) {
+            return later;
+        }
+        byte[] grown = Arrays.copyOf(packed, bytesFor(size + later.size));
+        for (int i = 0; i < later.size; i++) {
+            set(grown, size + i, later.choiceAt(i));
+        }
+        return new MoveHistory(grown, size + later.size);
+    }
+
+    /**
+     * @return the number of bytes the packed moves take, as stored.
+     */
+    public int packedSize() {
+        return packed.length;
+    }
+
+    @Override
+    public String get(int index) {
+        return choiceAt(index).getValue();
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (o instanceof MoveHistory other) {
+            return size == other.size && Arrays.equals(packed, other.packed);
+        }
+        return super.equals(o);
+    }
+
+    @Override
+    public int hashCode() {
+        return super.hashCode();
+    }
+
+    private static int bytesFor(int moves) {
+        return (moves + MOVES_PER_BYTE - 1) / MOVES_PER_BYTE;
+    }
+
+    private static void set(byte[] packed, int index, GameChoice choice) {
+        packed[index / MOVES_PER_BYTE] |= (byte) ((choice.ordinal() + 1) << ((index % MOVES_PER_BYTE) * 2));
+    }
+}
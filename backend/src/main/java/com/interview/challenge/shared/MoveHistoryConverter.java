@@ -0,0 +1,24 @@
+package com.interview.challenge.shared;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+/**
+ * Stores a {@link MoveHistory} as its packed bytes (2 bits per move) instead of a comma-joined string.
+ */
+@Converter
+public class MoveHistoryConverter implements AttributeConverter<MoveHistory, byte[]> {
+
+    @Override
+    public byte[] convertToDatabaseColumn(MoveHistory attribute) {
+        if (attribute == null || attribute.isEmpty()) {
+            return null;
+        }
+        return attribute.toBytes();
+    }
+
+    @Override
+    public MoveHistory convertToEntityAttribute(byte[] dbData) {
+        return MoveHistory.fromBytes(dbData);
+    }
+}
@@ -0,0 +1,24 @@
+package com.interview.challenge.shared;
+
+import com.fasterxml.jackson.annotation.JsonValue;
+
+import java.util.Locale;
+
+/**
+ * Result of a round from the player's point of view.
+ */
+public enum RoundOutcome {
+    WIN, LOSS, DRAW;
+
+    @JsonValue
+    public String getValue() {
+        return name().toLowerCase(Locale.ROOT);
+    }
+
+    public static RoundOutcome of(GameChoice playerChoice, GameChoice computerChoice) {
+        if (playerChoice == computerChoice) {
+            return DRAW;
+        }
+        return playerChoice.beats(computerChoice) ? WIN : LOSS;
+    }
+}
@@ -0,0 +1,56 @@
+package com.interview.challenge.shared;
+
+import com.fasterxml.jackson.annotation.JsonValue;
+
+import java.time.LocalDate;
+import java.time.temporal.IsoFields;
+import java.util.Locale;
+
+/**
+ * Calendar periods a leaderboard can be limited to, in UTC. Each period is numbered (its bucket) so that
+ * counters can tell in O(1) whether they still belong to the current one: a counter stamped with an older bucket
+ * has rolled over and counts as zero.
+ */
+public enum TimeWindow {
+    // epoch day
+    DAY,
+    // ISO weeks, starting on Monday, numbered from the week of 1970-01-01
+    WEEK,
+    // calendar quarters, numbered year * 4 + quarter - 1
+    SEASON;
+
+    @JsonValue
+    public String getValue() {
+        return name().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * @return The number of the period containing {@code date}; later periods have higher numbers.
+     */
+    public int bucketOf(LocalDate date) {
+        return switch (this) {
+            case DAY -> (int) date.toEpochDay();
+            case WEEK -> (int) Math.floorDiv(date.toEpochDay() + 3, 7); // 1970-01-01 was a Thursday
+            case SEASON -> date.getYear() * 4 + date.get(IsoFields.QUARTER_OF_YEAR) - 1;
+        };
+    }
+
+    /**
+     * Parses the {@code window} request parameter.
+     *
+     * @param value {@code day}, {@code week}, {@code season}, or {@code all} (or nothing) for all-time.
+     * @return The window, or null for all-time.
+     * @throws IllegalArgumentException for anything else.
+     */
+    public static TimeWindow fromParameter(String value) {
+        if (value == null || value.isBlank() || value.equalsIgnoreCase("all")) {
+            return null;
+        }
+        for (TimeWindow window : values()) {
+            if (window.getValue().equalsIgnoreCase(value.trim())) {
+                return window;
+            }
+        }
+        throw new IllegalArgumentException("Unknown leaderboard window: " + value);
+    }
+}
@@ -0,0 +1,41 @@
+package com.interview.challenge.shared;
+
+/**
+ * Wilson Score Interval (lower bound) used to rank players on the leaderboard.
+ * A player with few games and a lucky streak ranks below a player with many games
+ * and a slightly lower win rate.
+ */
+public final class WilsonScore {
+
+    // z-score for 95% confidence is approximately 1.96
+    public static final double Z_95 = 1.96;
+
+    private WilsonScore() {}
+
+    public static double lowerBound(int wins, int totalGames) {
+        return lowerBound(wins, totalGames, Z_95);
+    }
+
+    public static double lowerBound(int wins, int totalGames, double z) {
+        if (totalGames == 0) {
+            return 0.0; // If no games, score is 0.0
+        }
+
+        double p_hat = (double) wins / totalGames;
+        double z_sq = z * z;
+
+        double numerator = p_hat + (z_sq / (2 * totalGames)) -
+                z * Math.sqrt((p_hat * (1 - p_hat) / totalGames) + (z_sq / (4.0 * totalGames * totalGames)));
+        double denominator = 1 + (z_sq / totalGames);
+
+        return numerator / denominator;
+    }
+
+    /**
+     * Win percentage rounded to two decimals, as displayed on the leaderboard.
+     */
+    public static double winPercentage(int wins, int totalGames) {
+        double winPercentage = (totalGames > 0) ? ((double) wins / totalGames) * 100.0 : 0.0;
+        return Math.round(winPercentage * 100.0) / 100.0;
+    }
+}
@@ -0,0 +1,48 @@
+-- Schema as of the player/history split and history retention; Hibernate only validates it (ddl-auto=validate)
+
+create table player (
+    id bigint generated by default as identity,
+    version bigint,
+    name varchar(255),
+    icon varchar(255),
+    player_score integer,
+    computer_score integer,
+    player_wins integer,
+    computer_wins integer,
+    draws integer,
+    total_rounds integer,
+    player_rock integer,
+    player_paper integer,
+    player_scissors integer,
+    computer_rock integer,
+    computer_paper integer,
+    computer_scissors integer,
+    current_streak integer,
+    best_streak integer,
+    recent_player_moves varbinary(3),
+    recent_computer_moves varbinary(3),
+    primary key (id),
+    constraint uk_player_name unique (name)
+);
+
+create table player_history (
+    player_id bigint not null,
+    version bigint,
+    hot_moves integer not null,
+    archived_moves integer not null,
+    player_history varbinary(1000000),
+    computer_history varbinary(1000000),
+    primary key (player_id)
+);
+
+create table player_history_segment (
+    id bigint generated by default as identity,
+    player_id bigint,
+    first_move integer not null,
+    moves integer not null,
+    player_moves varbinary(1000100),
+    computer_moves varbinary(1000100),
+    primary key (id)
+);
+
+create index ix_history_segment_player on player_history_segment (player_id, first_move);
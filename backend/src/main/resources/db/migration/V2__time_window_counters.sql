@@ -0,0 +1,11 @@
+-- Wins and rounds of the current day, week and season per player, stamped with the period (bucket) they belong to
+
+alter table player add column day_bucket integer default 0 not null;
+alter table player add column day_wins integer default 0 not null;
+alter table player add column day_rounds integer default 0 not null;
+alter table player add column week_bucket integer default 0 not null;
+alter table player add column week_wins integer default 0 not null;
+alter table player add column week_rounds integer default 0 not null;
+alter table player add column season_bucket integer default 0 not null;
+alter table player add column season_wins integer default 0 not null;
+alter table player add column season_rounds integer default 0 not null;
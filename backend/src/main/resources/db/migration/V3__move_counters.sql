@@ -0,0 +1,15 @@
+-- Global move matrices (see MoveAnalytics): rounds by player and computer choice, and each player's move by their previous one
+
+create table move_counter (
+    id varchar(32) not null,
+    total bigint not null,
+    primary key (id)
+);
+
+insert into move_counter (id, total) values
+    ('rounds.rock.rock', 0), ('rounds.rock.paper', 0), ('rounds.rock.scissors', 0),
+    ('rounds.paper.rock', 0), ('rounds.paper.paper', 0), ('rounds.paper.scissors', 0),
+    ('rounds.scissors.rock', 0), ('rounds.scissors.paper', 0), ('rounds.scissors.scissors', 0),
+    ('transitions.rock.rock', 0), ('transitions.rock.paper', 0), ('transitions.rock.scissors', 0),
+    ('transitions.paper.rock', 0), ('transitions.paper.paper', 0), ('transitions.paper.scissors', 0),
+    ('transitions.scissors.rock', 0), ('transitions.scissors.paper', 0), ('transitions.scissors.scissors', 0);
@@ -0,0 +1,73 @@
+package com.interview.challenge.analytics;
+
+import com.interview.challenge.dto.ChoiceAnalyticsDto;
+import com.interview.challenge.dto.MoveAnalyticsDto;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static com.interview.challenge.shared.GameChoice.PAPER;
+import static com.interview.challenge.shared.GameChoice.ROCK;
+import static com.interview.challenge.shared.GameChoice.SCISSORS;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.when;
+
+class MoveAnalyticsTests {
+
+	private final MoveCounterRepository repository = mock(MoveCounterRepository.class);
+	private MoveAnalytics moveAnalytics;
+
+	@BeforeEach
+	void setUp() {
+		moveAnalytics = new MoveAnalytics(repository);
+	}
+
+	@Test
+	void countsOutcomesByChoiceAndTransitions() {
+		moveAnalytics.record(null, ROCK, SCISSORS); // win
+		moveAnalytics.record(ROCK, ROCK, PAPER); // loss
+		moveAnalytics.record(ROCK, List.of(PAPER, PAPER), List.of(PAPER, ROCK)); // draw, win
+
+		MoveAnalyticsDto analytics = moveAnalytics.getAnalytics();
+		assertThat(analytics.getRounds()).isEqualTo(4);
+		assertThat(analytics.getPlayerWinPercentage()).isEqualTo(50.0);
+		assertThat(analytics.getDrawPercentage()).isEqualTo(25.0);
+		assertThat(analytics.getChoices())
+				.extracting(ChoiceAnalyticsDto::getChoice, ChoiceAnalyticsDto::getPlayedByPlayers,
+						ChoiceAnalyticsDto::getPlayedByComputer, ChoiceAnalyticsDto::getWinPercentage)
+				.containsExactly(
+						tuple("rock", 2L, 1L, 50.0),
+						tuple("paper", 2L, 2L, 50.0),
+						tuple("scissors", 0L, 1L, 0.0));
+		assertThat(analytics.getOutcomes().get("rock").get("scissors")).isEqualTo(1);
+		assertThat(analytics.getTransitions().get("rock")).containsEntry("rock", 1L).containsEntry("paper", 1L);
+		assertThat(analytics.getTransitions().get("paper")).containsEntry("paper", 1L);
+	}
+
+	@Test
+	void startsFromStoredTotalsAndSavesOnlyWhatWasAdded() {
+		when(repository.findAll()).thenReturn(List.of(
+				new MoveCounter("rounds.rock.paper", 40), new MoveCounter("transitions.paper.rock", 7)));
+		moveAnalytics.load();
+		moveAnalytics.flush();
+		verify(repository, never()).increment(anyString(), anyLong());
+
+		moveAnalytics.record(PAPER, ROCK, PAPER);
+		moveAnalytics.flush();
+		moveAnalytics.flush();
+
+		assertThat(moveAnalytics.getAnalytics().getOutcomes().get("rock").get("paper")).isEqualTo(41);
+		verify(repository).increment("rounds.rock.paper", 1);
+		verify(repository).increment("transitions.paper.rock", 1);
+		verify(repository).findAll();
+		verifyNoMoreInteractions(repository);
+	}
+}
@@ -0,0 +1,202 @@
+package com.interview.challenge.leaderboard;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.interview.challenge.cluster.ClusterClient;
+import com.interview.challenge.cluster.ClusterTopology;
+import com.interview.challenge.cluster.PartitionController;
+import com.interview.challenge.cluster.RemotePlayerChangedEvent;
+import com.interview.challenge.dto.LeaderboardPlayerStatsDto;
+import com.interview.challenge.dto.LeaderboardPositionDto;
+import com.interview.challenge.player.Player;
+import com.interview.challenge.player.PlayerCache;
+import com.interview.challenge.player.PlayerRankingView;
+import com.interview.challenge.player.PlayerRepository;
+import com.interview.challenge.player.PlayerWindowsView;
+import com.interview.challenge.shared.TimeWindow;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.util.MultiValueMap;
+import org.springframework.web.util.UriComponents;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.SplittableRandom;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Stream;
+
+import static com.interview.challenge.leaderboard.LeaderboardFixtures.view;
+import static com.interview.challenge.leaderboard.LeaderboardFixtures.windowsView;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ClusterLeaderboardServiceTests {
+
+	private static final String NODES = "http://node-0:8080,http://node-1:8080,http://node-2:8080";
+	private static final int PLAYERS = 3_000;
+
+	private final Clock clock = Clock.fixed(Instant.parse("2026-10-14T12:00:00Z"), ZoneOffset.UTC);
+	// what the nodes send each other goes through JSON, as over HTTP
+	private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+	private final PlayerRepository playerRepository = mock(PlayerRepository.class);
+	private final List<Object> events = new ArrayList<>();
+	private final List<LeaderboardService> nodes = new ArrayList<>();
+	private LeaderboardService singleNode;
+	private ClusterLeaderboardService cluster;
+
+	@BeforeEach
+	void setUp() {
+		SplittableRandom random = new SplittableRandom(11);
+		List<PlayerRankingView> views = new ArrayList<>();
+		List<PlayerWindowsView> windowViews = new ArrayList<>();
+		for (long id = 1; id <= PLAYERS; id++) {
+			// few distinct records, so many players share a score and are ordered by name across partitions
+			int rounds = random.nextInt(20);
+			int wins = rounds == 0 ? 0 : random.nextInt(rounds + 1);
+			views.add(view(id, "player-" + random.nextInt(1_000_000) + "-" + id, wins, rounds));
+			if (id % 2 == 0) {
+				windowViews.add(windowsView(id, LocalDate.now(clock), wins / 2, rounds / 2 + 1));
+			}
+		}
+		when(playerRepository.streamRankingViews()).thenAnswer(invocation -> views.stream());
+		when(playerRepository.streamWindowViews(anyInt(), anyInt())).thenAnswer(invocation -> windowViews.stream());
+
+		for (int node = 0; node < 3; node++) {
+			nodes.add(service(new ClusterTopology(NODES, node)));
+		}
+		singleNode = service(ClusterTopology.singleNode());
+
+		ClusterClient clusterClient = mock(ClusterClient.class);
+		when(clusterClient.get(anyInt(), anyString(), any())).thenAnswer(invocation -> CompletableFuture.completedFuture(
+				answer(invocation.getArgument(0), invocation.getArgument(1), invocation.getArgument(2))));
+		cluster = new ClusterLeaderboardService(nodes.get(0), new ClusterTopology(NODES, 0), clusterClient);
+	}
+
+	@Test
+	void mergedPagesAreThoseOfASingleNode() {
+		assertThat(nodes).allSatisfy(node -> assertThat(node.size()).isEqualTo(PLAYERS / 3));
+
+		for (TimeWindow window : new TimeWindow[] {null, TimeWindow.DAY}) {
+			List<Long> merged = readAllPages(window, (limit, afterScore, afterName) ->
+					cluster.getPage(window, limit, afterScore, afterName));
+			List<Long> expected = readAllPages(window, (limit, afterScore, afterName) ->
+					singleNode.getPage(window, limit, afterScore, afterName));
+			assertThat(merged).hasSize(window == null ? PLAYERS : PLAYERS / 2).isEqualTo(expected);
+		}
+		assertThat(cluster.getETag(null)).isNull();
+	}
+
+	@Test
+	void positionsAndRanksAddUpAcrossPartitions() {
+		for (long id = 3; id <= PLAYERS; id += 3 * 37) {
+			for (TimeWindow window : new TimeWindow[] {null, TimeWindow.DAY}) {
+				Optional<LeaderboardPositionDto> expected = singleNode.getPosition(window, id, 3);
+				Optional<LeaderboardPositionDto> merged = cluster.getPosition(window, id, 3);
+				assertThat(merged.isPresent()).isEqualTo(expected.isPresent());
+				if (expected.isPresent()) {
+					assertThat(merged.get().getRank()).isEqualTo(expected.get().getRank());
+					assertThat(merged.get().getTotalPlayers()).isEqualTo(expected.get().getTotalPlayers());
+					assertThat(merged.get().getEntries())
+							.extracting(LeaderboardPlayerStatsDto::getId, LeaderboardPlayerStatsDto::getRank)
+							.isEqualTo(expected.get().getEntries().stream()
+									.map(entry -> tuple(entry.getId(), entry.getRank()))
+									.toList());
+				}
+				assertThat(cluster.getApproximateRank(window, id))
+						.usingRecursiveComparison()
+						.isEqualTo(singleNode.getApproximateRank(window, id));
+			}
+		}
+	}
+
+	@Test
+	void changesToAnotherNodesPlayerAreLeftToItsOwner() {
+		LeaderboardService owner = nodes.get(1);
+		Player player = new Player("player-1", "🙂");
+		player.setId(1L);
+		player.getStats().setPlayerWins(19);
+		player.getStats().setTotalRounds(19);
+
+		nodes.get(0).update(player);
+		assertThat(nodes.get(0).getEntry(null, 1L)).isNull();
+		assertThat(events).filteredOn(RemotePlayerChangedEvent.class::isInstance)
+				.extracting(event -> ((RemotePlayerChangedEvent) event).getPlayerId())
+				.containsExactly(1L);
+
+		when(playerRepository.findById(1L)).thenReturn(Optional.of(player));
+		owner.refresh(List.of(1L));
+		assertThat(owner.getTop(1)).extracting(LeaderboardPlayerStatsDto::getId).containsExactly(1L);
+		assertThat(cluster.getPage(null, 1, null, null)).extracting(LeaderboardPlayerStatsDto::getId).containsExactly(1L);
+
+		when(playerRepository.findById(1L)).thenReturn(Optional.empty());
+		owner.refresh(List.of(1L));
+		assertThat(owner.getEntry(null, 1L)).isNull();
+	}
+
+	private LeaderboardService service(ClusterTopology topology) {
+		LeaderboardService service = new LeaderboardService(playerRepository, events::add, new SimpleMeterRegistry(),
+				new LeaderboardSnapshotStore(playerRepository, false, Path.of("unused")), clock, topology);
+		service.rebuild();
+		return service;
+	}
+
+	// What the node's PartitionController answers
+	private Object answer(int node, String pathAndQuery, TypeReference<?> type) throws Exception {
+		UriComponents uri = UriComponentsBuilder.fromUriString(pathAndQuery).build();
+		MultiValueMap<String, String> query = uri.getQueryParams();
+		PartitionController partition = new PartitionController(nodes.get(node), mock(PlayerCache.class));
+		Object body = switch (uri.getPath()) {
+			case "/internal/partition/leaderboard" -> partition.getLeaderboardPage(Integer.parseInt(param(query, "limit")),
+					param(query, "afterScore") != null ? Double.valueOf(param(query, "afterScore")) : null,
+					param(query, "afterName"), param(query, "window")).getBody();
+			case "/internal/partition/position" -> partition.getPosition(Long.valueOf(param(query, "playerId")),
+					Double.parseDouble(param(query, "score")), param(query, "name"),
+					Integer.parseInt(param(query, "neighbours")), param(query, "window")).getBody();
+			case "/internal/partition/rank-counts" -> partition.getRankCounts(Double.parseDouble(param(query, "score")),
+					param(query, "window")).getBody();
+			default -> throw new IllegalArgumentException(pathAndQuery);
+		};
+		return objectMapper.readValue(objectMapper.writeValueAsBytes(body), type);
+	}
+
+	private static String param(MultiValueMap<String, String> query, String name) {
+		String value = query.getFirst(name);
+		return value != null ? URLDecoder.decode(value, StandardCharsets.UTF_8) : null;
+	}
+
+	private static List<Long> readAllPages(TimeWindow window, PageReader reader) {
+		List<Long> ids = new ArrayList<>();
+		Double afterScore = null;
+		String afterName = null;
+		List<LeaderboardPlayerStatsDto> page;
+		do {
+			page = reader.read(37, afterScore, afterName);
+			page.forEach(entry -> ids.add(entry.getId()));
+			if (!page.isEmpty()) {
+				afterScore = page.get(page.size() - 1).getScore();
+				afterName = page.get(page.size() - 1).getName();
+			}
+		} while (!page.isEmpty());
+		return ids;
+	}
+
+	private interface PageReader {
+		List<LeaderboardPlayerStatsDto> read(int limit, Double afterScore, String afterName);
+	}
+}
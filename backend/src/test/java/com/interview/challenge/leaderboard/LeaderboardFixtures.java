@@ -0,0 +1,42 @@
+package com.interview.challenge.leaderboard;
+
+import com.interview.challenge.player.PlayerRankingView;
+import com.interview.challenge.player.PlayerWindowsView;
+import com.interview.challenge.shared.TimeWindow;
+
+import java.time.LocalDate;
+
+/**
+ * Rows as the player repository returns them when the leaderboard is rebuilt.
+ */
+final class LeaderboardFixtures {
+
+	private LeaderboardFixtures() {
+	}
+
+	static PlayerRankingView view(Long id, String name, int wins, int rounds) {
+		return new PlayerRankingView() {
+			public Long getId() { return id; }
+			public String getName() { return name; }
+			public String getIcon() { return "🙂"; }
+			public int getPlayerWins() { return wins; }
+			public int getTotalRounds() { return rounds; }
+		};
+	}
+
+	// the same counters in the day, week and season containing the given day
+	static PlayerWindowsView windowsView(Long id, LocalDate day, int wins, int rounds) {
+		return new PlayerWindowsView() {
+			public Long getId() { return id; }
+			public int getDayBucket() { return TimeWindow.DAY.bucketOf(day); }
+			public int getDayWins() { return wins; }
+			public int getDayRounds() { return rounds; }
+			public int getWeekBucket() { return TimeWindow.WEEK.bucketOf(day); }
+			public int getWeekWins() { return wins; }
+			public int getWeekRounds() { return rounds; }
+			public int getSeasonBucket() { return TimeWindow.SEASON.bucketOf(day); }
+			public int getSeasonWins() { return wins; }
+			public int getSeasonRounds() { return rounds; }
+		};
+	}
+}
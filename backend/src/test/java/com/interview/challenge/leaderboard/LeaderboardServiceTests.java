@@ -0,0 +1,258 @@
+package com.interview.challenge.leaderboard;
+
+import com.interview.challenge.cluster.ClusterTopology;
+import com.interview.challenge.dto.LeaderboardPlayerStatsDto;
+import com.interview.challenge.dto.LeaderboardPositionDto;
+import com.interview.challenge.dto.LeaderboardRankDto;
+import com.interview.challenge.player.Player;
+import com.interview.challenge.player.PlayerRankingView;
+import com.interview.challenge.player.PlayerRepository;
+import com.interview.challenge.player.PlayerTableStamp;
+import com.interview.challenge.player.stats.PlayerStats;
+import com.interview.challenge.shared.MovableClock;
+import com.interview.challenge.shared.TimeWindow;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.stream.Stream;
+
+import static com.interview.challenge.leaderboard.LeaderboardFixtures.view;
+import static com.interview.challenge.leaderboard.LeaderboardFixtures.windowsView;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class LeaderboardServiceTests {
+
+	private LeaderboardService leaderboardService;
+	private final List<Long> changedPlayers = new ArrayList<>();
+	private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+	// a Wednesday: the next day is in the same week and season
+	private final MovableClock clock = new MovableClock(Instant.parse("2026-10-14T12:00:00Z"));
+
+	@BeforeEach
+	void setUp() {
+		PlayerRepository playerRepository = mock(PlayerRepository.class);
+		when(playerRepository.streamRankingViews()).thenReturn(Stream.of(
+				view(1L, "Zed", 8, 10),
+				view(2L, "Amy", 8, 10),
+				view(3L, "Bob", 1, 10)));
+		LocalDate today = LocalDate.now(clock);
+		when(playerRepository.streamWindowViews(anyInt(), anyInt())).thenReturn(Stream.of(
+				windowsView(2L, today, 3, 4)));
+		leaderboardService = new LeaderboardService(playerRepository,
+				event -> changedPlayers.add(((LeaderboardChangedEvent) event).getPlayerId()), meterRegistry,
+				new LeaderboardSnapshotStore(playerRepository, false, Path.of("unused")), clock,
+				ClusterTopology.singleNode());
+		leaderboardService.rebuild();
+	}
+
+	@Test
+	void ranksByScoreThenName() {
+		assertThat(leaderboardService.getLeaderboard())
+				.extracting(LeaderboardPlayerStatsDto::getName)
+				.containsExactly("Amy", "Zed", "Bob");
+	}
+
+	@Test
+	void updateReRanksPlayerWithoutDuplicates() {
+		leaderboardService.update(player(3L, "Bob", 90, 100));
+
+		List<LeaderboardPlayerStatsDto> leaderboard = leaderboardService.getLeaderboard();
+		assertThat(leaderboard).extracting(LeaderboardPlayerStatsDto::getName)
+				.containsExactly("Bob", "Amy", "Zed");
+		assertThat(leaderboard.get(0).getWinPercentage()).isEqualTo(90.0);
+	}
+
+	@Test
+	void topReturnsOnlyRequestedPage() {
+		assertThat(leaderboardService.getTop(2)).hasSize(2);
+		assertThat(leaderboardService.size()).isEqualTo(3);
+	}
+
+	@Test
+	void pageResumesAfterCursor() {
+		LeaderboardPlayerStatsDto first = leaderboardService.getPage(1, null, null).get(0);
+
+		assertThat(leaderboardService.getPage(10, first.getScore(), first.getName()))
+				.extracting(LeaderboardPlayerStatsDto::getName)
+				.containsExactly("Zed", "Bob");
+	}
+
+	@Test
+	void positionIncludesNeighboursWithRanks() {
+		LeaderboardPositionDto position = leaderboardService.getPosition(1L, 1).orElseThrow();
+
+		assertThat(position.getRank()).isEqualTo(2);
+		assertThat(position.getTotalPlayers()).isEqualTo(3);
+		assertThat(position.getEntries()).extracting(LeaderboardPlayerStatsDto::getRank)
+				.containsExactly(1, 2, 3);
+		assertThat(leaderboardService.getPosition(42L, 1)).isEmpty();
+	}
+
+	@Test
+	void rebuildRecordsEachPhase() {
+		assertThat(meterRegistry.get("leaderboard.rebuild.duration").timers())
+				.extracting(timer -> timer.getId().getTag("phase"))
+				.containsExactlyInAnyOrder("load", "score", "sort", "windows");
+		assertThat(meterRegistry.get("leaderboard.players").gauge().value()).isEqualTo(3.0);
+	}
+
+	@Test
+	void publishesOnlyChangesThatMoveThePlayer() {
+		leaderboardService.updateStats(3L, 0, 1, 10); // same counters, same score
+		leaderboardService.updateStats(3L, 0, 2, 11);
+		leaderboardService.remove(1L);
+
+		assertThat(changedPlayers).containsExactly(3L, 1L);
+	}
+
+	@Test
+	void roundsReadBeforeAResetAreNotRankedAfterIt() {
+		Player bob = player(3L, "Bob", 0, 0);
+		bob.setVersion(5L); // the reset's row version
+		leaderboardService.update(bob);
+
+		// a round that committed before the reset, ranked after it
+		leaderboardService.updateStats(3L, 3, 9, 11);
+		PlayerStats before = new PlayerStats();
+		before.countInWindows(LocalDate.now(clock), 2, 2);
+		leaderboardService.updateWindows(3L, 3, before);
+		assertThat(leaderboardService.getPosition(3L, 0).orElseThrow().getEntries().get(0).getGamesPlayed()).isZero();
+		assertThat(leaderboardService.getPosition(TimeWindow.DAY, 3L, 0)).isEmpty();
+
+		// a round played after the reset, then an older replacement arriving late
+		leaderboardService.updateStats(3L, 5, 1, 1);
+		Player stale = player(3L, "Bob", 9, 11);
+		stale.setVersion(4L);
+		leaderboardService.update(stale);
+		assertThat(leaderboardService.getPosition(3L, 0).orElseThrow().getEntries().get(0).getGamesPlayed()).isEqualTo(1);
+	}
+
+	@Test
+	void windowsRankOnlyTheRoundsOfTheCurrentPeriod() {
+		assertThat(leaderboardService.getPage(TimeWindow.DAY, 10, null, null))
+				.extracting(LeaderboardPlayerStatsDto::getName)
+				.containsExactly("Amy");
+
+		Player bob = player(3L, "Bob", 3, 12);
+		bob.getStats().countInWindows(LocalDate.now(clock), 2, 2);
+		leaderboardService.updateWindows(3L, 0, bob.getStats());
+
+		assertThat(leaderboardService.getPage(TimeWindow.DAY, 10, null, null))
+				.extracting(LeaderboardPlayerStatsDto::getName, LeaderboardPlayerStatsDto::getGamesPlayed)
+				.containsExactly(tuple("Bob", 2), tuple("Amy", 4));
+		assertThat(leaderboardService.getPosition(TimeWindow.WEEK, 3L, 0).orElseThrow().getTotalPlayers()).isEqualTo(2);
+		// all-time is untouched
+		assertThat(leaderboardService.getLeaderboard()).extracting(LeaderboardPlayerStatsDto::getName)
+				.containsExactly("Amy", "Zed", "Bob");
+	}
+
+	@Test
+	void windowsRollOverToAnEmptyPeriod() {
+		PlayerStats yesterday = new PlayerStats();
+		yesterday.countInWindows(LocalDate.now(clock), 1, 1);
+		clock.advance(Duration.ofDays(1));
+
+		// rounds counted on the previous day no longer rank today, but still do this week
+		leaderboardService.updateWindows(3L, 0, yesterday);
+		assertThat(leaderboardService.getPage(TimeWindow.DAY, 10, null, null)).isEmpty();
+		assertThat(leaderboardService.getPosition(TimeWindow.DAY, 2L, 0)).isEmpty();
+		assertThat(leaderboardService.getPage(TimeWindow.WEEK, 10, null, null))
+				.extracting(LeaderboardPlayerStatsDto::getName)
+				.containsExactly("Amy", "Bob");
+
+		// a reset takes the player off every window
+		leaderboardService.update(player(2L, "Amy", 0, 0));
+		assertThat(leaderboardService.getPage(TimeWindow.SEASON, 10, null, null))
+				.extracting(LeaderboardPlayerStatsDto::getName)
+				.containsExactly("Bob");
+	}
+
+	@Test
+	void approximateRankIsWithinItsErrorOfTheExactRank() {
+		SplittableRandom random = new SplittableRandom(7);
+		List<PlayerRankingView> views = new ArrayList<>();
+		for (long id = 1; id <= 20_000; id++) {
+			int rounds = random.nextInt(300);
+			views.add(view(id, "player-" + id, rounds == 0 ? 0 : random.nextInt(rounds + 1), rounds));
+		}
+		PlayerRepository playerRepository = mock(PlayerRepository.class);
+		when(playerRepository.streamRankingViews()).thenReturn(views.stream());
+		LeaderboardService service = new LeaderboardService(playerRepository, event -> {}, new SimpleMeterRegistry(),
+				new LeaderboardSnapshotStore(playerRepository, false, Path.of("unused")), clock,
+				ClusterTopology.singleNode());
+		service.rebuild();
+
+		for (long id = 1; id <= 20_000; id += 97) {
+			LeaderboardRankDto estimate = service.getApproximateRank(null, id).orElseThrow();
+			int exact = service.getPosition(id, 0).orElseThrow().getRank();
+			assertThat(Math.abs(estimate.getRank() - exact)).isLessThanOrEqualTo(estimate.getRankError());
+			assertThat(estimate.getTotalPlayers()).isEqualTo(20_000);
+		}
+		LeaderboardRankDto best = service.getApproximateRank(null, service.getTop(1).get(0).getId()).orElseThrow();
+		assertThat(best.getTopPercentage()).isLessThan(0.1);
+		assertThat(service.getApproximateRank(TimeWindow.DAY, 1L)).isEmpty();
+	}
+
+	@Test
+	void snapshotIsRestoredOnlyWhilePlayersAreUnchanged(@TempDir Path dir) {
+		PlayerRepository playerRepository = mock(PlayerRepository.class);
+		when(playerRepository.streamRankingViews()).thenReturn(Stream.of(
+				view(1L, "Zed", 8, 10),
+				view(2L, "Amy", 8, 10),
+				view(3L, "Bob", 1, 10)));
+		when(playerRepository.getTableStamp()).thenReturn(stamp(3, 3, 12));
+		LeaderboardSnapshotStore store = new LeaderboardSnapshotStore(playerRepository, true, dir.resolve("leaderboard.snapshot"));
+
+		LeaderboardService before = new LeaderboardService(playerRepository, event -> {}, new SimpleMeterRegistry(), store, clock,
+				ClusterTopology.singleNode());
+		before.rebuild();
+		before.updateStats(3L, 0, 9, 10);
+		before.saveSnapshot();
+
+		// the table is not read again, only its stamp
+		when(playerRepository.streamRankingViews()).thenReturn(Stream.empty());
+		SimpleMeterRegistry restartRegistry = new SimpleMeterRegistry();
+		LeaderboardService restarted = new LeaderboardService(playerRepository, event -> {}, restartRegistry, store, clock,
+				ClusterTopology.singleNode());
+		restarted.rebuild();
+		assertThat(restarted.getLeaderboard()).extracting(LeaderboardPlayerStatsDto::getName)
+				.containsExactly("Bob", "Amy", "Zed");
+		assertThat(restarted.getPosition(1L, 0).orElseThrow().getRank()).isEqualTo(3);
+		assertThat(restartRegistry.get("leaderboard.rebuild.duration").tag("phase", "snapshot").timer().count()).isEqualTo(1);
+
+		when(playerRepository.getTableStamp()).thenReturn(stamp(3, 3, 13));
+		LeaderboardService stale = new LeaderboardService(playerRepository, event -> {}, new SimpleMeterRegistry(), store, clock,
+				ClusterTopology.singleNode());
+		stale.rebuild();
+		assertThat(stale.size()).isZero();
+	}
+
+	private static PlayerTableStamp stamp(long players, long maxId, long versions) {
+		return new PlayerTableStamp() {
+			public long getPlayers() { return players; }
+			public long getMaxId() { return maxId; }
+			public long getVersions() { return versions; }
+		};
+	}
+
+	private static Player player(Long id, String name, int wins, int rounds) {
+		Player player = new Player(name, "🙂");
+		player.setId(id);
+		player.getStats().setPlayerWins(wins);
+		player.getStats().setTotalRounds(rounds);
+		return player;
+	}
+}
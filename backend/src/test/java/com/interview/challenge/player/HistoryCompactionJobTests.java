@@ -0,0 +1,99 @@
+package com.interview.challenge.player;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// own database: the other tests leave players with long histories, which these settings would compact too
+@SpringBootTest(properties = {
+		"spring.datasource.url=jdbc:h2:mem:rps_compaction_db;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+		"rps.history.retention.hot-moves=8",
+		"rps.history.retention.min-segment-moves=4",
+		"rps.history.compaction.interval=1h"})
+@AutoConfigureMockMvc
+class HistoryCompactionJobTests {
+
+	private static final String[] MOVES = {"rock", "paper", "scissors", "paper"};
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private ObjectMapper objectMapper;
+
+	@Autowired
+	private HistoryCompactionJob compactionJob;
+
+	@Autowired
+	private MeterRegistry meterRegistry;
+
+	@Test
+	void oldMovesAreArchivedAndStillReadable() throws Exception {
+		long shortId = uploadHistory("Short Memory", 10);
+		long longId = uploadHistory("Long Memory", 30);
+
+		assertThat(compactionJob.compact()).isEqualTo(1);
+
+		mockMvc.perform(get("/api/players/{id}/history", shortId))
+				.andExpect(jsonPath("$.playerHistory.length()").value(10))
+				.andExpect(jsonPath("$.archivedMoves").value(0));
+		mockMvc.perform(get("/api/players/{id}/history", longId))
+				.andExpect(jsonPath("$.playerHistory.length()").value(8))
+				.andExpect(jsonPath("$.playerHistory[0]").value(MOVES[22 % MOVES.length]))
+				.andExpect(jsonPath("$.archivedMoves").value(22));
+
+		List<String> full = new ArrayList<>();
+		for (int i = 0; i < 30; i++) {
+			full.add(MOVES[i % MOVES.length]);
+		}
+		String archived = mockMvc.perform(get("/api/players/{id}/history", longId).param("archived", "true"))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.archivedMoves").value(0))
+				.andReturn().getResponse().getContentAsString();
+		assertThat(objectMapper.readTree(archived).get("playerHistory").toString())
+				.isEqualTo(objectMapper.writeValueAsString(full));
+
+		// the player's stats still cover every round
+		mockMvc.perform(get("/api/players/{id}", longId))
+				.andExpect(jsonPath("$.stats.totalRounds").value(30))
+				.andExpect(jsonPath("$.stats.playerChoices.paper").value(15));
+
+		assertThat(meterRegistry.get("player.history.compaction.reclaimed").counter().count()).isPositive();
+		assertThat(meterRegistry.get("player.history.compaction.moves.total").counter().count()).isEqualTo(22.0);
+	}
+
+	private long uploadHistory(String name, int rounds) throws Exception {
+		String created = mockMvc.perform(post("/api/players")
+						.contentType(MediaType.APPLICATION_JSON)
+						.content("{\"name\":\"" + name + "\",\"icon\":\"🗄️\"}"))
+				.andExpect(status().isCreated())
+				.andReturn().getResponse().getContentAsString();
+		long id = objectMapper.readTree(created).get("id").asLong();
+
+		List<String> moves = new ArrayList<>();
+		for (int i = 0; i < rounds; i++) {
+			moves.add(MOVES[i % MOVES.length]);
+		}
+		String history = objectMapper.writeValueAsString(moves);
+		mockMvc.perform(put("/api/players/{id}/stats", id)
+						.contentType(MediaType.APPLICATION_JSON)
+						.content("{\"totalRounds\":" + rounds + ",\"playerHistory\":" + history + ",\"computerHistory\":" + history + "}"))
+				.andExpect(status().isOk());
+		return id;
+	}
+}
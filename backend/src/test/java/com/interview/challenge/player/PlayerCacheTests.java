@@ -0,0 +1,75 @@
+package com.interview.challenge.player;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class PlayerCacheTests {
+
+	private PlayerRepository playerRepository;
+	private SimpleMeterRegistry meterRegistry;
+	private PlayerCache playerCache;
+
+	@BeforeEach
+	void setUp() {
+		playerRepository = mock(PlayerRepository.class);
+		meterRegistry = new SimpleMeterRegistry();
+		playerCache = new PlayerCache(playerRepository, meterRegistry, 100, Duration.ofMinutes(10));
+	}
+
+	@Test
+	void readsThroughOnceAndCountsHits() {
+		when(playerRepository.findById(1L)).thenReturn(Optional.of(player(1L, "Eva")));
+
+		assertThat(playerCache.findById(1L)).isPresent();
+		assertThat(playerCache.findById(1L)).isPresent();
+
+		verify(playerRepository, times(1)).findById(1L);
+		assertThat(meterRegistry.get("cache.gets").tag("cache", "players").tag("result", "hit")
+				.functionCounter().count()).isEqualTo(1.0);
+	}
+
+	@Test
+	void evictReloadsChangedPlayer() {
+		when(playerRepository.findById(1L)).thenReturn(Optional.of(player(1L, "Eva")));
+		playerCache.findById(1L);
+
+		playerCache.evict(1L);
+		playerCache.findById(1L);
+
+		verify(playerRepository, times(2)).findById(1L);
+	}
+
+	@Test
+	void doesNotCacheMissingPlayers() {
+		when(playerRepository.findById(2L)).thenReturn(Optional.empty()).thenReturn(Optional.of(player(2L, "Bob")));
+
+		assertThat(playerCache.findById(2L)).isEmpty();
+		assertThat(playerCache.findById(2L)).isPresent();
+	}
+
+	@Test
+	void nameIndexServesAddedPlayerWithoutQuery() {
+		playerCache.added(player(3L, "Amy"));
+
+		assertThat(playerCache.findByName("Amy")).map(Player::getId).contains(3L);
+		verify(playerRepository, never()).findByName("Amy");
+		verify(playerRepository, never()).findById(3L);
+	}
+
+	private static Player player(Long id, String name) {
+		Player player = new Player(name, "🙂");
+		player.setId(id);
+		return player;
+	}
+}
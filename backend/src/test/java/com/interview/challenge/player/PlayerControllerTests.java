@@ -0,0 +1,459 @@
+package com.interview.challenge.player;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.interview.challenge.leaderboard.LeaderboardStreamService;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.not;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class PlayerControllerTests {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private ObjectMapper objectMapper;
+
+	@Autowired
+	private LeaderboardStreamService leaderboardStreamService;
+
+	@Autowired
+	private MeterRegistry meterRegistry;
+
+	@Autowired
+	private RoundWriteBehindBuffer roundWriteBehindBuffer;
+
+	@Autowired
+	private HistoryCompactionJob historyCompactionJob;
+
+	@Test
+	void roundsAreAppliedAsDeltas() throws Exception {
+		long id = createPlayer("Round Tripper");
+
+		for (int i = 0; i < 3; i++) {
+			mockMvc.perform(post("/api/players/{id}/rounds", id)
+							.contentType(MediaType.APPLICATION_JSON)
+							.content("{\"playerChoice\":\"rock\"}"))
+					.andExpect(status().isOk())
+					.andExpect(jsonPath("$.playerChoice").value("rock"))
+					.andExpect(jsonPath("$.totalRounds").value(i + 1));
+		}
+
+		JsonNode stats = read(mockMvc.perform(get("/api/players/{id}", id))
+				.andExpect(status().isOk())
+				.andReturn().getResponse().getContentAsString()).get("stats");
+		assertThat(stats.get("totalRounds").asInt()).isEqualTo(3);
+		assertThat(stats.get("playerChoices").get("rock").asInt()).isEqualTo(3);
+		assertThat(stats.get("recentPlayerMoves")).hasSize(3);
+		assertThat(stats.get("playerWins").asInt() + stats.get("computerWins").asInt() + stats.get("draws").asInt()).isEqualTo(3);
+		assertThat(stats.has("playerHistory")).isFalse();
+
+		mockMvc.perform(get("/api/players/{id}/history", id))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.playerHistory.length()").value(3))
+				.andExpect(jsonPath("$.computerHistory.length()").value(3));
+
+		JsonNode analytics = read(mockMvc.perform(get("/api/analytics/moves"))
+				.andExpect(status().isOk())
+				.andReturn().getResponse().getContentAsString());
+		assertThat(analytics.get("choices").get(0).get("playedByPlayers").asLong()).isGreaterThanOrEqualTo(3);
+		assertThat(analytics.get("transitions").get("rock").get("rock").asLong()).isGreaterThanOrEqualTo(2);
+	}
+
+	@Test
+	void statsUploadRecomputesAggregatesAndReplacesHistory() throws Exception {
+		long id = createPlayer("Uploader");
+
+		mockMvc.perform(put("/api/players/{id}/stats", id)
+						.contentType(MediaType.APPLICATION_JSON)
+						.content("{\"playerScore\":2,\"computerScore\":1,\"playerWins\":2,\"computerWins\":1,\"totalRounds\":4," +
+								"\"playerHistory\":[\"rock\",\"rock\",\"paper\",\"scissors\"]," +
+								"\"computerHistory\":[\"scissors\",\"scissors\",\"scissors\",\"scissors\"]}"))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.stats.draws").value(1))
+				.andExpect(jsonPath("$.stats.playerChoices.rock").value(2))
+				.andExpect(jsonPath("$.stats.computerChoices.scissors").value(4))
+				.andExpect(jsonPath("$.stats.bestStreak").value(2))
+				.andExpect(jsonPath("$.stats.currentStreak").value(0))
+				.andExpect(jsonPath("$.stats.recentPlayerMoves[3]").value("scissors"));
+
+		mockMvc.perform(get("/api/players/{id}/history", id))
+				.andExpect(jsonPath("$.playerId").value(id))
+				.andExpect(jsonPath("$.playerHistory[2]").value("paper"));
+
+		mockMvc.perform(put("/api/players/{id}/reset-stats", id))
+				.andExpect(jsonPath("$.stats.playerChoices.rock").value(0));
+		mockMvc.perform(get("/api/players/{id}/history", id))
+				.andExpect(jsonPath("$.playerHistory").isEmpty());
+		mockMvc.perform(get("/api/players/{id}/history", Long.MAX_VALUE))
+				.andExpect(status().isNotFound());
+	}
+
+	@Test
+	void roundRejectsUnknownPlayerAndChoice() throws Exception {
+		mockMvc.perform(post("/api/players/{id}/rounds", Long.MAX_VALUE)
+						.contentType(MediaType.APPLICATION_JSON)
+						.content("{\"playerChoice\":\"paper\"}"))
+				.andExpect(status().isNotFound());
+
+		long id = createPlayer("Lizard Spock");
+		mockMvc.perform(post("/api/players/{id}/rounds", id)
+						.contentType(MediaType.APPLICATION_JSON)
+						.content("{\"playerChoice\":\"lizard\"}"))
+				.andExpect(status().isBadRequest());
+	}
+
+	@Test
+	void duplicateNameIsRejectedWithConflict() throws Exception {
+		createPlayer("Only Once");
+
+		mockMvc.perform(post("/api/players")
+						.contentType(MediaType.APPLICATION_JSON)
+						.content("{\"name\":\"Only Once\",\"icon\":\"🙃\"}"))
+				.andExpect(status().isConflict());
+	}
+
+	@Test
+	void bulkRoundsAreAggregatedPerPlayer() throws Exception {
+		long bot = createPlayer("Bulk Bot");
+		String ndjson = String.join("\n",
+				"{\"playerId\":" + bot + ",\"playerChoice\":\"rock\",\"computerChoice\":\"scissors\"}",
+				"{\"playerId\":" + bot + ",\"playerChoice\":\"rock\",\"computerChoice\":\"paper\"}",
+				"{\"playerId\":" + bot + ",\"playerChoice\":\"lizard\",\"computerChoice\":\"paper\"}",
+				"{\"playerId\":" + Long.MAX_VALUE + ",\"playerChoice\":\"rock\",\"computerChoice\":\"rock\"}");
+
+		mockMvc.perform(post("/api/players/rounds/bulk")
+						.contentType("application/x-ndjson")
+						.content(ndjson))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.rounds").value(2))
+				.andExpect(jsonPath("$.skipped").value(2))
+				.andExpect(jsonPath("$.batches[0].players").value(1))
+				.andExpect(jsonPath("$.batches[0].invalidRecords").value(1))
+				.andExpect(jsonPath("$.batches[0].unknownPlayerRounds").value(1));
+
+		mockMvc.perform(get("/api/players/{id}", bot))
+				.andExpect(jsonPath("$.stats.totalRounds").value(2))
+				.andExpect(jsonPath("$.stats.playerWins").value(1))
+				.andExpect(jsonPath("$.stats.currentStreak").value(0))
+				.andExpect(jsonPath("$.stats.recentComputerMoves[1]").value("paper"));
+		mockMvc.perform(get("/api/players/{id}/history", bot))
+				.andExpect(jsonPath("$.playerHistory[1]").value("rock"));
+
+		mockMvc.perform(post("/api/players/rounds/bulk")
+						.contentType("application/x-ndjson")
+						.content("{\"playerId\":" + bot + ",\"playerChoice\":\"rock\",\"computerChoice\":\"rock\"}\n{oops"))
+				.andExpect(status().isBadRequest())
+				.andExpect(jsonPath("$.rounds").value(1))
+				.andExpect(jsonPath("$.error").exists());
+	}
+
+	@Test
+	void exportedPlayersCanBeImportedUnderNewNames() throws Exception {
+		long exporter = createPlayer("Exporter");
+		String[] moves = {"rock", "paper", "scissors"};
+		StringBuilder rounds = new StringBuilder();
+		for (int i = 0; i < 2_100; i++) {
+			rounds.append("{\"playerId\":").append(exporter)
+					.append(",\"playerChoice\":\"").append(moves[i % 3])
+					.append("\",\"computerChoice\":\"").append(moves[i / 3 % 3]).append("\"}\n");
+		}
+		mockMvc.perform(post("/api/players/rounds/bulk")
+						.contentType("application/x-ndjson")
+						.content(rounds.toString()))
+				.andExpect(status().isOk());
+		historyCompactionJob.compact(); // archives the oldest moves to a segment
+
+		byte[] export = mockMvc.perform(get("/api/players/export"))
+				.andExpect(status().isOk())
+				.andExpect(content().contentType("application/gzip"))
+				.andReturn().getResponse().getContentAsByteArray();
+		ObjectNode record = null;
+		try (BufferedReader lines = new BufferedReader(new InputStreamReader(
+				new GZIPInputStream(new ByteArrayInputStream(export)), StandardCharsets.UTF_8))) {
+			for (String line = lines.readLine(); line != null; line = lines.readLine()) {
+				if (read(line).get("id").asLong() == exporter) {
+					record = (ObjectNode) read(line);
+				}
+			}
+		}
+		assertThat(record).isNotNull();
+		assertThat(record.get("stats").get("totalRounds").asInt()).isEqualTo(2_100);
+		assertThat(record.get("day").get("rounds").asInt()).isEqualTo(2_100);
+		assertThat(record.get("history").get("archivedMoves").asInt()).isEqualTo(1_100);
+		assertThat(record.get("history").get("segments")).hasSize(1);
+
+		String original = record.toString();
+		String copy = record.put("name", "Exporter Copy").toString();
+		ByteArrayOutputStream upload = new ByteArrayOutputStream();
+		try (GZIPOutputStream gzip = new GZIPOutputStream(upload)) {
+			gzip.write(String.join("\n", copy, original, copy, "{\"icon\":\"🙂\"}").getBytes(StandardCharsets.UTF_8));
+		}
+		mockMvc.perform(post("/api/players/import")
+						.contentType("application/gzip")
+						.content(upload.toByteArray()))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.imported").value(1))
+				.andExpect(jsonPath("$.nameTaken").value(2))
+				.andExpect(jsonPath("$.invalidRecords").value(1));
+
+		JsonNode players = read(mockMvc.perform(get("/api/players"))
+				.andReturn().getResponse().getContentAsString());
+		long imported = 0;
+		for (JsonNode player : players) {
+			if (player.get("name").asText().equals("Exporter Copy")) {
+				imported = player.get("id").asLong();
+			}
+		}
+		assertThat(imported).isNotIn(0L, exporter);
+		assertThat(read(getJson("/api/players/{id}", imported)).get("stats"))
+				.isEqualTo(read(getJson("/api/players/{id}", exporter)).get("stats"));
+		// the whole history comes back, the recent moves and the archived ones
+		for (String archived : List.of("false", "true")) {
+			ObjectNode copied = (ObjectNode) read(getJson("/api/players/{id}/history?archived=" + archived, imported));
+			ObjectNode exported = (ObjectNode) read(getJson("/api/players/{id}/history?archived=" + archived, exporter));
+			copied.remove("playerId");
+			exported.remove("playerId");
+			assertThat(copied).isEqualTo(exported);
+			assertThat(copied.get("playerHistory")).hasSize(archived.equals("true") ? 2_100 : 1_000);
+		}
+		mockMvc.perform(get("/api/players/{id}/leaderboard-position", imported))
+				.andExpect(status().isOk());
+
+		// uncompressed NDJSON works too
+		mockMvc.perform(post("/api/players/import")
+						.contentType("application/x-ndjson")
+						.content(record.put("name", "Exporter Plain").toString() + "\n{oops"))
+				.andExpect(status().isBadRequest())
+				.andExpect(jsonPath("$.imported").value(1))
+				.andExpect(jsonPath("$.error").exists());
+	}
+
+	@Test
+	void leaderboardIsSentOnePageAtATime() throws Exception {
+		StringBuilder players = new StringBuilder();
+		for (int i = 0; i < 120; i++) {
+			players.append("{\"name\":\"Ranked Player ").append(i).append("\",\"stats\":{}}\n");
+		}
+		mockMvc.perform(post("/api/players/import")
+						.contentType("application/x-ndjson")
+						.content(players.toString()))
+				.andExpect(status().isOk());
+
+		mockMvc.perform(get("/api/players/leaderboard-stats"))
+				.andExpect(jsonPath("$.length()").value(100));
+		mockMvc.perform(get("/api/players/leaderboard-stats").param("limit", "20"))
+				.andExpect(jsonPath("$.length()").value(20));
+		mockMvc.perform(get("/api/players/leaderboard-stats").param("afterScore", "1").param("afterName", ""))
+				.andExpect(jsonPath("$.length()").value(100));
+	}
+
+	@Test
+	void leaderboardStreamPushesChangedPlayers() throws Exception {
+		MvcResult stream = mockMvc.perform(get("/api/players/leaderboard-stream"))
+				.andExpect(request().asyncStarted())
+				.andReturn();
+		long id = createPlayer("Streamer");
+
+		// sent asynchronously, possibly by the scheduled publish
+		String events = "";
+		for (int i = 0; i < 50 && !events.contains("event:update"); i++) {
+			leaderboardStreamService.publish();
+			Thread.sleep(100);
+			events = stream.getResponse().getContentAsString();
+		}
+		assertThat(events).contains("event:update").contains("\"id\":" + id).contains("\"score\":")
+				.doesNotContain("\"rank\":");
+	}
+
+	@Test
+	void requestsRecordQueryCountsAndServiceTimers() throws Exception {
+		long id = createPlayer("Measured");
+		mockMvc.perform(post("/api/players/{id}/rounds", id)
+						.contentType(MediaType.APPLICATION_JSON)
+						.content("{\"playerChoice\":\"scissors\"}"))
+				.andExpect(status().isOk());
+
+		DistributionSummary queries = meterRegistry.get("http.server.queries")
+				.tag("method", "POST").tag("uri", "/api/players/{id}/rounds").summary();
+		assertThat(queries.count()).isPositive();
+		assertThat(queries.max()).isPositive();
+		assertThat(meterRegistry.get("player.round.duration").timer().count()).isPositive();
+	}
+
+	@Test
+	void concurrentRoundsAreAllCountedAndStaleUploadsConflict() throws Exception {
+		long id = createPlayer("Many Hands");
+		int threads = 8;
+		int rounds = 10;
+
+		ExecutorService executor = Executors.newFixedThreadPool(threads);
+		try {
+			List<Future<?>> players = new ArrayList<>();
+			for (int t = 0; t < threads; t++) {
+				players.add(executor.submit(() -> {
+					for (int i = 0; i < rounds; i++) {
+						mockMvc.perform(post("/api/players/{id}/rounds", id)
+										.contentType(MediaType.APPLICATION_JSON)
+										.content("{\"playerChoice\":\"paper\"}"))
+								.andExpect(status().isOk());
+					}
+					return null;
+				}));
+			}
+			for (Future<?> player : players) {
+				player.get(30, TimeUnit.SECONDS);
+			}
+		} finally {
+			executor.shutdown();
+		}
+		// rounds of a player that stayed contended are still buffered
+		roundWriteBehindBuffer.flush();
+
+		JsonNode player = read(mockMvc.perform(get("/api/players/{id}", id))
+				.andReturn().getResponse().getContentAsString());
+		assertThat(player.get("stats").get("totalRounds").asInt()).isEqualTo(threads * rounds);
+		assertThat(player.get("stats").get("playerChoices").get("paper").asInt()).isEqualTo(threads * rounds);
+		mockMvc.perform(get("/api/players/{id}/history", id))
+				.andExpect(jsonPath("$.playerHistory.length()").value(threads * rounds));
+
+		long version = player.get("version").asLong();
+		mockMvc.perform(put("/api/players/{id}/stats", id)
+						.contentType(MediaType.APPLICATION_JSON)
+						.content("{\"totalRounds\":1,\"version\":" + (version - 1) + "}"))
+				.andExpect(status().isConflict());
+		mockMvc.perform(put("/api/players/{id}/stats", id)
+						.contentType(MediaType.APPLICATION_JSON)
+						.content("{\"totalRounds\":1,\"version\":" + version + "}"))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.version").value(version + 1));
+	}
+
+	@Test
+	void windowedLeaderboardsCountOnlyTodaysRounds() throws Exception {
+		long id = createPlayer("Daily Player");
+		mockMvc.perform(get("/api/players/{id}/leaderboard-position", id).param("window", "day"))
+				.andExpect(status().isNotFound());
+
+		for (int i = 0; i < 2; i++) {
+			mockMvc.perform(post("/api/players/{id}/rounds", id)
+							.contentType(MediaType.APPLICATION_JSON)
+							.content("{\"playerChoice\":\"rock\"}"))
+					.andExpect(status().isOk());
+		}
+		mockMvc.perform(get("/api/players/{id}/leaderboard-position", id).param("window", "week").param("neighbours", "0"))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.entries[0].gamesPlayed").value(2));
+		mockMvc.perform(get("/api/players/{id}/rank", id).param("window", "week"))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.rank").isNumber())
+				.andExpect(jsonPath("$.topPercentage").isNumber());
+
+		// an upload counts the rounds it adds
+		mockMvc.perform(put("/api/players/{id}/stats", id)
+						.contentType(MediaType.APPLICATION_JSON)
+						.content("{\"totalRounds\":5}"))
+				.andExpect(status().isOk());
+		mockMvc.perform(get("/api/players/{id}/leaderboard-position", id).param("window", "day").param("neighbours", "0"))
+				.andExpect(jsonPath("$.entries[0].gamesPlayed").value(5));
+		mockMvc.perform(get("/api/players/leaderboard-stats").param("window", "season"))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$[?(@.name == 'Daily Player')].gamesPlayed").value(5));
+
+		mockMvc.perform(put("/api/players/{id}/reset-stats", id))
+				.andExpect(status().isOk());
+		mockMvc.perform(get("/api/players/{id}/leaderboard-position", id).param("window", "day"))
+				.andExpect(status().isNotFound());
+		mockMvc.perform(get("/api/players/leaderboard-stats").param("window", "month"))
+				.andExpect(status().isBadRequest());
+	}
+
+	@Test
+	void historyIsOnlySentOnRequestAndUnchangedLeaderboardsAreNotResent() throws Exception {
+		long id = createPlayer("Lean Reader");
+		mockMvc.perform(post("/api/players/{id}/rounds", id)
+						.contentType(MediaType.APPLICATION_JSON)
+						.content("{\"playerChoice\":\"paper\"}"))
+				.andExpect(status().isOk());
+
+		mockMvc.perform(get("/api/players/{id}", id))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.stats.totalRounds").value(1))
+				.andExpect(jsonPath("$.history").doesNotExist());
+		mockMvc.perform(get("/api/players/{id}", id).param("include", "history"))
+				.andExpect(jsonPath("$.history.playerHistory[0]").value("paper"));
+		mockMvc.perform(get("/api/players/{id}", id).param("include", "everything"))
+				.andExpect(status().isBadRequest());
+
+		String eTag = mockMvc.perform(get("/api/players/leaderboard-stats"))
+				.andExpect(status().isOk())
+				.andExpect(header().exists(HttpHeaders.ETAG))
+				.andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+		mockMvc.perform(get("/api/players/leaderboard-stats").header(HttpHeaders.IF_NONE_MATCH, eTag))
+				.andExpect(status().isNotModified())
+				.andExpect(content().string(""));
+
+		mockMvc.perform(post("/api/players/{id}/rounds", id)
+						.contentType(MediaType.APPLICATION_JSON)
+						.content("{\"playerChoice\":\"paper\"}"))
+				.andExpect(status().isOk());
+		mockMvc.perform(get("/api/players/leaderboard-stats").header(HttpHeaders.IF_NONE_MATCH, eTag))
+				.andExpect(status().isOk())
+				.andExpect(header().string(HttpHeaders.ETAG, not(eTag)));
+	}
+
+	private long createPlayer(String name) throws Exception {
+		String body = mockMvc.perform(post("/api/players")
+						.contentType(MediaType.APPLICATION_JSON)
+						.content("{\"name\":\"" + name + "\",\"icon\":\"🙂\"}"))
+				.andExpect(status().isCreated())
+				.andReturn().getResponse().getContentAsString();
+		return read(body).get("id").asLong();
+	}
+
+	private String getJson(String uri, long id) throws Exception {
+		return mockMvc.perform(get(uri, id))
+				.andExpect(status().isOk())
+				.andReturn().getResponse().getContentAsString();
+	}
+
+	private JsonNode read(String json) throws Exception {
+		return objectMapper.readTree(json);
+	}
+}
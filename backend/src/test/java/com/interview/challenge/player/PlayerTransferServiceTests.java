@@ -0,0 +1,53 @@
+package com.interview.challenge.player;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.interview.challenge.dto.PlayerImportResultDto;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class PlayerTransferServiceTests {
+
+	private PlayerImportBatchWriter batchWriter;
+	private PlayerTransferService transferService;
+
+	@BeforeEach
+	void setUp() {
+		batchWriter = mock(PlayerImportBatchWriter.class);
+		transferService = new PlayerTransferService(mock(JdbcTemplate.class), batchWriter, new ObjectMapper(),
+				new SimpleMeterRegistry(), 2);
+	}
+
+	@Test
+	void batchWhoseNameGetsTakenMeanwhileStopsTheImport() throws Exception {
+		when(batchWriter.insert(anyList())).thenReturn(2)
+				.thenThrow(new DataIntegrityViolationException("unique name"));
+
+		PlayerImportResultDto result = transferService.importPlayers(ndjson("A", "B", "C", "D", "E"));
+
+		verify(batchWriter, times(2)).insert(anyList()); // "E" is not written after the failed batch
+		assertThat(result.getImported()).isEqualTo(2);
+		assertThat(result.getBatches()).isEqualTo(1);
+		assertThat(result.getError()).contains("Batch 2 not created");
+	}
+
+	private static ByteArrayInputStream ndjson(String... names) {
+		StringBuilder lines = new StringBuilder();
+		for (String name : names) {
+			lines.append("{\"name\":\"").append(name).append("\"}\n");
+		}
+		return new ByteArrayInputStream(lines.toString().getBytes(StandardCharsets.UTF_8));
+	}
+}
@@ -0,0 +1,113 @@
+package com.interview.challenge.player;
+
+import com.interview.challenge.dto.RoundResultDto;
+import com.interview.challenge.leaderboard.LeaderboardService;
+import com.interview.challenge.player.stats.RoundDelta;
+import com.interview.challenge.shared.GameChoice;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.scheduling.TaskScheduler;
+
+import java.time.Instant;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class RoundWriteBehindBufferTests {
+
+	private PlayerRepository playerRepository;
+	private PlayerStatsBatchWriter batchWriter;
+	private TaskScheduler taskScheduler;
+	private SimpleMeterRegistry meterRegistry;
+	private RoundWriteBehindBuffer buffer;
+
+	@BeforeEach
+	void setUp() {
+		playerRepository = mock(PlayerRepository.class);
+		when(playerRepository.findCountersById(anyLong())).thenReturn(Optional.of(counters(10)));
+		batchWriter = mock(PlayerStatsBatchWriter.class);
+		taskScheduler = mock(TaskScheduler.class);
+		meterRegistry = new SimpleMeterRegistry();
+		buffer = new RoundWriteBehindBuffer(playerRepository, batchWriter, mock(LeaderboardService.class), taskScheduler,
+				meterRegistry, true, true, 3, 100);
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	void coalescesRoundsPerPlayerIntoOneBatch() {
+		when(batchWriter.apply(anyMap())).thenReturn(Set.of());
+		buffer.record(1L, GameChoice.ROCK, GameChoice.SCISSORS);
+		buffer.record(1L, GameChoice.PAPER, GameChoice.SCISSORS);
+		buffer.record(2L, GameChoice.ROCK, GameChoice.ROCK);
+
+		buffer.flush();
+
+		ArgumentCaptor<Map<Long, RoundDelta>> batch = ArgumentCaptor.forClass(Map.class);
+		verify(batchWriter).apply(batch.capture());
+		RoundDelta first = batch.getValue().get(1L);
+		assertThat(first.getRounds()).isEqualTo(2);
+		assertThat(first.getPlayerWins()).isEqualTo(1);
+		assertThat(first.getComputerWins()).isEqualTo(1);
+		assertThat(first.getPlayerMoves()).containsExactly(GameChoice.ROCK, GameChoice.PAPER);
+		assertThat(meterRegistry.get("player.rounds.writebehind.pending").gauge().value()).isZero();
+	}
+
+	@Test
+	void schedulesFlushOnceMaxPendingIsReached() {
+		buffer.record(1L, GameChoice.ROCK, GameChoice.PAPER);
+		buffer.record(1L, GameChoice.ROCK, GameChoice.PAPER);
+		buffer.record(1L, GameChoice.ROCK, GameChoice.PAPER);
+		buffer.record(1L, GameChoice.ROCK, GameChoice.PAPER);
+
+		verify(taskScheduler, times(1)).schedule(any(Runnable.class), any(Instant.class));
+	}
+
+	@Test
+	void countersIncludeBufferedRoundsAndAreReadOnce() {
+		buffer.record(1L, GameChoice.ROCK, GameChoice.SCISSORS);
+		RoundResultDto result = buffer.record(1L, GameChoice.ROCK, GameChoice.PAPER);
+
+		assertThat(result.getTotalRounds()).isEqualTo(12);
+		assertThat(result.getPlayerWins()).isEqualTo(11);
+		assertThat(result.getComputerWins()).isEqualTo(11);
+		verify(playerRepository, times(1)).findCountersById(1L);
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	void failedBatchIsRetriedBeforeNewerRounds() {
+		when(batchWriter.apply(anyMap())).thenThrow(new IllegalStateException("db down")).thenReturn(Set.of());
+		buffer.record(1L, GameChoice.ROCK, GameChoice.PAPER);
+		buffer.flush();
+		buffer.record(1L, GameChoice.SCISSORS, GameChoice.PAPER);
+		assertThat(meterRegistry.get("player.rounds.writebehind.pending").gauge().value()).isEqualTo(2);
+
+		buffer.flush();
+
+		ArgumentCaptor<Map<Long, RoundDelta>> batch = ArgumentCaptor.forClass(Map.class);
+		verify(batchWriter, times(2)).apply(batch.capture());
+		assertThat(batch.getValue().get(1L).getPlayerMoves()).containsExactly(GameChoice.ROCK, GameChoice.SCISSORS);
+	}
+
+	private static PlayerCountersView counters(int each) {
+		return new PlayerCountersView() {
+			public int getPlayerScore() { return each; }
+			public int getComputerScore() { return each; }
+			public int getPlayerWins() { return each; }
+			public int getComputerWins() { return each; }
+			public int getTotalRounds() { return each; }
+			public long getVersion() { return 0; }
+		};
+	}
+}
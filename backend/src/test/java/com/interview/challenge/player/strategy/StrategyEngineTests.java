@@ -0,0 +1,79 @@
+package com.interview.challenge.player.strategy;
+
+import com.interview.challenge.shared.GameChoice;
+import com.interview.challenge.shared.MoveHistory;
+import com.interview.challenge.shared.RoundOutcome;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class StrategyEngineTests {
+
+	private static final GameChoice[] CYCLE = {GameChoice.ROCK, GameChoice.PAPER, GameChoice.SCISSORS};
+
+	private final StrategyEngine engine = new StrategyEngine("random", 0.9, 100, Duration.ofMinutes(1));
+
+	@Test
+	void markovLearnsACyclingPlayer() {
+		assertThat(computerWinsAgainstCycle("markov-1", 300)).isGreaterThan(280);
+	}
+
+	@Test
+	void mixtureFollowsTheBestExpert() {
+		assertThat(computerWinsAgainstCycle("mixture", 300)).isGreaterThan(270);
+	}
+
+	@Test
+	void modelIsSeededFromStoredHistoryOnce() {
+		MoveHistory history = MoveHistory.of(List.of("rock", "rock", "rock", "rock"));
+
+		GameChoice computerChoice = engine.choose(1L, engine.getStrategy("frequency"), () -> history);
+		assertThat(computerChoice).isEqualTo(GameChoice.PAPER);
+		engine.learn(1L, GameChoice.ROCK);
+
+		GameChoice next = engine.choose(1L, engine.getStrategy("frequency"), () -> {
+			throw new AssertionError("history must not be reloaded");
+		});
+		assertThat(next).isEqualTo(GameChoice.PAPER);
+	}
+
+	@Test
+	void onlyRecordedRoundsAreLearned() {
+		ComputerStrategy frequency = engine.getStrategy("frequency");
+		engine.choose(2L, frequency, () -> MoveHistory.of(List.of("rock", "rock")));
+		engine.learn(3L, GameChoice.SCISSORS); // no model yet: seeded later from the stored history
+
+		for (int i = 0; i < 5; i++) {
+			assertThat(engine.choose(2L, frequency, MoveHistory::empty)).isEqualTo(GameChoice.PAPER); // rounds that failed
+		}
+		for (int i = 0; i < 5; i++) {
+			engine.learn(2L, GameChoice.SCISSORS);
+		}
+		assertThat(engine.choose(2L, frequency, MoveHistory::empty)).isEqualTo(GameChoice.ROCK);
+	}
+
+	@Test
+	void rejectsUnknownStrategy() {
+		assertThat(engine.supports("lizard")).isFalse();
+		assertThat(engine.getStrategy(null).getName()).isEqualTo("random");
+		assertThatThrownBy(() -> engine.getStrategy("lizard")).isInstanceOf(IllegalArgumentException.class);
+	}
+
+	private int computerWinsAgainstCycle(String strategyName, int rounds) {
+		ComputerStrategy strategy = engine.getStrategy(strategyName);
+		int computerWins = 0;
+		for (int i = 0; i < rounds; i++) {
+			GameChoice playerChoice = CYCLE[i % 3];
+			GameChoice computerChoice = engine.choose(7L, strategy, MoveHistory::empty);
+			engine.learn(7L, playerChoice);
+			if (RoundOutcome.of(playerChoice, computerChoice) == RoundOutcome.LOSS) {
+				computerWins++;
+			}
+		}
+		return computerWins;
+	}
+}
@@ -0,0 +1,105 @@
+package com.interview.challenge.ratelimit;
+
+import com.interview.challenge.cluster.ClusterTopology;
+import com.interview.challenge.shared.MovableClock;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RateLimitFilterTests {
+
+	private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+	private final MovableClock clock = new MovableClock(Instant.parse("2026-10-14T12:00:00Z"));
+	private final LoadShedder loadShedder = new LoadShedder(meterRegistry, Duration.ofMillis(50), Duration.ofSeconds(1));
+	// 1 cheap request per second per client, burst 3; 1 per second per player, burst 5
+	private final RateLimiter rateLimiter = new RateLimiter(clock, meterRegistry, 1, 3, 1, 1, 1, 5, 1, 1, 1_000);
+	private final RateLimitFilter filter = new RateLimitFilter(rateLimiter, loadShedder, meterRegistry,
+			ClusterTopology.singleNode(), true, "X-Real-IP");
+
+	@Test
+	void tokenBucketAllowsABurstThenOneRequestPerInterval() {
+		TokenBucket bucket = new TokenBucket();
+		long second = TimeUnit.SECONDS.toNanos(1);
+		for (int i = 0; i < 3; i++) {
+			assertThat(bucket.tryTake(0, second, 3)).isZero();
+		}
+		assertThat(bucket.tryTake(0, second, 3)).isEqualTo(second);
+		assertThat(bucket.tryTake(second / 2, second, 3)).isEqualTo(second / 2);
+		assertThat(bucket.tryTake(second, second, 3)).isZero();
+		assertThat(bucket.tryTake(second, second, 3)).isPositive();
+		// idle long enough, the bucket is full again but never fuller
+		assertThat(bucket.tryTake(100 * second, second, 3)).isZero();
+		assertThat(bucket.tryTake(100 * second, second, 3)).isZero();
+		assertThat(bucket.tryTake(100 * second, second, 3)).isZero();
+		assertThat(bucket.tryTake(100 * second, second, 3)).isPositive();
+	}
+
+	@Test
+	void requestsOverTheClientOrPlayerBudgetGet429WithRetryAfter() throws Exception {
+		for (int i = 0; i < 3; i++) {
+			assertThat(send("POST", "/api/players/7/rounds", "alice").getStatus()).isEqualTo(200);
+		}
+		MockHttpServletResponse rejected = send("POST", "/api/players/7/rounds", "alice");
+		assertThat(rejected.getStatus()).isEqualTo(429);
+		assertThat(rejected.getHeader("Retry-After")).isEqualTo("1");
+
+		// another client has its own budget, but the player's runs out after 5 rounds
+		assertThat(send("POST", "/api/players/7/rounds", "bob").getStatus()).isEqualTo(200);
+		assertThat(send("POST", "/api/players/7/rounds", "bob").getStatus()).isEqualTo(200);
+		assertThat(send("POST", "/api/players/7/rounds", "bob").getStatus()).isEqualTo(429);
+		assertThat(send("POST", "/api/players/8/rounds", "carol").getStatus()).isEqualTo(200);
+
+		// expensive requests have their own, smaller budget
+		assertThat(send("GET", "/api/players/leaderboard-stats", "bob").getStatus()).isEqualTo(200);
+		assertThat(send("GET", "/api/players/leaderboard-stats", "bob").getStatus()).isEqualTo(429);
+		assertThat(send("GET", "/api/players/leaderboard-stream", "bob").getStatus()).isEqualTo(200);
+
+		clock.advance(Duration.ofSeconds(1));
+		assertThat(send("POST", "/api/players/7/rounds", "alice").getStatus()).isEqualTo(200);
+
+		assertThat(meterRegistry.get("http.server.rejected").tag("scope", "client").tag("cost", "cheap").counter().count())
+				.isEqualTo(1);
+		assertThat(meterRegistry.get("http.server.rejected").tag("scope", "player").counter().count()).isEqualTo(1);
+		assertThat(meterRegistry.get("http.server.rejected").tag("cost", "expensive").counter().count()).isEqualTo(1);
+	}
+
+	@Test
+	void slowConnectionPoolShedsOnlyRequestsNeedingTheDatabase() throws Exception {
+		Timer acquire = meterRegistry.timer(LoadShedder.ACQUIRE_TIMER);
+		acquire.record(Duration.ofMillis(1));
+		loadShedder.sample();
+		acquire.record(Duration.ofMillis(200));
+		acquire.record(Duration.ofMillis(100));
+		loadShedder.sample();
+		assertThat(loadShedder.isShedding()).isTrue();
+		assertThat(meterRegistry.get("admission.shedding").gauge().value()).isEqualTo(1.0);
+
+		MockHttpServletResponse shed = send("POST", "/api/players/7/rounds", "alice");
+		assertThat(shed.getStatus()).isEqualTo(429);
+		assertThat(shed.getHeader("Retry-After")).isEqualTo("1");
+		assertThat(send("GET", "/api/players/leaderboard-stats", "alice").getStatus()).isEqualTo(200);
+		assertThat(meterRegistry.get("http.server.rejected").tag("reason", "overload").counter().count()).isEqualTo(1);
+
+		acquire.record(Duration.ofMillis(2));
+		loadShedder.sample();
+		assertThat(loadShedder.isShedding()).isFalse();
+		assertThat(send("POST", "/api/players/7/rounds", "alice").getStatus()).isEqualTo(200);
+	}
+
+	private MockHttpServletResponse send(String method, String uri, String client) throws Exception {
+		MockHttpServletRequest request = new MockHttpServletRequest(method, uri);
+		request.addHeader("X-Real-IP", client);
+		MockHttpServletResponse response = new MockHttpServletResponse();
+		filter.doFilter(request, response, new MockFilterChain());
+		return response;
+	}
+}
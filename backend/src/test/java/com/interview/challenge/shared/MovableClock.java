@@ -0,0 +1,26 @@
+package com.interview.challenge.shared;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+
+/**
+ * A UTC clock standing still until a test moves it forward.
+ */
+public final class MovableClock extends Clock {
+	private Instant now;
+
+	public MovableClock(Instant now) {
+		this.now = now;
+	}
+
+	public void advance(Duration duration) {
+		now = now.plus(duration);
+	}
+
+	public ZoneId getZone() { return ZoneOffset.UTC; }
+	public Clock withZone(ZoneId zone) { throw new UnsupportedOperationException(); }
+	public Instant instant() { return now; }
+}
@@ -0,0 +1,71 @@
+package com.interview.challenge.shared;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class MoveHistoryTests {
+
+	private final MoveHistoryConverter converter = new MoveHistoryConverter();
+
+	@Test
+	void roundTripsThroughPackedBytesForEveryLength() {
+		List<String> moves = new ArrayList<>();
+		for (int length = 0; length <= 9; length++) {
+			MoveHistory history = converter.convertToEntityAttribute(
+					converter.convertToDatabaseColumn(MoveHistory.of(moves)));
+
+			assertThat(history).containsExactlyElementsOf(moves);
+			moves.add(GameChoice.values()[length % 3].getValue());
+		}
+	}
+
+	@Test
+	void packsFourMovesPerByte() {
+		MoveHistory history = MoveHistory.empty();
+		for (int i = 0; i < 8; i++) {
+			history = history.append(GameChoice.SCISSORS);
+		}
+
+		assertThat(history.toBytes()).hasSize(2);
+		assertThat(history.choiceAt(7)).isEqualTo(GameChoice.SCISSORS);
+		assertThat(history).isEqualTo(MoveHistory.of(new ArrayList<>(history)));
+	}
+
+	@Test
+	void lastKeepsTheMostRecentMoves() {
+		MoveHistory history = MoveHistory.of(List.of("rock", "paper", "scissors", "rock", "paper", "paper"));
+
+		assertThat(history.last(5)).containsExactly("paper", "scissors", "rock", "paper", "paper");
+		assertThat(history.last(5).toBytes()).hasSize(2);
+		assertThat(history.last(10)).isSameAs(history);
+		assertThat(history.last(0)).isEmpty();
+	}
+
+	@Test
+	void firstAndLastSplitAtAnyPositionAndConcatRejoins() {
+		MoveHistory history = MoveHistory.of(List.of("rock", "paper", "scissors", "rock", "paper", "paper", "scissors"));
+
+		for (int split = 0; split <= history.size(); split++) {
+			MoveHistory head = history.first(split);
+			assertThat(MoveHistory.fromBytes(head.toBytes())).hasSize(split);
+			assertThat(head.concat(history.last(history.size() - split))).isEqualTo(history);
+		}
+	}
+
+	@Test
+	void emptyHistoryIsStoredAsNull() {
+		assertThat(converter.convertToDatabaseColumn(MoveHistory.empty())).isNull();
+		assertThat(converter.convertToEntityAttribute(null)).isEmpty();
+	}
+
+	@Test
+	void rejectsUnknownMoves() {
+		assertThatThrownBy(() -> MoveHistory.of(List.of("rock", "lizard")))
+				.isInstanceOf(IllegalArgumentException.class);
+	}
+}
@@ -4,4 +4,4 @@
 nginx -g "daemon off;" &
 
 # Start the Java application in the foreground
-java -jar /app/app.jar
\ No newline at end of file
+java -jar /app/app.jar --rps.ratelimit.client-header=X-Real-IP
\ No newline at end of file
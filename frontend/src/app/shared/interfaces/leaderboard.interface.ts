@@ -7,4 +7,11 @@ export interface LeaderboardPlayerStats {
   gamesPlayed: number;
   score: number; // the Wilson Score Interval
   rank?: number; // Optional: We'll add this rank in the frontend for display
-}
\ No newline at end of file
+}
+
+// matched the LeaderboardUpdateDto pushed on the leaderboard stream
+export interface LeaderboardUpdate {
+  changed: LeaderboardPlayerStats[]; // players whose score changed or who joined, placed by score and name
+  removed: number[];
+  totalPlayers: number;
+}
@@ -5,14 +5,76 @@ export interface Player {
   name: string;
   icon: string;
   stats: PlayerStats;
+  version?: number; // set by the server, changes with every write
 }
 
+// Fixed-size aggregates, the full move history is fetched separately (PlayerHistory)
 export interface PlayerStats {
   playerScore: number;
   computerScore: number;
   playerWins: number;
   computerWins: number;
-  playerHistory:  GameChoice[];
+  draws: number;
+  playerChoices: ChoiceCounts;
+  computerChoices: ChoiceCounts;
+  currentStreak: number;
+  bestStreak: number;
+  recentPlayerMoves: GameChoice[];
+  recentComputerMoves: GameChoice[];
+  totalRounds: number;
+}
+
+export interface ChoiceCounts {
+  rock: number;
+  paper: number;
+  scissors: number;
+}
+
+export function emptyPlayerStats(): PlayerStats {
+  return {
+    playerScore: 0,
+    computerScore: 0,
+    playerWins: 0,
+    computerWins: 0,
+    draws: 0,
+    playerChoices: { rock: 0, paper: 0, scissors: 0 },
+    computerChoices: { rock: 0, paper: 0, scissors: 0 },
+    currentStreak: 0,
+    bestStreak: 0,
+    recentPlayerMoves: [],
+    recentComputerMoves: [],
+    totalRounds: 0
+  };
+}
+
+// matched the PlayerHistory in backend
+export interface PlayerHistory {
+  playerId: number;
+  playerHistory: GameChoice[];
+  computerHistory: GameChoice[];
+  archivedMoves: number; // older moves left out, see the backend's history retention
+}
+
+// matched the PlayerStatsUpdateDto in backend, replaces the counters and the whole history
+export interface PlayerStatsUpdate {
+  playerScore: number;
+  computerScore: number;
+  playerWins: number;
+  computerWins: number;
+  totalRounds: number;
+  playerHistory: GameChoice[];
   computerHistory: GameChoice[];
+}
+
+// matched the RoundResultDto in backend
+export interface RoundResult {
+  playerId: number;
+  playerChoice: GameChoice;
+  computerChoice: GameChoice;
+  outcome: 'win' | 'loss' | 'draw';
+  playerScore: number;
+  computerScore: number;
+  playerWins: number;
+  computerWins: number;
   totalRounds: number;
-}
\ No newline at end of file
+}
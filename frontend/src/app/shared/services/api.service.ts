@@ -1,6 +1,8 @@
-import { HttpClient } from '@angular/common/http';
+import { HttpClient, HttpParams } from '@angular/common/http';
 import { Injectable } from '@angular/core';
-import { Player, PlayerStats } from '../interfaces/player.interface';
+import { Player, PlayerHistory, PlayerStatsUpdate, RoundResult } from '../interfaces/player.interface';
+import { LeaderboardPlayerStats } from '../interfaces/leaderboard.interface';
+import { GameChoice } from '../../views/rps-play/rps-play';
 import { BehaviorSubject, Observable } from 'rxjs';
 
 @Injectable({
@@ -41,23 +43,41 @@ export class ApiService {
           computerScore: 0,
           playerWins: 0,
           computerWins: 0,
-          playerHistory: [],
-          computerHistory: [],
           totalRounds: 0
         }
     };
     return this.http.post<Player>(`${this.backendApiPrefix}/players`, playerToCreate);
   }
 
-  updatePlayerStats(id: number, stats: PlayerStats): Observable<Player> {
+  updatePlayerStats(id: number, stats: PlayerStatsUpdate): Observable<Player> {
     return this.http.put<Player>(`${this.backendApiPrefix}/players/${id}/stats`, stats);
   }
 
+  // The move history, which player reads leave out; archived also returns the moves past the retention window
+  getPlayerHistory(id: number, archived: boolean = false): Observable<PlayerHistory> {
+    return this.http.get<PlayerHistory>(`${this.backendApiPrefix}/players/${id}/history`, { params: { archived } });
+  }
+
+  // The server picks the computer's move and records the round, only the player's choice is sent
+  playRound(id: number, playerChoice: GameChoice): Observable<RoundResult> {
+    return this.http.post<RoundResult>(`${this.backendApiPrefix}/players/${id}/rounds`, { playerChoice });
+  }
+
   resetPlayerStats(id: number): Observable<any> {
     return this.http.put(`${this.backendApiPrefix}/players/${id}/reset-stats`, {});
   }
 
-  getLeaderboardPlayerStats(): Observable<any> {
-    return this.http.get(`${this.backendApiPrefix}/players/leaderboard-stats`);
+  // One page of the leaderboard; the next one starts after the last player received
+  getLeaderboardPlayerStats(limit: number, after?: LeaderboardPlayerStats): Observable<LeaderboardPlayerStats[]> {
+    let params = new HttpParams().set('limit', limit);
+    if (after) {
+      params = params.set('afterScore', after.score).set('afterName', after.name);
+    }
+    return this.http.get<LeaderboardPlayerStats[]>(`${this.backendApiPrefix}/players/leaderboard-stats`, { params });
+  }
+
+  // Server-sent events: 'update' with the players whose score changed, 'resync' when the page must be reloaded
+  openLeaderboardStream(): EventSource {
+    return new EventSource(`${this.backendApiPrefix}/players/leaderboard-stream`);
   }
 }
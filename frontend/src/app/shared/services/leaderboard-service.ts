@@ -1,6 +1,6 @@
 import { Injectable, signal, WritableSignal } from '@angular/core';
 import { ApiService } from './api.service';
-import { LeaderboardPlayerStats } from '../interfaces/leaderboard.interface';
+import { LeaderboardPlayerStats, LeaderboardUpdate } from '../interfaces/leaderboard.interface';
 
 @Injectable({
   providedIn: 'root'
@@ -8,9 +8,14 @@ import { LeaderboardPlayerStats } from '../interfaces/leaderboard.interface';
 export class LeaderboardService {
   // Public signal to hold the leaderboard data
   public leaderboardStats: WritableSignal<LeaderboardPlayerStats[]> = signal([]);
+  // True while the server may have players ranked below the last one loaded
+  public hasMorePlayers: WritableSignal<boolean> = signal(false);
+
+  private static readonly PAGE_SIZE = 100;
 
   // Internal flags for caching logic
   private isLeaderboardDataStale: boolean = true;
+  private leaderboardStream: EventSource | null = null;
 
   constructor(
     private apiService: ApiService
@@ -23,14 +28,11 @@ export class LeaderboardService {
     }
 
     console.log('LeaderboardService: Data is stale or expired. Fetching new data...');
-    this.apiService.getLeaderboardPlayerStats().subscribe({
+    this.apiService.getLeaderboardPlayerStats(LeaderboardService.PAGE_SIZE).subscribe({
       next: (data: LeaderboardPlayerStats[]) => {
         console.log('LeaderboardService: Data received from API:', data);
-        const rankedData = data.map((player, index) => ({
-          ...player,
-          rank: index + 1 // (1-based)
-        }));
-        this.leaderboardStats.set(rankedData);
+        this.leaderboardStats.set([]);
+        this.appendPage(data);
         this.isLeaderboardDataStale = false;
       },
       error: (err) => {
@@ -40,9 +42,68 @@ export class LeaderboardService {
     });
   }
 
+  // Loads the next page, starting after the last player shown
+  public fetchMoreLeaderboardData(): void {
+    const current = this.leaderboardStats();
+    this.apiService.getLeaderboardPlayerStats(LeaderboardService.PAGE_SIZE, current[current.length - 1]).subscribe({
+      next: (data: LeaderboardPlayerStats[]) => this.appendPage(data),
+      error: (err) => console.error('LeaderboardService: Failed to fetch more leaderboard data:', err)
+    });
+  }
+
+  private appendPage(page: LeaderboardPlayerStats[]): void {
+    const current = this.leaderboardStats();
+    const ranked = page.map((player, index) => ({
+      ...player,
+      rank: current.length + index + 1 // (1-based)
+    }));
+    this.leaderboardStats.set(current.concat(ranked));
+    this.hasMorePlayers.set(page.length === LeaderboardService.PAGE_SIZE);
+  }
+
   // Called after any action that could change leaderboard scores (end of a game round, player reset).
   public markLeaderboardStale(): void {
     this.isLeaderboardDataStale = true;
     this.leaderboardStats.set([]);
+    this.hasMorePlayers.set(false);
+  }
+
+  // Keeps the loaded pages up to date from the server's leaderboard stream instead of re-fetching it.
+  public connectLiveUpdates(): void {
+    if (this.leaderboardStream) {
+      return;
+    }
+    this.leaderboardStream = this.apiService.openLeaderboardStream();
+    this.leaderboardStream.addEventListener('update', (event) =>
+      this.applyUpdate(JSON.parse((event as MessageEvent).data) as LeaderboardUpdate));
+    this.leaderboardStream.addEventListener('resync', () => {
+      this.markLeaderboardStale();
+      this.fetchLeaderboardData();
+    });
+  }
+
+  public disconnectLiveUpdates(): void {
+    this.leaderboardStream?.close();
+    this.leaderboardStream = null;
+  }
+
+  private applyUpdate(update: LeaderboardUpdate): void {
+    const current = this.leaderboardStats();
+    const changedIds = new Set(update.changed.map(player => player.id));
+    const removedIds = new Set(update.removed);
+    const kept = current.filter(player => !changedIds.has(player.id) && !removedIds.has(player.id));
+    const last = current[current.length - 1];
+    // When the loaded list holds every player, everything changed belongs in it; otherwise only players ranked
+    // above its last entry do, those moving below it are dropped and the next reload brings them back
+    const complete = kept.length + update.changed.length >= update.totalPlayers;
+    const merged = kept
+      .concat(update.changed.filter(player => complete || !last || this.compare(player, last) < 0))
+      .sort((a, b) => this.compare(a, b))
+      .map((player, index) => ({ ...player, rank: index + 1 }));
+    this.leaderboardStats.set(merged);
+  }
+
+  private compare(a: LeaderboardPlayerStats, b: LeaderboardPlayerStats): number {
+    return b.score - a.score || a.name.localeCompare(b.name);
   }
-}
\ No newline at end of file
+}
@@ -3,7 +3,7 @@ import { Component } from '@angular/core';
 import { Router } from '@angular/router';
 import { CommonModule } from '@angular/common';
 import { FormsModule } from '@angular/forms';
-import { Player } from '../../shared/interfaces/player.interface';
+import { Player, emptyPlayerStats } from '../../shared/interfaces/player.interface';
 import { ApiService } from '../../shared/services/api.service';
 import { CustomizedButton } from '../../components/customized-button/customized-button';
 import { PlayerService } from '../../shared/services/player-service';
@@ -40,15 +40,7 @@ export class AddPlayer {
       id: null, // ID will be generated by the backend
       name: this.playerName.trim(),
       icon: this.selectedEmoji,
-      stats: {
-        playerScore: 0,
-        computerScore: 0,
-        playerWins: 0,
-        computerWins: 0,
-        playerHistory: [],
-        computerHistory: [],
-        totalRounds: 0,
-      }
+      stats: emptyPlayerStats()
     };
 
     this.apiService.createPlayer(newPlayer).subscribe({
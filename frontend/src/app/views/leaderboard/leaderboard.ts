@@ -1,4 +1,4 @@
-import { Component, Input, OnInit } from '@angular/core';
+import { Component, Input, OnDestroy, OnInit } from '@angular/core';
 import { CommonModule, DecimalPipe } from '@angular/common';
 import { Router } from '@angular/router';
 import { CustomizedButton } from '../../components/customized-button/customized-button';
@@ -16,7 +16,7 @@ import { LeaderboardPlayerStats } from '../../shared/interfaces/leaderboard.inte
     CustomizedButton,
   ]
 })
-export class Leaderboard implements OnInit {
+export class Leaderboard implements OnInit, OnDestroy {
   @Input() showBackBtn: boolean = true;
   leaderboardStats: LeaderboardPlayerStats[] = [];
 
@@ -28,9 +28,14 @@ export class Leaderboard implements OnInit {
   ngOnInit(): void {
     console.log(this.showBackBtn)
     this.leaderboardService.fetchLeaderboardData();
+    this.leaderboardService.connectLiveUpdates();
     console.log('Leaderboard component initialized. Displaying data from service.');
   }
 
+  ngOnDestroy(): void {
+    this.leaderboardService.disconnectLiveUpdates();
+  }
+
   backToMenu(): void {
     this.router.navigate(['/']);
   }
@@ -1,8 +1,8 @@
 import { Component, OnInit, OnDestroy, ViewChild, ElementRef } from '@angular/core';
 import { ActivatedRoute, Router } from '@angular/router';
-import { Player } from '../../shared/interfaces/player.interface';
+import { ChoiceCounts, Player, RoundResult, emptyPlayerStats } from '../../shared/interfaces/player.interface';
 import { ApiService } from '../../shared/services/api.service';
-import { Subject, takeUntil } from 'rxjs';
+import { Subject, firstValueFrom, takeUntil } from 'rxjs';
 import { CommonModule } from '@angular/common';
 import { SafeHtmlPipe } from '../../shared/pipes/safe-html.pipe';
 import { Monitoring } from '../../components/monitoring/monitoring';
@@ -16,6 +16,7 @@ const ANIMATION_DELAY_INITIAL = 50;
 const ANIMATION_DELAY_SHOW_MOVES = 500;
 const ANIMATION_DELAY_VANISH = 2000;
 const ANIMATION_DURATION_SHAKE = 500;
+const RECENT_MOVES = 10; // window kept by the backend's PlayerStats
 
 @Component({
   selector: 'app-rps-play',
@@ -42,6 +43,7 @@ export class RpsPlay implements OnInit, OnDestroy {
   computerHistoryDisplay: string = '';
 
   isLeaderboardVisible: boolean = false;
+  private lastRound: RoundResult | null = null;
 
   @ViewChild('gameArena') gameArenaEl!: ElementRef;
   @ViewChild('playerChoiceDisplayEl') playerChoiceDisplayEl!: ElementRef;
@@ -120,7 +122,7 @@ export class RpsPlay implements OnInit, OnDestroy {
     this.apiService.getPlayerById(this.playerId).subscribe({
       next: (playerData) => {
         if (!playerData.stats) {
-          playerData.stats = { playerScore: 0, computerScore: 0, playerWins: 0, computerWins: 0, totalRounds: 0, playerHistory: [], computerHistory: [] };
+          playerData.stats = emptyPlayerStats();
         }
         this.apiService.setCurrentPlayer(playerData);
         this.updateUIDisplay();
@@ -132,7 +134,7 @@ export class RpsPlay implements OnInit, OnDestroy {
   }
 
   async makeChoice(playerChoice: GameChoice): Promise<void> {
-    if (this.isPlaying || !this.player) {
+    if (this.isPlaying || !this.player || this.player.id === null) {
       return;
     }
 
@@ -140,28 +142,32 @@ export class RpsPlay implements OnInit, OnDestroy {
     this.playerChoiceDisplay = '';
     this.computerChoiceDisplay = '';
 
-    const computerChoice: GameChoice = this.getComputerChoice();
+    // The round is resolved by the backend, which also records it
+    let round: RoundResult;
+    try {
+      round = await firstValueFrom(this.apiService.playRound(this.player.id, playerChoice));
+    } catch (error) {
+      console.error('Failed to play round', error);
+      this.isPlaying = false;
+      return;
+    }
+
+    const computerChoice: GameChoice = round.computerChoice;
     const winner = this.getWinner(playerChoice, computerChoice);
 
-    this.player.stats.playerHistory.push(playerChoice);
-    this.player.stats.computerHistory.push(computerChoice);
+    // Mirrors the server's aggregates until the player is reloaded
+    const stats = this.player.stats;
+    stats.playerChoices[playerChoice]++;
+    stats.computerChoices[computerChoice]++;
+    stats.recentPlayerMoves = [...stats.recentPlayerMoves, playerChoice].slice(-RECENT_MOVES);
+    stats.recentComputerMoves = [...stats.recentComputerMoves, computerChoice].slice(-RECENT_MOVES);
 
     this.computerHistory.push(computerChoice);
-    this.player.stats.totalRounds++;
+    this.lastRound = round;
 
     await this.startCountdown();
     this.displayChoices(playerChoice, computerChoice);
     await this.playAnimation(winner);
-
-    if (this.player.id !== null) {
-      this.apiService.updatePlayerStats(this.player.id, this.player.stats).subscribe({
-        next: (updatedPlayer) => {
-          this.apiService.setCurrentPlayer(updatedPlayer);
-        },
-        error: () => {
-        }
-      });
-    }
   }
 
   private async startCountdown(): Promise<void> {
@@ -185,10 +191,6 @@ export class RpsPlay implements OnInit, OnDestroy {
     });
   }
 
-  private getComputerChoice(): GameChoice {
-    return this.choiceKeys[Math.floor(Math.random() * this.choiceKeys.length)];
-  }
-
   private getWinner(playerChoice: GameChoice, computerChoice: GameChoice): 'player' | 'computer' | 'tie' {
     if (playerChoice === computerChoice) {
       this.resultClass = 'text-yellow-300';
@@ -218,16 +220,20 @@ export class RpsPlay implements OnInit, OnDestroy {
             </div>`;
   }
 
-  private updateScore(winner: 'player' | 'computer' | 'tie'): void {
-    if (!this.player) return;
+  // Counters come back from the server, so they stay right even with the same player open in several tabs
+  private updateScore(): void {
+    if (!this.player || !this.lastRound) return;
 
-    if (winner === 'player') {
-      this.player.stats.playerScore++;
-      this.player.stats.playerWins++;
-    } else if (winner === 'computer') {
-      this.player.stats.computerScore++;
-      this.player.stats.computerWins++;
-    }
+    const stats = this.player.stats;
+    stats.playerScore = this.lastRound.playerScore;
+    stats.computerScore = this.lastRound.computerScore;
+    stats.playerWins = this.lastRound.playerWins;
+    stats.computerWins = this.lastRound.computerWins;
+    stats.totalRounds = this.lastRound.totalRounds;
+    stats.draws = stats.totalRounds - stats.playerWins - stats.computerWins;
+    stats.currentStreak = this.lastRound.outcome === 'win' ? stats.currentStreak + 1 : 0;
+    stats.bestStreak = Math.max(stats.bestStreak, stats.currentStreak);
+    this.lastRound = null;
   }
 
   private updateUIDisplay(): void {
@@ -238,17 +244,16 @@ export class RpsPlay implements OnInit, OnDestroy {
     this.playerWinRate = stats.totalRounds > 0 ? Math.round((stats.playerWins / stats.totalRounds) * 100) : 0;
     this.computerWinRate = stats.totalRounds > 0 ? Math.round((stats.computerWins / stats.totalRounds) * 100) : 0;
 
-    this.playerMostUsed = this.getMostFrequentDisplay(stats.playerHistory);
-    this.computerMostUsed = this.getMostFrequentDisplay(stats.computerHistory);
+    this.playerMostUsed = this.getMostFrequentDisplay(stats.playerChoices);
+    this.computerMostUsed = this.getMostFrequentDisplay(stats.computerChoices);
 
-    this.playerHistoryDisplay = this.getHistoryDisplay(stats.playerHistory);
-    this.computerHistoryDisplay = this.getHistoryDisplay(stats.computerHistory);
+    this.playerHistoryDisplay = this.getHistoryDisplay(stats.recentPlayerMoves);
+    this.computerHistoryDisplay = this.getHistoryDisplay(stats.recentComputerMoves);
   }
 
-  getMostFrequentDisplay(history: GameChoice[]): string {
-    if (!history || history.length === 0) return '-';
-    const counts = history.reduce((acc, choice) => { acc[choice] = (acc[choice] || 0) + 1; return acc; }, {} as Record<string, number>);
-    const mostFrequent = Object.keys(counts).reduce((a, b) => counts[a] > counts[b] ? a : b);
+  getMostFrequentDisplay(counts: ChoiceCounts): string {
+    if (!counts || counts.rock + counts.paper + counts.scissors === 0) return '-';
+    const mostFrequent = this.choiceKeys.reduce((a, b) => counts[a] >= counts[b] ? a : b);
     // Use the 'emoji' property and apply inline style for size
     return `<div class="flex items-center justify-center"><span style="font-size: 2.5em;">${this.choices[mostFrequent].emoji}</span> <span class="ml-2">${this.choices[mostFrequent].name}</span></div>`;
   }
@@ -315,7 +320,7 @@ export class RpsPlay implements OnInit, OnDestroy {
   }
 
   finalizeRound(winner: 'player' | 'computer' | 'tie'): void {
-    this.updateScore(winner);
+    this.updateScore();
     this.updateUIDisplay();
     this.isPlaying = false; // Allow new round to start
     this.leaderboardService.markLeaderboardStale();